@@ -15,6 +15,7 @@ import org.jabref.logic.importer.ParserResult;
 import org.jabref.logic.importer.fileformat.BibtexParser;
 import org.jabref.logic.layout.format.HTMLChars;
 import org.jabref.logic.layout.format.LatexToUnicodeFormatter;
+import org.jabref.logic.search.DatabaseSearcher;
 import org.jabref.logic.search.SearchQuery;
 import org.jabref.model.Defaults;
 import org.jabref.model.database.BibDatabase;
@@ -48,6 +49,8 @@ public class Benchmarks {
     private final BibDatabase database = new BibDatabase();
     private String latexConversionString;
     private String htmlConversionString;
+    // compiled once and shared by all evaluations, as done by the main table filter
+    private final SearchQuery grammarSearchQuery = new SearchQuery("journal = \"Journal Title 500\" and (keywords = testkeyword or not entrytype = book)", false, false);
 
     @Setup
     public void init() throws Exception {
@@ -106,6 +109,22 @@ public class Benchmarks {
         return database.getEntries().parallelStream().filter(searchQuery::isMatch).collect(Collectors.toList());
     }
 
+    @Benchmark
+    public List<BibEntry> grammarSearch() {
+        return database.getEntries().stream().filter(grammarSearchQuery::isMatch).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<BibEntry> parallelGrammarSearch() {
+        return database.getEntries().parallelStream().filter(grammarSearchQuery::isMatch).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<BibEntry> indexedSearch() {
+        SearchQuery searchQuery = new SearchQuery("Journal Title 500", false, false);
+        return new DatabaseSearcher(searchQuery, database).getMatches();
+    }
+
     @Benchmark
     public BibDatabaseMode inferBibDatabaseMode() {
         return BibDatabaseModeDetection.inferMode(database);
@@ -0,0 +1,112 @@
+package org.jabref.benchmarks;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jabref.Globals;
+import org.jabref.logic.exporter.BibtexDatabaseWriter;
+import org.jabref.logic.exporter.SavePreferences;
+import org.jabref.logic.importer.ParserResult;
+import org.jabref.logic.importer.fileformat.BibtexParser;
+import org.jabref.model.Defaults;
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryTypesManager;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.field.UnknownField;
+import org.jabref.model.metadata.MetaData;
+import org.jabref.model.util.DummyFileUpdateMonitor;
+import org.jabref.preferences.JabRefPreferences;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.RunnerException;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures the heap retained by the entries of a library. The number of interest is the "retainedBytesPerEntry"
+ * counter reported next to the (meaningless) time of each benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+public class BibEntryMemoryBenchmarks {
+
+    @Param({"10000", "200000"})
+    private int numberOfEntries;
+
+    private String bibtexString;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HeapFootprint {
+        public long retainedBytesPerEntry;
+    }
+
+    @Setup
+    public void init() throws Exception {
+        Globals.prefs = JabRefPreferences.getInstance();
+
+        BibDatabase database = new BibDatabase();
+        createEntries().forEach(database::insertEntry);
+
+        StringWriter outputWriter = new StringWriter();
+        BibtexDatabaseWriter databaseWriter = new BibtexDatabaseWriter(outputWriter, mock(SavePreferences.class), new BibEntryTypesManager());
+        databaseWriter.savePartOfDatabase(
+                new BibDatabaseContext(database, new MetaData(), new Defaults()), database.getEntries());
+        bibtexString = outputWriter.toString();
+    }
+
+    private List<BibEntry> createEntries() {
+        List<BibEntry> entries = new ArrayList<>(numberOfEntries);
+        for (int i = 0; i < numberOfEntries; i++) {
+            BibEntry entry = new BibEntry();
+            entry.setCiteKey("id" + i);
+            entry.setField(StandardField.TITLE, "This is my title " + i);
+            entry.setField(StandardField.AUTHOR, "Firstname Lastname and FirstnameA LastnameA and FirstnameB LastnameB" + i);
+            entry.setField(StandardField.JOURNAL, "Journal Title " + i);
+            entry.setField(StandardField.YEAR, "1" + i);
+            entry.setField(new UnknownField("owner"), "owner" + (i % 10));
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Benchmark
+    public List<BibEntry> createLibrary(HeapFootprint footprint) {
+        long before = usedHeap();
+        List<BibEntry> entries = createEntries();
+        footprint.retainedBytesPerEntry = (usedHeap() - before) / numberOfEntries;
+        return entries;
+    }
+
+    @Benchmark
+    public ParserResult parseLibrary(HeapFootprint footprint) throws IOException {
+        long before = usedHeap();
+        BibtexParser parser = new BibtexParser(Globals.prefs.getImportFormatPreferences(), new DummyFileUpdateMonitor());
+        ParserResult result = parser.parse(new StringReader(bibtexString));
+        footprint.retainedBytesPerEntry = (usedHeap() - before) / numberOfEntries;
+        return result;
+    }
+
+    public static void main(String[] args) throws IOException, RunnerException {
+        Main.main(args);
+    }
+}
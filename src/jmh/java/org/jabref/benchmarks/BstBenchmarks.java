@@ -0,0 +1,63 @@
+package org.jabref.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jabref.logic.bst.VM;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.RunnerException;
+
+@State(Scope.Thread)
+public class BstBenchmarks {
+
+    @Param({"1000", "10000"})
+    private int numberOfEntries;
+
+    private final List<BibEntry> entries = new ArrayList<>();
+    private File style;
+    private VM vm;
+
+    @Setup
+    public void init() throws Exception {
+        style = new File("src/test/resources/org/jabref/logic/bst/abbrv.bst");
+        vm = new VM(style);
+
+        for (int i = 0; i < numberOfEntries; i++) {
+            BibEntry entry = new BibEntry(StandardEntryType.Article);
+            entry.setCiteKey("id" + i);
+            entry.setField(StandardField.TITLE, "This is my title " + i);
+            entry.setField(StandardField.AUTHOR, "Firstname Lastname and FirstnameA LastnameA and FirstnameB LastnameB" + i);
+            entry.setField(StandardField.JOURNAL, "Journal Title " + i);
+            entry.setField(StandardField.VOLUME, String.valueOf(i % 50));
+            entry.setField(StandardField.PAGES, i + "--" + (i + 10));
+            entry.setField(StandardField.YEAR, "1" + i);
+            entries.add(entry);
+        }
+    }
+
+    @Benchmark
+    public String generateBbl() {
+        return vm.run(entries);
+    }
+
+    @Benchmark
+    public String loadStyleAndGenerateBbl() throws Exception {
+        // the style is compiled once and reused by each new VM
+        return new VM(style).run(entries);
+    }
+
+    public static void main(String[] args) throws IOException, RunnerException {
+        Main.main(args);
+    }
+}
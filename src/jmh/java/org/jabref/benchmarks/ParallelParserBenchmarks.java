@@ -0,0 +1,90 @@
+package org.jabref.benchmarks;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.ForkJoinPool;
+
+import org.jabref.Globals;
+import org.jabref.logic.exporter.BibtexDatabaseWriter;
+import org.jabref.logic.exporter.SavePreferences;
+import org.jabref.logic.importer.ParserResult;
+import org.jabref.logic.importer.fileformat.BibtexParser;
+import org.jabref.logic.importer.fileformat.ParallelBibtexParser;
+import org.jabref.model.Defaults;
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryTypesManager;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.metadata.MetaData;
+import org.jabref.model.util.DummyFileUpdateMonitor;
+import org.jabref.preferences.JabRefPreferences;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.RunnerException;
+
+import static org.mockito.Mockito.mock;
+
+@State(Scope.Benchmark)
+public class ParallelParserBenchmarks {
+
+    @Param({"1000", "10000", "100000"})
+    private int numberOfEntries;
+
+    @Param({"1", "2", "4", "8"})
+    private int numberOfThreads;
+
+    private String bibtexString;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void init() throws Exception {
+        Globals.prefs = JabRefPreferences.getInstance();
+        pool = new ForkJoinPool(numberOfThreads);
+
+        BibDatabase database = new BibDatabase();
+        for (int i = 0; i < numberOfEntries; i++) {
+            BibEntry entry = new BibEntry();
+            entry.setCiteKey("id" + i);
+            entry.setField(StandardField.TITLE, "This is my title " + i);
+            entry.setField(StandardField.AUTHOR, "Firstname Lastname and FirstnameA LastnameA and FirstnameB LastnameB" + i);
+            entry.setField(StandardField.JOURNAL, "Journal Title " + i);
+            entry.setField(StandardField.YEAR, "1" + i);
+            database.insertEntry(entry);
+        }
+
+        StringWriter outputWriter = new StringWriter();
+        BibtexDatabaseWriter databaseWriter = new BibtexDatabaseWriter(outputWriter, mock(SavePreferences.class), new BibEntryTypesManager());
+        databaseWriter.savePartOfDatabase(
+                new BibDatabaseContext(database, new MetaData(), new Defaults()), database.getEntries());
+        bibtexString = outputWriter.toString();
+    }
+
+    @TearDown
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public ParserResult parseSequential() throws IOException {
+        BibtexParser parser = new BibtexParser(Globals.prefs.getImportFormatPreferences(), new DummyFileUpdateMonitor());
+        return parser.parse(new StringReader(bibtexString));
+    }
+
+    @Benchmark
+    public ParserResult parseParallel() throws IOException {
+        ParallelBibtexParser parser = new ParallelBibtexParser(Globals.prefs.getImportFormatPreferences(), new DummyFileUpdateMonitor(), pool);
+        return parser.parse(new StringReader(bibtexString));
+    }
+
+    public static void main(String[] args) throws IOException, RunnerException {
+        Main.main(args);
+    }
+}
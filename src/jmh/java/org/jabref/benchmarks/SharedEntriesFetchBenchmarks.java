@@ -0,0 +1,108 @@
+package org.jabref.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.jabref.logic.shared.DBMSConnection;
+import org.jabref.logic.shared.DBMSConnectionPropertiesBuilder;
+import org.jabref.logic.shared.DBMSProcessor;
+import org.jabref.model.database.shared.DBMSType;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.RunnerException;
+
+/**
+ * Measures fetching shared entries by their IDs. The number of interest is the "nanosPerEntry" counter reported next
+ * to the time of each benchmark, which should not grow with the number of entries.
+ * <p>
+ * Requires the PostgreSQL database the database tests use.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+public class SharedEntriesFetchBenchmarks {
+
+    @Param({"1000", "10000", "50000"})
+    private int numberOfEntries;
+
+    private DBMSConnection connection;
+    private DBMSProcessor processor;
+    private List<BibEntry> entries;
+    private List<Integer> sharedIDs;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class FetchCost {
+        public long nanosPerEntry;
+    }
+
+    @Setup
+    public void init() throws Exception {
+        connection = new DBMSConnection(new DBMSConnectionPropertiesBuilder()
+                .setType(DBMSType.POSTGRESQL)
+                .setHost("localhost")
+                .setPort(DBMSType.POSTGRESQL.getDefaultPort())
+                .setDatabase("postgres")
+                .setUser("postgres")
+                .setPassword("postgres")
+                .setUseSSL(false)
+                .createDBMSConnectionProperties());
+        processor = DBMSProcessor.getProcessorInstance(connection);
+        processor.setupSharedDatabase();
+
+        entries = new ArrayList<>(numberOfEntries);
+        for (int i = 0; i < numberOfEntries; i++) {
+            BibEntry entry = new BibEntry(StandardEntryType.Article);
+            entry.setCiteKey("id" + i);
+            entry.setField(StandardField.TITLE, "This is my title " + i);
+            entry.setField(StandardField.AUTHOR, "Firstname Lastname and FirstnameA LastnameA and FirstnameB LastnameB" + i);
+            entry.setField(StandardField.JOURNAL, "Journal Title " + i);
+            entry.setField(StandardField.YEAR, "1" + i);
+            entries.add(entry);
+        }
+        processor.insertEntries(entries);
+        sharedIDs = entries.stream()
+                           .map(entry -> entry.getSharedBibEntryData().getSharedID())
+                           .collect(Collectors.toList());
+    }
+
+    @TearDown
+    public void shutdown() throws Exception {
+        processor.removeEntries(entries);
+        connection.getConnection().close();
+    }
+
+    @Benchmark
+    public List<BibEntry> fetchEntries(FetchCost cost) {
+        long start = System.nanoTime();
+        List<BibEntry> sharedEntries = processor.getSharedEntries(sharedIDs);
+        cost.nanosPerEntry = (System.nanoTime() - start) / numberOfEntries;
+        return sharedEntries;
+    }
+
+    @Benchmark
+    public int streamEntries(FetchCost cost) {
+        long start = System.nanoTime();
+        int[] fieldCount = new int[1];
+        processor.getSharedEntries(sharedIDs, entry -> fieldCount[0] += entry.getFields().size());
+        cost.nanosPerEntry = (System.nanoTime() - start) / numberOfEntries;
+        return fieldCount[0];
+    }
+
+    public static void main(String[] args) throws IOException, RunnerException {
+        Main.main(args);
+    }
+}
@@ -16,9 +16,11 @@ import org.jabref.logic.l10n.Localization;
 import org.jabref.logic.net.ProxyAuthenticator;
 import org.jabref.logic.net.ProxyPreferences;
 import org.jabref.logic.net.ProxyRegisterer;
+import org.jabref.logic.pdf.PdfContentCache;
 import org.jabref.logic.protectedterms.ProtectedTermsLoader;
 import org.jabref.logic.remote.RemotePreferences;
 import org.jabref.logic.remote.client.RemoteClient;
+import org.jabref.logic.shared.SharedDatabaseReplica;
 import org.jabref.logic.util.BuildInfo;
 import org.jabref.logic.util.JavaVersion;
 import org.jabref.logic.util.OS;
@@ -161,7 +163,14 @@ public class JabRefMain extends Application {
 
     private static void applyPreferences(JabRefPreferences preferences) {
         // Read list(s) of journal names and abbreviations
-        Globals.journalAbbreviationLoader = new JournalAbbreviationLoader();
+        Globals.journalAbbreviationLoader = new JournalAbbreviationLoader(OS.getCacheDirectory().resolve("journals"));
+
+        // Reuse the data extracted from PDF files in former sessions
+        PdfContentCache.setCacheDirectory(OS.getCacheDirectory().resolve("pdf"));
+        JabRefExecutorService.INSTANCE.execute(PdfContentCache::cleanUp);
+
+        // Fetch only the entries of shared libraries changed since the replica of the former session
+        SharedDatabaseReplica.setReplicaDirectory(OS.getCacheDirectory().resolve("shared"));
 
         // Build list of Import and Export formats
         Globals.IMPORT_FORMAT_READER.resetImportFormats(Globals.prefs.getImportFormatPreferences(),
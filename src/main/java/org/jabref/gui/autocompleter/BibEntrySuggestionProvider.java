@@ -1,13 +1,12 @@
 package org.jabref.gui.autocompleter;
 
 import java.util.Comparator;
+import java.util.Optional;
 
 import org.jabref.logic.bibtex.comparator.EntryComparator;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.field.InternalField;
 
-import org.controlsfx.control.textfield.AutoCompletionBinding;
-
 /**
  * Delivers possible completions as a list of {@link BibEntry} based on their cite key.
  */
@@ -28,10 +27,13 @@ public class BibEntrySuggestionProvider extends SuggestionProvider<BibEntry> imp
     }
 
     @Override
-    protected boolean isMatch(BibEntry suggestion, AutoCompletionBinding.ISuggestionRequest request) {
-        String userTextLower = request.getUserText().toLowerCase();
-        return suggestion.getCiteKeyOptional()
-                .map(key -> key.toLowerCase().contains(userTextLower))
-                .orElse(false);
+    protected Object getSuggestionKey(BibEntry suggestion) {
+        // the cite key may change, and entries are equal if their fields are
+        return suggestion.getId();
+    }
+
+    @Override
+    protected Optional<String> getMatchText(BibEntry suggestion) {
+        return suggestion.getCiteKeyOptional();
     }
 }
@@ -4,14 +4,13 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Objects;
+import java.util.Optional;
 
 import org.jabref.model.entry.Author;
 import org.jabref.model.entry.AuthorList;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.field.Field;
 
-import org.controlsfx.control.textfield.AutoCompletionBinding;
-
 /**
  * Delivers possible completions as a list of {@link Author}s.
  */
@@ -53,9 +52,7 @@ public class PersonNameSuggestionProvider extends SuggestionProvider<Author> imp
     }
 
     @Override
-    protected boolean isMatch(Author suggestion, AutoCompletionBinding.ISuggestionRequest request) {
-        String userTextLower = request.getUserText().toLowerCase();
-        String suggestionStr = suggestion.getLastFirst(false).toLowerCase();
-        return suggestionStr.contains(userTextLower);
+    protected Optional<String> getMatchText(Author suggestion) {
+        return Optional.of(suggestion.getLastFirst(false));
     }
 }
@@ -1,8 +1,7 @@
 package org.jabref.gui.autocompleter;
 
 import java.util.Comparator;
-
-import org.controlsfx.control.textfield.AutoCompletionBinding;
+import java.util.Optional;
 
 class StringSuggestionProvider extends SuggestionProvider<String> {
 
@@ -18,9 +17,7 @@ class StringSuggestionProvider extends SuggestionProvider<String> {
     }
 
     @Override
-    protected boolean isMatch(String suggestion, AutoCompletionBinding.ISuggestionRequest request) {
-        String userTextLower = request.getUserText().toLowerCase();
-        String suggestionStr = suggestion.toLowerCase();
-        return suggestionStr.contains(userTextLower);
+    protected Optional<String> getMatchText(String suggestion) {
+        return Optional.of(suggestion);
     }
 }
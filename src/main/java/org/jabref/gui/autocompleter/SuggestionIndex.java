@@ -0,0 +1,178 @@
+package org.jabref.gui.autocompleter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Stores the possible suggestions of a {@link SuggestionProvider}. Each suggestion is matched by a text (such as the
+ * cite key of an entry), the lower cased texts are split into trigrams and each trigram is mapped to the suggestions
+ * containing it. Thus, a search only has to check the suggestions sharing the rarest trigram of the user text.
+ * <p>
+ * Suggestions are identified by a key which does not change with their text (such as the id of an entry). Adding a
+ * suggestion again indexes its current text.
+ * <p>
+ * Reading does not block: the suggestions are stored in concurrent maps, so that suggestions can be added while
+ * searching. Clearing replaces all maps at once, thus a search sees either all or none of the former suggestions.
+ */
+class SuggestionIndex<T> {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final Function<T, Object> keyExtractor;
+    private final Function<T, Optional<String>> textExtractor;
+
+    private volatile Suggestions<T> suggestions = new Suggestions<>();
+
+    /**
+     * Creates an index of suggestions identified by their equality.
+     *
+     * @param textExtractor determines the text a suggestion is matched by. Suggestions without text never match.
+     */
+    SuggestionIndex(Function<T, Optional<String>> textExtractor) {
+        this(suggestion -> suggestion, textExtractor);
+    }
+
+    /**
+     * @param keyExtractor  determines the key identifying a suggestion, which must not depend on its text
+     * @param textExtractor determines the text a suggestion is matched by. Suggestions without text never match.
+     */
+    SuggestionIndex(Function<T, Object> keyExtractor, Function<T, Optional<String>> textExtractor) {
+        this.keyExtractor = keyExtractor;
+        this.textExtractor = textExtractor;
+    }
+
+    /**
+     * Adds the given suggestions. Suggestions already added are indexed again if their text has changed.
+     */
+    public synchronized void addAll(Collection<T> newSuggestions) {
+        Suggestions<T> current = suggestions;
+        for (T suggestion : newSuggestions) {
+            Object key = keyExtractor.apply(suggestion);
+            String textLower = textExtractor.apply(suggestion).map(String::toLowerCase).orElse(null);
+            IndexedSuggestion<T> indexed = current.byKey.get(key);
+            if ((indexed != null) && Objects.equals(indexed.textLower, textLower)) {
+                continue;
+            }
+
+            if (indexed != null) {
+                removePostings(current, key, indexed.textLower);
+            }
+            current.byKey.put(key, new IndexedSuggestion<>(suggestion, textLower));
+            if (textLower != null) {
+                for (long gram : getGrams(textLower)) {
+                    current.postings.computeIfAbsent(gram, k -> new ConcurrentHashMap<>()).put(key, suggestion);
+                }
+            }
+        }
+    }
+
+    private static <T> void removePostings(Suggestions<T> suggestions, Object key, String textLower) {
+        if (textLower == null) {
+            return;
+        }
+        for (long gram : getGrams(textLower)) {
+            suggestions.postings.computeIfPresent(gram, (k, suggestionsWithGram) -> {
+                suggestionsWithGram.remove(key);
+                return suggestionsWithGram.isEmpty() ? null : suggestionsWithGram;
+            });
+        }
+    }
+
+    public synchronized void clear() {
+        suggestions = new Suggestions<>();
+    }
+
+    /**
+     * Returns the suggestions whose text contains the given text, ignoring the case.
+     *
+     * @param comparator determines the order of the suggestions
+     * @param limit      the maximal number of suggestions returned. If there are more matching suggestions, the first
+     *                   ones according to the comparator are returned.
+     */
+    public List<T> find(String text, Comparator<T> comparator, int limit) {
+        String textLower = text.toLowerCase();
+        // a consistent state, even if the suggestions are cleared meanwhile
+        Suggestions<T> current = suggestions;
+
+        // keeps the best suggestions found so far, the worst one at the head
+        PriorityQueue<T> best = new PriorityQueue<>(comparator.reversed());
+        for (T candidate : getCandidates(current, textLower)) {
+            // the candidates are checked in any case, since the text of a suggestion might have changed after indexing
+            boolean isMatch = textExtractor.apply(candidate)
+                                           .map(candidateText -> candidateText.toLowerCase().contains(textLower))
+                                           .orElse(false);
+            if (isMatch) {
+                best.add(candidate);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+
+        List<T> result = new ArrayList<>(best);
+        result.sort(comparator);
+        return result;
+    }
+
+    private static <T> Collection<T> getCandidates(Suggestions<T> suggestions, String textLower) {
+        if (textLower.length() < GRAM_LENGTH) {
+            return suggestions.byKey.values().stream().map(indexed -> indexed.suggestion).collect(Collectors.toList());
+        }
+
+        Map<Object, T> rarest = null;
+        for (long gram : getGrams(textLower)) {
+            Map<Object, T> suggestionsWithGram = suggestions.postings.get(gram);
+            if (suggestionsWithGram == null) {
+                return List.of();
+            }
+            if ((rarest == null) || (suggestionsWithGram.size() < rarest.size())) {
+                rarest = suggestionsWithGram;
+            }
+        }
+        return rarest.values();
+    }
+
+    /**
+     * Returns the trigrams of the text, each encoded as a long.
+     */
+    private static long[] getGrams(String text) {
+        int count = Math.max(0, text.length() - GRAM_LENGTH + 1);
+        long[] grams = new long[count];
+        for (int i = 0; i < count; i++) {
+            grams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        return grams;
+    }
+
+    /**
+     * The indexed suggestions by their key, and the suggestions containing each trigram
+     */
+    private static class Suggestions<T> {
+
+        private final Map<Object, IndexedSuggestion<T>> byKey = new ConcurrentHashMap<>();
+        private final Map<Long, Map<Object, T>> postings = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * A suggestion together with the lower cased text it is indexed by, which is null if it has no text
+     */
+    private static class IndexedSuggestion<T> {
+
+        private final T suggestion;
+        private final String textLower;
+
+        IndexedSuggestion(T suggestion, String textLower) {
+            this.suggestion = suggestion;
+            this.textLower = textLower;
+        }
+    }
+}
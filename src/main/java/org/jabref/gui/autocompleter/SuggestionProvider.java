@@ -30,8 +30,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.HashSet;
-import java.util.List;
+import java.util.Optional;
 
 import javafx.util.Callback;
 
@@ -39,17 +38,19 @@ import org.controlsfx.control.textfield.AutoCompletionBinding.ISuggestionRequest
 
 /**
  * This is a simple implementation of a generic suggestion provider callback.
- * The complexity of suggestion generation is O(n) where n is the number of possible suggestions.
+ * The possible suggestions are stored in a {@link SuggestionIndex}, thus only the suggestions sharing a trigram with
+ * the user text are checked. At most {@link #MAX_SUGGESTIONS} suggestions are returned.
  *
  * @param <T> Type of suggestions
  *
- * This class is a copy of {@link impl.org.controlsfx.autocompletion.SuggestionProvider} with the only difference that
+ * This class is based on {@link impl.org.controlsfx.autocompletion.SuggestionProvider}. In contrast to the original,
  *           we use a set instead of list to store the suggestions in order to eliminate duplicates.
  */
 public abstract class SuggestionProvider<T> implements Callback<ISuggestionRequest, Collection<T>> {
 
-    private final Collection<T> possibleSuggestions = new HashSet<>();
-    private final Object possibleSuggestionsLock = new Object();
+    private static final int MAX_SUGGESTIONS = 100;
+
+    private final SuggestionIndex<T> possibleSuggestions = new SuggestionIndex<>(this::getSuggestionKey, this::getMatchText);
 
     /**
      * Create a default suggestion provider based on the toString() method of the generic objects
@@ -83,34 +84,22 @@ public abstract class SuggestionProvider<T> implements Callback<ISuggestionReque
      * Add the given new possible suggestions to this  SuggestionProvider
      */
     public void addPossibleSuggestions(Collection<T> newPossible) {
-        synchronized (possibleSuggestionsLock) {
-            possibleSuggestions.addAll(newPossible);
-        }
+        possibleSuggestions.addAll(newPossible);
     }
 
     /**
      * Remove all current possible suggestions
      */
     public void clearSuggestions() {
-        synchronized (possibleSuggestionsLock) {
-            possibleSuggestions.clear();
-        }
+        possibleSuggestions.clear();
     }
 
     @Override
     public final Collection<T> call(final ISuggestionRequest request) {
-        List<T> suggestions = new ArrayList<>();
-        if (!request.getUserText().isEmpty()) {
-            synchronized (possibleSuggestionsLock) {
-                for (T possibleSuggestion : possibleSuggestions) {
-                    if (isMatch(possibleSuggestion, request)) {
-                        suggestions.add(possibleSuggestion);
-                    }
-                }
-            }
-            suggestions.sort(getComparator());
+        if (request.getUserText().isEmpty()) {
+            return new ArrayList<>();
         }
-        return suggestions;
+        return possibleSuggestions.find(request.getUserText(), getComparator(), MAX_SUGGESTIONS);
     }
 
     /**
@@ -119,9 +108,19 @@ public abstract class SuggestionProvider<T> implements Callback<ISuggestionReque
     protected abstract Comparator<T> getComparator();
 
     /**
-     * Check the given possible suggestion is a match (is a valid suggestion)
+     * Get the text of the given possible suggestion. The suggestion matches if its text contains the user text,
+     * ignoring the case. Suggestions without text never match.
      */
-    protected abstract boolean isMatch(T suggestion, ISuggestionRequest request);
+    protected abstract Optional<String> getMatchText(T suggestion);
+
+    /**
+     * Get the key identifying the given possible suggestion. Adding a suggestion with the key of a present one indexes
+     * its current text. The key must not change with the text, thus suggestions whose text can change have to
+     * override this method.
+     */
+    protected Object getSuggestionKey(T suggestion) {
+        return suggestion;
+    }
 
     /**
      * This is a simple string based suggestion provider.
@@ -163,10 +162,8 @@ public abstract class SuggestionProvider<T> implements Callback<ISuggestionReque
 
         /**{@inheritDoc}*/
         @Override
-        protected boolean isMatch(T suggestion, ISuggestionRequest request) {
-            String userTextLower = request.getUserText().toLowerCase();
-            String suggestionStr = suggestion.toString().toLowerCase();
-            return suggestionStr.contains(userTextLower);
+        protected Optional<String> getMatchText(T suggestion) {
+            return Optional.of(suggestion.toString());
         }
     }
 }
@@ -0,0 +1,194 @@
+package org.jabref.gui.documentviewer;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+
+import javafx.embed.swing.SwingFXUtils;
+import javafx.scene.image.Image;
+
+import org.jabref.JabRefExecutorService;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Renders the pages of a pdf document and keeps the rendered images in memory, so that scrolling back and forth does
+ * not render the same pages again and again. The pages following (and preceding) a requested page are rendered ahead
+ * in the background.
+ * <p>
+ * PDFBox does not support rendering a document in several threads at once, thus the pages are rendered one after the
+ * other by a single {@link PDFRenderer}.
+ */
+class PdfPageRenderer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PdfPageRenderer.class);
+
+    private static final int PAGES_PREFETCHED_AHEAD = 2;
+    private static final int PAGES_PREFETCHED_BEHIND = 1;
+
+    private final PDDocument document;
+    private final PDFRenderer renderer;
+    // the images are weighed by their size in bytes and are collected first if memory runs low
+    private final Cache<RenderKey, Image> images = CacheBuilder
+            .newBuilder()
+            .maximumWeight(Runtime.getRuntime().maxMemory() / 8)
+            .weigher((RenderKey key, Image image) -> key.width * key.height * 4)
+            .softValues()
+            .build();
+    private final Map<RenderKey, Future<?>> prefetches = new ConcurrentHashMap<>();
+    private final double[] aspectRatios;
+
+    PdfPageRenderer(PDDocument document) {
+        this.document = Objects.requireNonNull(document);
+        this.renderer = new PDFRenderer(document);
+
+        aspectRatios = new double[document.getNumberOfPages()];
+        for (int i = 0; i < aspectRatios.length; i++) {
+            aspectRatios[i] = getAspectRatio(document.getPage(i));
+        }
+    }
+
+    static double getAspectRatio(PDPage page) {
+        PDRectangle mediaBox = page.getMediaBox();
+        return mediaBox.getWidth() / mediaBox.getHeight();
+    }
+
+    /**
+     * Returns the image of the given page rendered with the given size. Afterwards, the neighbouring pages are
+     * rendered in the background, assuming they are shown next. Pages rendered ahead for other parts of the document
+     * are no longer rendered.
+     *
+     * @param pageIndex the index of the page, starting with 0
+     */
+    Image render(int pageIndex, int width, int height) throws IOException {
+        cancelDistantPrefetches(pageIndex);
+
+        RenderKey key = new RenderKey(pageIndex, width, height);
+        Image image = images.getIfPresent(key);
+        if (image == null) {
+            image = renderAndCache(key);
+        }
+
+        prefetchNeighbours(pageIndex, width, height);
+        return image;
+    }
+
+    private Image renderAndCache(RenderKey key) throws IOException {
+        synchronized (renderer) {
+            // the page may have been rendered ahead in the meantime
+            Image image = images.getIfPresent(key);
+            if (image == null) {
+                image = SwingFXUtils.toFXImage(renderImage(key), null);
+                images.put(key, image);
+            }
+            return image;
+        }
+    }
+
+    /**
+     * Renders the page directly at the requested size (instead of rendering it at a higher resolution and scaling the
+     * image down afterwards).
+     */
+    private BufferedImage renderImage(RenderKey key) throws IOException {
+        PDPage page = document.getPage(key.pageIndex);
+        PDRectangle cropBox = page.getCropBox();
+        boolean isRotated = (page.getRotation() % 180) != 0;
+        float pageWidth = isRotated ? cropBox.getHeight() : cropBox.getWidth();
+        float pageHeight = isRotated ? cropBox.getWidth() : cropBox.getHeight();
+
+        BufferedImage image = new BufferedImage(key.width, key.height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setBackground(Color.WHITE);
+            graphics.clearRect(0, 0, key.width, key.height);
+            renderer.renderPageToGraphics(key.pageIndex, graphics, key.width / pageWidth, key.height / pageHeight);
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    private void prefetchNeighbours(int pageIndex, int width, int height) {
+        for (int neighbour = pageIndex - PAGES_PREFETCHED_BEHIND; neighbour <= (pageIndex + PAGES_PREFETCHED_AHEAD); neighbour++) {
+            // the size of pages with another format is unknown
+            if ((neighbour == pageIndex) || (neighbour < 0) || (neighbour >= aspectRatios.length)
+                    || (aspectRatios[neighbour] != aspectRatios[pageIndex])) {
+                continue;
+            }
+
+            RenderKey key = new RenderKey(neighbour, width, height);
+            if (images.getIfPresent(key) == null) {
+                prefetches.computeIfAbsent(key, k -> JabRefExecutorService.INSTANCE.execute(() -> prefetch(k)));
+            }
+        }
+    }
+
+    private Void prefetch(RenderKey key) {
+        try {
+            renderAndCache(key);
+        } catch (IOException | RuntimeException e) {
+            // the page is rendered again as soon as it is shown
+            LOGGER.debug("Could not render page " + key.pageIndex + " ahead", e);
+        } finally {
+            prefetches.remove(key);
+        }
+        return null;
+    }
+
+    /**
+     * Cancels rendering pages ahead which are not near the given page, e.g., because the user jumped to another part of
+     * the document.
+     */
+    private void cancelDistantPrefetches(int pageIndex) {
+        prefetches.entrySet().removeIf(prefetch -> {
+            int distance = prefetch.getKey().pageIndex - pageIndex;
+            if ((distance < -PAGES_PREFETCHED_BEHIND) || (distance > PAGES_PREFETCHED_AHEAD)) {
+                prefetch.getValue().cancel(false);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private static class RenderKey {
+
+        private final int pageIndex;
+        private final int width;
+        private final int height;
+
+        RenderKey(int pageIndex, int width, int height) {
+            this.pageIndex = pageIndex;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if ((obj == null) || (getClass() != obj.getClass())) {
+                return false;
+            }
+            RenderKey that = (RenderKey) obj;
+            return (pageIndex == that.pageIndex) && (width == that.width) && (height == that.height);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(pageIndex, width, height);
+        }
+    }
+}
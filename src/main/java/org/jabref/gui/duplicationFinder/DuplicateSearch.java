@@ -1,7 +1,6 @@
 package org.jabref.gui.duplicationFinder;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +25,7 @@ import org.jabref.gui.undo.UndoableRemoveEntries;
 import org.jabref.gui.util.BackgroundTask;
 import org.jabref.gui.util.DefaultTaskExecutor;
 import org.jabref.logic.bibtex.DuplicateCheck;
+import org.jabref.logic.bibtex.DuplicateFinder;
 import org.jabref.logic.l10n.Localization;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.database.BibDatabaseMode;
@@ -75,21 +75,10 @@ public class DuplicateSearch extends SimpleCommand {
     }
 
     private void searchPossibleDuplicates(List<BibEntry> entries, BibDatabaseMode databaseMode) {
-        for (int i = 0; (i < (entries.size() - 1)); i++) {
-            for (int j = i + 1; (j < entries.size()); j++) {
-                if (Thread.interrupted()) {
-                    return;
-                }
-
-                BibEntry first = entries.get(i);
-                BibEntry second = entries.get(j);
-
-                if (new DuplicateCheck(Globals.entryTypesManager).isDuplicate(first, second, databaseMode)) {
-                    duplicates.add(Arrays.asList(first, second));
-                    duplicateCount.getAndIncrement();
-                }
-            }
-        }
+        new DuplicateFinder(Globals.entryTypesManager).findDuplicates(entries, databaseMode, pair -> {
+            duplicates.add(pair);
+            duplicateCount.getAndIncrement();
+        });
         libraryAnalyzed.set(true);
     }
 
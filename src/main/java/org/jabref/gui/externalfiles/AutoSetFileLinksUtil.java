@@ -35,6 +35,8 @@ public class AutoSetFileLinksUtil {
     private List<Path> directories;
     private AutoLinkPreferences autoLinkPreferences;
     private ExternalFileTypes externalFileTypes;
+    // shared by all entries, so that the file directories are only cataloged once
+    private FileFinder fileFinder;
 
     public AutoSetFileLinksUtil(BibDatabaseContext databaseContext, FilePreferences filePreferences, AutoLinkPreferences autoLinkPreferences, ExternalFileTypes externalFileTypes) {
         this(databaseContext.getFileDirectoriesAsPaths(filePreferences), autoLinkPreferences, externalFileTypes);
@@ -44,6 +46,7 @@ public class AutoSetFileLinksUtil {
         this.directories = directories;
         this.autoLinkPreferences = autoLinkPreferences;
         this.externalFileTypes = externalFileTypes;
+        this.fileFinder = FileFinders.constructFromConfiguration(autoLinkPreferences);
     }
 
     public List<BibEntry> linkAssociatedFiles(List<BibEntry> entries, NamedCompound ce) {
@@ -84,7 +87,6 @@ public class AutoSetFileLinksUtil {
         List<String> extensions = externalFileTypes.getExternalFileTypeSelection().stream().map(ExternalFileType::getExtension).collect(Collectors.toList());
 
         // Run the search operation
-        FileFinder fileFinder = FileFinders.constructFromConfiguration(autoLinkPreferences);
         List<Path> result = fileFinder.findAssociatedFiles(entry, directories, extensions);
 
         // Collect the found files that are not yet linked
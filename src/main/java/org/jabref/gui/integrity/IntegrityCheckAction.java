@@ -1,9 +1,14 @@
 package org.jabref.gui.integrity;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import javafx.collections.ObservableList;
 import javafx.concurrent.Task;
 
 import org.jabref.Globals;
@@ -51,20 +56,23 @@ public class IntegrityCheckAction extends SimpleCommand {
         Task<List<IntegrityMessage>> task = new Task<>() {
             @Override
             protected List<IntegrityMessage> call() {
-                List<IntegrityMessage> result = new ArrayList<>();
+                Queue<IntegrityMessage> result = new ConcurrentLinkedQueue<>();
+                AtomicInteger checkedEntries = new AtomicInteger();
 
-                ObservableList<BibEntry> entries = database.getDatabase().getEntries();
-                for (int i = 0; i < entries.size(); i++) {
-                    if (isCancelled()) {
-                        break;
-                    }
+                List<BibEntry> entries = new ArrayList<>(database.getDatabase().getEntries());
+                check.checkEntries(entries, messages -> {
+                    result.addAll(messages);
+                    updateProgress(checkedEntries.incrementAndGet(), entries.size());
+                }, this::isCancelled);
 
-                    BibEntry entry = entries.get(i);
-                    result.addAll(check.checkEntry(entry));
-                    updateProgress(i, entries.size());
+                // Entries are checked in parallel, thus the messages are brought back into the order of the entries
+                Map<BibEntry, Integer> positions = new IdentityHashMap<>();
+                for (int i = 0; i < entries.size(); i++) {
+                    positions.put(entries.get(i), i);
                 }
-
-                return result;
+                List<IntegrityMessage> sortedResult = new ArrayList<>(result);
+                sortedResult.sort(Comparator.comparingInt(message -> positions.getOrDefault(message.getEntry(), entries.size())));
+                return sortedResult;
             }
         };
         task.setOnSucceeded(value -> {
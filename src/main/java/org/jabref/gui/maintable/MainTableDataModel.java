@@ -1,9 +1,15 @@
 package org.jabref.gui.maintable;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 import javafx.beans.binding.Bindings;
+import javafx.beans.binding.ObjectBinding;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.collections.ObservableList;
@@ -12,52 +18,109 @@ import javafx.collections.transformation.SortedList;
 
 import org.jabref.Globals;
 import org.jabref.gui.groups.GroupViewMode;
+import org.jabref.gui.util.BackgroundTask;
 import org.jabref.gui.util.BindingsHelper;
+import org.jabref.logic.search.IndexedSearchMatcher;
+import org.jabref.logic.search.SearchQuery;
+import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.groups.GroupTreeNode;
+import org.jabref.model.search.SearchMatcher;
 import org.jabref.model.search.matchers.MatcherSet;
 import org.jabref.model.search.matchers.MatcherSets;
 
 public class MainTableDataModel {
+
+    /**
+     * Libraries with at least this number of entries are filtered in parallel in the background
+     */
+    private static final int PARALLEL_FILTER_THRESHOLD = 10_000;
+
     private final FilteredList<BibEntryTableViewModel> entriesFiltered;
     private final SortedList<BibEntryTableViewModel> entriesSorted;
     private final GroupViewMode groupViewMode;
+    private final BibDatabase database;
+    private final ObservableList<BibEntry> allEntries;
+
+    // The filter combines the active groups and the active search query. It is kept as a field, since the binding is
+    // only referenced weakly by its dependencies.
+    private final ObjectBinding<Predicate<BibEntry>> filter;
+    // incremented whenever the filter changes, used to discard the results of outdated background filtering
+    private long filterGeneration;
 
     public MainTableDataModel(BibDatabaseContext context) {
-        ObservableList<BibEntry> allEntries = BindingsHelper.forUI(context.getDatabase().getEntries());
+        groupViewMode = Globals.prefs.getGroupViewMode();
+        database = context.getDatabase();
+        allEntries = BindingsHelper.forUI(context.getDatabase().getEntries());
 
         ObservableList<BibEntryTableViewModel> entriesViewModel = BindingsHelper.mapBacked(allEntries, BibEntryTableViewModel::new);
 
         entriesFiltered = new FilteredList<>(entriesViewModel);
-        entriesFiltered.predicateProperty().bind(
-                Bindings.createObjectBinding(() -> this::isMatched,
-                        Globals.stateManager.activeGroupProperty(), Globals.stateManager.activeSearchQueryProperty())
-
-        );
+        filter = Bindings.createObjectBinding(this::createFilter,
+                Globals.stateManager.activeGroupProperty(), Globals.stateManager.activeSearchQueryProperty());
+        filter.addListener((observable, oldFilter, newFilter) -> applyFilter(newFilter));
+        entriesFiltered.setPredicate(row -> filter.get().test(row.getEntry()));
 
         IntegerProperty resultSize = new SimpleIntegerProperty();
         resultSize.bind(Bindings.size(entriesFiltered));
         Globals.stateManager.setActiveSearchResultSize(context, resultSize);
         // We need to wrap the list since otherwise sorting in the table does not work
         entriesSorted = new SortedList<>(entriesFiltered);
-        groupViewMode = Globals.prefs.getGroupViewMode();
     }
 
-    private boolean isMatched(BibEntryTableViewModel entry) {
-        return isMatchedByGroup(entry) && isMatchedBySearch(entry);
+    /**
+     * Compiles the active groups and the active search query into one predicate. The group matcher and the candidates
+     * of the search are created once and shared by all rows.
+     */
+    private Predicate<BibEntry> createFilter() {
+        Predicate<BibEntry> result = entry -> true;
+
+        Optional<MatcherSet> groupMatcher = createGroupMatcher(Globals.stateManager.activeGroupProperty().getValue());
+        if (groupMatcher.isPresent()) {
+            result = result.and(groupMatcher.get()::isMatch);
+        }
+
+        Optional<SearchQuery> searchQuery = Globals.stateManager.activeSearchQueryProperty().getValue();
+        if (searchQuery.isPresent()) {
+            SearchMatcher searchMatcher = new IndexedSearchMatcher(searchQuery.get(), database);
+            result = result.and(searchMatcher::isMatch);
+        }
+        return result;
     }
 
-    private boolean isMatchedBySearch(BibEntryTableViewModel entry) {
-        return Globals.stateManager.activeSearchQueryProperty().getValue()
-                .map(matcher -> matcher.isMatch(entry.getEntry()))
-                .orElse(true);
+    private void applyFilter(Predicate<BibEntry> newFilter) {
+        long generation = ++filterGeneration;
+        if (allEntries.size() < PARALLEL_FILTER_THRESHOLD) {
+            entriesFiltered.setPredicate(row -> newFilter.test(row.getEntry()));
+            return;
+        }
+
+        // The entries are filtered in the background, afterwards the table is updated at once. Meanwhile, the table
+        // keeps showing the results of the previous filter.
+        List<BibEntry> entries = new ArrayList<>(allEntries);
+        BackgroundTask.wrap(() -> filterInParallel(entries, newFilter))
+                      .onSuccess(results -> {
+                          if (generation == filterGeneration) {
+                              PrecomputedFilter precomputedFilter = new PrecomputedFilter(newFilter, results);
+                              entriesFiltered.setPredicate(precomputedFilter);
+                              // later changes of rows have to be evaluated again
+                              precomputedFilter.discardResults();
+                          }
+                      })
+                      .executeWith(Globals.TASK_EXECUTOR);
     }
 
-    private boolean isMatchedByGroup(BibEntryTableViewModel entry) {
-        return createGroupMatcher(Globals.stateManager.activeGroupProperty().getValue())
-                .map(matcher -> matcher.isMatch(entry.getEntry()))
-                .orElse(true);
+    private static Map<BibEntry, Boolean> filterInParallel(List<BibEntry> entries, Predicate<BibEntry> filter) {
+        boolean[] matched = new boolean[entries.size()];
+        IntStream.range(0, entries.size()).parallel().forEach(i -> matched[i] = filter.test(entries.get(i)));
+
+        // BibEntry#equals compares the content, thus we have to work with the identical objects
+        Map<BibEntry, Boolean> results = new IdentityHashMap<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            results.put(entries.get(i), matched[i]);
+        }
+        return results;
     }
 
     private Optional<MatcherSet> createGroupMatcher(List<GroupTreeNode> selectedGroups) {
@@ -77,4 +140,29 @@ public class MainTableDataModel {
     public SortedList<BibEntryTableViewModel> getEntriesFilteredAndSorted() {
         return entriesSorted;
     }
+
+    /**
+     * Filters the rows using the results determined in the background. Rows not covered by the results (e.g., added
+     * after the results were determined) are evaluated directly.
+     */
+    private static class PrecomputedFilter implements Predicate<BibEntryTableViewModel> {
+
+        private final Predicate<BibEntry> filter;
+        private Map<BibEntry, Boolean> results;
+
+        PrecomputedFilter(Predicate<BibEntry> filter, Map<BibEntry, Boolean> results) {
+            this.filter = filter;
+            this.results = results;
+        }
+
+        @Override
+        public boolean test(BibEntryTableViewModel row) {
+            Boolean matched = (results == null) ? null : results.get(row.getEntry());
+            return (matched == null) ? filter.test(row.getEntry()) : matched;
+        }
+
+        void discardResults() {
+            results = null;
+        }
+    }
 }
@@ -17,6 +17,7 @@ import org.jabref.gui.entryeditor.EntryEditor;
 import org.jabref.gui.exporter.SaveDatabaseAction;
 import org.jabref.gui.mergeentries.MergeEntriesDialog;
 import org.jabref.gui.undo.UndoableRemoveEntries;
+import org.jabref.gui.util.DefaultTaskExecutor;
 import org.jabref.logic.importer.ParserResult;
 import org.jabref.logic.l10n.Localization;
 import org.jabref.logic.shared.DBMSConnection;
@@ -48,9 +49,26 @@ public class SharedDatabaseUIManager {
         this.dialogService = jabRefFrame.getDialogService();
     }
 
+    /**
+     * The events of the shared database may be posted by the threads writing and pulling changes in the background.
+     * Thus, they are handled in the JavaFX thread.
+     */
     @Subscribe
     public void listen(ConnectionLostEvent connectionLostEvent) {
+        DefaultTaskExecutor.runInJavaFXThread(() -> handleConnectionLost(connectionLostEvent));
+    }
+
+    @Subscribe
+    public void listen(UpdateRefusedEvent updateRefusedEvent) {
+        DefaultTaskExecutor.runInJavaFXThread(() -> handleUpdateRefused(updateRefusedEvent));
+    }
+
+    @Subscribe
+    public void listen(SharedEntriesNotPresentEvent event) {
+        DefaultTaskExecutor.runInJavaFXThread(() -> handleSharedEntriesNotPresent(event));
+    }
 
+    private void handleConnectionLost(ConnectionLostEvent connectionLostEvent) {
         ButtonType reconnect = new ButtonType(Localization.lang("Reconnect"), ButtonData.YES);
         ButtonType workOffline = new ButtonType(Localization.lang("Work offline"), ButtonData.NO);
         ButtonType closeLibrary = new ButtonType(Localization.lang("Close library"), ButtonData.CANCEL_CLOSE);
@@ -77,9 +95,7 @@ public class SharedDatabaseUIManager {
         }
     }
 
-    @Subscribe
-    public void listen(UpdateRefusedEvent updateRefusedEvent) {
-
+    private void handleUpdateRefused(UpdateRefusedEvent updateRefusedEvent) {
         jabRefFrame.getDialogService().notify(Localization.lang("Update refused."));
 
         BibEntry localBibEntry = updateRefusedEvent.getLocalBibEntry();
@@ -118,8 +134,7 @@ public class SharedDatabaseUIManager {
 
     }
 
-    @Subscribe
-    public void listen(SharedEntriesNotPresentEvent event) {
+    private void handleSharedEntriesNotPresent(SharedEntriesNotPresentEvent event) {
         BasePanel panel = jabRefFrame.getCurrentBasePanel();
         EntryEditor entryEditor = panel.getEntryEditor();
 
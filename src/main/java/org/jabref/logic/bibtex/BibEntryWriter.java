@@ -58,7 +58,8 @@ public class BibEntryWriter {
     public void write(BibEntry entry, Writer out, BibDatabaseMode bibDatabaseMode, Boolean reformat) throws IOException {
         // if the entry has not been modified, write it as it was
         if (!reformat && !entry.hasChanged()) {
-            out.write(entry.getParsedSerialization());
+            // copies the text straight from the content of the parsed file
+            entry.getParsedSerializationSpan().writeTo(out);
             return;
         }
 
@@ -79,7 +80,7 @@ public class BibEntryWriter {
     public void writeWithoutPrependedNewlines(BibEntry entry, Writer out, BibDatabaseMode bibDatabaseMode) throws IOException {
         // if the entry has not been modified, write it as it was
         if (!entry.hasChanged()) {
-            out.write(entry.getParsedSerialization().trim());
+            entry.getParsedSerializationSpan().trim().writeTo(out);
             return;
         }
 
@@ -0,0 +1,235 @@
+package org.jabref.logic.bibtex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.jabref.model.database.BibDatabaseMode;
+import org.jabref.model.entry.AuthorList;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryTypesManager;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.entry.field.FieldFactory;
+import org.jabref.model.entry.field.StandardField;
+
+/**
+ * Searches for duplicates within a list of entries.
+ * <p>
+ * Comparing every pair of entries using {@link DuplicateCheck} is quadratic in the number of entries. Thus, the
+ * entries are first grouped into blocks of possible duplicates (same identifier, same ISBN, same first author and year,
+ * or a common min-hash of the title words). Only pairs sharing at least one block are checked with
+ * {@link DuplicateCheck#isDuplicate(BibEntry, BibEntry, BibDatabaseMode)}. Blocks exceeding {@link #MAX_BLOCK_SIZE}
+ * are not compared completely, but sorted by title and compared within a sliding window (sorted neighbourhood).
+ * <p>
+ * The verification of the candidate pairs is done in parallel.
+ */
+public class DuplicateFinder {
+
+    private static final int MAX_BLOCK_SIZE = 250;
+    private static final int WINDOW_SIZE = 25;
+    private static final int CHUNK_SIZE = 10_000;
+
+    private static final int[] MIN_HASH_SEEDS = {0x5bd1e995, 0x1b873593, 0x27d4eb2f, 0x165667b1};
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern NON_ISBN_CHARACTERS = Pattern.compile("[^0-9X]");
+
+    private final DuplicateCheck duplicateCheck;
+
+    public DuplicateFinder(BibEntryTypesManager entryTypesManager) {
+        this.duplicateCheck = new DuplicateCheck(entryTypesManager);
+    }
+
+    /**
+     * Finds all pairs of duplicates in the given entries.
+     *
+     * @return the pairs of duplicates, ordered by the position of their entries in the given list
+     */
+    public List<List<BibEntry>> findDuplicates(List<BibEntry> entries, BibDatabaseMode databaseMode) {
+        List<List<BibEntry>> duplicates = new ArrayList<>();
+        findDuplicates(entries, databaseMode, duplicates::add);
+        return duplicates;
+    }
+
+    /**
+     * Finds all pairs of duplicates in the given entries and passes them to the consumer as soon as a chunk of
+     * candidate pairs is verified. The consumer is always called from the calling thread. The search stops if the
+     * calling thread gets interrupted.
+     *
+     * @param duplicateConsumer receives each pair of duplicates as list of two entries, ordered by the position of the
+     *                          entries in the given list
+     */
+    public void findDuplicates(List<BibEntry> entries, BibDatabaseMode databaseMode, Consumer<List<BibEntry>> duplicateConsumer) {
+        Objects.requireNonNull(duplicateConsumer);
+        List<BibEntry> entriesToCheck = List.copyOf(entries);
+        long[] candidates = getCandidatePairs(entriesToCheck);
+
+        for (int start = 0; start < candidates.length; start += CHUNK_SIZE) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+
+            int end = Math.min(start + CHUNK_SIZE, candidates.length);
+            boolean[] isDuplicate = new boolean[end - start];
+            int offset = start;
+            IntStream.range(start, end).parallel().forEach(i -> {
+                BibEntry first = entriesToCheck.get(firstOf(candidates[i]));
+                BibEntry second = entriesToCheck.get(secondOf(candidates[i]));
+                isDuplicate[i - offset] = duplicateCheck.isDuplicate(first, second, databaseMode);
+            });
+
+            for (int i = start; i < end; i++) {
+                if (isDuplicate[i - start]) {
+                    duplicateConsumer.accept(Arrays.asList(entriesToCheck.get(firstOf(candidates[i])), entriesToCheck.get(secondOf(candidates[i]))));
+                }
+            }
+        }
+    }
+
+    /**
+     * Determines the pairs of entries which share at least one block.
+     *
+     * @return the sorted pairs of indices into the given entries, encoded by {@link #encodePair(int, int)}
+     */
+    long[] getCandidatePairs(List<BibEntry> entries) {
+        List<Set<String>> blockKeys = entries.parallelStream()
+                                             .map(DuplicateFinder::getBlockKeys)
+                                             .collect(Collectors.toList());
+
+        Map<String, List<Integer>> blocks = new HashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            for (String key : blockKeys.get(i)) {
+                blocks.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        Set<Long> pairs = new HashSet<>();
+        for (List<Integer> block : blocks.values()) {
+            addPairs(block, entries, pairs);
+        }
+
+        return pairs.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    private static void addPairs(List<Integer> block, List<BibEntry> entries, Set<Long> pairs) {
+        if (block.size() <= MAX_BLOCK_SIZE) {
+            for (int i = 0; i < block.size() - 1; i++) {
+                for (int j = i + 1; j < block.size(); j++) {
+                    pairs.add(encodePair(block.get(i), block.get(j)));
+                }
+            }
+            return;
+        }
+
+        Map<Integer, String> sortKeys = new HashMap<>();
+        block.forEach(index -> sortKeys.put(index, getSortKey(entries.get(index))));
+        List<Integer> sortedBlock = new ArrayList<>(block);
+        sortedBlock.sort(Comparator.comparing(sortKeys::get));
+        for (int i = 0; i < sortedBlock.size() - 1; i++) {
+            for (int j = i + 1; j < Math.min(i + WINDOW_SIZE, sortedBlock.size()); j++) {
+                int first = sortedBlock.get(i);
+                int second = sortedBlock.get(j);
+                pairs.add(encodePair(Math.min(first, second), Math.max(first, second)));
+            }
+        }
+    }
+
+    static Set<String> getBlockKeys(BibEntry entry) {
+        Set<String> keys = new HashSet<>();
+
+        for (Field field : FieldFactory.getIdentifierFieldNames()) {
+            entry.getField(field).ifPresent(value -> keys.add(field.getName() + ':' + value));
+        }
+
+        entry.getField(StandardField.ISBN)
+             .map(isbn -> NON_ISBN_CHARACTERS.matcher(isbn.toUpperCase(Locale.ROOT)).replaceAll(""))
+             .filter(isbn -> !isbn.isEmpty())
+             .ifPresent(isbn -> keys.add("isbn:" + isbn));
+
+        String firstAuthor = entry.getField(StandardField.AUTHOR)
+                                  .or(() -> entry.getField(StandardField.EDITOR))
+                                  .map(AuthorList::parse)
+                                  .filter(authors -> !authors.isEmpty())
+                                  .flatMap(authors -> authors.getAuthor(0).getLast())
+                                  .map(DuplicateFinder::normalize)
+                                  .orElse("");
+        String year = entry.getFieldOrAlias(StandardField.YEAR).orElse("");
+        if (!firstAuthor.isEmpty() || !year.isEmpty()) {
+            keys.add("author-year:" + firstAuthor + ':' + year);
+        }
+
+        entry.getField(StandardField.TITLE)
+             .map(DuplicateFinder::getTitleWords)
+             .filter(words -> !words.isEmpty())
+             .ifPresent(words -> {
+                 for (int seed = 0; seed < MIN_HASH_SEEDS.length; seed++) {
+                     keys.add("title-" + seed + ':' + getMinHashWord(words, MIN_HASH_SEEDS[seed]));
+                 }
+             });
+
+        if (keys.isEmpty()) {
+            // entries without any of the above information can only be duplicates of similar entries
+            keys.add("type:" + entry.getType().getName());
+        }
+        return keys;
+    }
+
+    private static Set<String> getTitleWords(String title) {
+        return Arrays.stream(NON_ALPHANUMERIC.split(normalize(title)))
+                     .filter(word -> word.length() > 2)
+                     .collect(Collectors.toSet());
+    }
+
+    /**
+     * Returns the word having the smallest hash under the given seed. Titles with a high share of common words are
+     * likely to have the same min-hash word for at least one of the seeds.
+     */
+    private static String getMinHashWord(Collection<String> words, int seed) {
+        String minWord = null;
+        int minHash = Integer.MAX_VALUE;
+        for (String word : words) {
+            int hash = mix(word.hashCode() ^ seed);
+            if ((minWord == null) || (hash < minHash) || ((hash == minHash) && (word.compareTo(minWord) < 0))) {
+                minHash = hash;
+                minWord = word;
+            }
+        }
+        return minWord;
+    }
+
+    private static int mix(int value) {
+        int hash = value * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static String getSortKey(BibEntry entry) {
+        return entry.getField(StandardField.TITLE).map(DuplicateFinder::normalize).orElse("");
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT).replaceAll("[{}\\\\]", "").trim();
+    }
+
+    static long encodePair(int first, int second) {
+        return ((long) first << 32) | second;
+    }
+
+    static int firstOf(long pair) {
+        return (int) (pair >>> 32);
+    }
+
+    static int secondOf(long pair) {
+        return (int) pair;
+    }
+}
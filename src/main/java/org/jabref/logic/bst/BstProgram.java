@@ -0,0 +1,346 @@
+package org.jabref.logic.bst;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.entry.field.FieldFactory;
+import org.jabref.model.entry.field.StandardField;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.antlr.runtime.ANTLRStringStream;
+import org.antlr.runtime.CharStream;
+import org.antlr.runtime.CommonTokenStream;
+import org.antlr.runtime.RecognitionException;
+import org.antlr.runtime.tree.CommonTree;
+import org.antlr.runtime.tree.Tree;
+
+/**
+ * A .bst program compiled for the {@link VM}.
+ * <p>
+ * All names used by the program are resolved once: each variable gets a slot in the arrays holding the values of the
+ * fields, entry and global variables, and each function gets a slot in the function table of the VM. The body of each
+ * function is compiled into a linear array of instructions referring to these slots, so that running the program does
+ * not walk the syntax tree and does not look up names.
+ * <p>
+ * A compiled program holds no state of a run, thus it is shared by all VMs running the same style (see {@link
+ * #of(String)}).
+ */
+final class BstProgram {
+
+    static final String ENTRY_MAX = "entry.max$";
+    static final String GLOBAL_MAX = "global.max$";
+    static final String SORT_KEY = "sort.key$";
+
+    // instructions, the operand is the integer literal or the slot of the variable or function
+    static final int PUSH_INTEGER = 0;
+    static final int PUSH_LITERAL = 1;
+    static final int PUSH_FIELD = 2;
+    static final int PUSH_ENTRY_INTEGER = 3;
+    static final int PUSH_ENTRY_STRING = 4;
+    static final int PUSH_GLOBAL_INTEGER = 5;
+    static final int PUSH_GLOBAL_STRING = 6;
+    static final int CALL = 7;
+
+    private static final Cache<String, BstProgram> PROGRAMS = CacheBuilder.newBuilder().maximumSize(16).build();
+
+    private final Map<String, Symbol> symbols = new HashMap<>();
+    private final List<String> fieldNames = new ArrayList<>();
+    private final List<String> entryIntegerNames = new ArrayList<>();
+    private final List<String> entryStringNames = new ArrayList<>();
+    private final List<String> globalIntegerNames = new ArrayList<>();
+    private final List<String> globalStringNames = new ArrayList<>();
+    private final List<String> functionNames = new ArrayList<>();
+    private final List<Field> fields = new ArrayList<>();
+    private final List<Command> commands = new ArrayList<>();
+
+    private BstProgram(CommonTree tree) {
+        declare(tree);
+        for (int i = 0; i < tree.getChildCount(); i++) {
+            commands.add(compileCommand(tree.getChild(i)));
+        }
+    }
+
+    /**
+     * Returns the compiled program of the given .bst source. Programs are cached, thus each style is compiled once.
+     */
+    static BstProgram of(String source) throws RecognitionException {
+        BstProgram program = PROGRAMS.getIfPresent(source);
+        if (program == null) {
+            program = new BstProgram(parse(new ANTLRStringStream(source)));
+            PROGRAMS.put(source, program);
+        }
+        return program;
+    }
+
+    private static CommonTree parse(CharStream bst) throws RecognitionException {
+        BstLexer lex = new BstLexer(bst);
+        CommonTokenStream tokens = new CommonTokenStream(lex);
+        BstParser parser = new BstParser(tokens);
+        BstParser.program_return r = parser.program();
+        return (CommonTree) r.getTree();
+    }
+
+    /**
+     * Collects the names of all variables and functions declared by the program. Names are unique in valid programs.
+     * If a name is declared more than once anyway, it refers to the first of field, entry string, entry integer,
+     * global string, global integer or function, which is the order the names were looked up by the interpreting VM.
+     */
+    private void declare(CommonTree tree) {
+        globalIntegerNames.add(ENTRY_MAX);
+        globalIntegerNames.add(GLOBAL_MAX);
+
+        List<String> declaredFunctions = new ArrayList<>();
+        for (int i = 0; i < tree.getChildCount(); i++) {
+            Tree child = tree.getChild(i);
+            switch (child.getType()) {
+            case BstParser.ENTRY:
+                addNames(fieldNames, child.getChild(0));
+                addNames(entryIntegerNames, child.getChild(1));
+                addNames(entryStringNames, child.getChild(2));
+                break;
+            case BstParser.INTEGERS:
+                addNames(globalIntegerNames, child.getChild(0));
+                break;
+            case BstParser.STRINGS:
+                addNames(globalStringNames, child.getChild(0));
+                break;
+            case BstParser.FUNCTION:
+            case BstParser.MACRO:
+                declaredFunctions.add(child.getChild(0).getText());
+                break;
+            default:
+                break;
+            }
+        }
+        addName(fieldNames, StandardField.CROSSREF.getName());
+        addName(entryStringNames, SORT_KEY);
+
+        addSymbols(fieldNames, SymbolKind.FIELD);
+        addSymbols(entryStringNames, SymbolKind.ENTRY_STRING);
+        addSymbols(entryIntegerNames, SymbolKind.ENTRY_INTEGER);
+        addSymbols(globalStringNames, SymbolKind.GLOBAL_STRING);
+        addSymbols(globalIntegerNames, SymbolKind.GLOBAL_INTEGER);
+        declaredFunctions.forEach(this::resolve);
+
+        for (String fieldName : fieldNames) {
+            fields.add(FieldFactory.parseField(fieldName));
+        }
+    }
+
+    private static void addNames(List<String> names, Tree idList) {
+        for (int i = 0; i < idList.getChildCount(); i++) {
+            addName(names, idList.getChild(i).getText());
+        }
+    }
+
+    private static void addName(List<String> names, String name) {
+        if (!names.contains(name)) {
+            names.add(name);
+        }
+    }
+
+    private void addSymbols(List<String> names, SymbolKind kind) {
+        for (int slot = 0; slot < names.size(); slot++) {
+            symbols.putIfAbsent(names.get(slot), new Symbol(names.get(slot), kind, slot));
+        }
+    }
+
+    /**
+     * Returns the symbol of the given name. Names which are not declared by the program are functions, either built-in
+     * ones or unknown ones which fail as soon as they are called.
+     */
+    private Symbol resolve(String name) {
+        return symbols.computeIfAbsent(name, key -> {
+            functionNames.add(key);
+            return new Symbol(key, SymbolKind.FUNCTION, functionNames.size() - 1);
+        });
+    }
+
+    private Command compileCommand(Tree child) {
+        switch (child.getType()) {
+        case BstParser.STRINGS:
+        case BstParser.INTEGERS:
+            return new Command(child.getType(), resolveAll(child.getChild(0)), null, null);
+        case BstParser.FUNCTION:
+            return new Command(child.getType(), Collections.singletonList(resolve(child.getChild(0).getText())),
+                    compile(child.getChild(1)), null);
+        case BstParser.MACRO:
+            return new Command(child.getType(), Collections.singletonList(resolve(child.getChild(0).getText())),
+                    null, child.getChild(1).getText());
+        case BstParser.EXECUTE:
+        case BstParser.ITERATE:
+        case BstParser.REVERSE:
+            return new Command(child.getType(), Collections.singletonList(resolve(child.getChild(0).getText())),
+                    null, null);
+        default:
+            return new Command(child.getType(), Collections.emptyList(), null, null);
+        }
+    }
+
+    private List<Symbol> resolveAll(Tree idList) {
+        List<Symbol> result = new ArrayList<>(idList.getChildCount());
+        for (int i = 0; i < idList.getChildCount(); i++) {
+            result.add(resolve(idList.getChild(i).getText()));
+        }
+        return result;
+    }
+
+    private Code compile(Tree stack) {
+        int length = stack.getChildCount();
+        int[] instructions = new int[length];
+        int[] operands = new int[length];
+        Object[] literals = new Object[length];
+        int[] lines = new int[length];
+
+        for (int i = 0; i < length; i++) {
+            Tree c = stack.getChild(i);
+            lines[i] = c.getLine();
+            switch (c.getType()) {
+            case BstParser.STRING:
+                String s = c.getText();
+                instructions[i] = PUSH_LITERAL;
+                literals[i] = s.substring(1, s.length() - 1);
+                break;
+            case BstParser.INTEGER:
+                instructions[i] = PUSH_INTEGER;
+                operands[i] = Integer.parseInt(c.getText().substring(1));
+                break;
+            case BstParser.QUOTED:
+                String quotedName = c.getText().substring(1);
+                instructions[i] = PUSH_LITERAL;
+                literals[i] = new VM.Identifier(quotedName, resolve(quotedName));
+                break;
+            case BstParser.STACK:
+                instructions[i] = PUSH_LITERAL;
+                literals[i] = compile(c);
+                break;
+            default:
+                Symbol symbol = resolve(c.getText());
+                instructions[i] = symbol.kind.instruction;
+                operands[i] = symbol.slot;
+                // the name is used in error messages
+                literals[i] = symbol.name;
+                break;
+            }
+        }
+        return new Code(stack, instructions, operands, literals, lines);
+    }
+
+    /**
+     * Returns the symbol of the given name or null if the name is not used by the program.
+     */
+    Symbol lookup(String name) {
+        return symbols.get(name);
+    }
+
+    List<Command> getCommands() {
+        return commands;
+    }
+
+    List<String> getFieldNames() {
+        return fieldNames;
+    }
+
+    List<Field> getFields() {
+        return fields;
+    }
+
+    List<String> getEntryIntegerNames() {
+        return entryIntegerNames;
+    }
+
+    List<String> getEntryStringNames() {
+        return entryStringNames;
+    }
+
+    List<String> getGlobalIntegerNames() {
+        return globalIntegerNames;
+    }
+
+    List<String> getGlobalStringNames() {
+        return globalStringNames;
+    }
+
+    List<String> getFunctionNames() {
+        return functionNames;
+    }
+
+    enum SymbolKind {
+        FIELD(PUSH_FIELD),
+        ENTRY_INTEGER(PUSH_ENTRY_INTEGER),
+        ENTRY_STRING(PUSH_ENTRY_STRING),
+        GLOBAL_INTEGER(PUSH_GLOBAL_INTEGER),
+        GLOBAL_STRING(PUSH_GLOBAL_STRING),
+        FUNCTION(CALL);
+
+        private final int instruction;
+
+        SymbolKind(int instruction) {
+            this.instruction = instruction;
+        }
+    }
+
+    /**
+     * A name used by the program, resolved to the slot of the variable or function.
+     */
+    static final class Symbol {
+
+        final String name;
+        final SymbolKind kind;
+        final int slot;
+
+        Symbol(String name, SymbolKind kind, int slot) {
+            this.name = name;
+            this.kind = kind;
+            this.slot = slot;
+        }
+    }
+
+    /**
+     * The compiled body of a function (or of an inline function literal). The i-th instruction uses the i-th operand
+     * and the i-th literal.
+     */
+    static final class Code {
+
+        final Tree tree;
+        final int[] instructions;
+        final int[] operands;
+        final Object[] literals;
+        final int[] lines;
+
+        Code(Tree tree, int[] instructions, int[] operands, Object[] literals, int[] lines) {
+            this.tree = tree;
+            this.instructions = instructions;
+            this.operands = operands;
+            this.literals = literals;
+            this.lines = lines;
+        }
+    }
+
+    /**
+     * A top-level command of the program.
+     */
+    static final class Command {
+
+        final int type;
+        final List<Symbol> symbols;
+        final Code code;
+        final String text;
+
+        Command(int type, List<Symbol> symbols, Code code, String text) {
+            this.type = type;
+            this.symbols = symbols;
+            this.code = code;
+            this.text = text;
+        }
+
+        Symbol getSymbol() {
+            return symbols.get(0);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package org.jabref.logic.bst;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * The operand stack of the {@link VM}. Integers are stored unboxed next to the other literals (strings, which are null
+ * for missing fields, and function literals). Unlike {@link java.util.Stack}, the stack is not synchronized, as each
+ * VM is used by one thread only.
+ */
+public class OperandStack {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private boolean[] isInteger = new boolean[INITIAL_CAPACITY];
+    private int[] integers = new int[INITIAL_CAPACITY];
+    private Object[] objects = new Object[INITIAL_CAPACITY];
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean empty() {
+        return isEmpty();
+    }
+
+    public void push(int value) {
+        ensureCapacity();
+        isInteger[size] = true;
+        integers[size] = value;
+        size++;
+    }
+
+    /**
+     * Pushes the given literal. {@link Integer}s are stored as integer literals.
+     */
+    public void push(Object value) {
+        if (value instanceof Integer) {
+            push(((Integer) value).intValue());
+            return;
+        }
+        ensureCapacity();
+        isInteger[size] = false;
+        objects[size] = value;
+        size++;
+    }
+
+    /**
+     * Removes the topmost literal. Integer literals are returned as {@link Integer}.
+     */
+    public Object pop() {
+        checkNotEmpty();
+        size--;
+        if (isInteger[size]) {
+            return integers[size];
+        }
+        Object value = objects[size];
+        objects[size] = null;
+        return value;
+    }
+
+    /**
+     * Removes the topmost literal, which has to be an integer (see {@link #isInteger(int)}).
+     */
+    public int popInteger() {
+        checkNotEmpty();
+        if (!isInteger[size - 1]) {
+            throw new VMException("Expected an integer but found " + objects[size - 1]);
+        }
+        size--;
+        return integers[size];
+    }
+
+    /**
+     * Checks whether the given literal is an integer.
+     *
+     * @param depth the position of the literal counted from the top, 0 is the topmost literal
+     */
+    public boolean isInteger(int depth) {
+        return isInteger[size - 1 - depth];
+    }
+
+    /**
+     * Checks whether the given literal is a string (and not a missing field).
+     *
+     * @param depth the position of the literal counted from the top, 0 is the topmost literal
+     */
+    public boolean isString(int depth) {
+        int index = size - 1 - depth;
+        return !isInteger[index] && (objects[index] instanceof String);
+    }
+
+    /**
+     * Pushes a copy of the topmost literal.
+     */
+    public void duplicate() {
+        checkNotEmpty();
+        ensureCapacity();
+        isInteger[size] = isInteger[size - 1];
+        integers[size] = integers[size - 1];
+        objects[size] = objects[size - 1];
+        size++;
+    }
+
+    /**
+     * Swaps the two topmost literals.
+     */
+    public void swap() {
+        if (size < 2) {
+            throw new EmptyStackException();
+        }
+        int top = size - 1;
+        int below = size - 2;
+
+        boolean topIsInteger = isInteger[top];
+        int topInteger = integers[top];
+        Object topObject = objects[top];
+
+        isInteger[top] = isInteger[below];
+        integers[top] = integers[below];
+        objects[top] = objects[below];
+
+        isInteger[below] = topIsInteger;
+        integers[below] = topInteger;
+        objects[below] = topObject;
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+    }
+
+    private void ensureCapacity() {
+        if (size == isInteger.length) {
+            int capacity = 2 * size;
+            isInteger = Arrays.copyOf(isInteger, capacity);
+            integers = Arrays.copyOf(integers, capacity);
+            objects = Arrays.copyOf(objects, capacity);
+        }
+    }
+}
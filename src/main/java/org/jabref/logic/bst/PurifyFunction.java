@@ -1,7 +1,5 @@
 package org.jabref.logic.bst;
 
-import java.util.Stack;
-
 import org.jabref.logic.bst.VM.BstEntry;
 import org.jabref.logic.bst.VM.BstFunction;
 
@@ -26,7 +24,7 @@ public class PurifyFunction implements BstFunction {
 
     @Override
     public void execute(BstEntry context) {
-        Stack<Object> stack = vm.getStack();
+        OperandStack stack = vm.getStack();
 
         if (stack.isEmpty()) {
             throw new VMException("Not enough operands on stack for operation purify$");
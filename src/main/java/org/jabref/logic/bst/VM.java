@@ -2,6 +2,8 @@ package org.jabref.logic.bst;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
@@ -9,7 +11,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
-import java.util.Stack;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -17,15 +18,8 @@ import org.jabref.model.database.BibDatabase;
 import org.jabref.model.entry.AuthorList;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.field.Field;
-import org.jabref.model.entry.field.FieldFactory;
-import org.jabref.model.entry.field.StandardField;
 
-import org.antlr.runtime.ANTLRFileStream;
-import org.antlr.runtime.ANTLRStringStream;
-import org.antlr.runtime.CharStream;
-import org.antlr.runtime.CommonTokenStream;
 import org.antlr.runtime.RecognitionException;
-import org.antlr.runtime.tree.CommonTree;
 import org.antlr.runtime.tree.Tree;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,21 +44,22 @@ public class VM implements Warn {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(VM.class);
 
-    private List<BstEntry> entries;
+    private List<BstEntry> entries = new ArrayList<>();
 
-    private Map<String, String> strings = new HashMap<>();
+    private String[] strings = new String[0];
 
-    private Map<String, Integer> integers = new HashMap<>();
+    private int[] integers = new int[0];
 
-    private Map<String, BstFunction> functions = new HashMap<>();
+    // indexed by the slots of the functions of the program
+    private BstFunction[] functions = new BstFunction[0];
 
-    private Stack<Object> stack = new Stack<>();
+    private OperandStack stack = new OperandStack();
 
     private final Map<String, BstFunction> buildInFunctions;
 
     private File file;
 
-    private final CommonTree tree;
+    private final BstProgram program;
 
     private StringBuilder bbl;
 
@@ -74,9 +69,17 @@ public class VM implements Warn {
 
         public final String name;
 
+        // null if the identifier was not created by the compiler
+        private final BstProgram.Symbol symbol;
+
 
         public Identifier(String name) {
+            this(name, null);
+        }
+
+        Identifier(String name, BstProgram.Symbol symbol) {
             this.name = name;
+            this.symbol = symbol;
         }
 
         public String getName() {
@@ -105,20 +108,19 @@ public class VM implements Warn {
 
 
     public VM(File f) throws RecognitionException, IOException {
-        this(new ANTLRFileStream(f.getPath()));
+        this(new String(Files.readAllBytes(f.toPath()), Charset.defaultCharset()));
         this.file = f;
     }
 
+    /**
+     * Creates a VM running the given .bst program. The program is compiled once and shared by all VMs running it.
+     */
     public VM(String s) throws RecognitionException {
-        this(new ANTLRStringStream(s));
-    }
-
-    private VM(CharStream bst) throws RecognitionException {
-        this(VM.charStream2CommonTree(bst));
+        this(BstProgram.of(s));
     }
 
-    private VM(CommonTree tree) {
-        this.tree = tree;
+    private VM(BstProgram program) {
+        this.program = program;
 
         this.buildInFunctions = new HashMap<>(37);
 
@@ -131,14 +133,13 @@ public class VM implements Warn {
             if (stack.size() < 2) {
                 throw new VMException("Not enough operands on stack for operation >");
             }
-            Object o2 = stack.pop();
-            Object o1 = stack.pop();
-
-            if (!((o1 instanceof Integer) && (o2 instanceof Integer))) {
+            if (!(stack.isInteger(0) && stack.isInteger(1))) {
                 throw new VMException("Can only compare two integers with >");
             }
+            int i2 = stack.popInteger();
+            int i1 = stack.popInteger();
 
-            stack.push(((Integer) o1).compareTo((Integer) o2) > 0 ? VM.TRUE : VM.FALSE);
+            stack.push(i1 > i2 ? VM.TRUE : VM.FALSE);
         });
 
         /* Analogous. */
@@ -146,14 +147,13 @@ public class VM implements Warn {
             if (stack.size() < 2) {
                 throw new VMException("Not enough operands on stack for operation <");
             }
-            Object o2 = stack.pop();
-            Object o1 = stack.pop();
-
-            if (!((o1 instanceof Integer) && (o2 instanceof Integer))) {
+            if (!(stack.isInteger(0) && stack.isInteger(1))) {
                 throw new VMException("Can only compare two integers with <");
             }
+            int i2 = stack.popInteger();
+            int i1 = stack.popInteger();
 
-            stack.push(((Integer) o1).compareTo((Integer) o2) < 0 ? VM.TRUE : VM.FALSE);
+            stack.push(i1 < i2 ? VM.TRUE : VM.FALSE);
         });
 
         /*
@@ -164,6 +164,10 @@ public class VM implements Warn {
             if (stack.size() < 2) {
                 throw new VMException("Not enough operands on stack for operation =");
             }
+            if (stack.isInteger(0) && stack.isInteger(1)) {
+                stack.push(stack.popInteger() == stack.popInteger() ? VM.TRUE : VM.FALSE);
+                return;
+            }
             Object o1 = stack.pop();
             Object o2 = stack.pop();
 
@@ -185,14 +189,13 @@ public class VM implements Warn {
             if (stack.size() < 2) {
                 throw new VMException("Not enough operands on stack for operation +");
             }
-            Object o2 = stack.pop();
-            Object o1 = stack.pop();
-
-            if (!((o1 instanceof Integer) && (o2 instanceof Integer))) {
+            if (!(stack.isInteger(0) && stack.isInteger(1))) {
                 throw new VMException("Can only compare two integers with +");
             }
+            int i2 = stack.popInteger();
+            int i1 = stack.popInteger();
 
-            stack.push((Integer) o1 + (Integer) o2);
+            stack.push(i1 + i2);
         });
 
         /*
@@ -203,14 +206,13 @@ public class VM implements Warn {
             if (stack.size() < 2) {
                 throw new VMException("Not enough operands on stack for operation -");
             }
-            Object o2 = stack.pop();
-            Object o1 = stack.pop();
-
-            if (!((o1 instanceof Integer) && (o2 instanceof Integer))) {
+            if (!(stack.isInteger(0) && stack.isInteger(1))) {
                 throw new VMException("Can only subtract two integers with -");
             }
+            int i2 = stack.popInteger();
+            int i1 = stack.popInteger();
 
-            stack.push((Integer) o1 - (Integer) o2);
+            stack.push(i1 - i2);
         });
 
         /*
@@ -309,10 +311,7 @@ public class VM implements Warn {
             if (stack.isEmpty()) {
                 throw new VMException("Not enough operands on stack for operation duplicate$");
             }
-            Object o1 = stack.pop();
-
-            stack.push(o1);
-            stack.push(o1);
+            stack.duplicate();
         });
 
         /*
@@ -356,8 +355,8 @@ public class VM implements Warn {
             Object f2 = stack.pop();
             Object i = stack.pop();
 
-            if (!((f1 instanceof Identifier) || (f1 instanceof Tree))
-                    && ((f2 instanceof Identifier) || (f2 instanceof Tree)) && (i instanceof Integer)) {
+            if (!((f1 instanceof Identifier) || (f1 instanceof BstProgram.Code))
+                    && ((f2 instanceof Identifier) || (f2 instanceof BstProgram.Code)) && (i instanceof Integer)) {
                 throw new VMException("Expecting two functions and an integer for if$.");
             }
 
@@ -530,11 +529,7 @@ public class VM implements Warn {
             if (stack.size() < 2) {
                 throw new VMException("Not enough operands on stack for operation swap$");
             }
-            Object f1 = stack.pop();
-            Object f2 = stack.pop();
-
-            stack.push(f1);
-            stack.push(f2);
+            stack.swap();
         });
 
         /*
@@ -703,8 +698,8 @@ public class VM implements Warn {
         Object f2 = stack.pop();
         Object f1 = stack.pop();
 
-        if (!((f1 instanceof Identifier) || (f1 instanceof Tree))
-                && ((f2 instanceof Identifier) || (f2 instanceof Tree))) {
+        if (!((f1 instanceof Identifier) || (f1 instanceof BstProgram.Code))
+                && ((f2 instanceof Identifier) || (f2 instanceof BstProgram.Code))) {
             throw new VMException("Expecting two functions for while$.");
         }
 
@@ -788,49 +783,51 @@ public class VM implements Warn {
         }
     }
 
-    private static CommonTree charStream2CommonTree(CharStream bst) throws RecognitionException {
-        BstLexer lex = new BstLexer(bst);
-        CommonTokenStream tokens = new CommonTokenStream(lex);
-        BstParser parser = new BstParser(tokens);
-        BstParser.program_return r = parser.program();
-        return (CommonTree) r.getTree();
-    }
-
     private boolean assign(BstEntry context, Object o1, Object o2) {
 
         if (!(o1 instanceof Identifier) || !((o2 instanceof String) || (o2 instanceof Integer))) {
             throw new VMException("Invalid parameters");
         }
 
-        String name = ((Identifier) o1).getName();
+        BstProgram.Symbol symbol = resolve((Identifier) o1);
+        if (symbol == null) {
+            return false;
+        }
 
         if (o2 instanceof String) {
 
-            if ((context != null) && context.localStrings.containsKey(name)) {
-                context.localStrings.put(name, (String) o2);
+            if ((symbol.kind == BstProgram.SymbolKind.ENTRY_STRING) && (context != null)) {
+                context.localStrings[symbol.slot] = (String) o2;
                 return true;
             }
 
-            if (strings.containsKey(name)) {
-                strings.put(name, (String) o2);
+            if (symbol.kind == BstProgram.SymbolKind.GLOBAL_STRING) {
+                strings[symbol.slot] = (String) o2;
                 return true;
             }
             return false;
 
         }
 
-        if ((context != null) && context.localIntegers.containsKey(name)) {
-            context.localIntegers.put(name, (Integer) o2);
+        if ((symbol.kind == BstProgram.SymbolKind.ENTRY_INTEGER) && (context != null)) {
+            context.localIntegers[symbol.slot] = (Integer) o2;
             return true;
         }
 
-        if (integers.containsKey(name)) {
-            integers.put(name, (Integer) o2);
+        if (symbol.kind == BstProgram.SymbolKind.GLOBAL_INTEGER) {
+            integers[symbol.slot] = (Integer) o2;
             return true;
         }
         return false;
     }
 
+    private BstProgram.Symbol resolve(Identifier identifier) {
+        if (identifier.symbol != null) {
+            return identifier.symbol;
+        }
+        return program.lookup(identifier.getName());
+    }
+
     public String run(BibDatabase db) {
         preamble = db.getPreamble().orElse("");
         return run(db.getEntries());
@@ -841,59 +838,61 @@ public class VM implements Warn {
         // Reset
         bbl = new StringBuilder();
 
-        strings = new HashMap<>();
+        strings = new String[program.getGlobalStringNames().size()];
 
-        integers = new HashMap<>();
-        integers.put("entry.max$", Integer.MAX_VALUE);
-        integers.put("global.max$", Integer.MAX_VALUE);
+        integers = new int[program.getGlobalIntegerNames().size()];
+        integers[program.lookup(BstProgram.ENTRY_MAX).slot] = Integer.MAX_VALUE;
+        integers[program.lookup(BstProgram.GLOBAL_MAX).slot] = Integer.MAX_VALUE;
 
-        functions = new HashMap<>();
-        functions.putAll(buildInFunctions);
+        List<String> functionNames = program.getFunctionNames();
+        functions = new BstFunction[functionNames.size()];
+        for (int i = 0; i < functions.length; i++) {
+            functions[i] = buildInFunctions.get(functionNames.get(i));
+        }
 
-        stack = new Stack<>();
+        stack = new OperandStack();
 
         // Create entries
         entries = new ArrayList<>(bibtex.size());
         for (BibEntry entry : bibtex) {
-            entries.add(new BstEntry(entry));
+            entries.add(new BstEntry(entry, program));
         }
 
         // Go
-        for (int i = 0; i < tree.getChildCount(); i++) {
-            Tree child = tree.getChild(i);
-            switch (child.getType()) {
+        for (BstProgram.Command command : program.getCommands()) {
+            switch (command.type) {
             case BstParser.STRINGS:
-                strings(child);
+                strings(command);
                 break;
             case BstParser.INTEGERS:
-                integers(child);
+                integers(command);
                 break;
             case BstParser.FUNCTION:
-                function(child);
+                function(command);
                 break;
             case BstParser.EXECUTE:
-                execute(child);
+                execute(command);
                 break;
             case BstParser.SORT:
                 sort();
                 break;
             case BstParser.ITERATE:
-                iterate(child);
+                iterate(command);
                 break;
             case BstParser.REVERSE:
-                reverse(child);
+                reverse(command);
                 break;
             case BstParser.ENTRY:
-                entry(child);
+                // the entry variables are created together with the entries
                 break;
             case BstParser.READ:
                 read();
                 break;
             case BstParser.MACRO:
-                macro(child);
+                macro(command);
                 break;
             default:
-                LOGGER.info("Unknown type: " + child.getType());
+                LOGGER.info("Unknown type: " + command.type);
                 break;
             }
         }
@@ -910,18 +909,10 @@ public class VM implements Warn {
      * We use null for the missing entry designator.
      */
     private void read() {
+        List<Field> fields = program.getFields();
         for (BstEntry e : entries) {
-            for (Map.Entry<String, String> mEntry : e.getFields().entrySet()) {
-                Field field = FieldFactory.parseField(mEntry.getKey());
-                String fieldValue = e.getBibtexEntry().getField(field).orElse(null);
-
-                mEntry.setValue(fieldValue);
-            }
-        }
-
-        for (BstEntry e : entries) {
-            if (!e.getFields().containsKey(StandardField.CROSSREF.getName())) {
-                e.getFields().put(StandardField.CROSSREF.getName(), null);
+            for (int i = 0; i < e.fields.length; i++) {
+                e.fields[i] = e.getBibtexEntry().getField(fields.get(i)).orElse(null);
             }
         }
     }
@@ -936,10 +927,8 @@ public class VM implements Warn {
      * define a string the user can't touch, use the FUNCTION command, which has
      * a compatible syntax.
      */
-    private void macro(Tree child) {
-        String name = child.getChild(0).getText();
-        String replacement = child.getChild(1).getText();
-        functions.put(name, new MacroFunction(replacement));
+    private void macro(BstProgram.Command command) {
+        define(command.getSymbol(), new MacroFunction(command.text));
     }
 
     public class MacroFunction implements BstFunction {
@@ -957,66 +946,20 @@ public class VM implements Warn {
         }
     }
 
-    /**
-     * Declares the fields and entry variables. It has three arguments, each a
-     * (possibly empty) list of variable names. The three lists are of: fields,
-     * integer entry variables, and string entry variables. There is an
-     * additional field that BibTEX automatically declares, crossref, used for
-     * cross referencing. And there is an additional string entry variable
-     * automatically declared, sort.key$, used by the SORT command. Each of
-     * these variables has a value for each entry on the list.
-     */
-    private void entry(Tree child) {
-        // Fields first
-        Tree t = child.getChild(0);
-
-        for (int i = 0; i < t.getChildCount(); i++) {
-            String name = t.getChild(i).getText();
-
-            for (BstEntry entry : entries) {
-                entry.getFields().put(name, null);
-            }
-        }
-
-        // Integers
-        t = child.getChild(1);
-
-        for (int i = 0; i < t.getChildCount(); i++) {
-            String name = t.getChild(i).getText();
-
-            for (BstEntry entry : entries) {
-                entry.localIntegers.put(name, 0);
-            }
-        }
-        // Strings
-        t = child.getChild(2);
-
-        for (int i = 0; i < t.getChildCount(); i++) {
-            String name = t.getChild(i).getText();
-            for (BstEntry entry : entries) {
-                entry.localStrings.put(name, null);
-            }
-        }
-        for (BstEntry entry : entries) {
-            entry.localStrings.put("sort.key$", null);
-        }
-    }
-
-    private void reverse(Tree child) {
-
-        BstFunction f = functions.get(child.getChild(0).getText());
+    private void reverse(BstProgram.Command command) {
+        BstProgram.Symbol symbol = command.getSymbol();
 
         ListIterator<BstEntry> i = entries.listIterator(entries.size());
         while (i.hasPrevious()) {
-            f.execute(i.previous());
+            execute(symbol, i.previous());
         }
     }
 
-    private void iterate(Tree child) {
-        BstFunction f = functions.get(child.getChild(0).getText());
+    private void iterate(BstProgram.Command command) {
+        BstProgram.Symbol symbol = command.getSymbol();
 
         for (BstEntry entry : entries) {
-            f.execute(entry);
+            execute(symbol, entry);
         }
     }
 
@@ -1024,119 +967,150 @@ public class VM implements Warn {
      * Sorts the entry list using the values of the string entry variable sort.key$. It has no arguments.
      */
     private void sort() {
-        entries.sort(Comparator.comparing(o -> (o.localStrings.get("sort.key$"))));
+        int sortKey = program.lookup(BstProgram.SORT_KEY).slot;
+        entries.sort(Comparator.comparing(o -> (o.localStrings[sortKey])));
     }
 
     private void executeInContext(Object o, BstEntry context) {
-        if (o instanceof Tree) {
-            Tree t = (Tree) o;
-            new StackFunction(t).execute(context);
+        if (o instanceof BstProgram.Code) {
+            execute((BstProgram.Code) o, context);
         } else if (o instanceof Identifier) {
-            execute(((Identifier) o).getName(), context);
+            BstProgram.Symbol symbol = resolve((Identifier) o);
+            if (symbol == null) {
+                throw new VMException("No matching identifier found: " + ((Identifier) o).getName());
+            }
+            execute(symbol, context);
         }
     }
 
-    private void execute(Tree child) {
-        execute(child.getChild(0).getText(), null);
+    private void execute(BstProgram.Command command) {
+        execute(command.getSymbol(), null);
     }
 
     public class StackFunction implements BstFunction {
 
-        private final Tree localTree;
+        private final BstProgram.Code code;
 
 
-        public StackFunction(Tree stack) {
-            localTree = stack;
+        StackFunction(BstProgram.Code code) {
+            this.code = code;
         }
 
         public Tree getTree() {
-            return localTree;
+            return code.tree;
         }
 
         @Override
         public void execute(BstEntry context) {
+            VM.this.execute(code, context);
+        }
+    }
 
-            for (int i = 0; i < localTree.getChildCount(); i++) {
-
-                Tree c = localTree.getChild(i);
-                try {
-
-                    switch (c.getType()) {
-                    case BstParser.STRING:
-                        String s = c.getText();
-                        push(s.substring(1, s.length() - 1));
-                        break;
-                    case BstParser.INTEGER:
-                        push(Integer.parseInt(c.getText().substring(1)));
-                        break;
-                    case BstParser.QUOTED:
-                        push(new Identifier(c.getText().substring(1)));
-                        break;
-                    case BstParser.STACK:
-                        push(c);
-                        break;
-                    default:
-                        VM.this.execute(c.getText(), context);
-                        break;
-                    }
-                } catch (VMException e) {
-                    if (file == null) {
-                        LOGGER.error("ERROR " + e.getMessage() + " (" + c.getLine() + ")");
-                    } else {
-                        LOGGER.error("ERROR " + e.getMessage() + " (" + file.getPath() + ":"
-                                + c.getLine() + ")");
-                    }
-                    throw e;
+    /**
+     * Runs the instructions of the given function.
+     */
+    private void execute(BstProgram.Code code, BstEntry context) {
+        int[] instructions = code.instructions;
+        int[] operands = code.operands;
+        Object[] literals = code.literals;
+
+        for (int i = 0; i < instructions.length; i++) {
+            try {
+                switch (instructions[i]) {
+                case BstProgram.PUSH_INTEGER:
+                    stack.push(operands[i]);
+                    break;
+                case BstProgram.PUSH_LITERAL:
+                    stack.push(literals[i]);
+                    break;
+                case BstProgram.PUSH_FIELD:
+                    stack.push(requireContext(context, literals[i]).fields[operands[i]]);
+                    break;
+                case BstProgram.PUSH_ENTRY_STRING:
+                    stack.push(requireContext(context, literals[i]).localStrings[operands[i]]);
+                    break;
+                case BstProgram.PUSH_ENTRY_INTEGER:
+                    stack.push(requireContext(context, literals[i]).localIntegers[operands[i]]);
+                    break;
+                case BstProgram.PUSH_GLOBAL_STRING:
+                    stack.push(strings[operands[i]]);
+                    break;
+                case BstProgram.PUSH_GLOBAL_INTEGER:
+                    stack.push(integers[operands[i]]);
+                    break;
+                default:
+                    call(operands[i], literals[i], context);
+                    break;
+                }
+            } catch (VMException e) {
+                if (file == null) {
+                    LOGGER.error("ERROR " + e.getMessage() + " (" + code.lines[i] + ")");
+                } else {
+                    LOGGER.error("ERROR " + e.getMessage() + " (" + file.getPath() + ":"
+                            + code.lines[i] + ")");
                 }
+                throw e;
             }
+        }
+    }
 
+    private static BstEntry requireContext(BstEntry context, Object name) {
+        if (context == null) {
+            // entry variables only exist within a context (ITERATE or REVERSE)
+            throw new VMException("No matching identifier found: " + name);
         }
+        return context;
     }
 
-    private void push(Tree t) {
-        stack.push(t);
+    private void call(int slot, Object name, BstEntry context) {
+        BstFunction function = functions[slot];
+        if (function == null) {
+            throw new VMException("No matching identifier found: " + name);
+        }
+        // OK to have a null context
+        function.execute(context);
     }
 
     private void execute(String name, BstEntry context) {
-
-        if (context != null) {
-
-            if (context.getFields().containsKey(name)) {
-                stack.push(context.getFields().get(name));
-                return;
-            }
-            if (context.localStrings.containsKey(name)) {
-                stack.push(context.localStrings.get(name));
-                return;
-            }
-            if (context.localIntegers.containsKey(name)) {
-                stack.push(context.localIntegers.get(name));
-                return;
-            }
-        }
-        if (strings.containsKey(name)) {
-            stack.push(strings.get(name));
-            return;
-        }
-        if (integers.containsKey(name)) {
-            stack.push(integers.get(name));
-            return;
+        BstProgram.Symbol symbol = program.lookup(name);
+        if (symbol == null) {
+            throw new VMException("No matching identifier found: " + name);
         }
+        execute(symbol, context);
+    }
 
-        if (functions.containsKey(name)) {
-            // OK to have a null context
-            functions.get(name).execute(context);
-            return;
+    private void execute(BstProgram.Symbol symbol, BstEntry context) {
+        switch (symbol.kind) {
+        case FIELD:
+            stack.push(requireContext(context, symbol.name).fields[symbol.slot]);
+            break;
+        case ENTRY_STRING:
+            stack.push(requireContext(context, symbol.name).localStrings[symbol.slot]);
+            break;
+        case ENTRY_INTEGER:
+            stack.push(requireContext(context, symbol.name).localIntegers[symbol.slot]);
+            break;
+        case GLOBAL_STRING:
+            stack.push(strings[symbol.slot]);
+            break;
+        case GLOBAL_INTEGER:
+            stack.push(integers[symbol.slot]);
+            break;
+        default:
+            call(symbol.slot, symbol.name, context);
+            break;
         }
-
-        throw new VMException("No matching identifier found: " + name);
     }
 
-    private void function(Tree child) {
-        String name = child.getChild(0).getText();
-        Tree localStack = child.getChild(1);
-        functions.put(name, new StackFunction(localStack));
+    private void function(BstProgram.Command command) {
+        define(command.getSymbol(), new StackFunction(command.code));
+    }
 
+    private void define(BstProgram.Symbol symbol, BstFunction function) {
+        // a variable of the same name hides the function
+        if (symbol.kind == BstProgram.SymbolKind.FUNCTION) {
+            functions[symbol.slot] = function;
+        }
     }
 
     /**
@@ -1147,12 +1121,11 @@ public class VM implements Warn {
      * declaration must precede its use.
      *
      */
-    private void integers(Tree child) {
-        Tree t = child.getChild(0);
-
-        for (int i = 0; i < t.getChildCount(); i++) {
-            String name = t.getChild(i).getText();
-            integers.put(name, 0);
+    private void integers(BstProgram.Command command) {
+        for (BstProgram.Symbol symbol : command.symbols) {
+            if (symbol.kind == BstProgram.SymbolKind.GLOBAL_INTEGER) {
+                integers[symbol.slot] = 0;
+            }
         }
     }
 
@@ -1160,15 +1133,12 @@ public class VM implements Warn {
      * Declares global string variables. It has one argument, a list of variable
      * names. You may have any number of these commands, but a variable's
      * declaration must precede its use.
-     *
-     * @param child
      */
-    private void strings(Tree child) {
-        Tree t = child.getChild(0);
-
-        for (int i = 0; i < t.getChildCount(); i++) {
-            String name = t.getChild(i).getText();
-            strings.put(name, null);
+    private void strings(BstProgram.Command command) {
+        for (BstProgram.Symbol symbol : command.symbols) {
+            if (symbol.kind == BstProgram.SymbolKind.GLOBAL_STRING) {
+                strings[symbol.slot] = null;
+            }
         }
     }
 
@@ -1176,19 +1146,29 @@ public class VM implements Warn {
 
         private final BibEntry entry;
 
-        private final Map<String, String> localStrings = new HashMap<>();
+        private final BstProgram program;
+
+        // indexed by the slots of the program
+        private final String[] localStrings;
 
-        private final Map<String, String> fields = new HashMap<>();
+        private final String[] fields;
 
-        private final Map<String, Integer> localIntegers = new HashMap<>();
+        private final int[] localIntegers;
 
 
-        public BstEntry(BibEntry e) {
+        BstEntry(BibEntry e, BstProgram program) {
             this.entry = e;
+            this.program = program;
+            this.localStrings = new String[program.getEntryStringNames().size()];
+            this.fields = new String[program.getFieldNames().size()];
+            this.localIntegers = new int[program.getEntryIntegerNames().size()];
         }
 
+        /**
+         * Returns a snapshot of the values of the fields, missing fields are mapped to null.
+         */
         public Map<String, String> getFields() {
-            return fields;
+            return toMap(program.getFieldNames(), fields);
         }
 
         public BibEntry getBibtexEntry() {
@@ -1196,35 +1176,54 @@ public class VM implements Warn {
         }
     }
 
-    private void push(Integer integer) {
-        stack.push(integer);
-    }
-
     private void push(String string) {
         stack.push(string);
     }
 
-    private void push(Identifier identifier) {
-        stack.push(identifier);
+    private static Map<String, String> toMap(List<String> names, String[] values) {
+        Map<String, String> result = new HashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            result.put(names.get(i), values[i]);
+        }
+        return result;
     }
 
+    /**
+     * Returns a snapshot of the global string variables.
+     */
     public Map<String, String> getStrings() {
-        return strings;
+        return toMap(program.getGlobalStringNames(), strings);
     }
 
+    /**
+     * Returns a snapshot of the global integer variables.
+     */
     public Map<String, Integer> getIntegers() {
-        return integers;
+        Map<String, Integer> result = new HashMap<>();
+        for (int i = 0; i < integers.length; i++) {
+            result.put(program.getGlobalIntegerNames().get(i), integers[i]);
+        }
+        return result;
     }
 
     public List<BstEntry> getEntries() {
         return entries;
     }
 
+    /**
+     * Returns the built-in functions and the functions defined by the program so far.
+     */
     public Map<String, BstFunction> getFunctions() {
-        return functions;
+        Map<String, BstFunction> result = new HashMap<>(buildInFunctions);
+        for (int i = 0; i < functions.length; i++) {
+            if (functions[i] != null) {
+                result.put(program.getFunctionNames().get(i), functions[i]);
+            }
+        }
+        return result;
     }
 
-    public Stack<Object> getStack() {
+    public OperandStack getStack() {
         return stack;
     }
 
@@ -1,131 +1,173 @@
 package org.jabref.logic.citationstyle;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
 
-import org.jabref.logic.formatter.bibtexfields.RemoveNewlinesFormatter;
 import org.jabref.model.entry.BibEntry;
-import org.jabref.model.entry.Month;
-import org.jabref.model.entry.field.Field;
-import org.jabref.model.entry.field.StandardField;
-import org.jabref.model.strings.LatexToUnicodeAdapter;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import de.undercouch.citeproc.CSL;
 import de.undercouch.citeproc.ItemDataProvider;
-import de.undercouch.citeproc.bibtex.BibTeXConverter;
 import de.undercouch.citeproc.csl.CSLItemData;
 import de.undercouch.citeproc.output.Bibliography;
-import org.jbibtex.BibTeXEntry;
-import org.jbibtex.DigitStringValue;
-import org.jbibtex.Key;
 
 /**
- * Provides an adapter class to CSL. It holds a CSL instance under the hood that is only recreated when
- * the style changes.
+ * Provides an adapter class to CSL. It holds a pool of CSL instances for each style, an instance is only created when
+ * all instances of the style are in use.
  *
- * @apiNote The first call to {@link #makeBibliography} is expensive since the
- * CSL instance will be created. As long as the style stays the same, we can reuse this instance. On style-change, the
- * engine is re-instantiated. Therefore, the use-case of this class is many calls to {@link #makeBibliography} with the
- * same style. Changing the output format is cheap.
- * @implNote The main function {@link #makeBibliography} will enforce
- * synchronized calling. The main CSL engine under the hood is not thread-safe. Since this class is usually called from
- * a BackgroundTakk, the only other option would be to create several CSL instances which is wasting a lot of resources and very slow.
- * In the current scheme, {@link #makeBibliography} can be called as usual
- * background task and to the best of my knowledge, concurrent calls will pile up and processed sequentially.
+ * @apiNote The first call to {@link #makeBibliography} for a style is expensive since the CSL instance will be
+ * created. As long as the style stays the same, the instances are reused. Therefore, the use-case of this class is many
+ * calls to {@link #makeBibliography} with the same style. Changing the output format is cheap.
+ * @implNote The CSL engine under the hood is not thread-safe, thus each instance is used by only one call at a time.
+ * Concurrent calls use different instances, up to {@link #ENGINES_PER_STYLE} per style. Further calls wait until an
+ * instance is released. The conversion of the entries into CSL items is shared by all instances (see
+ * {@link CSLItemDataCache}).
  */
 public class CSLAdapter {
 
-    private static final BibTeXConverter BIBTEX_CONVERTER = new BibTeXConverter();
-    private final JabRefItemDataProvider dataProvider = new JabRefItemDataProvider();
-    private String style;
-    private CitationStyleOutputFormat format;
-    private CSL cslInstance;
+    // each CSL instance contains a JavaScript engine, thus only the instances of the recently used styles are kept
+    private static final int MAX_STYLES = 4;
+    // the number of CSL instances per style, independent of the number of processors
+    private static final int ENGINES_PER_STYLE = 2;
+
+    private final CSLItemDataCache itemDataCache = new CSLItemDataCache();
+    private final LoadingCache<String, EnginePool> enginePools;
+
+    public CSLAdapter() {
+        this(ENGINES_PER_STYLE);
+    }
+
+    /**
+     * @param enginesPerStyle the maximal number of CSL instances created for a style
+     */
+    CSLAdapter(int enginesPerStyle) {
+        enginePools = CacheBuilder.newBuilder().maximumSize(MAX_STYLES).build(new CacheLoader<String, EnginePool>() {
+            @Override
+            public EnginePool load(String style) {
+                return new EnginePool(style, enginesPerStyle);
+            }
+        });
+    }
 
     /**
-     * Creates the bibliography of the provided items. This method needs to run synchronized because the underlying
+     * Creates the bibliography of the provided items. Each call uses a CSL instance of its own, because the underlying
      * CSL engine is not thread-safe.
      */
-    public synchronized List<String> makeBibliography(List<BibEntry> bibEntries, String style, CitationStyleOutputFormat outputFormat) throws IOException, IllegalArgumentException {
-        dataProvider.setData(bibEntries);
-        initialize(style, outputFormat);
-        cslInstance.registerCitationItems(dataProvider.getIds());
-        final Bibliography bibliography = cslInstance.makeBibliography();
-        return Arrays.asList(bibliography.getEntries());
+    public List<String> makeBibliography(List<BibEntry> bibEntries, String style, CitationStyleOutputFormat outputFormat) throws IOException, IllegalArgumentException {
+        EnginePool pool = enginePools.getUnchecked(Objects.requireNonNull(style));
+        Engine engine = pool.acquire();
+        try {
+            return engine.makeBibliography(bibEntries, outputFormat);
+        } finally {
+            pool.release(engine);
+        }
     }
 
     /**
-     * Initialized the static CSL instance if needed.
-     *
-     * @param newStyle  journal style of the output
-     * @param newFormat usually HTML or RTF.
-     * @throws IOException An error occurred in the underlying JavaScript framework
+     * The CSL instances of a style. At most the given number of instances is handed out at the same time.
      */
-    private void initialize(String newStyle, CitationStyleOutputFormat newFormat) throws IOException {
-        if ((cslInstance == null) || !Objects.equals(newStyle, style)) {
-            // lang and forceLang are set to the default values of other CSL constructors
-            cslInstance = new CSL(dataProvider, new JabRefLocaleProvider(), newStyle, "en-US", false);
-            style = newStyle;
+    private class EnginePool {
+
+        private final String style;
+        private final Semaphore available;
+        private final Queue<Engine> idleEngines = new ConcurrentLinkedQueue<>();
+
+        EnginePool(String style, int size) {
+            this.style = style;
+            this.available = new Semaphore(size);
+        }
+
+        Engine acquire() throws IOException {
+            available.acquireUninterruptibly();
+            Engine engine = idleEngines.poll();
+            if (engine != null) {
+                return engine;
+            }
+            try {
+                return new Engine(style);
+            } catch (IOException | RuntimeException e) {
+                available.release();
+                throw e;
+            }
         }
 
-        if (!Objects.equals(newFormat, format)) {
-            cslInstance.setOutputFormat(newFormat.getFormat());
-            format = newFormat;
+        void release(Engine engine) {
+            idleEngines.add(engine);
+            available.release();
         }
     }
 
     /**
-     * Custom ItemDataProvider that allows to set the data so that we don't have to instantiate a new CSL object
-     * every time.
+     * A CSL instance together with its data provider.
      */
-    private static class JabRefItemDataProvider implements ItemDataProvider {
+    private class Engine {
 
-        private final ArrayList<BibEntry> data = new ArrayList<>();
+        private final JabRefItemDataProvider dataProvider = new JabRefItemDataProvider();
+        private final CSL cslInstance;
+        private CitationStyleOutputFormat format;
 
         /**
-         * Converts the {@link BibEntry} into {@link CSLItemData}.
+         * @param style journal style of the output
+         * @throws IOException An error occurred in the underlying JavaScript framework
          */
-        private static CSLItemData bibEntryToCSLItemData(BibEntry bibEntry) {
-            String citeKey = bibEntry.getCiteKeyOptional().orElse("");
-            BibTeXEntry bibTeXEntry = new BibTeXEntry(new Key(bibEntry.getType().getName()), new Key(citeKey));
-
-            // Not every field is already generated into latex free fields
-            RemoveNewlinesFormatter removeNewlinesFormatter = new RemoveNewlinesFormatter();
-            for (Field key : bibEntry.getFieldMap().keySet()) {
-                bibEntry.getField(key)
-                        .map(removeNewlinesFormatter::format)
-                        .map(LatexToUnicodeAdapter::format)
-                        .ifPresent(value -> {
-                            if (StandardField.MONTH.equals(key)) {
-                                // Change month from #mon# to mon because CSL does not support the former format
-                                value = bibEntry.getMonth().map(Month::getShortName).orElse(value);
-                            }
-                            bibTeXEntry.addField(new Key(key.getName()), new DigitStringValue(value));
-                        });
+        Engine(String style) throws IOException {
+            // lang and forceLang are set to the default values of other CSL constructors
+            cslInstance = new CSL(dataProvider, new JabRefLocaleProvider(), style, "en-US", false);
+        }
+
+        List<String> makeBibliography(List<BibEntry> bibEntries, CitationStyleOutputFormat outputFormat) {
+            dataProvider.setData(bibEntries);
+            if (!Objects.equals(outputFormat, format)) {
+                cslInstance.setOutputFormat(outputFormat.getFormat());
+                format = outputFormat;
             }
-            return BIBTEX_CONVERTER.toItemData(bibTeXEntry);
+            cslInstance.registerCitationItems(dataProvider.getIds());
+            final Bibliography bibliography = cslInstance.makeBibliography();
+            return Arrays.asList(bibliography.getEntries());
         }
+    }
+
+    /**
+     * Custom ItemDataProvider that allows to set the data so that we don't have to instantiate a new CSL object
+     * every time. The entries are looked up by their citation key.
+     */
+    private class JabRefItemDataProvider implements ItemDataProvider {
+
+        private final Map<String, BibEntry> entriesByKey = new HashMap<>();
+        private String[] ids = new String[0];
 
         public void setData(List<BibEntry> data) {
-            this.data.clear();
-            this.data.addAll(data);
+            entriesByKey.clear();
+            ids = new String[data.size()];
+            for (int i = 0; i < data.size(); i++) {
+                BibEntry entry = data.get(i);
+                ids[i] = entry.getCiteKeyOptional().orElse("");
+                // if several entries share a key, the first one is used
+                entriesByKey.putIfAbsent(ids[i], entry);
+            }
         }
 
         @Override
         public CSLItemData retrieveItem(String id) {
-            return data.stream()
-                    .filter(entry -> entry.getCiteKeyOptional().orElse("").equals(id))
-                    .map(JabRefItemDataProvider::bibEntryToCSLItemData)
-                    .findFirst().orElse(null);
+            BibEntry entry = entriesByKey.get(id);
+            if (entry == null) {
+                return null;
+            }
+            return itemDataCache.get(entry);
         }
 
         @Override
         public String[] getIds() {
-            return data.stream()
-                    .map(entry -> entry.getCiteKeyOptional().orElse(""))
-                    .toArray(String[]::new);
+            return ids.clone();
         }
     }
 }
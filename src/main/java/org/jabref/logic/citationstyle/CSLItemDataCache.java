@@ -0,0 +1,113 @@
+package org.jabref.logic.citationstyle;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.jabref.logic.formatter.bibtexfields.RemoveNewlinesFormatter;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.Month;
+import org.jabref.model.entry.event.FieldChangedEvent;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.strings.LatexToUnicodeAdapter;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalListener;
+import de.undercouch.citeproc.bibtex.BibTeXConverter;
+import de.undercouch.citeproc.csl.CSLItemData;
+import org.jbibtex.BibTeXEntry;
+import org.jbibtex.DigitStringValue;
+import org.jbibtex.Key;
+
+/**
+ * Caches the conversion of {@link BibEntry} into {@link CSLItemData}. A converted entry is invalidated as soon as the
+ * entry posts a {@link FieldChangedEvent}.
+ * <p>
+ * The entries are referenced weakly and compared by identity. The cache listens to the changes of an entry only while
+ * the entry is cached, and it holds at most a fixed number of entries. The cache can be used by several threads at
+ * once.
+ */
+class CSLItemDataCache {
+
+    // the converter holds a LaTeX parser, which is not thread-safe
+    private static final ThreadLocal<BibTeXConverter> BIBTEX_CONVERTER = ThreadLocal.withInitial(BibTeXConverter::new);
+
+    private static final int MAX_ITEMS = 10_000;
+
+    private final Consumer<FieldChangedEvent> changeListener = this::invalidate;
+    private final Cache<BibEntry, CSLItemData> items;
+    // incremented on every invalidation, used to detect conversions which raced with a change of the entry
+    private final AtomicLong invalidations = new AtomicLong();
+
+    CSLItemDataCache() {
+        this(MAX_ITEMS);
+    }
+
+    /**
+     * @param maximumSize the maximal number of cached entries
+     */
+    CSLItemDataCache(int maximumSize) {
+        items = CacheBuilder.newBuilder()
+                            .weakKeys()
+                            .maximumSize(maximumSize)
+                            .removalListener((RemovalListener<BibEntry, CSLItemData>) notification -> {
+                                // a replaced item is still cached, and the key of a collected one is gone
+                                if ((notification.getCause() != RemovalCause.REPLACED) && (notification.getKey() != null)) {
+                                    notification.getKey().removeChangeListener(changeListener);
+                                }
+                            })
+                            .build();
+    }
+
+    /**
+     * Returns the converted entry, converting it if necessary.
+     */
+    public CSLItemData get(BibEntry entry) {
+        CSLItemData item = items.getIfPresent(entry);
+        if (item != null) {
+            return item;
+        }
+
+        // register before reading the fields, so that no change gets lost
+        entry.addChangeListener(changeListener);
+        long invalidationsBefore = invalidations.get();
+        item = bibEntryToCSLItemData(entry);
+        if (invalidations.get() == invalidationsBefore) {
+            items.put(entry, item);
+        }
+        return item;
+    }
+
+    /**
+     * Converts the {@link BibEntry} into {@link CSLItemData}.
+     */
+    private static CSLItemData bibEntryToCSLItemData(BibEntry bibEntry) {
+        String citeKey = bibEntry.getCiteKeyOptional().orElse("");
+        BibTeXEntry bibTeXEntry = new BibTeXEntry(new Key(bibEntry.getType().getName()), new Key(citeKey));
+
+        // Not every field is already generated into latex free fields
+        RemoveNewlinesFormatter removeNewlinesFormatter = new RemoveNewlinesFormatter();
+        for (Field key : bibEntry.getFieldMap().keySet()) {
+            bibEntry.getField(key)
+                    .map(removeNewlinesFormatter::format)
+                    .map(LatexToUnicodeAdapter::format)
+                    .ifPresent(value -> {
+                        if (StandardField.MONTH.equals(key)) {
+                            // Change month from #mon# to mon because CSL does not support the former format
+                            value = bibEntry.getMonth().map(Month::getShortName).orElse(value);
+                        }
+                        bibTeXEntry.addField(new Key(key.getName()), new DigitStringValue(value));
+                    });
+        }
+        return BIBTEX_CONVERTER.get().toItemData(bibTeXEntry);
+    }
+
+    private void invalidate(FieldChangedEvent event) {
+        invalidations.incrementAndGet();
+        // the entry is listened to again when it is converted the next time
+        event.getBibEntry().removeChangeListener(changeListener);
+        items.invalidate(event.getBibEntry());
+    }
+}
@@ -2,6 +2,7 @@ package org.jabref.logic.exporter;
 
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetEncoder;
 import java.nio.file.Path;
@@ -31,10 +32,11 @@ public class AtomicFileWriter extends OutputStreamWriter {
     }
 
     @Override
-    public void write(String str) throws IOException {
-        super.write(str);
-        if (!encoder.canEncode(str)) {
-            for (int i = 0; i < str.length(); i++) {
+    public void write(String str, int off, int len) throws IOException {
+        super.write(str, off, len);
+        // Writer.write(String) ends up here as well
+        if (!encoder.canEncode(CharBuffer.wrap(str, off, off + len))) {
+            for (int i = off; i < (off + len); i++) {
                 char character = str.charAt(i);
                 if (!encoder.canEncode(character)) {
                     problemCharacters.add(character);
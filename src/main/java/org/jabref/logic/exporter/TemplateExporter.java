@@ -6,21 +6,31 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
+import org.jabref.JabRefExecutorService;
 import org.jabref.logic.layout.Layout;
 import org.jabref.logic.layout.LayoutFormatterPreferences;
 import org.jabref.logic.layout.LayoutHelper;
 import org.jabref.logic.util.FileType;
 import org.jabref.logic.util.StandardFileType;
+import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.types.EntryType;
@@ -47,6 +57,9 @@ public class TemplateExporter extends Exporter {
     private static final String BEGIN_INFIX = ".begin";
     private static final String END_INFIX = ".end";
 
+    // Larger exports are laid out in chunks of this many entries on several threads
+    private static final int ENTRIES_PER_CHUNK = 1000;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(TemplateExporter.class);
 
     private final String lfFileName;
@@ -237,55 +250,30 @@ public class TemplateExporter extends Exporter {
              */
             List<BibEntry> sorted = BibDatabaseWriter.getSortedEntries(databaseContext, entries, savePreferences);
 
-            // Load default layout
-            Layout defLayout;
-            LayoutHelper layoutHelper;
-            try (Reader reader = getReader(lfFileName + LAYOUT_EXTENSION)) {
-                layoutHelper = new LayoutHelper(reader, layoutPreferences);
-                defLayout = layoutHelper.getLayoutFromText();
-            }
-            if (defLayout != null) {
-                missingFormatters.addAll(defLayout.getMissingFormatters());
-                if (!missingFormatters.isEmpty()) {
-                    LOGGER.warn("Missing formatters found ", missingFormatters);
+            // Read the default layout and the type-specific layouts of the exported entry types once
+            String defaultTemplate = readTemplate(lfFileName + LAYOUT_EXTENSION);
+            Map<EntryType, String> typeTemplates = new HashMap<>();
+            for (EntryType type : sorted.stream().map(BibEntry::getType).collect(Collectors.toSet())) {
+                try {
+                    typeTemplates.put(type, readTemplate(lfFileName + '.' + type.getName() + LAYOUT_EXTENSION));
+                } catch (IOException ex) {
+                    // The exception indicates that no type-specific layout
+                    // exists, so we go with the default one.
                 }
             }
-            Map<EntryType, Layout> layouts = new HashMap<>();
-            Layout layout;
+            EntryLayouts layouts = new EntryLayouts(defaultTemplate, typeTemplates);
+            missingFormatters.addAll(layouts.getMissingFormatters());
+            if (!missingFormatters.isEmpty()) {
+                LOGGER.warn("Missing formatters found ", missingFormatters);
+            }
 
             ExporterFactory.entryNumber = 0;
-            for (BibEntry entry : sorted) {
-                ExporterFactory.entryNumber++; // Increment entry counter.
-                // Get the layout
-                EntryType type = entry.getType();
-                if (layouts.containsKey(type)) {
-                    layout = layouts.get(type);
-                } else {
-                    try (Reader reader = getReader(lfFileName + '.' + type.getName() + LAYOUT_EXTENSION)) {
-                        // We try to get a type-specific layout for this entry.
-                        layoutHelper = new LayoutHelper(reader, layoutPreferences);
-                        layout = layoutHelper.getLayoutFromText();
-                        layouts.put(type, layout);
-                        if (layout != null) {
-                            missingFormatters.addAll(layout.getMissingFormatters());
-                        }
-
-                    } catch (IOException ex) {
-                        // The exception indicates that no type-specific layout
-                        // exists, so we
-                        // go with the default one.
-                        layout = defLayout;
-                    }
-                }
-
-                // Write the entry
-                if (layout != null) {
-                    if (deleteBlankLines) {
-                        String withoutBlankLines = BLANK_LINE_MATCHER.matcher(layout.doLayout(entry, databaseContext.getDatabase())).replaceAll("");
-                        ps.write(withoutBlankLines);
-                    } else {
-                        ps.write(layout.doLayout(entry, databaseContext.getDatabase()));
-                    }
+            if ((sorted.size() > ENTRIES_PER_CHUNK) && !layouts.dependsOnPreviousEntries()) {
+                writeEntriesInChunks(ps, sorted, databaseContext.getDatabase(), defaultTemplate, typeTemplates);
+            } else {
+                for (BibEntry entry : sorted) {
+                    ExporterFactory.entryNumber++; // Increment entry counter.
+                    ps.write(layouts.doLayout(entry, databaseContext.getDatabase()));
                 }
             }
 
@@ -294,7 +282,7 @@ public class TemplateExporter extends Exporter {
             // changed section - begin (arudert)
             Layout endLayout = null;
             try (Reader reader = getReader(lfFileName + END_INFIX + LAYOUT_EXTENSION)) {
-                layoutHelper = new LayoutHelper(reader, layoutPreferences);
+                LayoutHelper layoutHelper = new LayoutHelper(reader, layoutPreferences);
                 endLayout = layoutHelper.getLayoutFromText();
             } catch (IOException ex) {
                 // If an exception was thrown, export filter doesn't have an end
@@ -318,6 +306,59 @@ public class TemplateExporter extends Exporter {
         }
     }
 
+    private String readTemplate(String filename) throws IOException {
+        try (Reader reader = getReader(filename)) {
+            StringWriter template = new StringWriter();
+            reader.transferTo(template);
+            return template.toString();
+        }
+    }
+
+    /**
+     * Lays out the entries in chunks on several threads and writes the chunks in sort order as soon as they are done.
+     * At most one chunk per processor is kept in memory. Each chunk parses its own layouts, as layout formatters are not
+     * required to be thread-safe. State shared by the formatters of all chunks has to be thread-safe, like the cache of
+     * {@link org.jabref.model.entry.AuthorList#parse(String)} used by the name formatters.
+     */
+    private void writeEntriesInChunks(Writer writer, List<BibEntry> entries, BibDatabase database, String defaultTemplate,
+                                      Map<EntryType, String> typeTemplates) throws Exception {
+        int maxPendingChunks = Runtime.getRuntime().availableProcessors();
+        Deque<Future<String>> pendingChunks = new ArrayDeque<>(maxPendingChunks);
+        try {
+            for (int start = 0; start < entries.size(); start += ENTRIES_PER_CHUNK) {
+                if (pendingChunks.size() == maxPendingChunks) {
+                    writer.write(getChunk(pendingChunks.removeFirst()));
+                }
+                List<BibEntry> chunk = entries.subList(start, Math.min(start + ENTRIES_PER_CHUNK, entries.size()));
+                pendingChunks.addLast(JabRefExecutorService.INSTANCE.execute(() -> {
+                    EntryLayouts layouts = new EntryLayouts(defaultTemplate, typeTemplates);
+                    StringBuilder text = new StringBuilder();
+                    for (BibEntry entry : chunk) {
+                        text.append(layouts.doLayout(entry, database));
+                    }
+                    return text.toString();
+                }));
+            }
+            while (!pendingChunks.isEmpty()) {
+                writer.write(getChunk(pendingChunks.removeFirst()));
+            }
+        } finally {
+            // Stop the remaining chunks if writing failed
+            pendingChunks.forEach(chunk -> chunk.cancel(true));
+        }
+    }
+
+    private static String getChunk(Future<String> chunk) throws Exception {
+        try {
+            return chunk.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof Exception) {
+                throw (Exception) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
     /**
      * See if there is a name formatter file bundled with this export format. If so, read
      * all the name formatters so they can be used by the filter layouts.
@@ -362,4 +403,43 @@ public class TemplateExporter extends Exporter {
     public String getLayoutFileNameWithExtension() {
         return lfFileName + LAYOUT_EXTENSION;
     }
+
+    /**
+     * The layouts used for the entries of one export, parsed from the templates read at the start of the export.
+     */
+    private class EntryLayouts {
+
+        private final Layout defaultLayout;
+        private final Map<EntryType, Layout> typeLayouts = new HashMap<>();
+
+        EntryLayouts(String defaultTemplate, Map<EntryType, String> typeTemplates) throws IOException {
+            defaultLayout = parseLayout(defaultTemplate);
+            for (Map.Entry<EntryType, String> typeTemplate : typeTemplates.entrySet()) {
+                typeLayouts.put(typeTemplate.getKey(), parseLayout(typeTemplate.getValue()));
+            }
+        }
+
+        private Layout parseLayout(String template) throws IOException {
+            return new LayoutHelper(new StringReader(template), layoutPreferences).getLayoutFromText();
+        }
+
+        String doLayout(BibEntry entry, BibDatabase database) {
+            String text = typeLayouts.getOrDefault(entry.getType(), defaultLayout).doLayout(entry, database);
+            if (deleteBlankLines) {
+                return BLANK_LINE_MATCHER.matcher(text).replaceAll("");
+            }
+            return text;
+        }
+
+        boolean dependsOnPreviousEntries() {
+            return defaultLayout.dependsOnPreviousEntries()
+                    || typeLayouts.values().stream().anyMatch(Layout::dependsOnPreviousEntries);
+        }
+
+        List<String> getMissingFormatters() {
+            List<String> missingFormatters = new ArrayList<>(defaultLayout.getMissingFormatters());
+            typeLayouts.values().forEach(layout -> missingFormatters.addAll(layout.getMissingFormatters()));
+            return missingFormatters;
+        }
+    }
 }
@@ -0,0 +1,231 @@
+package org.jabref.logic.groups;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.event.EntriesAddedEvent;
+import org.jabref.model.database.event.EntriesRemovedEvent;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.event.FieldChangedEvent;
+import org.jabref.model.groups.GroupTreeNode;
+import org.jabref.model.search.SearchMatcher;
+
+import com.google.common.collect.MapMaker;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Keeps track of the entries of a database matched by groups. For each group node, the matching entries are stored
+ * as a bit set over the slots assigned to the entries. Instead of scanning the whole database after each change,
+ * only the added, removed or changed entries are checked against the groups.
+ * <p>
+ * The index of a database is shared (see {@link #forDatabase(BibDatabase)}). Group nodes are referenced weakly, so
+ * that the nodes of discarded group trees do not have to be maintained.
+ */
+public class GroupMembershipIndex {
+
+    private final Map<BibEntry, Integer> slots = new IdentityHashMap<>();
+    private final List<BibEntry> entriesBySlot = new ArrayList<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+    private final Map<GroupTreeNode, Membership> memberships = new MapMaker().weakKeys().makeMap();
+
+    private GroupMembershipIndex(List<BibEntry> entries) {
+        entries.forEach(this::assignSlot);
+    }
+
+    /**
+     * Returns the index of the given database. The index is created on first use and lives as long as the database.
+     */
+    public static GroupMembershipIndex forDatabase(BibDatabase database) {
+        // stored in the database, as the index references its entries
+        return database.getDerivedData(GroupMembershipIndex.class, key -> {
+            GroupMembershipIndex index = new GroupMembershipIndex(key.getEntries());
+            key.registerListener(index);
+            return index;
+        });
+    }
+
+    /**
+     * Returns the number of entries matched by the given group node, taking the hierarchical context into account
+     * (see {@link GroupTreeNode#getSearchMatcher()}). The matching entries are determined on the first call.
+     */
+    public synchronized int getHits(GroupTreeNode node) {
+        return getMembers(node).cardinality();
+    }
+
+    /**
+     * Returns whether the given group node matches the entry, see {@link GroupTreeNode#matches(BibEntry)}.
+     */
+    public synchronized boolean matches(GroupTreeNode node, BibEntry entry) {
+        Membership membership = getMembership(node);
+        Integer slot = slots.get(entry);
+        if ((membership.members == null) || (slot == null)) {
+            return membership.matcher.isMatch(entry);
+        }
+        return membership.members.get(slot);
+    }
+
+    /**
+     * Registers a listener which is called whenever the number of entries matched by the given group node might have
+     * changed. The listener is called on the thread changing the database.
+     * <p>
+     * The listener is referenced weakly, thus the caller has to keep a reference to it as long as it is needed.
+     */
+    public void addListener(GroupTreeNode node, Runnable listener) {
+        Membership membership;
+        synchronized (this) {
+            membership = getMembership(node);
+        }
+        membership.listeners.add(new WeakReference<>(Objects.requireNonNull(listener)));
+    }
+
+    /**
+     * Discards the matching entries of the given group node. They are determined again on the next request, using the
+     * current definition of the group and its hierarchy.
+     */
+    public synchronized void invalidate(GroupTreeNode node) {
+        Membership membership = memberships.get(node);
+        if (membership != null) {
+            membership.matcher = node.getSearchMatcher();
+            membership.members = null;
+        }
+    }
+
+    private Membership getMembership(GroupTreeNode node) {
+        return memberships.computeIfAbsent(node, key -> new Membership(key.getSearchMatcher()));
+    }
+
+    private BitSet getMembers(GroupTreeNode node) {
+        Membership membership = getMembership(node);
+        if (membership.members == null) {
+            BitSet members = new BitSet(entriesBySlot.size());
+            for (int slot = 0; slot < entriesBySlot.size(); slot++) {
+                BibEntry entry = entriesBySlot.get(slot);
+                if ((entry != null) && membership.matcher.isMatch(entry)) {
+                    members.set(slot);
+                }
+            }
+            membership.members = members;
+        }
+        return membership.members;
+    }
+
+    private int assignSlot(BibEntry entry) {
+        Integer slot = freeSlots.poll();
+        if (slot == null) {
+            slot = entriesBySlot.size();
+            entriesBySlot.add(entry);
+        } else {
+            entriesBySlot.set(slot, entry);
+        }
+        slots.put(entry, slot);
+        return slot;
+    }
+
+    private Optional<Integer> releaseSlot(BibEntry entry) {
+        Integer slot = slots.remove(entry);
+        if (slot == null) {
+            // similar to BibDatabase#removeEntries, the entry might be given by another object having the same id
+            Optional<BibEntry> indexedEntry = slots.keySet().stream()
+                                                   .filter(candidate -> candidate.getId().equals(entry.getId()))
+                                                   .findFirst();
+            if (indexedEntry.isEmpty()) {
+                return Optional.empty();
+            }
+            slot = slots.remove(indexedEntry.get());
+        }
+        entriesBySlot.set(slot, null);
+        freeSlots.push(slot);
+        return Optional.of(slot);
+    }
+
+    /**
+     * Updates the bit of the given slot in all computed memberships. The memberships whose bit has changed are added
+     * to the given set.
+     */
+    private void update(int slot, BibEntry entry, Set<Membership> changed) {
+        for (Membership membership : memberships.values()) {
+            if (membership.members != null) {
+                boolean matched = (entry != null) && membership.matcher.isMatch(entry);
+                if (membership.members.get(slot) != matched) {
+                    membership.members.set(slot, matched);
+                    changed.add(membership);
+                }
+            }
+        }
+    }
+
+    private static void notifyListeners(Set<Membership> changed) {
+        changed.forEach(Membership::notifyListeners);
+    }
+
+    @Subscribe
+    public void listen(EntriesAddedEvent event) {
+        Set<Membership> changed = new HashSet<>();
+        synchronized (this) {
+            for (BibEntry entry : event.getBibEntries()) {
+                update(assignSlot(entry), entry, changed);
+            }
+        }
+        notifyListeners(changed);
+    }
+
+    @Subscribe
+    public void listen(EntriesRemovedEvent event) {
+        Set<Membership> changed = new HashSet<>();
+        synchronized (this) {
+            for (BibEntry entry : event.getBibEntries()) {
+                releaseSlot(entry).ifPresent(slot -> update(slot, null, changed));
+            }
+        }
+        notifyListeners(changed);
+    }
+
+    @Subscribe
+    public void listen(FieldChangedEvent event) {
+        Set<Membership> changed = new HashSet<>();
+        synchronized (this) {
+            Integer slot = slots.get(event.getBibEntry());
+            if (slot == null) {
+                // not part of the database (anymore)
+                return;
+            }
+            update(slot, event.getBibEntry(), changed);
+        }
+        notifyListeners(changed);
+    }
+
+    private static class Membership {
+
+        private final List<WeakReference<Runnable>> listeners = new CopyOnWriteArrayList<>();
+        private SearchMatcher matcher;
+        // null as long as the matching entries have not been determined
+        private BitSet members;
+
+        Membership(SearchMatcher matcher) {
+            this.matcher = matcher;
+        }
+
+        void notifyListeners() {
+            listeners.removeIf(reference -> reference.get() == null);
+            for (WeakReference<Runnable> reference : listeners) {
+                Runnable listener = reference.get();
+                if (listener != null) {
+                    listener.run();
+                }
+            }
+        }
+    }
+}
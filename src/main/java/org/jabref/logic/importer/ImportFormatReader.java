@@ -1,12 +1,18 @@
 package org.jabref.logic.importer;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.nio.file.Path;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.SortedSet;
+import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 import org.jabref.logic.importer.fileformat.BibTeXMLImporter;
 import org.jabref.logic.importer.fileformat.BiblioscapeImporter;
@@ -162,6 +168,10 @@ public class ImportFormatReader {
      * and keeping the import that seems most promising.
      * <p/>
      * This method first attempts to read this file as bibtex.
+     * <p/>
+     * To find the other import formats, the file is read and decoded once and all importers check it in parallel (see
+     * {@link Importer#isRecognizedFormat(Path, String)}). Files too long to be decoded at once are checked by each
+     * importer itself, as some importers need the whole document, e.g., the XML importers.
      *
      * @throws ImportException if the import fails (for example, if no suitable importer is found)
      */
@@ -179,53 +189,93 @@ public class ImportFormatReader {
             // Ignored
         }
 
-        UnknownFormatImport unknownFormatImport = importUnknownFormat(importer -> importer.importDatabase(filePath, importFormatPreferences.getEncoding()), importer -> importer.isRecognizedFormat(filePath, importFormatPreferences.getEncoding()));
+        Charset encoding = importFormatPreferences.getEncoding();
+        DecodedPrefix prefix;
+        try {
+            prefix = DecodedPrefix.read(filePath, encoding);
+        } catch (IOException e) {
+            throw new ImportException(Localization.lang("Could not find a suitable import format."), e);
+        }
+
+        List<Importer> recognizingImporters;
+        if (prefix.isTruncated) {
+            // an importer recognizing the beginning might win over one failing on an incomplete document
+            recognizingImporters = getRecognizingImporters(importer -> importer.isRecognizedFormat(filePath, encoding));
+        } else {
+            recognizingImporters = getRecognizingImporters(importer -> importer.isRecognizedFormat(filePath, prefix.text));
+        }
+
+        UnknownFormatImport unknownFormatImport = importUnknownFormat(recognizingImporters, importer -> importer.importDatabase(filePath, encoding));
         unknownFormatImport.parserResult.setFile(filePath.toFile());
         return unknownFormatImport;
     }
 
     /**
-     * Tries to import entries by iterating through the available import filters,
-     * and keeping the import that seems the most promising
+     * Returns the importers recognizing the source. The importers check the source in parallel.
      *
-     * @param importDatabase the function to import the entries with a formatter
      * @param isRecognizedFormat the function to check whether the source is in the correct format for an importer
+     * @return the recognizing importers in default order
+     */
+    private List<Importer> getRecognizingImporters(CheckedFunction<Importer, Boolean> isRecognizedFormat) {
+        return getImportFormats().parallelStream()
+                                 .filter(importer -> {
+                                     try {
+                                         return isRecognizedFormat.apply(importer);
+                                     } catch (IOException ex) {
+                                         // The check did not succeed. Go on.
+                                         return false;
+                                     }
+                                 })
+                                 .collect(Collectors.toList());
+    }
+
+    /**
+     * Tries to import entries using the recognizing importers and keeps the import that seems the most promising.
+     * Only the importers with the highest {@link Importer#getRecognitionConfidence() confidence} import the entries,
+     * ties are broken by the number of imported entries. If these importers do not find any entries, the importers
+     * with the next lower confidence are tried.
+     *
+     * @param recognizingImporters the importers recognizing the source
+     * @param importDatabase the function to import the entries with a formatter
      * @return an UnknownFormatImport with the imported entries and metadata
      * @throws ImportException if the import fails (for example, if no suitable importer is found)
      */
-    private UnknownFormatImport importUnknownFormat(CheckedFunction<Importer, ParserResult> importDatabase, CheckedFunction<Importer, Boolean> isRecognizedFormat) throws ImportException {
-        // stores ref to best result, gets updated at the next loop
-        List<BibEntry> bestResult = null;
-        int bestResultCount = 0;
-        String bestFormatName = null;
-
-        // Cycle through all importers:
-        for (Importer imFo : getImportFormats()) {
-            try {
-                if (!isRecognizedFormat.apply(imFo)) {
-                    continue;
-                }
-
-                ParserResult parserResult = importDatabase.apply(imFo);
-                List<BibEntry> entries = parserResult.getDatabase().getEntries();
-
-                BibDatabases.purgeEmptyEntries(entries);
-                int entryCount = entries.size();
-
-                if (entryCount > bestResultCount) {
-                    bestResult = entries;
-                    bestResultCount = entryCount;
-                    bestFormatName = imFo.getName();
+    private UnknownFormatImport importUnknownFormat(List<Importer> recognizingImporters, CheckedFunction<Importer, ParserResult> importDatabase) throws ImportException {
+        Map<Importer.RecognitionConfidence, List<Importer>> importersByConfidence = recognizingImporters
+                .stream()
+                .collect(Collectors.groupingBy(Importer::getRecognitionConfidence,
+                        () -> new TreeMap<>(Comparator.reverseOrder()),
+                        Collectors.toList()));
+
+        for (List<Importer> importers : importersByConfidence.values()) {
+            // stores ref to best result, gets updated at the next loop
+            List<BibEntry> bestResult = null;
+            int bestResultCount = 0;
+            String bestFormatName = null;
+
+            for (Importer imFo : importers) {
+                try {
+                    ParserResult parserResult = importDatabase.apply(imFo);
+                    List<BibEntry> entries = parserResult.getDatabase().getEntries();
+
+                    BibDatabases.purgeEmptyEntries(entries);
+                    int entryCount = entries.size();
+
+                    if (entryCount > bestResultCount) {
+                        bestResult = entries;
+                        bestResultCount = entryCount;
+                        bestFormatName = imFo.getName();
+                    }
+                } catch (IOException ex) {
+                    // The import did not succeed. Go on.
                 }
-            } catch (IOException ex) {
-                // The import did not succeed. Go on.
             }
-        }
 
-        if (bestResult != null) {
-            // we found something
-            ParserResult parserResult = new ParserResult(bestResult);
-            return new UnknownFormatImport(bestFormatName, parserResult);
+            if (bestResult != null) {
+                // we found something
+                ParserResult parserResult = new ParserResult(bestResult);
+                return new UnknownFormatImport(bestFormatName, parserResult);
+            }
         }
 
         throw new ImportException(Localization.lang("Could not find a suitable import format."));
@@ -248,7 +298,38 @@ public class ImportFormatReader {
     public UnknownFormatImport importUnknownFormat(String data) throws ImportException {
         Objects.requireNonNull(data);
 
-        return importUnknownFormat(importer -> importer.importDatabase(data), importer -> importer.isRecognizedFormat(data));
+        return importUnknownFormat(getRecognizingImporters(importer -> importer.isRecognizedFormat(data)), importer -> importer.importDatabase(data));
+    }
+
+    /**
+     * The beginning of a file, decoded once. It is checked by all importers if it contains the whole file.
+     */
+    private static class DecodedPrefix {
+
+        // in characters, large enough to contain the whole file in almost all cases
+        private static final int MAX_LENGTH = 1 << 20;
+
+        private final String text;
+        private final boolean isTruncated;
+
+        private DecodedPrefix(String text, boolean isTruncated) {
+            this.text = text;
+            this.isTruncated = isTruncated;
+        }
+
+        static DecodedPrefix read(Path filePath, Charset encoding) throws IOException {
+            try (BufferedReader reader = Importer.getReader(filePath, encoding)) {
+                char[] buffer = new char[MAX_LENGTH];
+                int length = 0;
+                int read;
+                while ((length < buffer.length) && ((read = reader.read(buffer, length, buffer.length - length)) != -1)) {
+                    length += read;
+                }
+
+                boolean isTruncated = (length == buffer.length) && (reader.read() != -1);
+                return new DecodedPrefix(new String(buffer, 0, length), isTruncated);
+            }
+        }
     }
 
 }
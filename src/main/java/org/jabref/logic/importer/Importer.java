@@ -44,6 +44,32 @@ public abstract class Importer implements Comparable<Importer> {
         }
     }
 
+    /**
+     * Check whether the file is in the correct format for this importer, given the already decoded file. This is used
+     * when searching for a suitable import format, so that the file is read only once for all importers.
+     *
+     * Importers which do not check the text of the file (e.g., importers of binary formats) should overwrite this
+     * method and check the file itself.
+     *
+     * @param filePath       the path of the file to check
+     * @param decodedContent the whole decoded file
+     * @return true, if the file is in a recognized format
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public boolean isRecognizedFormat(Path filePath, String decodedContent) throws IOException {
+        return isRecognizedFormat(decodedContent);
+    }
+
+    /**
+     * Returns how reliable a positive result of {@link #isRecognizedFormat(BufferedReader)} is.
+     *
+     * When importing in an unknown format, only the recognizing importers with the highest confidence import the
+     * source. Importers with a lower confidence are only tried if these do not find any entries.
+     */
+    public RecognitionConfidence getRecognitionConfidence() {
+        return RecognitionConfidence.MEDIUM;
+    }
+
     /**
      * Check whether the source is in the correct format for this importer.
      *
@@ -196,4 +222,19 @@ public abstract class Importer implements Comparable<Importer> {
     public int compareTo(Importer o) {
         return getName().compareTo(o.getName());
     }
+
+    public enum RecognitionConfidence {
+        /**
+         * The importer recognizes (almost) any source, e.g., because it cannot tell its format apart.
+         */
+        LOW,
+        /**
+         * The importer looks for lines typical for its format, which may also occur in other formats.
+         */
+        MEDIUM,
+        /**
+         * The importer looks for a structure specific to its format, such as the root element of an XML format.
+         */
+        HIGH
+    }
 }
@@ -79,6 +79,11 @@ public class BibTeXMLImporter extends Importer {
         return false;
     }
 
+    @Override
+    public RecognitionConfidence getRecognitionConfidence() {
+        return RecognitionConfidence.HIGH;
+    }
+
     @Override
     public ParserResult importDatabase(BufferedReader reader) throws IOException {
         Objects.requireNonNull(reader);
@@ -48,6 +48,11 @@ public class BiblioscapeImporter extends Importer {
         return true;
     }
 
+    @Override
+    public RecognitionConfidence getRecognitionConfidence() {
+        return RecognitionConfidence.LOW;
+    }
+
     @Override
     public ParserResult importDatabase(BufferedReader reader) throws IOException {
         List<BibEntry> bibItems = new ArrayList<>();
@@ -0,0 +1,203 @@
+package org.jabref.logic.importer.fileformat;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import org.jabref.model.strings.TextSpan;
+
+/**
+ * Character source of the {@link BibtexParser}. The complete input is held in one <code>char[]</code> and the text
+ * read since the last call of {@link #dumpRecordedText()} is kept as a span into this array.
+ * <p>
+ * This class mirrors the semantics of a {@link java.io.PushbackReader} (including its capacity) combined with a deque
+ * recording every consumed character: A character which is read is recorded, a character which is unread removes the
+ * last recorded character if they are equal. In the usual case, the unread character is the one just read and both
+ * the stream and the recorded text are handled by moving offsets. Only if something else is pushed back, the recorded
+ * text is copied into a {@link StringBuilder} until the next dump.
+ */
+final class BibtexCharBuffer {
+
+    private static final int EOF = -1;
+    private static final int READ_CHUNK_SIZE = 8192;
+
+    private final char[] buffer;
+    private final int start;
+    private final int end;
+    private final int pushbackCapacity;
+    private int position;
+
+    // characters pushed back which do not match the buffer content in front of the current position
+    private final char[] pushback;
+    private int pushbackCount;
+    // number of characters pushed back which have not been read again (limited by the capacity)
+    private int pendingUnreads;
+
+    // recorded text is either buffer[recordStart, recordEnd) or, if present, the content of recordedCopy
+    private int recordStart;
+    private int recordEnd;
+    private StringBuilder recordedCopy;
+
+    // the input as string, the recorded text is handed out as span of it
+    private String input;
+
+    /**
+     * Creates a character source for the part <code>[start, end)</code> of the given array. The array is not copied.
+     */
+    BibtexCharBuffer(char[] buffer, int start, int end, int pushbackCapacity) {
+        this.buffer = buffer;
+        this.start = start;
+        this.end = end;
+        this.pushbackCapacity = pushbackCapacity;
+        this.pushback = new char[pushbackCapacity];
+        this.position = start;
+        this.recordStart = start;
+        this.recordEnd = start;
+    }
+
+    static BibtexCharBuffer fromReader(Reader reader, int pushbackCapacity) throws IOException {
+        CharBuffer content = readFully(reader);
+        return new BibtexCharBuffer(content.array(), 0, content.limit(), pushbackCapacity);
+    }
+
+    /**
+     * Reads the reader completely. The reader is not closed.
+     *
+     * @return a buffer wrapping the backing array, its limit is the number of characters read
+     */
+    static CharBuffer readFully(Reader reader) throws IOException {
+        char[] content = new char[READ_CHUNK_SIZE];
+        int length = 0;
+        int read;
+        while ((read = reader.read(content, length, content.length - length)) != EOF) {
+            length += read;
+            if (length == content.length) {
+                content = Arrays.copyOf(content, content.length * 2);
+            }
+        }
+        return CharBuffer.wrap(content, 0, length);
+    }
+
+    /**
+     * @return the next character or <code>-1</code> if the end of the input is reached
+     */
+    int read() {
+        int character;
+        boolean fromBuffer = false;
+        if (pushbackCount > 0) {
+            character = pushback[--pushbackCount];
+        } else if (position < end) {
+            character = buffer[position++];
+            fromBuffer = true;
+        } else {
+            character = EOF;
+        }
+        if ((pendingUnreads > 0) && (character != EOF)) {
+            pendingUnreads--;
+        }
+
+        if (!isEOFCharacter(character)) {
+            record((char) character, fromBuffer);
+        }
+        return character;
+    }
+
+    /**
+     * Pushes back the given character. In case the last recorded character equals the given one, it is removed from
+     * the recorded text.
+     *
+     * @throws IOException            if more characters are pushed back than the capacity allows
+     * @throws NoSuchElementException if no text has been recorded since the last dump
+     */
+    void unread(int character) throws IOException {
+        if (pendingUnreads == pushbackCapacity) {
+            throw new IOException("Pushback buffer overflow");
+        }
+        pendingUnreads++;
+
+        char pushedBack = (char) character;
+        if ((pushbackCount == 0) && (position > start) && (buffer[position - 1] == pushedBack)) {
+            position--;
+        } else {
+            pushback[pushbackCount++] = pushedBack;
+        }
+
+        if (getLastRecorded() == character) {
+            removeLastRecorded();
+        }
+    }
+
+    /**
+     * Returns the text recorded since the last call of this method and starts a new recording.
+     */
+    String dumpRecordedText() {
+        return dumpRecordedSpan().toString();
+    }
+
+    /**
+     * Returns the text recorded since the last call of this method and starts a new recording. Unless characters
+     * other than the ones read were pushed back, the text is a span of the input, which is shared by all spans.
+     */
+    TextSpan dumpRecordedSpan() {
+        TextSpan result;
+        if (recordedCopy == null) {
+            result = new TextSpan(getInput(), recordStart - start, recordEnd - recordStart);
+        } else {
+            result = TextSpan.of(recordedCopy.toString());
+            recordedCopy = null;
+        }
+        recordStart = position;
+        recordEnd = position;
+        return result;
+    }
+
+    /**
+     * Returns the input as string, which is created once. Java stores it compactly if possible, e.g., with one byte per
+     * character for Latin-1 text.
+     */
+    private String getInput() {
+        if (input == null) {
+            input = new String(buffer, start, end - start);
+        }
+        return input;
+    }
+
+    static boolean isEOFCharacter(int character) {
+        return (character == EOF) || (character == 65535);
+    }
+
+    private void record(char character, boolean fromBuffer) {
+        if (recordedCopy != null) {
+            recordedCopy.append(character);
+        } else if (fromBuffer && (recordEnd == (position - 1))) {
+            recordEnd++;
+        } else {
+            recordedCopy = new StringBuilder(recordEnd - recordStart + 16);
+            recordedCopy.append(buffer, recordStart, recordEnd - recordStart);
+            recordedCopy.append(character);
+        }
+    }
+
+    private char getLastRecorded() {
+        if (recordedCopy != null) {
+            if (recordedCopy.length() == 0) {
+                throw new NoSuchElementException();
+            }
+            return recordedCopy.charAt(recordedCopy.length() - 1);
+        }
+        if (recordEnd == recordStart) {
+            throw new NoSuchElementException();
+        }
+        return buffer[recordEnd - 1];
+    }
+
+    private void removeLastRecorded() {
+        if (recordedCopy != null) {
+            recordedCopy.setLength(recordedCopy.length() - 1);
+        } else {
+            recordEnd--;
+        }
+    }
+}
@@ -42,6 +42,11 @@ public class BibtexImporter extends Importer {
         return true;
     }
 
+    @Override
+    public RecognitionConfidence getRecognitionConfidence() {
+        return RecognitionConfidence.LOW;
+    }
+
     @Override
     public ParserResult importDatabase(Path filePath, Charset defaultEncoding) throws IOException {
         // We want to check if there is a JabRef signature in the file, because that would tell us
@@ -69,7 +74,7 @@ public class BibtexImporter extends Importer {
 
     @Override
     public ParserResult importDatabase(BufferedReader reader) throws IOException {
-        return new BibtexParser(importFormatPreferences, fileMonitor).parse(reader);
+        return new ParallelBibtexParser(importFormatPreferences, fileMonitor).parse(reader);
     }
 
     @Override
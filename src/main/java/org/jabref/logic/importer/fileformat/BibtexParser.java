@@ -4,14 +4,11 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.PushbackReader;
 import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -41,6 +38,7 @@ import org.jabref.model.entry.field.FieldProperty;
 import org.jabref.model.entry.field.StandardField;
 import org.jabref.model.entry.types.EntryTypeFactory;
 import org.jabref.model.metadata.MetaData;
+import org.jabref.model.strings.TextSpan;
 import org.jabref.model.util.FileUpdateMonitor;
 
 import org.slf4j.Logger;
@@ -66,9 +64,8 @@ public class BibtexParser implements Parser {
 
     private static final Integer LOOKAHEAD = 64;
     private final FieldContentParser fieldContentParser;
-    private final Deque<Character> pureTextFromFile = new LinkedList<>();
     private final ImportFormatPreferences importFormatPreferences;
-    private PushbackReader pushbackReader;
+    private BibtexCharBuffer charBuffer;
     private BibDatabase database;
     private Set<BibEntryType> entryTypes;
     private boolean eof;
@@ -131,7 +128,18 @@ public class BibtexParser implements Parser {
      */
     public ParserResult parse(Reader in) throws IOException {
         Objects.requireNonNull(in);
-        pushbackReader = new PushbackReader(in, BibtexParser.LOOKAHEAD);
+        return parse(BibtexCharBuffer.fromReader(in, BibtexParser.LOOKAHEAD));
+    }
+
+    /**
+     * Parses the given part of a character array, see {@link ParallelBibtexParser}.
+     */
+    ParserResult parse(char[] content, int start, int end) throws IOException {
+        return parse(new BibtexCharBuffer(content, start, end, BibtexParser.LOOKAHEAD));
+    }
+
+    private ParserResult parse(BibtexCharBuffer input) throws IOException {
+        charBuffer = input;
 
         // Bibtex related contents.
         initializeParserResult();
@@ -236,14 +244,15 @@ public class BibtexParser implements Parser {
         try {
             // collect all comments and the entry type definition in front of the actual entry
             // this is at least `@Type`
-            String commentsAndEntryTypeDefinition = dumpTextReadSoFarToString();
+            TextSpan commentsAndEntryTypeDefinition = dumpTextReadSoFar();
 
             BibEntry entry = parseEntry(type);
             // store comments collected without type definition
             entry.setCommentsBeforeEntry(
-                    commentsAndEntryTypeDefinition.substring(0, commentsAndEntryTypeDefinition.lastIndexOf('@')));
+                    commentsAndEntryTypeDefinition.subSequence(0, commentsAndEntryTypeDefinition.lastIndexOf('@')));
             // store complete parsed serialization (comments, type definition + type contents)
-            entry.setParsedSerialization(commentsAndEntryTypeDefinition + dumpTextReadSoFarToString());
+            // as span of the file content, so that it is not copied
+            entry.setParsedSerialization(commentsAndEntryTypeDefinition.concat(dumpTextReadSoFar()));
 
             boolean duplicateKey = database.insertEntry(entry);
             if (duplicateKey) {
@@ -325,12 +334,19 @@ public class BibtexParser implements Parser {
      * @return the text read so far
      */
     private String dumpTextReadSoFarToString() {
-        String result = getPureTextFromFile();
-        int indexOfAt = result.indexOf("@");
+        return dumpTextReadSoFar().toString();
+    }
+
+    /**
+     * Returns the text read so far as span of the file content, see {@link #dumpTextReadSoFarToString()}.
+     */
+    private TextSpan dumpTextReadSoFar() {
+        TextSpan result = getPureTextFromFile();
+        int indexOfAt = result.indexOf('@');
 
         // if there is no entry found, simply return the content (necessary to parse text remaining after the last entry)
         if (indexOfAt == -1) {
-            return purgeEOFCharacters(result);
+            return TextSpan.of(purgeEOFCharacters(result.toString()));
         } else if (result.contains(BibtexDatabaseWriter.DATABASE_ID_PREFIX)) {
             return purge(result, BibtexDatabaseWriter.DATABASE_ID_PREFIX);
         } else if (result.contains(SavePreferences.ENCODING_PREFIX)) {
@@ -340,10 +356,10 @@ public class BibtexParser implements Parser {
         }
     }
 
-    private String purge(String context, String stringToPurge) {
+    private TextSpan purge(TextSpan context, String stringToPurge) {
         // purge the encoding line if it exists
         int runningIndex = context.indexOf(stringToPurge);
-        int indexOfAt = context.indexOf("@");
+        int indexOfAt = context.indexOf('@');
         while (runningIndex < indexOfAt) {
             if (context.charAt(runningIndex) == '\n') {
                 break;
@@ -355,16 +371,11 @@ public class BibtexParser implements Parser {
             }
             runningIndex++;
         }
-        return context.substring(runningIndex + 1);
+        return context.subSequence(runningIndex + 1, context.length());
     }
 
-    private String getPureTextFromFile() {
-        StringBuilder entry = new StringBuilder();
-        while (!pureTextFromFile.isEmpty()) {
-            entry.append(pureTextFromFile.pollFirst());
-        }
-
-        return entry.toString();
+    private TextSpan getPureTextFromFile() {
+        return charBuffer.dumpRecordedSpan();
     }
 
     /**
@@ -431,7 +442,7 @@ public class BibtexParser implements Parser {
     }
 
     private boolean isEOFCharacter(int character) {
-        return (character == -1) || (character == 65535);
+        return BibtexCharBuffer.isEOFCharacter(character);
     }
 
     private String skipAndRecordWhitespace(int character) throws IOException {
@@ -467,11 +478,8 @@ public class BibtexParser implements Parser {
     }
 
     private int read() throws IOException {
-        int character = pushbackReader.read();
+        int character = charBuffer.read();
 
-        if (!isEOFCharacter(character)) {
-            pureTextFromFile.offerLast((char) character);
-        }
         if (character == '\n') {
             line++;
         }
@@ -482,10 +490,7 @@ public class BibtexParser implements Parser {
         if (character == '\n') {
             line--;
         }
-        pushbackReader.unread(character);
-        if (pureTextFromFile.getLast() == character) {
-            pureTextFromFile.pollLast();
-        }
+        charBuffer.unread(character);
     }
 
     private BibtexString parseString() throws IOException {
@@ -76,6 +76,11 @@ public class CustomImporter extends Importer {
         return importer.isRecognizedFormat(input);
     }
 
+    @Override
+    public RecognitionConfidence getRecognitionConfidence() {
+        return importer.getRecognitionConfidence();
+    }
+
     @Override
     public ParserResult importDatabase(BufferedReader input) throws IOException {
         return importer.importDatabase(input);
@@ -109,6 +109,11 @@ public class EndnoteXmlImporter extends Importer implements Parser {
         return false;
     }
 
+    @Override
+    public RecognitionConfidence getRecognitionConfidence() {
+        return RecognitionConfidence.HIGH;
+    }
+
     @Override
     public ParserResult importDatabase(BufferedReader reader) throws IOException {
         Objects.requireNonNull(reader);
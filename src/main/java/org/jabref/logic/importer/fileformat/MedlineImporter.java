@@ -142,6 +142,11 @@ public class MedlineImporter extends Importer implements Parser {
         return false;
     }
 
+    @Override
+    public RecognitionConfidence getRecognitionConfidence() {
+        return RecognitionConfidence.HIGH;
+    }
+
     @Override
     public ParserResult importDatabase(BufferedReader reader) throws IOException {
         Objects.requireNonNull(reader);
@@ -89,6 +89,11 @@ public class ModsImporter extends Importer implements Parser {
         return input.lines().anyMatch(line -> MODS_PATTERN.matcher(line).find());
     }
 
+    @Override
+    public RecognitionConfidence getRecognitionConfidence() {
+        return RecognitionConfidence.HIGH;
+    }
+
     @Override
     public ParserResult importDatabase(BufferedReader input) throws IOException {
         Objects.requireNonNull(input);
@@ -69,6 +69,11 @@ public class MsBibImporter extends Importer {
         return (docin == null) || docin.getDocumentElement().getTagName().contains("Sources");
     }
 
+    @Override
+    public RecognitionConfidence getRecognitionConfidence() {
+        return RecognitionConfidence.HIGH;
+    }
+
     @Override
     public ParserResult importDatabase(BufferedReader reader) throws IOException {
         Objects.requireNonNull(reader);
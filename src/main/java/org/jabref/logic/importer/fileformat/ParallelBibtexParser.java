@@ -0,0 +1,272 @@
+package org.jabref.logic.importer.fileformat;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.jabref.logic.importer.ImportFormatPreferences;
+import org.jabref.logic.importer.ParserResult;
+import org.jabref.logic.l10n.Localization;
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.KeyCollisionException;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryType;
+import org.jabref.model.entry.BibtexString;
+import org.jabref.model.metadata.MetaData;
+import org.jabref.model.util.FileUpdateMonitor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parses large BibTeX files in parallel.
+ * <p>
+ * The input is split into chunks at positions where the sequential {@link BibtexParser} finishes an entry: directly
+ * after the line break following the closing brace of an entry, given that only whitespace follows up to the next
+ * <code>@</code>. The chunks are parsed on a {@link ForkJoinPool} and merged in file order. Everything from the first
+ * <code>@comment</code> on (JabRef meta data and custom entry types) is part of the last chunk, so the meta data is
+ * parsed as a whole. The custom entry types of all chunks are merged. If several chunks contain meta data, the input
+ * is parsed again sequentially.
+ * <p>
+ * In case one of the chunks reports a warning, the input is parsed again sequentially. This way, warnings (including
+ * their line numbers) and the recovery from broken entries are the same as with {@link BibtexParser}.
+ */
+public class ParallelBibtexParser {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelBibtexParser.class);
+
+    /**
+     * Inputs smaller than this number of characters are parsed sequentially.
+     */
+    private static final int DEFAULT_MIN_CHUNK_SIZE = 1 << 20;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final char[] COMMENT_TYPE = "comment".toCharArray();
+
+    private final ImportFormatPreferences importFormatPreferences;
+    private final FileUpdateMonitor fileMonitor;
+    private final ForkJoinPool pool;
+    private final int minChunkSize;
+
+    public ParallelBibtexParser(ImportFormatPreferences importFormatPreferences, FileUpdateMonitor fileMonitor) {
+        this(importFormatPreferences, fileMonitor, ForkJoinPool.commonPool());
+    }
+
+    public ParallelBibtexParser(ImportFormatPreferences importFormatPreferences, FileUpdateMonitor fileMonitor, ForkJoinPool pool) {
+        this(importFormatPreferences, fileMonitor, pool, DEFAULT_MIN_CHUNK_SIZE);
+    }
+
+    ParallelBibtexParser(ImportFormatPreferences importFormatPreferences, FileUpdateMonitor fileMonitor, ForkJoinPool pool, int minChunkSize) {
+        this.importFormatPreferences = Objects.requireNonNull(importFormatPreferences);
+        this.fileMonitor = fileMonitor;
+        this.pool = Objects.requireNonNull(pool);
+        this.minChunkSize = minChunkSize;
+    }
+
+    /**
+     * Parses the BibTeX data read from the given reader. The result is the same as the one of
+     * {@link BibtexParser#parse(Reader)}.
+     * <p>
+     * The reader will be consumed.
+     */
+    public ParserResult parse(Reader in) throws IOException {
+        Objects.requireNonNull(in);
+        CharBuffer input = BibtexCharBuffer.readFully(in);
+        char[] content = input.array();
+        int length = input.limit();
+
+        int chunkSize = Math.max(minChunkSize, length / (pool.getParallelism() * CHUNKS_PER_THREAD));
+        List<Integer> boundaries = getChunkBoundaries(content, length, chunkSize);
+        if (boundaries.size() <= 2) {
+            return createParser().parse(content, 0, length);
+        }
+
+        List<Callable<ParserResult>> chunks = new ArrayList<>();
+        for (int i = 0; i < (boundaries.size() - 1); i++) {
+            int start = boundaries.get(i);
+            int end = boundaries.get(i + 1);
+            chunks.add(() -> createParser().parse(content, start, end));
+        }
+
+        List<ParserResult> results = new ArrayList<>();
+        try {
+            for (Future<ParserResult> chunk : pool.invokeAll(chunks)) {
+                results.add(chunk.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Parsing was interrupted", e);
+        } catch (ExecutionException e) {
+            LOGGER.debug("Could not parse chunk, parsing sequentially", e.getCause());
+            return createParser().parse(content, 0, length);
+        }
+
+        if (results.stream().anyMatch(result -> result.hasWarnings() || result.isInvalid())) {
+            return createParser().parse(content, 0, length);
+        }
+        if (results.stream().filter(result -> !result.getMetaData().isEmpty()).count() > 1) {
+            // the meta data is only parsed correctly as a whole
+            return createParser().parse(content, 0, length);
+        }
+        return merge(results);
+    }
+
+    private BibtexParser createParser() {
+        return new BibtexParser(importFormatPreferences, fileMonitor);
+    }
+
+    /**
+     * Determines the positions at which the input can be split.
+     *
+     * @return the start of each chunk followed by the end of the input
+     */
+    static List<Integer> getChunkBoundaries(char[] content, int length, int chunkSize) {
+        List<Integer> boundaries = new ArrayList<>();
+        boundaries.add(0);
+
+        int limit = indexOfComment(content, length);
+        int depth = 0;
+        int lastBoundary = 0;
+        char lastCharacter = '\0';
+        for (int i = 0; i < limit; i++) {
+            char character = content[i];
+            if ((character == '{') && (lastCharacter != '\\')) {
+                depth++;
+            } else if ((character == '}') && (lastCharacter != '\\')) {
+                depth--;
+                if (depth < 0) {
+                    // unbalanced input, we cannot determine the entry boundaries reliably
+                    break;
+                }
+                if ((depth == 0) && ((i - lastBoundary) >= chunkSize)) {
+                    int boundary = getBoundaryAfterEntry(content, i + 1, limit);
+                    if (boundary > 0) {
+                        boundaries.add(boundary);
+                        lastBoundary = boundary;
+                    }
+                }
+            }
+            lastCharacter = character;
+        }
+
+        boundaries.add(length);
+        return boundaries;
+    }
+
+    /**
+     * Mirrors the line break handling at the end of an entry (see BibtexParser#skipOneNewline) and checks whether the
+     * next entry follows after some whitespace.
+     *
+     * @return the position after the line break or <code>-1</code> if the entry is not followed by a line break and
+     * another entry
+     */
+    private static int getBoundaryAfterEntry(char[] content, int position, int limit) {
+        int current = position;
+        while ((current < limit) && (content[current] == ' ')) {
+            current++;
+        }
+        if ((current < limit) && (content[current] == '\r')) {
+            current++;
+        }
+        if ((current >= limit) || (content[current] != '\n')) {
+            return -1;
+        }
+        int boundary = current + 1;
+
+        current = boundary;
+        while ((current < limit) && Character.isWhitespace(content[current])) {
+            current++;
+        }
+        if ((current < limit) && (content[current] == '@')) {
+            return boundary;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the position of the first <code>@comment</code>, recognized the way {@link BibtexParser} does: whitespace
+     * may follow the <code>@</code>, the case is ignored, and the type is ended by a character which cannot be part of
+     * it, e.g., <code>@ Comment(</code>. Since an <code>@</code> within an entry is considered as well, the position
+     * may be too early, but never too late.
+     *
+     * @return the position of the <code>@</code> or the length if there is no comment
+     */
+    static int indexOfComment(char[] content, int length) {
+        for (int i = 0; i < length; i++) {
+            if (content[i] == '@') {
+                int typeStart = i + 1;
+                while ((typeStart < length) && Character.isWhitespace(content[typeStart])) {
+                    typeStart++;
+                }
+                int matched = 0;
+                while ((matched < COMMENT_TYPE.length) && ((typeStart + matched) < length)
+                        && (Character.toLowerCase(content[typeStart + matched]) == COMMENT_TYPE[matched])) {
+                    matched++;
+                }
+                int typeEnd = typeStart + matched;
+                if ((matched == COMMENT_TYPE.length) && ((typeEnd == length) || !isTypeCharacter(content[typeEnd]))) {
+                    return i;
+                }
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Mirrors the characters of a text token (see BibtexParser#parseTextToken).
+     */
+    private static boolean isTypeCharacter(char character) {
+        return Character.isLetterOrDigit(character) || (":-_*+./'".indexOf(character) >= 0);
+    }
+
+    private ParserResult merge(List<ParserResult> results) {
+        ParserResult firstChunk = results.get(0);
+        ParserResult lastChunk = results.get(results.size() - 1);
+
+        // at most one chunk contains meta data, see parse
+        MetaData metaData = results.stream()
+                                   .map(ParserResult::getMetaData)
+                                   .filter(chunkMetaData -> !chunkMetaData.isEmpty())
+                                   .findFirst()
+                                   .orElse(lastChunk.getMetaData());
+        Set<BibEntryType> entryTypes = new HashSet<>();
+        results.forEach(chunk -> entryTypes.addAll(chunk.getEntryTypes()));
+
+        BibDatabase database = new BibDatabase();
+        ParserResult parserResult = new ParserResult(database, metaData, entryTypes);
+        firstChunk.getDatabase().getSharedDatabaseID().ifPresent(database::setSharedDatabaseID);
+
+        for (ParserResult chunk : results) {
+            BibDatabase chunkDatabase = chunk.getDatabase();
+            chunkDatabase.getPreamble().ifPresent(database::setPreamble);
+
+            for (BibtexString string : chunkDatabase.getStringValues()) {
+                try {
+                    database.addString(string);
+                } catch (KeyCollisionException ex) {
+                    parserResult.addWarning(Localization.lang("Duplicate string name") + ": " + string.getName());
+                }
+            }
+
+            // the entries should only report changes to the merged database
+            chunkDatabase.detachEntries(chunkDatabase.getEntries());
+            for (BibEntry entry : chunkDatabase.getEntries()) {
+                boolean duplicateKey = database.insertEntry(entry);
+                if (duplicateKey) {
+                    parserResult.addDuplicateKey(entry.getCiteKey());
+                }
+            }
+        }
+
+        database.setEpilog(lastChunk.getDatabase().getEpilog());
+        return parserResult;
+    }
+}
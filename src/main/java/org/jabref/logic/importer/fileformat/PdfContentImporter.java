@@ -1,6 +1,8 @@
 package org.jabref.logic.importer.fileformat;
 
 import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.nio.charset.Charset;
@@ -18,10 +20,10 @@ import org.jabref.logic.importer.Importer;
 import org.jabref.logic.importer.ParserResult;
 import org.jabref.logic.importer.fetcher.DoiFetcher;
 import org.jabref.logic.l10n.Localization;
+import org.jabref.logic.pdf.PdfContentCache;
 import org.jabref.logic.util.OS;
 import org.jabref.logic.util.StandardFileType;
 import org.jabref.logic.xmp.EncryptedPdfsNotSupportedException;
-import org.jabref.logic.xmp.XmpUtilReader;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.LinkedFile;
 import org.jabref.model.entry.field.StandardField;
@@ -43,6 +45,18 @@ import org.apache.pdfbox.text.PDFTextStripper;
 public class PdfContentImporter extends Importer {
 
     private static final Pattern YEAR_EXTRACT_PATTERN = Pattern.compile("\\d{4}");
+    private static final PdfContentCache.Kind<String> FIRST_PAGE_TEXT = new PdfContentCache.Kind<>("text", 1) {
+        @Override
+        protected void write(DataOutputStream output, String value) throws IOException {
+            writeString(output, value);
+        }
+
+        @Override
+        protected String read(DataInputStream input) throws IOException {
+            return readString(input);
+        }
+    };
+
     private final ImportFormatPreferences importFormatPreferences;
     // input lines into several lines
     private String[] lines;
@@ -188,6 +202,11 @@ public class PdfContentImporter extends Importer {
         return input.readLine().startsWith("%PDF");
     }
 
+    @Override
+    public RecognitionConfidence getRecognitionConfidence() {
+        return RecognitionConfidence.HIGH;
+    }
+
     @Override
     public ParserResult importDatabase(BufferedReader reader) throws IOException {
         Objects.requireNonNull(reader);
@@ -205,8 +224,8 @@ public class PdfContentImporter extends Importer {
     @Override
     public ParserResult importDatabase(Path filePath, Charset defaultEncoding) {
         final ArrayList<BibEntry> result = new ArrayList<>(1);
-        try (PDDocument document = XmpUtilReader.loadWithAutomaticDecryption(filePath)) {
-            String firstPageContents = getFirstPageContents(document);
+        try {
+            String firstPageContents = PdfContentCache.get(filePath, FIRST_PAGE_TEXT, this::getFirstPageContents);
 
             Optional<DOI> doi = DOI.findInText(firstPageContents);
             if (doi.isPresent()) {
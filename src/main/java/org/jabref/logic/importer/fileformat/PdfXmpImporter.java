@@ -68,6 +68,11 @@ public class PdfXmpImporter extends Importer {
         return false;
     }
 
+    @Override
+    public RecognitionConfidence getRecognitionConfidence() {
+        return RecognitionConfidence.HIGH;
+    }
+
     /**
      * Returns whether the given stream contains data that is a.) a pdf and b.)
      * contains at least one BibEntry.
@@ -78,6 +83,12 @@ public class PdfXmpImporter extends Importer {
         return XmpUtilShared.hasMetadata(filePath, xmpPreferences);
     }
 
+    @Override
+    public boolean isRecognizedFormat(Path filePath, String decodedContent) throws IOException {
+        Objects.requireNonNull(filePath);
+        return XmpUtilShared.hasMetadata(filePath, xmpPreferences);
+    }
+
     @Override
     public String getId() {
         return "xmp";
@@ -3,6 +3,9 @@ package org.jabref.logic.integrity;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import org.jabref.logic.bibtexkeypattern.BibtexKeyPatternPreferences;
 import org.jabref.logic.journals.JournalAbbreviationRepository;
@@ -11,14 +14,25 @@ import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.field.StandardField;
 import org.jabref.model.metadata.FilePreferences;
 
+/**
+ * Checks the integrity of entries. The checkers are created once and shared by all checked entries, thus entries can
+ * be checked in parallel. Hence, checkers may only share state which is thread-safe, like the cache of {@link
+ * org.jabref.model.entry.AuthorList#parse(String)} used by the name and key checkers.
+ * <p>
+ * The checks are divided into checks depending only on the entry and checks depending on other entries or the file
+ * system. The messages of the former are cached (see {@link IntegrityResultCache}), so that checking a database again
+ * only checks the entries changed in the meantime.
+ */
 public class IntegrityCheck {
 
     private final BibDatabaseContext bibDatabaseContext;
-    private final FilePreferences filePreferences;
-    private final BibtexKeyPatternPreferences bibtexKeyPatternPreferences;
-    private final JournalAbbreviationRepository journalAbbreviationRepository;
-    private final boolean enforceLegalKey;
-    private final boolean allowIntegerEdition;
+    private final Configuration configuration;
+    private final IntegrityResultCache resultCache;
+
+    // depend on the entry only, their messages are cached
+    private final List<Checker> entryCheckers = new ArrayList<>();
+    // depend on other entries or on the file system, thus they are run each time
+    private final List<Checker> databaseCheckers = new ArrayList<>();
 
     public IntegrityCheck(BibDatabaseContext bibDatabaseContext,
                           FilePreferences filePreferences,
@@ -27,21 +41,65 @@ public class IntegrityCheck {
                           boolean enforceLegalKey,
                           boolean allowIntegerEdition) {
         this.bibDatabaseContext = Objects.requireNonNull(bibDatabaseContext);
-        this.filePreferences = Objects.requireNonNull(filePreferences);
-        this.bibtexKeyPatternPreferences = Objects.requireNonNull(bibtexKeyPatternPreferences);
-        this.journalAbbreviationRepository = Objects.requireNonNull(journalAbbreviationRepository);
-        this.enforceLegalKey = enforceLegalKey;
-        this.allowIntegerEdition = allowIntegerEdition;
-    }
+        Objects.requireNonNull(filePreferences);
+        Objects.requireNonNull(bibtexKeyPatternPreferences);
+        Objects.requireNonNull(journalAbbreviationRepository);
+        this.configuration = new Configuration(bibDatabaseContext.isBiblatexMode(), journalAbbreviationRepository,
+                enforceLegalKey, allowIntegerEdition);
+        this.resultCache = IntegrityResultCache.forDatabase(bibDatabaseContext.getDatabase());
 
-    public List<IntegrityMessage> checkDatabase() {
-        List<IntegrityMessage> result = new ArrayList<>();
+        FieldCheckers fieldCheckers = new FieldCheckers(bibDatabaseContext,
+                                                        filePreferences,
+                                                        journalAbbreviationRepository,
+                                                        enforceLegalKey,
+                                                        allowIntegerEdition);
+        for (FieldChecker checker : fieldCheckers.getAll()) {
+            if (StandardField.FILE.equals(checker.field)) {
+                databaseCheckers.add(checker);
+            } else {
+                entryCheckers.add(checker);
+            }
+        }
 
-        for (BibEntry entry : bibDatabaseContext.getDatabase().getEntries()) {
-            result.addAll(checkEntry(entry));
+        if (!configuration.biblatexMode) {
+            // BibTeX only checkers
+            entryCheckers.add(new ASCIICharacterChecker());
+            entryCheckers.add(new NoBibtexFieldChecker());
+            entryCheckers.add(new BibTeXEntryTypeChecker());
+            entryCheckers.add(new JournalInAbbreviationListChecker(StandardField.JOURNAL, journalAbbreviationRepository));
+        } else {
+            entryCheckers.add(new JournalInAbbreviationListChecker(StandardField.JOURNALTITLE, journalAbbreviationRepository));
         }
 
-        return result;
+        entryCheckers.add(new BibtexKeyChecker());
+        entryCheckers.add(new TypeChecker());
+        entryCheckers.add(new BibStringChecker());
+        entryCheckers.add(new HTMLCharacterChecker());
+        databaseCheckers.add(new EntryLinkChecker(bibDatabaseContext.getDatabase()));
+        databaseCheckers.add(new BibtexkeyDeviationChecker(bibDatabaseContext, bibtexKeyPatternPreferences));
+        databaseCheckers.add(new BibtexKeyDuplicationChecker(bibDatabaseContext.getDatabase()));
+    }
+
+    public List<IntegrityMessage> checkDatabase() {
+        return new ArrayList<>(bibDatabaseContext.getDatabase().getEntries())
+                .parallelStream()
+                .map(this::checkEntry)
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Checks the given entries in parallel. The messages of each entry are passed to the consumer as soon as the entry
+     * is checked, thus the consumer is called from several threads at once.
+     *
+     * @param isCancelled checked before each entry, no further entries are checked as soon as it returns true
+     */
+    public void checkEntries(List<BibEntry> entries, Consumer<List<IntegrityMessage>> messagesConsumer, BooleanSupplier isCancelled) {
+        new ArrayList<>(entries).parallelStream().forEach(entry -> {
+            if (!isCancelled.getAsBoolean()) {
+                messagesConsumer.accept(checkEntry(entry));
+            }
+        });
     }
 
     public List<IntegrityMessage> checkEntry(BibEntry entry) {
@@ -51,33 +109,18 @@ public class IntegrityCheck {
             return result;
         }
 
-        FieldCheckers fieldCheckers = new FieldCheckers(bibDatabaseContext,
-                                                        filePreferences,
-                                                        journalAbbreviationRepository,
-                                                        enforceLegalKey,
-                                                        allowIntegerEdition);
-        for (FieldChecker checker : fieldCheckers.getAll()) {
+        result.addAll(resultCache.get(entry, configuration, this::checkEntryOnly));
+        for (Checker checker : databaseCheckers) {
             result.addAll(checker.check(entry));
         }
+        return result;
+    }
 
-        if (!bibDatabaseContext.isBiblatexMode()) {
-            // BibTeX only checkers
-            result.addAll(new ASCIICharacterChecker().check(entry));
-            result.addAll(new NoBibtexFieldChecker().check(entry));
-            result.addAll(new BibTeXEntryTypeChecker().check(entry));
-            result.addAll(new JournalInAbbreviationListChecker(StandardField.JOURNAL, journalAbbreviationRepository).check(entry));
-        } else {
-            result.addAll(new JournalInAbbreviationListChecker(StandardField.JOURNALTITLE, journalAbbreviationRepository).check(entry));
+    private List<IntegrityMessage> checkEntryOnly(BibEntry entry) {
+        List<IntegrityMessage> result = new ArrayList<>();
+        for (Checker checker : entryCheckers) {
+            result.addAll(checker.check(entry));
         }
-
-        result.addAll(new BibtexKeyChecker().check(entry));
-        result.addAll(new TypeChecker().check(entry));
-        result.addAll(new BibStringChecker().check(entry));
-        result.addAll(new HTMLCharacterChecker().check(entry));
-        result.addAll(new EntryLinkChecker(bibDatabaseContext.getDatabase()).check(entry));
-        result.addAll(new BibtexkeyDeviationChecker(bibDatabaseContext, bibtexKeyPatternPreferences).check(entry));
-        result.addAll(new BibtexKeyDuplicationChecker(bibDatabaseContext.getDatabase()).check(entry));
-
         return result;
     }
 
@@ -85,4 +128,45 @@ public class IntegrityCheck {
     public interface Checker {
         List<IntegrityMessage> check(BibEntry entry);
     }
+
+    /**
+     * The settings the results of the entry checkers depend on. Checks with the same configuration share their cached
+     * messages.
+     */
+    private static class Configuration {
+
+        private final boolean biblatexMode;
+        private final JournalAbbreviationRepository journalAbbreviationRepository;
+        private final boolean enforceLegalKey;
+        private final boolean allowIntegerEdition;
+
+        Configuration(boolean biblatexMode, JournalAbbreviationRepository journalAbbreviationRepository,
+                      boolean enforceLegalKey, boolean allowIntegerEdition) {
+            this.biblatexMode = biblatexMode;
+            this.journalAbbreviationRepository = journalAbbreviationRepository;
+            this.enforceLegalKey = enforceLegalKey;
+            this.allowIntegerEdition = allowIntegerEdition;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if ((obj == null) || (getClass() != obj.getClass())) {
+                return false;
+            }
+            Configuration that = (Configuration) obj;
+            // the repository may be changed, thus it has to be the identical one
+            return (biblatexMode == that.biblatexMode)
+                    && (journalAbbreviationRepository == that.journalAbbreviationRepository)
+                    && (enforceLegalKey == that.enforceLegalKey)
+                    && (allowIntegerEdition == that.allowIntegerEdition);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(biblatexMode, System.identityHashCode(journalAbbreviationRepository), enforceLegalKey, allowIntegerEdition);
+        }
+    }
 }
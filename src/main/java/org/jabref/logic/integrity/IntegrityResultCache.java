@@ -0,0 +1,85 @@
+package org.jabref.logic.integrity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.event.EntriesRemovedEvent;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.event.FieldChangedEvent;
+
+import com.google.common.collect.MapMaker;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Caches the integrity messages of the checks which only depend on the entry itself (and on the configuration of the
+ * check). The messages of an entry are discarded as soon as one of its fields changes.
+ * <p>
+ * The cache of a database is stored in the database and shared by all integrity checks of the database (see {@link
+ * #forDatabase(BibDatabase)}).
+ * The cached messages are only used by checks having the same configuration.
+ */
+class IntegrityResultCache {
+
+    // entries are compared by identity
+    private final Map<BibEntry, Result> results = new MapMaker().weakKeys().makeMap();
+    // incremented on every invalidation, used to detect checks which raced with a change of the entry
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private IntegrityResultCache() {
+    }
+
+    static IntegrityResultCache forDatabase(BibDatabase database) {
+        // stored in the database, as the cached messages reference its entries
+        return database.getDerivedData(IntegrityResultCache.class, key -> {
+            IntegrityResultCache cache = new IntegrityResultCache();
+            key.registerListener(cache);
+            return cache;
+        });
+    }
+
+    /**
+     * Returns the cached messages of the entry. If there are none for the given configuration, the entry is checked.
+     *
+     * @param configuration determines the checks, compared using {@link Object#equals(Object)}
+     */
+    List<IntegrityMessage> get(BibEntry entry, Object configuration, Function<BibEntry, List<IntegrityMessage>> check) {
+        Result result = results.get(entry);
+        if ((result != null) && result.configuration.equals(configuration)) {
+            return result.messages;
+        }
+
+        long invalidationsBefore = invalidations.get();
+        List<IntegrityMessage> messages = List.copyOf(check.apply(entry));
+        if (invalidations.get() == invalidationsBefore) {
+            results.put(entry, new Result(configuration, messages));
+        }
+        return messages;
+    }
+
+    @Subscribe
+    public void listen(FieldChangedEvent event) {
+        invalidations.incrementAndGet();
+        results.remove(event.getBibEntry());
+    }
+
+    @Subscribe
+    public void listen(EntriesRemovedEvent event) {
+        // the messages refer to the entry, thus the entry would never be collected otherwise
+        invalidations.incrementAndGet();
+        event.getBibEntries().forEach(results::remove);
+    }
+
+    private static class Result {
+
+        private final Object configuration;
+        private final List<IntegrityMessage> messages;
+
+        Result(Object configuration, List<IntegrityMessage> messages) {
+            this.configuration = configuration;
+            this.messages = messages;
+        }
+    }
+}
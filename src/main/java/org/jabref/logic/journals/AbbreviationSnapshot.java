@@ -0,0 +1,117 @@
+package org.jabref.logic.journals;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Binary form of a journal list. Reading a snapshot maps the file into memory and decodes the abbreviations directly,
+ * which is much faster than parsing the CSV file it was created from.
+ * <p>
+ * A snapshot records the hash of the content of its source, so that snapshots of outdated sources are ignored. The
+ * layout is: magic number, format version, source hash, number of abbreviations and, for each abbreviation, the name,
+ * the abbreviation and the shortest unique abbreviation. The source hash and the names are length-prefixed UTF-8
+ * strings.
+ */
+final class AbbreviationSnapshot {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbbreviationSnapshot.class);
+
+    private static final int MAGIC = 0x4A524142;
+    private static final int VERSION = 2;
+
+    private AbbreviationSnapshot() {
+    }
+
+    /**
+     * Reads the snapshot in the given file.
+     *
+     * @return the abbreviations or an empty optional if the file does not exist, is damaged or belongs to another
+     * version of the source
+     */
+    static Optional<List<Abbreviation>> read(Path file, String sourceHash) {
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if ((buffer.getInt() != MAGIC) || (buffer.getInt() != VERSION) || !sourceHash.equals(readString(buffer))) {
+                return Optional.empty();
+            }
+
+            int count = buffer.getInt();
+            if ((count < 0) || (count > (buffer.remaining() / 12))) {
+                // each abbreviation takes at least three length prefixes of four bytes
+                return Optional.empty();
+            }
+            List<Abbreviation> abbreviations = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String name = readString(buffer);
+                String abbreviation = readString(buffer);
+                String shortestUniqueAbbreviation = readString(buffer);
+                abbreviations.add(new Abbreviation(name, abbreviation, shortestUniqueAbbreviation));
+            }
+            return Optional.of(abbreviations);
+        } catch (IOException | BufferUnderflowException e) {
+            LOGGER.info(String.format("Could not read journal list snapshot %s", file), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes a snapshot of the given abbreviations. The file is replaced atomically, so that concurrent readers never
+     * see a partially written snapshot.
+     */
+    static void write(Path file, String sourceHash, List<Abbreviation> abbreviations) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temporaryFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                writeString(output, sourceHash);
+                output.writeInt(abbreviations.size());
+                for (Abbreviation abbreviation : abbreviations) {
+                    writeString(output, abbreviation.getName());
+                    writeString(output, abbreviation.getAbbreviation());
+                    // the shortest unique abbreviation falls back to the abbreviation, thus the stored value is used
+                    writeString(output, abbreviation.shortestUniqueAbbreviationProperty().get());
+                }
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if ((length < 0) || (length > buffer.remaining())) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+}
@@ -2,11 +2,16 @@ package org.jabref.logic.journals;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
+import com.google.common.hash.Hashing;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -18,8 +23,21 @@ public class JournalAbbreviationLoader {
     private static final String JOURNALS_FILE_BUILTIN = "/journals/journalList.csv";
     private static final String JOURNALS_IEEE_ABBREVIATION_LIST_WITH_CODE = "/journals/IEEEJournalListCode.csv";
     private static final String JOURNALS_IEEE_ABBREVIATION_LIST_WITH_TEXT = "/journals/IEEEJournalListText.csv";
+    private final Path snapshotDirectory;
     private JournalAbbreviationRepository journalAbbrev;
 
+    public JournalAbbreviationLoader() {
+        this(null);
+    }
+
+    /**
+     * @param snapshotDirectory the directory the built-in journal lists are cached in as binary snapshots (see
+     *                          {@link AbbreviationSnapshot}). If <code>null</code>, the lists are always parsed.
+     */
+    public JournalAbbreviationLoader(Path snapshotDirectory) {
+        this.snapshotDirectory = snapshotDirectory;
+    }
+
     public static List<Abbreviation> getOfficialIEEEAbbreviations() {
         return readJournalListFromResource(JOURNALS_IEEE_ABBREVIATION_LIST_WITH_CODE);
     }
@@ -52,6 +70,40 @@ public class JournalAbbreviationLoader {
         return parser.getAbbreviations();
     }
 
+    /**
+     * Reads a built-in journal list. If possible, the list is read from its snapshot. Otherwise, it is parsed and a
+     * snapshot is created for the next start.
+     */
+    private List<Abbreviation> readBuiltInJournalList(String resource) {
+        if (snapshotDirectory == null) {
+            return readJournalListFromResource(resource);
+        }
+
+        // The content is hashed, as the length and modification time of a resource need not change with its content,
+        // e.g., resources in the jlink image have no modification time
+        String sourceHash;
+        try (InputStream input = Objects.requireNonNull(JournalAbbreviationLoader.class.getResourceAsStream(resource))) {
+            sourceHash = Hashing.sha256().hashBytes(input.readAllBytes()).toString();
+        } catch (IOException e) {
+            LOGGER.info(String.format("Could not determine the version of journal list %s", resource), e);
+            return readJournalListFromResource(resource);
+        }
+
+        Path snapshot = snapshotDirectory.resolve(Path.of(resource).getFileName() + ".bin");
+        Optional<List<Abbreviation>> abbreviations = AbbreviationSnapshot.read(snapshot, sourceHash);
+        if (abbreviations.isPresent()) {
+            return abbreviations.get();
+        }
+
+        List<Abbreviation> parsedAbbreviations = readJournalListFromResource(resource);
+        try {
+            AbbreviationSnapshot.write(snapshot, sourceHash, parsedAbbreviations);
+        } catch (IOException e) {
+            LOGGER.info(String.format("Could not write snapshot of journal list %s", resource), e);
+        }
+        return parsedAbbreviations;
+    }
+
     public void update(JournalAbbreviationPreferences journalAbbreviationPreferences) {
         journalAbbrev = new JournalAbbreviationRepository();
 
@@ -59,13 +111,13 @@ public class JournalAbbreviationLoader {
         // For instance, in the personal list one can overwrite abbreviations in the built in list
 
         // Read builtin list
-        journalAbbrev.addEntries(readJournalListFromResource(JOURNALS_FILE_BUILTIN));
+        journalAbbrev.addEntries(readBuiltInJournalList(JOURNALS_FILE_BUILTIN));
 
         // Read IEEE list
         if (journalAbbreviationPreferences.useIEEEAbbreviations()) {
-            journalAbbrev.addEntries(getOfficialIEEEAbbreviations());
+            journalAbbrev.addEntries(readBuiltInJournalList(JOURNALS_IEEE_ABBREVIATION_LIST_WITH_CODE));
         } else {
-            journalAbbrev.addEntries(getStandardIEEEAbbreviations());
+            journalAbbrev.addEntries(readBuiltInJournalList(JOURNALS_IEEE_ABBREVIATION_LIST_WITH_TEXT));
         }
 
         // Read external lists
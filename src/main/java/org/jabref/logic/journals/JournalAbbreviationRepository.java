@@ -1,39 +1,52 @@
 package org.jabref.logic.journals;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 /**
  * A repository for all journal abbreviations, including add and find methods.
+ * <p>
+ * The abbreviations are indexed by their case folded full name, ISO abbreviation, Medline abbreviation and shortest
+ * unique abbreviation, so that a journal name is found without comparing it to every abbreviation. Thus, abbreviations
+ * must not be modified after they are added to the repository.
  */
 public class JournalAbbreviationRepository {
 
     // We have over 15.000 abbreviations in the built-in lists
     private final Set<Abbreviation> abbreviations = new HashSet<>(16000);
 
+    private final FormIndex fullNames = new FormIndex(Abbreviation::getName);
+    private final FormIndex isoAbbreviations = new FormIndex(Abbreviation::getAbbreviation);
+    private final FormIndex medlineAbbreviations = new FormIndex(Abbreviation::getMedlineAbbreviation);
+    private final FormIndex shortestUniqueAbbreviations = new FormIndex(Abbreviation::getShortestUniqueAbbreviation);
+    // the order determines which form is preferred if a journal name matches several abbreviations
+    private final List<FormIndex> formIndices = List.of(fullNames, isoAbbreviations, medlineAbbreviations, shortestUniqueAbbreviations);
+
     public JournalAbbreviationRepository(Abbreviation... abbreviations) {
         for (Abbreviation abbreviation : abbreviations) {
             addEntry(abbreviation);
         }
     }
 
-    private static boolean isMatched(String name, Abbreviation abbreviation) {
-        return name.equalsIgnoreCase(abbreviation.getName())
-                || name.equalsIgnoreCase(abbreviation.getAbbreviation())
-                || name.equalsIgnoreCase(abbreviation.getMedlineAbbreviation())
-                || name.equalsIgnoreCase(abbreviation.getShortestUniqueAbbreviation());
-    }
-
-    private static boolean isMatchedAbbreviated(String name, Abbreviation abbreviation) {
-        boolean isAbbreviated = name.equalsIgnoreCase(abbreviation.getAbbreviation())
-                || name.equalsIgnoreCase(abbreviation.getMedlineAbbreviation())
-                || name.equalsIgnoreCase(abbreviation.getShortestUniqueAbbreviation());
-        boolean isExpanded = name.equalsIgnoreCase(abbreviation.getName());
-        return isAbbreviated && !isExpanded;
+    /**
+     * Folds the case the same way {@link String#equalsIgnoreCase(String)} compares characters. Thus, two strings are
+     * equal ignoring the case if and only if their folded forms are equal.
+     */
+    private static String foldCase(String text) {
+        char[] folded = new char[text.length()];
+        for (int i = 0; i < text.length(); i++) {
+            folded[i] = Character.toLowerCase(Character.toUpperCase(text.charAt(i)));
+        }
+        return new String(folded);
     }
 
     public int size() {
@@ -45,7 +58,7 @@ public class JournalAbbreviationRepository {
      * Letters) or its abbreviated form (e.g. Phys. Rev. Lett.).
      */
     public boolean isKnownName(String journalName) {
-        return abbreviations.stream().anyMatch(abbreviation -> isMatched(journalName.trim(), abbreviation));
+        return getAbbreviation(journalName).isPresent();
     }
 
     /**
@@ -53,7 +66,15 @@ public class JournalAbbreviationRepository {
      * i.e. journals whose abbreviation is the same as the full name are not considered
      */
     public boolean isAbbreviatedName(String journalName) {
-        return abbreviations.stream().anyMatch(abbreviation -> isMatchedAbbreviated(journalName.trim(), abbreviation));
+        String name = journalName.trim();
+        String key = foldCase(name);
+        return isAbbreviatedName(name, isoAbbreviations.get(key))
+                || isAbbreviatedName(name, medlineAbbreviations.get(key))
+                || isAbbreviatedName(name, shortestUniqueAbbreviations.get(key));
+    }
+
+    private static boolean isAbbreviatedName(String name, List<Abbreviation> candidates) {
+        return candidates.stream().anyMatch(abbreviation -> !name.equalsIgnoreCase(abbreviation.getName()));
     }
 
     /**
@@ -63,15 +84,32 @@ public class JournalAbbreviationRepository {
      * @return The abbreviated name
      */
     public Optional<Abbreviation> getAbbreviation(String journalName) {
-        return abbreviations.stream().filter(abbreviation -> isMatched(journalName.trim(), abbreviation)).findFirst();
+        String key = foldCase(journalName.trim());
+        for (FormIndex index : formIndices) {
+            List<Abbreviation> candidates = index.get(key);
+            if (!candidates.isEmpty()) {
+                return Optional.of(candidates.get(0));
+            }
+        }
+        return Optional.empty();
     }
 
     public void addEntry(Abbreviation abbreviation) {
         Objects.requireNonNull(abbreviation);
 
         // Abbreviation equality is tested on name only, so we might have to remove an old abbreviation
-        abbreviations.remove(abbreviation);
+        fullNames.get(foldCase(abbreviation.getName())).stream()
+                 .filter(abbreviation::equals)
+                 .findFirst()
+                 .ifPresent(this::removeEntry);
+
         abbreviations.add(abbreviation);
+        formIndices.forEach(index -> index.add(abbreviation));
+    }
+
+    private void removeEntry(Abbreviation abbreviation) {
+        abbreviations.remove(abbreviation);
+        formIndices.forEach(index -> index.remove(abbreviation));
     }
 
     public void addEntries(Collection<Abbreviation> abbreviationsToAdd) {
@@ -97,4 +135,33 @@ public class JournalAbbreviationRepository {
     public Optional<String> getShortestUniqueAbbreviation(String text) {
         return getAbbreviation(text).map(Abbreviation::getShortestUniqueAbbreviation);
     }
+
+    /**
+     * Maps the case folded form of a journal name (e.g., the ISO abbreviation) to the abbreviations having this form.
+     */
+    private static class FormIndex {
+
+        private final Function<Abbreviation, String> form;
+        private final Map<String, List<Abbreviation>> abbreviationsByForm = new HashMap<>(16000);
+
+        FormIndex(Function<Abbreviation, String> form) {
+            this.form = form;
+        }
+
+        List<Abbreviation> get(String key) {
+            return abbreviationsByForm.getOrDefault(key, Collections.emptyList());
+        }
+
+        void add(Abbreviation abbreviation) {
+            abbreviationsByForm.computeIfAbsent(foldCase(form.apply(abbreviation)), key -> new ArrayList<>(1))
+                               .add(abbreviation);
+        }
+
+        void remove(Abbreviation abbreviation) {
+            abbreviationsByForm.computeIfPresent(foldCase(form.apply(abbreviation)), (key, abbreviations) -> {
+                abbreviations.removeIf(candidate -> candidate == abbreviation);
+                return abbreviations.isEmpty() ? null : abbreviations;
+            });
+        }
+    }
 }
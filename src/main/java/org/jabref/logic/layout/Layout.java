@@ -131,6 +131,14 @@ public class Layout {
         return sb.toString();
     }
 
+    /**
+     * Checks whether the output for an entry depends on the entries laid out before, e.g., because the layout prints
+     * group headers or numbers the entries. The entries of such a layout have to be laid out one by one in sort order.
+     */
+    public boolean dependsOnPreviousEntries() {
+        return layoutEntries.stream().anyMatch(LayoutEntry::dependsOnPreviousEntries);
+    }
+
     public List<String> getMissingFormatters() {
         return new ArrayList<>(missingFormatters);
     }
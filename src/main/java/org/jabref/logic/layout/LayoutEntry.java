@@ -8,6 +8,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.regex.Pattern;
 
 import org.jabref.logic.formatter.bibtexfields.HtmlToLatexFormatter;
 import org.jabref.logic.formatter.bibtexfields.UnicodeToLatexFormatter;
@@ -81,6 +82,7 @@ import org.jabref.logic.openoffice.OOPreFormatter;
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.Field;
 import org.jabref.model.entry.field.FieldFactory;
 import org.jabref.model.entry.field.InternalField;
 import org.jabref.model.entry.field.UnknownField;
@@ -92,6 +94,10 @@ import org.slf4j.LoggerFactory;
 class LayoutEntry {
     private static final Logger LOGGER = LoggerFactory.getLogger(LayoutEntry.class);
 
+    private static final Pattern AND_CONDITION = Pattern.compile(".*(;|(\\&+)).*");
+    private static final Pattern AND_SEPARATOR = Pattern.compile("\\s*(;|(\\&+))\\s*");
+    private static final Pattern OR_SEPARATOR = Pattern.compile("\\s*(\\|+)\\s*");
+
     private List<LayoutFormatter> option;
 
     // Formatter to be run after other formatters:
@@ -99,6 +105,15 @@ class LayoutEntry {
 
     private String text;
 
+    // The field printed by a simple command or an option field (null if the option field prints text),
+    // resolved once when the layout is parsed
+    private Field field;
+
+    // The fields checked by a field block, resolved once when the layout is parsed
+    private Field[] conditionFields;
+    private boolean[] negatedConditions;
+    private boolean isConjunction;
+
     private List<LayoutEntry> layoutEntries;
 
     private final int type;
@@ -116,6 +131,7 @@ class LayoutEntry {
                 break;
             case LayoutHelper.IS_SIMPLE_COMMAND:
                 text = si.s.trim();
+                field = FieldFactory.parseField(text);
                 break;
             case LayoutHelper.IS_OPTION_FIELD:
                 doOptionField(si.s);
@@ -139,6 +155,7 @@ class LayoutEntry {
 
         type = layoutType;
         text = blockEnd;
+        compileCondition();
         List<StringInt> blockEntries = null;
         for (StringInt parsedEntry : parsedEntries.subList(1, parsedEntries.size() - 1)) {
             switch (parsedEntry.i) {
@@ -182,16 +199,55 @@ class LayoutEntry {
         }
     }
 
+    /**
+     * Resolves the fields a field or group block depends on.
+     */
+    private void compileCondition() {
+        String[] parts;
+        if (type == LayoutHelper.IS_GROUP_START) {
+            parts = new String[] {text};
+        } else if (AND_CONDITION.matcher(text).matches()) {
+            // split the strings along &, && or ; for AND formatter
+            parts = AND_SEPARATOR.split(text);
+            isConjunction = true;
+        } else {
+            // split the strings along |, ||  for OR formatter
+            parts = OR_SEPARATOR.split(text);
+        }
+
+        conditionFields = new Field[parts.length];
+        negatedConditions = new boolean[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i];
+            negatedConditions[i] = (type != LayoutHelper.IS_GROUP_START) && part.startsWith("!");
+            conditionFields[i] = FieldFactory.parseField(negatedConditions[i] ? part.substring(1).trim() : part);
+        }
+    }
+
     public void setPostFormatter(LayoutFormatter formatter) {
         this.postFormatter = formatter;
     }
 
+    /**
+     * Checks whether the output for an entry depends on the entries laid out before. This is the case for group blocks,
+     * which are only printed when the group changes, and for the {@link Number} formatter.
+     */
+    boolean dependsOnPreviousEntries() {
+        if ((type == LayoutHelper.IS_GROUP_START) || (postFormatter instanceof Number)) {
+            return true;
+        }
+        if ((option != null) && option.stream().anyMatch(Number.class::isInstance)) {
+            return true;
+        }
+        return (layoutEntries != null) && layoutEntries.stream().anyMatch(LayoutEntry::dependsOnPreviousEntries);
+    }
+
     public String doLayout(BibEntry bibtex, BibDatabase database) {
         switch (type) {
             case LayoutHelper.IS_LAYOUT_TEXT:
                 return text;
             case LayoutHelper.IS_SIMPLE_COMMAND:
-                String value = bibtex.getResolvedFieldOrAlias(FieldFactory.parseField(text), database).orElse("");
+                String value = bibtex.getResolvedFieldOrAlias(field, database).orElse("");
 
                 // If a post formatter has been set, call it:
                 if (postFormatter != null) {
@@ -229,8 +285,7 @@ class LayoutEntry {
         } else {
             // changed section begin - arudert
             // resolve field (recognized by leading backslash) or text
-            fieldEntry = text.startsWith("\\") ? bibtex
-                    .getResolvedFieldOrAlias(FieldFactory.parseField(text.substring(1)), database)
+            fieldEntry = field != null ? bibtex.getResolvedFieldOrAlias(field, database)
                     .orElse("") : BibDatabase.getText(text, database);
             // changed section end - arudert
         }
@@ -250,31 +305,14 @@ class LayoutEntry {
     }
 
     private String handleFieldOrGroupStart(BibEntry bibtex, BibDatabase database) {
-        Optional<String> field;
+        Optional<String> field = Optional.empty();
         boolean negated = false;
-        if (type == LayoutHelper.IS_GROUP_START) {
-            field = bibtex.getResolvedFieldOrAlias(FieldFactory.parseField(text), database);
-        } else if (text.matches(".*(;|(\\&+)).*")) {
-            // split the strings along &, && or ; for AND formatter
-            String[] parts = text.split("\\s*(;|(\\&+))\\s*");
-            field = Optional.empty();
-            for (String part : parts) {
-                negated = part.startsWith("!");
-                field = bibtex.getResolvedFieldOrAlias(FieldFactory.parseField(negated ? part.substring(1).trim() : part), database);
-                if (!(field.isPresent() ^ negated)) {
-                    break;
-                }
-            }
-        } else {
-            // split the strings along |, ||  for OR formatter
-            String[] parts = text.split("\\s*(\\|+)\\s*");
-            field = Optional.empty();
-            for (String part : parts) {
-                negated = part.startsWith("!");
-                field = bibtex.getResolvedFieldOrAlias(FieldFactory.parseField(negated ? part.substring(1).trim() : part), database);
-                if (field.isPresent() ^ negated) {
-                    break;
-                }
+        for (int i = 0; i < conditionFields.length; i++) {
+            negated = negatedConditions[i];
+            field = bibtex.getResolvedFieldOrAlias(conditionFields[i], database);
+            // AND stops at the first unsatisfied condition, OR at the first satisfied one
+            if ((field.isPresent() ^ negated) != isConjunction) {
+                break;
             }
         }
 
@@ -384,7 +422,13 @@ class LayoutEntry {
             text = v.get(0);
         } else {
             text = v.get(0).trim();
+        }
+        // A leading backslash marks a field, any other text is resolved as string of the database
+        if (text.startsWith("\\")) {
+            field = FieldFactory.parseField(text.substring(1));
+        }
 
+        if (v.size() > 1) {
             option = getOptionalLayout(v.get(1));
             // See if there was an undefined formatter:
             for (LayoutFormatter anOption : option) {
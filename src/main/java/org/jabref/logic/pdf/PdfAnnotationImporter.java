@@ -1,8 +1,11 @@
 package org.jabref.logic.pdf;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
@@ -27,6 +30,48 @@ public class PdfAnnotationImporter implements AnnotationImporter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PdfAnnotationImporter.class);
 
+    private static final PdfContentCache.Kind<List<FileAnnotation>> ANNOTATIONS = new PdfContentCache.Kind<>("annotations", 1) {
+        @Override
+        protected void write(DataOutputStream output, List<FileAnnotation> annotations) throws IOException {
+            output.writeInt(annotations.size());
+            for (FileAnnotation annotation : annotations) {
+                writeAnnotation(output, annotation);
+            }
+        }
+
+        private void writeAnnotation(DataOutputStream output, FileAnnotation annotation) throws IOException {
+            writeString(output, annotation.getAuthor());
+            writeString(output, annotation.getTimeModified().toString());
+            output.writeInt(annotation.getPage());
+            writeString(output, annotation.getContent());
+            writeString(output, annotation.getAnnotationType().name());
+            output.writeBoolean(annotation.hasLinkedAnnotation());
+            if (annotation.hasLinkedAnnotation()) {
+                writeAnnotation(output, annotation.getLinkedFileAnnotation());
+            }
+        }
+
+        @Override
+        protected List<FileAnnotation> read(DataInputStream input) throws IOException {
+            int count = input.readInt();
+            List<FileAnnotation> annotations = new LinkedList<>();
+            for (int i = 0; i < count; i++) {
+                annotations.add(readAnnotation(input));
+            }
+            return annotations;
+        }
+
+        private FileAnnotation readAnnotation(DataInputStream input) throws IOException {
+            String author = readString(input);
+            LocalDateTime timeModified = LocalDateTime.parse(readString(input));
+            int page = input.readInt();
+            String content = readString(input);
+            FileAnnotationType type = FileAnnotationType.valueOf(readString(input));
+            Optional<FileAnnotation> linkedAnnotation = input.readBoolean() ? Optional.of(readAnnotation(input)) : Optional.empty();
+            return new FileAnnotation(author, timeModified, page, content, type, linkedAnnotation);
+        }
+    };
+
     /**
      * Imports the comments from a pdf specified by its path
      *
@@ -41,28 +86,33 @@ public class PdfAnnotationImporter implements AnnotationImporter {
             return Collections.emptyList();
         }
 
+        try {
+            return PdfContentCache.get(path, ANNOTATIONS, this::extractAnnotations);
+        } catch (IOException e) {
+            LOGGER.error(String.format("Failed to read file '%s'.", path), e);
+            return Collections.emptyList();
+        }
+    }
+
+    private List<FileAnnotation> extractAnnotations(PDDocument document) throws IOException {
         List<FileAnnotation> annotationsList = new LinkedList<>();
-        try (PDDocument document = PDDocument.load(path.toFile())) {
-            PDPageTree pdfPages = document.getDocumentCatalog().getPages();
-            for (int pageIndex = 0; pageIndex < pdfPages.getCount(); pageIndex++) {
-                PDPage page = pdfPages.get(pageIndex);
-                for (PDAnnotation annotation : page.getAnnotations()) {
-                    if (!isSupportedAnnotationType(annotation)) {
-                        continue;
-                    }
+        PDPageTree pdfPages = document.getDocumentCatalog().getPages();
+        for (int pageIndex = 0; pageIndex < pdfPages.getCount(); pageIndex++) {
+            PDPage page = pdfPages.get(pageIndex);
+            for (PDAnnotation annotation : page.getAnnotations()) {
+                if (!isSupportedAnnotationType(annotation)) {
+                    continue;
+                }
 
-                    if (FileAnnotationType.isMarkedFileAnnotationType(annotation.getSubtype())) {
-                        annotationsList.add(createMarkedAnnotations(pageIndex, page, annotation));
-                    } else {
-                        FileAnnotation fileAnnotation = new FileAnnotation(annotation, pageIndex + 1);
-                        if ((fileAnnotation.getContent() != null) && !fileAnnotation.getContent().isEmpty()) {
-                            annotationsList.add(fileAnnotation);
-                        }
+                if (FileAnnotationType.isMarkedFileAnnotationType(annotation.getSubtype())) {
+                    annotationsList.add(createMarkedAnnotations(pageIndex, page, annotation));
+                } else {
+                    FileAnnotation fileAnnotation = new FileAnnotation(annotation, pageIndex + 1);
+                    if ((fileAnnotation.getContent() != null) && !fileAnnotation.getContent().isEmpty()) {
+                        annotationsList.add(fileAnnotation);
                     }
                 }
             }
-        } catch (IOException e) {
-            LOGGER.error(String.format("Failed to read file '%s'.", path), e);
         }
         return annotationsList;
     }
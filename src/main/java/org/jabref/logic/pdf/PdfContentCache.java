@@ -0,0 +1,346 @@
+package org.jabref.logic.pdf;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jabref.logic.xmp.XmpUtilReader;
+
+import com.google.common.hash.Hashing;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent cache of the data extracted from PDF files, such as the XMP metadata, the annotations or the text of the
+ * first page. Loading a PDF file is expensive, thus the extracted data is stored on disk and reused across sessions
+ * as long as the size, the modification time and the file key (e.g., the inode) of the PDF file do not change. JabRef
+ * itself invalidates the data of the files it writes (see {@link #invalidate(Path)}).
+ * <p>
+ * Each {@link Kind} of data of a PDF file is stored in its own file, named by the hash of the path of the PDF file.
+ * The cache is disabled until a directory is set (see {@link #setCacheDirectory(Path)}), then the data is extracted
+ * each time.
+ * <p>
+ * The cache is limited to {@link #MAX_CACHE_SIZE} bytes. Every {@link #CLEANUP_INTERVAL} writes, the data of PDF
+ * files which no longer exist is removed, and then the least recently used data until the cache fits the limit (see
+ * {@link #cleanUp()}).
+ */
+public final class PdfContentCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PdfContentCache.class);
+
+    private static final int MAGIC = 0x4A525044;
+    // has to be increased whenever the header of the cached files changes
+    private static final int FORMAT_VERSION = 2;
+
+    private static final long MAX_CACHE_SIZE = 100L * 1024 * 1024;
+    private static final int CLEANUP_INTERVAL = 100;
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+    private static volatile Path cacheDirectory;
+    private static final AtomicInteger writesSinceCleanup = new AtomicInteger();
+    private static final Object CLEANUP_LOCK = new Object();
+
+    private PdfContentCache() {
+    }
+
+    /**
+     * Enables the cache, storing the data in the given directory.
+     */
+    public static void setCacheDirectory(Path directory) {
+        cacheDirectory = directory;
+    }
+
+    /**
+     * Returns the data of the given kind extracted from the PDF file. If the data is not cached, the file is loaded
+     * and the data is extracted and cached. Failed extractions are not cached.
+     *
+     * @param extractor extracts the data from the loaded file
+     * @throws IOException if the file cannot be loaded or the data cannot be extracted
+     */
+    public static <T> T get(Path file, Kind<T> kind, Extractor<T> extractor) throws IOException {
+        Path directory = cacheDirectory;
+        if (directory == null) {
+            return extract(file, extractor);
+        }
+
+        Path absoluteFile = file.toAbsolutePath().normalize();
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(absoluteFile, BasicFileAttributes.class);
+        } catch (IOException e) {
+            // loading the file reports the problem
+            return extract(file, extractor);
+        }
+        Key key = new Key(absoluteFile.toString(), attributes.size(), attributes.lastModifiedTime().toMillis(),
+                Objects.toString(attributes.fileKey(), ""));
+        Path cacheFile = directory.resolve(getHash(absoluteFile) + "." + kind.name);
+
+        Optional<T> cached = read(cacheFile, key, kind);
+        if (cached.isPresent()) {
+            markAsUsed(cacheFile);
+            return cached.get();
+        }
+
+        T value = extract(file, extractor);
+        try {
+            write(cacheFile, key, kind, value);
+        } catch (IOException e) {
+            LOGGER.warn(String.format("Could not cache the %s of %s", kind.name, file), e);
+        }
+        if (writesSinceCleanup.incrementAndGet() >= CLEANUP_INTERVAL) {
+            cleanUp();
+        }
+        return value;
+    }
+
+    /**
+     * Removes all data cached for the given PDF file. Has to be called whenever JabRef changes the file, since the
+     * size and the modification time may stay the same.
+     */
+    public static void invalidate(Path file) {
+        Path directory = cacheDirectory;
+        if ((directory == null) || !Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> cacheFiles = Files.newDirectoryStream(directory, getHash(file.toAbsolutePath().normalize()) + ".*")) {
+            for (Path cacheFile : cacheFiles) {
+                Files.deleteIfExists(cacheFile);
+            }
+        } catch (IOException e) {
+            LOGGER.warn(String.format("Could not remove the cached data of %s", file), e);
+        }
+    }
+
+    /**
+     * Removes the data of PDF files which no longer exist, and the least recently used data until the cache fits
+     * {@link #MAX_CACHE_SIZE}. Data which cannot be read is removed as well.
+     */
+    public static void cleanUp() {
+        Path directory = cacheDirectory;
+        if ((directory == null) || !Files.isDirectory(directory)) {
+            return;
+        }
+
+        synchronized (CLEANUP_LOCK) {
+            writesSinceCleanup.set(0);
+            List<Path> cacheFiles = new ArrayList<>();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                for (Path cacheFile : files) {
+                    // temporary files are removed by their writers
+                    if (!cacheFile.getFileName().toString().endsWith(TEMPORARY_FILE_SUFFIX) && !removeIfOrphaned(cacheFile)) {
+                        cacheFiles.add(cacheFile);
+                    }
+                }
+            } catch (IOException e) {
+                LOGGER.warn(String.format("Could not clean up %s", directory), e);
+                return;
+            }
+
+            List<CacheFileUsage> usages = new ArrayList<>();
+            long totalSize = 0;
+            for (Path cacheFile : cacheFiles) {
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(cacheFile, BasicFileAttributes.class);
+                    usages.add(new CacheFileUsage(cacheFile, attributes.size(), attributes.lastModifiedTime()));
+                    totalSize += attributes.size();
+                } catch (IOException e) {
+                    // removed meanwhile
+                    LOGGER.debug("Could not read attributes of {}", cacheFile, e);
+                }
+            }
+
+            usages.sort(Comparator.comparing(usage -> usage.lastUsed));
+            for (int i = 0; (i < usages.size()) && (totalSize > MAX_CACHE_SIZE); i++) {
+                delete(usages.get(i).file);
+                totalSize -= usages.get(i).size;
+            }
+        }
+    }
+
+    /**
+     * Removes the given cached data if it cannot be read or if its PDF file no longer exists.
+     *
+     * @return whether the data was removed
+     */
+    private static boolean removeIfOrphaned(Path cacheFile) {
+        Optional<String> path = Optional.empty();
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+            if ((input.readInt() == MAGIC) && (input.readInt() == FORMAT_VERSION)) {
+                input.readInt();
+                path = Optional.ofNullable(Kind.readString(input));
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("Could not read cached data {}", cacheFile, e);
+        }
+        if (path.isPresent() && Files.exists(Path.of(path.get()))) {
+            return false;
+        }
+        delete(cacheFile);
+        return true;
+    }
+
+    private static void delete(Path cacheFile) {
+        try {
+            Files.deleteIfExists(cacheFile);
+        } catch (IOException e) {
+            LOGGER.debug("Could not remove cached data {}", cacheFile, e);
+        }
+    }
+
+    private static void markAsUsed(Path cacheFile) {
+        try {
+            Files.setLastModifiedTime(cacheFile, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            // only affects the order of the removal
+            LOGGER.debug("Could not mark {} as used", cacheFile, e);
+        }
+    }
+
+    private static String getHash(Path absoluteFile) {
+        return Hashing.sha256().hashString(absoluteFile.toString(), StandardCharsets.UTF_8).toString();
+    }
+
+    private static <T> T extract(Path file, Extractor<T> extractor) throws IOException {
+        try (PDDocument document = XmpUtilReader.loadWithAutomaticDecryption(file)) {
+            return extractor.extract(document);
+        }
+    }
+
+    private static <T> Optional<T> read(Path cacheFile, Key key, Kind<T> kind) {
+        if (!Files.isRegularFile(cacheFile)) {
+            return Optional.empty();
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+            if ((input.readInt() != MAGIC) || (input.readInt() != FORMAT_VERSION) || (input.readInt() != kind.version)
+                    || !key.path.equals(Kind.readString(input)) || (input.readLong() != key.size)
+                    || (input.readLong() != key.modificationTime) || !key.fileKey.equals(Kind.readString(input))) {
+                // outdated or belonging to another file with the same hash
+                return Optional.empty();
+            }
+            return Optional.of(kind.read(input));
+        } catch (IOException | RuntimeException e) {
+            LOGGER.info(String.format("Could not read cached %s %s", kind.name, cacheFile), e);
+            return Optional.empty();
+        }
+    }
+
+    private static <T> void write(Path cacheFile, Key key, Kind<T> kind, T value) throws IOException {
+        Files.createDirectories(cacheFile.getParent());
+        Path temporaryFile = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), TEMPORARY_FILE_SUFFIX);
+        try {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(FORMAT_VERSION);
+                output.writeInt(kind.version);
+                Kind.writeString(output, key.path);
+                output.writeLong(key.size);
+                output.writeLong(key.modificationTime);
+                Kind.writeString(output, key.fileKey);
+                kind.write(output, value);
+            }
+            // concurrent readers never see a partially written file
+            Files.move(temporaryFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Extractor<T> {
+        T extract(PDDocument document) throws IOException;
+    }
+
+    /**
+     * A kind of data extracted from PDF files, together with its binary form. The version has to be increased
+     * whenever the binary form or the extraction changes, so that the outdated data is no longer used.
+     */
+    public abstract static class Kind<T> {
+
+        private final String name;
+        private final int version;
+
+        protected Kind(String name, int version) {
+            this.name = name;
+            this.version = version;
+        }
+
+        protected abstract void write(DataOutputStream output, T value) throws IOException;
+
+        protected abstract T read(DataInputStream input) throws IOException;
+
+        /**
+         * Writes a string, which may be null and, unlike {@link DataOutputStream#writeUTF(String)}, may be longer than
+         * 64 KB.
+         */
+        protected static void writeString(DataOutputStream output, String value) throws IOException {
+            output.writeBoolean(value != null);
+            if (value != null) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                output.writeInt(bytes.length);
+                output.write(bytes);
+            }
+        }
+
+        protected static String readString(DataInputStream input) throws IOException {
+            if (!input.readBoolean()) {
+                return null;
+            }
+            int length = input.readInt();
+            if (length < 0) {
+                throw new IOException("Invalid string length " + length);
+            }
+            byte[] bytes = input.readNBytes(length);
+            if (bytes.length != length) {
+                throw new EOFException();
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static class Key {
+
+        private final String path;
+        private final long size;
+        private final long modificationTime;
+        private final String fileKey;
+
+        Key(String path, long size, long modificationTime, String fileKey) {
+            this.path = path;
+            this.size = size;
+            this.modificationTime = modificationTime;
+            this.fileKey = fileKey;
+        }
+    }
+
+    private static class CacheFileUsage {
+
+        private final Path file;
+        private final long size;
+        private final FileTime lastUsed;
+
+        CacheFileUsage(Path file, long size, FileTime lastUsed) {
+            this.file = file;
+            this.size = size;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
@@ -8,6 +8,7 @@ import java.util.stream.Collectors;
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabases;
 import org.jabref.model.entry.BibEntry;
+import org.jabref.model.search.SearchMatcher;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,7 +33,8 @@ public class DatabaseSearcher {
             return Collections.emptyList();
         }
 
-        List<BibEntry> matchEntries = database.getEntries().stream().filter(query::isMatch).collect(Collectors.toList());
+        SearchMatcher matcher = new IndexedSearchMatcher(query, database);
+        List<BibEntry> matchEntries = database.getEntries().stream().filter(matcher::isMatch).collect(Collectors.toList());
         return BibDatabases.purgeEmptyEntries(matchEntries);
     }
 
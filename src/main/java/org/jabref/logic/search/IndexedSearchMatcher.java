@@ -0,0 +1,83 @@
+package org.jabref.logic.search;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.search.FullTextIndex;
+import org.jabref.model.search.SearchMatcher;
+
+/**
+ * Matches the entries of a database against a {@link SearchQuery}. Instead of evaluating the query for every entry,
+ * only the candidates determined by the {@link FullTextIndex} of the database are checked. The candidates are
+ * determined again as soon as the index changes.
+ * <p>
+ * The matcher may be used by several threads at once, e.g. in a parallel stream.
+ */
+public class IndexedSearchMatcher implements SearchMatcher {
+
+    private final SearchQuery query;
+    private final BibDatabase database;
+
+    private volatile FullTextIndex index;
+    private volatile Candidates candidates;
+
+    public IndexedSearchMatcher(SearchQuery query, BibDatabase database) {
+        this.query = Objects.requireNonNull(query);
+        this.database = Objects.requireNonNull(database);
+    }
+
+    public SearchQuery getQuery() {
+        return query;
+    }
+
+    @Override
+    public boolean isMatch(BibEntry entry) {
+        boolean isCandidate = getCandidates().map(entries -> entries.contains(entry)).orElse(true);
+        return isCandidate && query.isMatch(entry);
+    }
+
+    private Optional<Set<BibEntry>> getCandidates() {
+        if (!query.isIndexable()) {
+            return Optional.empty();
+        }
+
+        Candidates current = candidates;
+        if ((current != null) && (current.modificationCount == getIndex().getModificationCount())) {
+            return current.entries;
+        }
+        return updateCandidates();
+    }
+
+    private synchronized Optional<Set<BibEntry>> updateCandidates() {
+        long modificationCount = getIndex().getModificationCount();
+        if ((candidates == null) || (candidates.modificationCount != modificationCount)) {
+            candidates = new Candidates(modificationCount, query.getCandidates(getIndex()));
+        }
+        return candidates.entries;
+    }
+
+    private FullTextIndex getIndex() {
+        if (index == null) {
+            // the index is created on first use, which requires the lock of the database
+            index = database.getFullTextIndex();
+        }
+        return index;
+    }
+
+    /**
+     * The candidates determined for a given state of the index. The set of entries is not modified after creation.
+     */
+    private static class Candidates {
+
+        private final long modificationCount;
+        private final Optional<Set<BibEntry>> entries;
+
+        Candidates(long modificationCount, Optional<Set<BibEntry>> entries) {
+            this.modificationCount = modificationCount;
+            this.entries = entries;
+        }
+    }
+}
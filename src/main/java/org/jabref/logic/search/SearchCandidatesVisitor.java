@@ -0,0 +1,97 @@
+package org.jabref.logic.search;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.InternalField;
+import org.jabref.model.search.FullTextIndex;
+import org.jabref.model.search.rules.GrammarBasedSearchRule.ComparisonOperator;
+import org.jabref.search.SearchBaseVisitor;
+import org.jabref.search.SearchParser;
+
+/**
+ * Determines the candidates of a query of the advanced search mode (see
+ * {@link org.jabref.model.search.rules.GrammarBasedSearchRule}) using a {@link FullTextIndex}. Mirrors the
+ * evaluation of the rule: An empty optional means that all entries are candidates.
+ */
+class SearchCandidatesVisitor extends SearchBaseVisitor<Optional<Set<BibEntry>>> {
+
+    private final FullTextIndex index;
+    private final boolean caseSensitive;
+
+    SearchCandidatesVisitor(FullTextIndex index, boolean caseSensitive) {
+        this.index = index;
+        this.caseSensitive = caseSensitive;
+    }
+
+    @Override
+    public Optional<Set<BibEntry>> visitStart(SearchParser.StartContext ctx) {
+        return visit(ctx.expression());
+    }
+
+    @Override
+    public Optional<Set<BibEntry>> visitAtomExpression(SearchParser.AtomExpressionContext ctx) {
+        return visit(ctx.comparison());
+    }
+
+    @Override
+    public Optional<Set<BibEntry>> visitComparison(SearchParser.ComparisonContext context) {
+        String right = context.right.getText();
+        if (right.startsWith("\"") && right.endsWith("\"")) {
+            right = right.substring(1, right.length() - 1);
+        }
+
+        if (context.left == null) {
+            return SearchQuery.getContainsCandidates(index, right, caseSensitive);
+        }
+
+        String field = context.left.getText();
+        ComparisonOperator operator = ComparisonOperator.build(context.operator.getText());
+        if ((operator == ComparisonOperator.DOES_NOT_CONTAIN) || field.contains("\\E") || right.contains("\\E")) {
+            // negations cannot be restricted, and the rule does not match a quoted \E literally
+            return Optional.empty();
+        }
+
+        // same field matching as in GrammarBasedSearchRule.Comparator
+        Pattern fieldPattern = Pattern.compile("\\Q" + field + "\\E", caseSensitive ? 0 : Pattern.CASE_INSENSITIVE);
+        if (fieldPattern.matcher(InternalField.TYPE_HEADER.getName()).matches()
+                || fieldPattern.matcher("anykeyword").matches()) {
+            return Optional.empty();
+        }
+        if (fieldPattern.matcher("anyfield").matches()) {
+            return index.getCandidates(right);
+        }
+        return index.getCandidates(right, candidate -> fieldPattern.matcher(candidate.getName()).matches());
+    }
+
+    @Override
+    public Optional<Set<BibEntry>> visitUnaryExpression(SearchParser.UnaryExpressionContext ctx) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<Set<BibEntry>> visitParenExpression(SearchParser.ParenExpressionContext ctx) {
+        return visit(ctx.expression());
+    }
+
+    @Override
+    public Optional<Set<BibEntry>> visitBinaryExpression(SearchParser.BinaryExpressionContext ctx) {
+        Optional<Set<BibEntry>> left = visit(ctx.left);
+        Optional<Set<BibEntry>> right = visit(ctx.right);
+        if ("AND".equalsIgnoreCase(ctx.operator.getText())) {
+            if (left.isEmpty()) {
+                return right;
+            }
+            right.ifPresent(left.get()::retainAll);
+            return left;
+        } else {
+            if (left.isEmpty() || right.isEmpty()) {
+                return Optional.empty();
+            }
+            left.get().addAll(right.get());
+            return left;
+        }
+    }
+}
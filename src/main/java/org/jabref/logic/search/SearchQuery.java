@@ -3,12 +3,15 @@ package org.jabref.logic.search;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 import java.util.StringJoiner;
 import java.util.regex.Pattern;
 
 import org.jabref.logic.l10n.Localization;
 import org.jabref.model.entry.BibEntry;
+import org.jabref.model.search.FullTextIndex;
 import org.jabref.model.search.SearchMatcher;
 import org.jabref.model.search.rules.ContainBasedSearchRule;
 import org.jabref.model.search.rules.GrammarBasedSearchRule;
@@ -40,6 +43,53 @@ public class SearchQuery implements SearchMatcher {
         return rule.applyRule(getQuery(), entry);
     }
 
+    /**
+     * Determines the entries which might match this query using the given index. Every match of this query is a
+     * candidate, but the candidates still have to be checked using {@link #isMatch(BibEntry)}.
+     *
+     * @return the candidates or an empty optional if the index cannot restrict the entries to check (e.g., for regular
+     * expressions)
+     */
+    public Optional<Set<BibEntry>> getCandidates(FullTextIndex index) {
+        if (isContainsBasedSearch()) {
+            return getContainsCandidates(index, getQuery(), isCaseSensitive());
+        } else if (isIndexable()) {
+            return new SearchCandidatesVisitor(index, isCaseSensitive()).visit(((GrammarBasedSearchRule) rule).getTree());
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Regular expressions are evaluated by scanning all entries, whereas plain queries can make use of the index.
+     */
+    boolean isIndexable() {
+        return isContainsBasedSearch() || (isGrammarBasedSearch() && !isRegularExpression());
+    }
+
+    /**
+     * Determines the candidates of a {@link ContainBasedSearchRule}, which requires all words to be contained in some
+     * field.
+     */
+    static Optional<Set<BibEntry>> getContainsCandidates(FullTextIndex index, String query, boolean caseSensitive) {
+        // split the query the same way as the rule does
+        String searchString = caseSensitive ? query : query.toLowerCase(Locale.ROOT);
+
+        Optional<Set<BibEntry>> candidates = Optional.empty();
+        for (String word : new SentenceAnalyzer(searchString).getWords()) {
+            Optional<Set<BibEntry>> wordCandidates = index.getCandidates(word);
+            if (wordCandidates.isEmpty()) {
+                continue;
+            }
+            if (candidates.isEmpty()) {
+                candidates = wordCandidates;
+            } else {
+                candidates.get().retainAll(wordCandidates.get());
+            }
+        }
+        return candidates;
+    }
+
     public boolean isValid() {
         return rule.validateSearchStrings(getQuery());
     }
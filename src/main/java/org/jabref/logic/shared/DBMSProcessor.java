@@ -5,7 +5,9 @@ import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -16,6 +18,8 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import org.jabref.logic.shared.exception.OfflineLockException;
 import org.jabref.model.database.shared.DBMSType;
@@ -32,6 +36,10 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Processes all incoming or outgoing bib data to external SQL Database and manages its structure.
+ * <p>
+ * All methods using the connection are synchronized, because the connection is shared by all threads and
+ * {@link DBMSSynchronizer} writes changed entries in the background. Thus, no query runs within the transaction of
+ * another thread.
  */
 public abstract class DBMSProcessor {
 
@@ -39,6 +47,35 @@ public abstract class DBMSProcessor {
 
     protected static final Logger LOGGER = LoggerFactory.getLogger(DBMSProcessor.class);
 
+    /**
+     * The maximum number of rows written or queried by one statement. Keeps the number of bind parameters below the
+     * limits of the supported database systems.
+     */
+    static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    /**
+     * The number of revisions the changes are kept in the change log for. Clients which synchronized an older revision
+     * have to compare all entries, see {@link #getChangedSharedIDs(int, int)}.
+     */
+    static final int LOGGED_REVISIONS = 10000;
+
+    /**
+     * The key of the meta data row holding the random ID of the shared database, which is not part of the meta data of
+     * the library. See {@link #getDatabaseId()}.
+     */
+    static final String DATABASE_ID_KEY = "databaseId";
+
+    /**
+     * The number of revisions after which the changes older than {@link #LOGGED_REVISIONS} are removed from the change
+     * log
+     */
+    private static final int CHANGELOG_PRUNING_INTERVAL = 100;
+
+    /**
+     * The revision of the shared database written last by this processor, see {@link #logChanges(Collection)}
+     */
+    private int lastWrittenRevision;
+
     protected final Connection connection;
 
     protected DatabaseConnectionProperties connectionProperties;
@@ -54,8 +91,8 @@ public abstract class DBMSProcessor {
      * @return <code>true</code> if the structure matches the requirements, <code>false</code> if not.
      * @throws SQLException
      */
-    public boolean checkBaseIntegrity() throws SQLException {
-        return checkTableAvailability("ENTRY", "FIELD", "METADATA");
+    public synchronized boolean checkBaseIntegrity() throws SQLException {
+        return checkTableAvailability("ENTRY", "FIELD", "METADATA", "REVISION", "CHANGELOG");
     }
 
     /**
@@ -63,7 +100,7 @@ public abstract class DBMSProcessor {
      *
      * @return <code>true</code> if the structure is old, else <code>false</code>.
      */
-    public boolean databaseIsAtMostJabRef35() throws SQLException {
+    public synchronized boolean databaseIsAtMostJabRef35() throws SQLException {
         return checkTableAvailability(
                 "ENTRIES",
                 "ENTRY_GROUP",
@@ -103,8 +140,15 @@ public abstract class DBMSProcessor {
      *
      * @throws SQLException
      */
-    public void setupSharedDatabase() throws SQLException {
-        setUp();
+    public synchronized void setupSharedDatabase() throws SQLException {
+        if (checkTableAvailability("ENTRY", "FIELD", "METADATA")) {
+            // database set up by a JabRef version without change log
+            setUpChangeLog();
+        } else {
+            setUp();
+        }
+        initializeRevision();
+        initializeDatabaseId();
 
         if (!checkBaseIntegrity()) {
             // can only happen with users direct intervention on shared database
@@ -119,6 +163,72 @@ public abstract class DBMSProcessor {
      */
     protected abstract void setUp() throws SQLException;
 
+    /**
+     * Creates the tables REVISION and CHANGELOG, which track the changes of the shared database. See {@link
+     * #logChanges(Collection)}.
+     *
+     * @throws SQLException
+     */
+    protected abstract void setUpChangeLog() throws SQLException;
+
+    /**
+     * Inserts the initial revision if the REVISION table is empty. The check is part of the insert, thus clients setting
+     * up the database at the same time do not insert a revision each.
+     */
+    private void initializeRevision() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO " + escape("REVISION") + "(" + escape("REVISION") + ")"
+                    + " SELECT 0 FROM " + getSingleRowTable()
+                    + " WHERE NOT EXISTS (SELECT 1 FROM " + escape("REVISION") + ")");
+        }
+    }
+
+    /**
+     * Returns a table expression having exactly one row, used to insert a row conditionally.
+     */
+    String getSingleRowTable() {
+        return "(SELECT 1) " + escape("SINGLE_ROW");
+    }
+
+    /**
+     * Stores a random ID of the shared database if it has none yet. Databases set up by JabRef versions without this
+     * ID get one when they are opened the next time. Has to be called after the initial revision is inserted.
+     */
+    public synchronized void initializeDatabaseId() throws SQLException {
+        // the single row of the REVISION table is selected, thus at most one ID is inserted
+        String insertQuery = "INSERT INTO " + escape("METADATA") + "(" + escape("KEY") + ", " + escape("VALUE") + ")"
+                + " SELECT '" + DATABASE_ID_KEY + "', '" + UUID.randomUUID() + "' FROM " + escape("REVISION")
+                + " WHERE NOT EXISTS (SELECT 1 FROM " + escape("METADATA") + " WHERE " + escape("KEY") + " = '" + DATABASE_ID_KEY + "')";
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(insertQuery);
+        }
+    }
+
+    /**
+     * Returns the random ID of the shared database, which changes if the database is set up again. In contrast to the
+     * revision, it distinguishes a recreated database from the one it replaces.
+     *
+     * @return the ID or an empty Optional if it cannot be determined
+     */
+    public synchronized Optional<String> getDatabaseId() {
+        String selectQuery = "SELECT " + escape("VALUE") + " FROM " + escape("METADATA") + " WHERE " + escape("KEY") + " = '" + DATABASE_ID_KEY + "'";
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(selectQuery)) {
+            // clients setting up the database at the same time may insert an ID each, all of them choose the same
+            Optional<String> databaseId = Optional.empty();
+            while (resultSet.next()) {
+                String id = resultSet.getString(1);
+                if (databaseId.isEmpty() || (id.compareTo(databaseId.get()) < 0)) {
+                    databaseId = Optional.of(id);
+                }
+            }
+            return databaseId;
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error", e);
+            return Optional.empty();
+        }
+    }
+
     /**
      * Escapes parts of SQL expressions such as a table name or a field name to match the conventions of the database
      * system using the current dbmsType.
@@ -136,36 +246,42 @@ public abstract class DBMSProcessor {
      * @param bibEntry {@link BibEntry} to be inserted
      */
     public void insertEntry(BibEntry bibEntry) {
-        if (!checkForBibEntryExistence(bibEntry)) {
-            insertIntoEntryTable(bibEntry);
-            insertIntoFieldTable(bibEntry);
-        }
+        insertEntries(Collections.singletonList(bibEntry));
     }
 
     /**
-     * Inserts the given bibEntry into ENTRY table.
+     * Inserts the given bibEntries into shared database. Entries which already exist on shared database are skipped.
+     * All entries are inserted in one transaction using as few statements as possible: either all of them are inserted
+     * or none.
      *
-     * @param bibEntry {@link BibEntry} to be inserted
+     * @param bibEntries {@link BibEntry} objects to be inserted
      */
-    protected void insertIntoEntryTable(BibEntry bibEntry) {
-        // This is the only method to get generated keys which is accepted by MySQL, PostgreSQL and Oracle.
-        String insertIntoEntryQuery =
-                "INSERT INTO " +
-                        escape("ENTRY") +
-                        "(" +
-                        escape("TYPE") +
-                        ") VALUES(?)";
-
-        try (PreparedStatement preparedEntryStatement = connection.prepareStatement(insertIntoEntryQuery,
-                new String[]{"SHARED_ID"})) {
-
-            preparedEntryStatement.setString(1, bibEntry.getType().getName());
-            preparedEntryStatement.executeUpdate();
-
-            try (ResultSet generatedKeys = preparedEntryStatement.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    bibEntry.getSharedBibEntryData().setSharedID(generatedKeys.getInt(1)); // set generated ID locally
+    public synchronized void insertEntries(List<BibEntry> bibEntries) {
+        Objects.requireNonNull(bibEntries);
+        try {
+            List<BibEntry> notYetExistingEntries = filterForNotYetExistingEntries(bibEntries);
+            if (notYetExistingEntries.isEmpty()) {
+                return;
+            }
+
+            int[] previousSharedIDs = notYetExistingEntries.stream()
+                                                           .mapToInt(entry -> entry.getSharedBibEntryData().getSharedID())
+                                                           .toArray();
+            connection.setAutoCommit(false); // disable auto commit due to transaction
+            try {
+                insertIntoEntryTable(notYetExistingEntries);
+                insertIntoFieldTable(notYetExistingEntries);
+                logChanges(getSharedIDs(notYetExistingEntries));
+                connection.commit(); // apply all changes in current transaction
+            } catch (SQLException e) {
+                connection.rollback(); // undo changes made in current transaction
+                // the generated IDs were rolled back as well
+                for (int i = 0; i < previousSharedIDs.length; i++) {
+                    notYetExistingEntries.get(i).getSharedBibEntryData().setSharedID(previousSharedIDs[i]);
                 }
+                throw e;
+            } finally {
+                connection.setAutoCommit(true); // enable auto commit mode again
             }
         } catch (SQLException e) {
             LOGGER.error("SQL Error: ", e);
@@ -173,68 +289,136 @@ public abstract class DBMSProcessor {
     }
 
     /**
-     * Checks whether the given bibEntry already exists on shared database.
+     * Inserts the given bibEntries into ENTRY table and sets the generated shared IDs locally. At most {@link
+     * #MAX_ROWS_PER_STATEMENT} rows are inserted by one statement, and their keys are fetched at once.
      *
-     * @param bibEntry {@link BibEntry} to be checked
-     * @return <code>true</code> if existent, else <code>false</code>
+     * @param bibEntries {@link BibEntry} objects to be inserted
      */
-    private boolean checkForBibEntryExistence(BibEntry bibEntry) {
-        try {
-            // Check if already exists
-            int sharedID = bibEntry.getSharedBibEntryData().getSharedID();
-            if (sharedID != -1) {
-                String selectQuery =
-                        "SELECT * FROM " +
-                                escape("ENTRY") +
-                                " WHERE " +
-                                escape("SHARED_ID") +
-                                " = ?";
-
-                try (PreparedStatement preparedSelectStatement = connection.prepareStatement(selectQuery)) {
-                    preparedSelectStatement.setInt(1, sharedID);
-                    try (ResultSet resultSet = preparedSelectStatement.executeQuery()) {
-                        if (resultSet.next()) {
-                            return true;
+    protected void insertIntoEntryTable(List<BibEntry> bibEntries) throws SQLException {
+        for (List<BibEntry> chunk : partition(bibEntries)) {
+            StringBuilder insertIntoEntryQuery = new StringBuilder()
+                    .append("INSERT INTO ")
+                    .append(escape("ENTRY"))
+                    .append("(")
+                    .append(escape("TYPE"))
+                    .append(") VALUES(?)");
+            insertIntoEntryQuery.append(", (?)".repeat(chunk.size() - 1));
+
+            try (PreparedStatement preparedEntryStatement = prepareStatementReturningSharedID(insertIntoEntryQuery.toString())) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    preparedEntryStatement.setString(i + 1, chunk.get(i).getType().getName());
+                }
+                preparedEntryStatement.executeUpdate();
+
+                try (ResultSet generatedKeys = preparedEntryStatement.getGeneratedKeys()) {
+                    // keys are returned in the order of the inserted rows
+                    for (BibEntry bibEntry : chunk) {
+                        if (!generatedKeys.next()) {
+                            throw new SQLException("Missing generated key for inserted entry");
                         }
+                        bibEntry.getSharedBibEntryData().setSharedID(generatedKeys.getInt(1)); // set generated ID locally
                     }
                 }
             }
-        } catch (SQLException e) {
-            LOGGER.error("SQL Error: ", e);
         }
-        return false;
     }
 
     /**
-     * Inserts the given bibEntry into FIELD table.
+     * Prepares an INSERT statement into ENTRY table, which returns the generated SHARED_ID as generated key.
      *
-     * @param bibEntry {@link BibEntry} to be inserted
+     * @param insertQuery the INSERT statement
      */
-    private void insertIntoFieldTable(BibEntry bibEntry) {
-        try {
-            // Inserting into FIELD table
-            for (Field field : bibEntry.getFields()) {
-                StringBuilder insertFieldQuery = new StringBuilder()
-                        .append("INSERT INTO ")
-                        .append(escape("FIELD"))
-                        .append("(")
-                        .append(escape("ENTRY_SHARED_ID"))
-                        .append(", ")
-                        .append(escape("NAME"))
-                        .append(", ")
-                        .append(escape("VALUE"))
-                        .append(") VALUES(?, ?, ?)");
-
-                try (PreparedStatement preparedFieldStatement = connection.prepareStatement(insertFieldQuery.toString())) {
+    protected PreparedStatement prepareStatementReturningSharedID(String insertQuery) throws SQLException {
+        // This is the only method to get generated keys which is accepted by MySQL, PostgreSQL and Oracle.
+        return connection.prepareStatement(insertQuery, new String[]{"SHARED_ID"});
+    }
+
+    /**
+     * Splits the given list into consecutive parts of at most {@link #MAX_ROWS_PER_STATEMENT} elements.
+     */
+    static <T> List<List<T>> partition(List<T> list) {
+        List<List<T>> parts = new ArrayList<>();
+        for (int start = 0; start < list.size(); start += MAX_ROWS_PER_STATEMENT) {
+            parts.add(list.subList(start, Math.min(list.size(), start + MAX_ROWS_PER_STATEMENT)));
+        }
+        return parts;
+    }
+
+    /**
+     * Returns the given bibEntries which do not exist on shared database yet, i.e., which either have no shared ID or
+     * whose shared ID is unknown to the shared database.
+     */
+    private List<BibEntry> filterForNotYetExistingEntries(List<BibEntry> bibEntries) throws SQLException {
+        List<Integer> sharedIDs = bibEntries.stream()
+                                            .map(entry -> entry.getSharedBibEntryData().getSharedID())
+                                            .filter(sharedID -> sharedID != -1)
+                                            .collect(Collectors.toList());
+        if (sharedIDs.isEmpty()) {
+            return bibEntries;
+        }
+
+        Set<Integer> existingSharedIDs = new HashSet<>();
+        for (List<Integer> chunk : partition(sharedIDs)) {
+            StringBuilder selectQuery = new StringBuilder()
+                    .append("SELECT ")
+                    .append(escape("SHARED_ID"))
+                    .append(" FROM ")
+                    .append(escape("ENTRY"))
+                    .append(" WHERE ")
+                    .append(escape("SHARED_ID"))
+                    .append(" IN (?")
+                    .append(", ?".repeat(chunk.size() - 1))
+                    .append(")");
+
+            try (PreparedStatement preparedSelectStatement = connection.prepareStatement(selectQuery.toString())) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    preparedSelectStatement.setInt(i + 1, chunk.get(i));
+                }
+                try (ResultSet resultSet = preparedSelectStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        existingSharedIDs.add(resultSet.getInt(1));
+                    }
+                }
+            }
+        }
+
+        return bibEntries.stream()
+                         .filter(entry -> !existingSharedIDs.contains(entry.getSharedBibEntryData().getSharedID()))
+                         .collect(Collectors.toList());
+    }
+
+    /**
+     * Inserts the fields of the given bibEntries into FIELD table using one batch.
+     *
+     * @param bibEntries {@link BibEntry} objects to be inserted
+     */
+    private void insertIntoFieldTable(List<BibEntry> bibEntries) throws SQLException {
+        StringBuilder insertFieldQuery = new StringBuilder()
+                .append("INSERT INTO ")
+                .append(escape("FIELD"))
+                .append("(")
+                .append(escape("ENTRY_SHARED_ID"))
+                .append(", ")
+                .append(escape("NAME"))
+                .append(", ")
+                .append(escape("VALUE"))
+                .append(") VALUES(?, ?, ?)");
+
+        try (PreparedStatement preparedFieldStatement = connection.prepareStatement(insertFieldQuery.toString())) {
+            boolean hasFields = false;
+            for (BibEntry bibEntry : bibEntries) {
+                for (Map.Entry<Field, String> field : bibEntry.getFieldMap().entrySet()) {
                     // columnIndex starts with 1
                     preparedFieldStatement.setInt(1, bibEntry.getSharedBibEntryData().getSharedID());
-                    preparedFieldStatement.setString(2, field.getName());
-                    preparedFieldStatement.setString(3, bibEntry.getField(field).get());
-                    preparedFieldStatement.executeUpdate();
+                    preparedFieldStatement.setString(2, field.getKey().getName());
+                    preparedFieldStatement.setString(3, field.getValue());
+                    preparedFieldStatement.addBatch();
+                    hasFields = true;
                 }
             }
-        } catch (SQLException e) {
-            LOGGER.error("SQL Error: ", e);
+            if (hasFields) {
+                preparedFieldStatement.executeBatch();
+            }
         }
     }
 
@@ -244,7 +428,7 @@ public abstract class DBMSProcessor {
      * @param localBibEntry {@link BibEntry} affected by changes
      * @throws SQLException
      */
-    public void updateEntry(BibEntry localBibEntry) throws OfflineLockException, SQLException {
+    public synchronized void updateEntry(BibEntry localBibEntry) throws OfflineLockException, SQLException {
         connection.setAutoCommit(false); // disable auto commit due to transaction
 
         try {
@@ -285,6 +469,7 @@ public abstract class DBMSProcessor {
                     preparedUpdateEntryTypeStatement.executeUpdate();
                 }
 
+                logChanges(Collections.singletonList(localBibEntry.getSharedBibEntryData().getSharedID()));
                 connection.commit(); // apply all changes in current transaction
             } else {
                 throw new OfflineLockException(localBibEntry, sharedBibEntry);
@@ -399,7 +584,7 @@ public abstract class DBMSProcessor {
      *
      * @param bibEntries {@link BibEntry} to be deleted
      */
-    public void removeEntries(List<BibEntry> bibEntries) {
+    public synchronized void removeEntries(List<BibEntry> bibEntries) {
         Objects.requireNonNull(bibEntries);
         if (bibEntries.isEmpty()) {
             return;
@@ -413,16 +598,151 @@ public abstract class DBMSProcessor {
         query.append("?, ".repeat(bibEntries.size() - 1));
         query.append("?)");
 
-        try (PreparedStatement preparedStatement = connection.prepareStatement(query.toString())) {
-            for (int j = 0; j < bibEntries.size(); j++) {
-                preparedStatement.setInt(j + 1, bibEntries.get(j).getSharedBibEntryData().getSharedID());
+        try {
+            connection.setAutoCommit(false); // disable auto commit due to transaction
+            try (PreparedStatement preparedStatement = connection.prepareStatement(query.toString())) {
+                for (int j = 0; j < bibEntries.size(); j++) {
+                    preparedStatement.setInt(j + 1, bibEntries.get(j).getSharedBibEntryData().getSharedID());
+                }
+                preparedStatement.executeUpdate();
+                logChanges(getSharedIDs(bibEntries));
+                connection.commit(); // apply all changes in current transaction
+            } catch (SQLException e) {
+                connection.rollback(); // undo changes made in current transaction
+                throw e;
+            } finally {
+                connection.setAutoCommit(true); // enable auto commit mode again
             }
-            preparedStatement.executeUpdate();
         } catch (SQLException e) {
             LOGGER.error("SQL Error: ", e);
         }
     }
 
+    private static List<Integer> getSharedIDs(List<BibEntry> bibEntries) {
+        return bibEntries.stream()
+                         .map(entry -> entry.getSharedBibEntryData().getSharedID())
+                         .collect(Collectors.toList());
+    }
+
+    /**
+     * Increments the revision of the shared database and records that the entries with the given shared IDs changed in
+     * this revision. Has to be called at the end of the transaction which changes the entries: the updated REVISION row
+     * stays locked until the transaction ends. Thus, concurrent transactions commit their revisions in ascending order,
+     * and a client which has seen a revision has seen all changes up to this revision.
+     * <p>
+     * Every {@link #CHANGELOG_PRUNING_INTERVAL} revisions, the changes older than {@link #LOGGED_REVISIONS} are removed
+     * from the change log.
+     *
+     * @param sharedIDs shared IDs of the inserted, updated or removed entries
+     */
+    private void logChanges(Collection<Integer> sharedIDs) throws SQLException {
+        int revision;
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("UPDATE " + escape("REVISION") + " SET " + escape("REVISION") + " = " + escape("REVISION") + " + 1");
+            try (ResultSet resultSet = statement.executeQuery("SELECT " + escape("REVISION") + " FROM " + escape("REVISION"))) {
+                if (!resultSet.next()) {
+                    throw new SQLException("Missing revision of shared database");
+                }
+                revision = resultSet.getInt(1);
+            }
+        }
+
+        if (!sharedIDs.isEmpty()) {
+            StringBuilder insertChangeQuery = new StringBuilder()
+                    .append("INSERT INTO ")
+                    .append(escape("CHANGELOG"))
+                    .append("(")
+                    .append(escape("REVISION"))
+                    .append(", ")
+                    .append(escape("ENTRY_SHARED_ID"))
+                    .append(") VALUES(?, ?)");
+
+            try (PreparedStatement preparedChangeStatement = connection.prepareStatement(insertChangeQuery.toString())) {
+                for (int sharedID : sharedIDs) {
+                    preparedChangeStatement.setInt(1, revision);
+                    preparedChangeStatement.setInt(2, sharedID);
+                    preparedChangeStatement.addBatch();
+                }
+                preparedChangeStatement.executeBatch();
+            }
+        }
+
+        if ((revision % CHANGELOG_PRUNING_INTERVAL) == 0) {
+            try (PreparedStatement preparedPruneStatement = connection.prepareStatement(
+                    "DELETE FROM " + escape("CHANGELOG") + " WHERE " + escape("REVISION") + " <= ?")) {
+                preparedPruneStatement.setInt(1, revision - LOGGED_REVISIONS);
+                preparedPruneStatement.executeUpdate();
+            }
+        }
+        lastWrittenRevision = revision;
+    }
+
+    /**
+     * Returns the current revision of the shared database. It is incremented by every change of the shared entries or
+     * meta data.
+     *
+     * @return the revision or an empty Optional if it cannot be determined
+     */
+    public synchronized Optional<Integer> getRevision() {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT " + escape("REVISION") + " FROM " + escape("REVISION"))) {
+            if (resultSet.next()) {
+                return Optional.of(resultSet.getInt(1));
+            }
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error", e);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the revision of the shared database written last by this processor, or 0 if it has not changed the
+     * shared database yet.
+     */
+    public synchronized int getLastWrittenRevision() {
+        return lastWrittenRevision;
+    }
+
+    /**
+     * Retrieves the shared IDs of all entries inserted, updated or removed after the given revision up to the given
+     * revision.
+     *
+     * @param fromRevision the revision the changes happened after
+     * @param toRevision   the last revision to consider
+     * @return the changed shared IDs or an empty Optional if the changes after the given revision were already removed
+     * from the change log, see {@link #LOGGED_REVISIONS}
+     */
+    public synchronized Optional<Set<Integer>> getChangedSharedIDs(int fromRevision, int toRevision) throws SQLException {
+        Set<Integer> changedSharedIDs = new HashSet<>();
+        StringBuilder selectChangesQuery = new StringBuilder()
+                .append("SELECT ")
+                .append(escape("ENTRY_SHARED_ID"))
+                .append(" FROM ")
+                .append(escape("CHANGELOG"))
+                .append(" WHERE ")
+                .append(escape("REVISION"))
+                .append(" > ? AND ")
+                .append(escape("REVISION"))
+                .append(" <= ?");
+
+        try (PreparedStatement preparedSelectStatement = connection.prepareStatement(selectChangesQuery.toString())) {
+            preparedSelectStatement.setInt(1, fromRevision);
+            preparedSelectStatement.setInt(2, toRevision);
+            try (ResultSet resultSet = preparedSelectStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    changedSharedIDs.add(resultSet.getInt(1));
+                }
+            }
+        }
+
+        // checked afterwards, because the change log may have been pruned while it was queried
+        Optional<Integer> revision = getRevision();
+        if (revision.isEmpty() || (fromRevision < (revision.get() - LOGGED_REVISIONS))) {
+            return Optional.empty();
+        }
+        return Optional.of(changedSharedIDs);
+    }
+
     /**
      * @param sharedID Entry ID
      * @return instance of {@link BibEntry}
@@ -442,9 +762,23 @@ public abstract class DBMSProcessor {
      * @param sharedIDs the list of Ids to filter. If list is empty, then no filter is applied
      */
     public List<BibEntry> getSharedEntries(List<Integer> sharedIDs) {
-        Objects.requireNonNull(sharedIDs);
-
         List<BibEntry> sharedEntries = new ArrayList<>();
+        getSharedEntries(sharedIDs, sharedEntries::add);
+        return sharedEntries;
+    }
+
+    /**
+     * Queries the database for shared entries and passes each of them to the given consumer as soon as it is read,
+     * ordered by their shared ID. Optionally, they are filtered by the given list of sharedIds.
+     * <p>
+     * The entries are queried in chunks of at most {@link #MAX_ROWS_PER_STATEMENT} IDs by one prepared statement, thus
+     * neither the size of the statement nor the memory held until the first entry is passed grows with the number of
+     * IDs.
+     *
+     * @param sharedIDs the list of Ids to filter. If list is empty, then no filter is applied
+     */
+    public synchronized void getSharedEntries(List<Integer> sharedIDs, Consumer<BibEntry> consumer) {
+        Objects.requireNonNull(sharedIDs);
 
         StringBuilder query = new StringBuilder();
         query.append("SELECT ")
@@ -462,53 +796,92 @@ public abstract class DBMSProcessor {
              .append(escape("ENTRY")).append(".").append(escape("SHARED_ID"))
              .append(" = F.").append(escape("ENTRY_SHARED_ID"));
 
-        if (!sharedIDs.isEmpty()) {
+        // sorted, so that the chunks pass the entries ordered by their shared ID
+        List<List<Integer>> chunks = partition(sharedIDs.stream().distinct().sorted().collect(Collectors.toList()));
+        int chunkSize = chunks.isEmpty() ? 0 : chunks.get(0).size();
+        if (chunkSize > 0) {
             query.append(" where ")
-                 .append(escape("SHARED_ID")).append(" in (")
-                 .append("?, ".repeat(sharedIDs.size() - 1))
-                 .append("?)");
+                 .append(getSharedIDFilter(chunkSize));
         }
         query.append(" order by ")
              .append(escape("SHARED_ID"));
 
-        PreparedStatement preparedStatement;
-        try {
-            preparedStatement = connection.prepareStatement(query.toString());
-            for (int i = 0; i < sharedIDs.size(); i++) {
-                preparedStatement.setInt(i + 1, sharedIDs.get(i));
-            }
-        } catch (SQLException e) {
-            LOGGER.debug("Executed >{}<", query.toString());
-            LOGGER.error("SQL Error", e);
-            return Collections.emptyList();
-        }
-        try (ResultSet selectEntryResultSet = preparedStatement.executeQuery()) {
-            BibEntry bibEntry = null;
-            int lastId = -1;
-            while (selectEntryResultSet.next()) {
-                // We get a list of field values of bib entries "grouped" by bib entries
-                // Thus, the first change in the shared id leads to a new BibEntry
-                if (selectEntryResultSet.getInt("SHARED_ID") > lastId) {
-                    bibEntry = new BibEntry();
-                    bibEntry.getSharedBibEntryData().setSharedID(selectEntryResultSet.getInt("SHARED_ID"));
-                    bibEntry.setType(EntryTypeFactory.parse(selectEntryResultSet.getString("TYPE")));
-                    bibEntry.getSharedBibEntryData().setVersion(selectEntryResultSet.getInt("VERSION"));
-                    sharedEntries.add(bibEntry);
-                    lastId = selectEntryResultSet.getInt("SHARED_ID");
+        try (PreparedStatement preparedStatement = connection.prepareStatement(query.toString())) {
+            if (chunks.isEmpty()) {
+                try (ResultSet selectEntryResultSet = preparedStatement.executeQuery()) {
+                    readSharedEntries(selectEntryResultSet, consumer);
                 }
-
-                // In all cases, we set the field value of the newly created BibEntry object
-                String value = selectEntryResultSet.getString("VALUE");
-                if (value != null) {
-                    bibEntry.setField(FieldFactory.parseField(selectEntryResultSet.getString("NAME")), value, EntriesEventSource.SHARED);
+            }
+            for (List<Integer> chunk : chunks) {
+                setSharedIDFilter(preparedStatement, fillUp(chunk, chunkSize));
+                try (ResultSet selectEntryResultSet = preparedStatement.executeQuery()) {
+                    readSharedEntries(selectEntryResultSet, consumer);
                 }
             }
         } catch (SQLException e) {
             LOGGER.error("Executed >{}<", query.toString());
             LOGGER.error("SQL Error", e);
         }
+    }
 
-        return sharedEntries;
+    /**
+     * Returns the condition of a query restricting SHARED_ID to the given number of IDs, which are set by {@link
+     * #setSharedIDFilter(PreparedStatement, List)}.
+     */
+    protected String getSharedIDFilter(int numberOfSharedIDs) {
+        return escape("SHARED_ID") + " in (?" + ", ?".repeat(numberOfSharedIDs - 1) + ")";
+    }
+
+    /**
+     * Sets the given IDs as the parameters of the condition returned by {@link #getSharedIDFilter(int)}.
+     */
+    protected void setSharedIDFilter(PreparedStatement preparedStatement, List<Integer> sharedIDs) throws SQLException {
+        for (int i = 0; i < sharedIDs.size(); i++) {
+            preparedStatement.setInt(i + 1, sharedIDs.get(i));
+        }
+    }
+
+    /**
+     * Repeats the last ID of the given chunk until it has the given size, so that all chunks fit the same statement.
+     */
+    private static List<Integer> fillUp(List<Integer> chunk, int size) {
+        List<Integer> filledUpChunk = new ArrayList<>(chunk);
+        while (filledUpChunk.size() < size) {
+            filledUpChunk.add(chunk.get(chunk.size() - 1));
+        }
+        return filledUpChunk;
+    }
+
+    /**
+     * Creates the entries of the given result set, which has to be ordered by SHARED_ID, and passes each of them to the
+     * given consumer once all its fields are set.
+     */
+    private void readSharedEntries(ResultSet selectEntryResultSet, Consumer<BibEntry> consumer) throws SQLException {
+        BibEntry bibEntry = null;
+        int lastId = -1;
+        while (selectEntryResultSet.next()) {
+            // We get a list of field values of bib entries "grouped" by bib entries
+            // Thus, the first change in the shared id leads to a new BibEntry
+            if (selectEntryResultSet.getInt("SHARED_ID") != lastId) {
+                if (bibEntry != null) {
+                    consumer.accept(bibEntry);
+                }
+                bibEntry = new BibEntry();
+                bibEntry.getSharedBibEntryData().setSharedID(selectEntryResultSet.getInt("SHARED_ID"));
+                bibEntry.setType(EntryTypeFactory.parse(selectEntryResultSet.getString("TYPE")));
+                bibEntry.getSharedBibEntryData().setVersion(selectEntryResultSet.getInt("VERSION"));
+                lastId = selectEntryResultSet.getInt("SHARED_ID");
+            }
+
+            // In all cases, we set the field value of the newly created BibEntry object
+            String value = selectEntryResultSet.getString("VALUE");
+            if (value != null) {
+                bibEntry.setField(FieldFactory.parseField(selectEntryResultSet.getString("NAME")), value, EntriesEventSource.SHARED);
+            }
+        }
+        if (bibEntry != null) {
+            consumer.accept(bibEntry);
+        }
     }
 
     public List<BibEntry> getSharedEntries() {
@@ -518,7 +891,7 @@ public abstract class DBMSProcessor {
     /**
      * Retrieves a mapping between the columns SHARED_ID and VERSION.
      */
-    public Map<Integer, Integer> getSharedIDVersionMapping() {
+    public synchronized Map<Integer, Integer> getSharedIDVersionMapping() {
         Map<Integer, Integer> sharedIDVersionMapping = new HashMap<>();
         StringBuilder selectEntryQuery = new StringBuilder()
                 .append("SELECT * FROM ")
@@ -537,15 +910,52 @@ public abstract class DBMSProcessor {
         return sharedIDVersionMapping;
     }
 
+    /**
+     * Retrieves a mapping between the columns SHARED_ID and VERSION for the given shared IDs. IDs of entries which do
+     * not exist on shared database are not contained.
+     */
+    public synchronized Map<Integer, Integer> getSharedIDVersionMapping(Collection<Integer> sharedIDs) throws SQLException {
+        Map<Integer, Integer> sharedIDVersionMapping = new HashMap<>();
+        for (List<Integer> chunk : partition(new ArrayList<>(sharedIDs))) {
+            StringBuilder selectEntryQuery = new StringBuilder()
+                    .append("SELECT ")
+                    .append(escape("SHARED_ID"))
+                    .append(", ")
+                    .append(escape("VERSION"))
+                    .append(" FROM ")
+                    .append(escape("ENTRY"))
+                    .append(" WHERE ")
+                    .append(escape("SHARED_ID"))
+                    .append(" IN (?")
+                    .append(", ?".repeat(chunk.size() - 1))
+                    .append(")");
+
+            try (PreparedStatement preparedSelectStatement = connection.prepareStatement(selectEntryQuery.toString())) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    preparedSelectStatement.setInt(i + 1, chunk.get(i));
+                }
+                try (ResultSet selectEntryResultSet = preparedSelectStatement.executeQuery()) {
+                    while (selectEntryResultSet.next()) {
+                        sharedIDVersionMapping.put(selectEntryResultSet.getInt("SHARED_ID"), selectEntryResultSet.getInt("VERSION"));
+                    }
+                }
+            }
+        }
+        return sharedIDVersionMapping;
+    }
+
     /**
      * Fetches and returns all shared meta data.
      */
-    public Map<String, String> getSharedMetaData() {
+    public synchronized Map<String, String> getSharedMetaData() {
         Map<String, String> data = new HashMap<>();
 
         try (ResultSet resultSet = connection.createStatement().executeQuery("SELECT * FROM " + escape("METADATA"))) {
             while (resultSet.next()) {
-                data.put(resultSet.getString("KEY"), resultSet.getString("VALUE"));
+                String key = resultSet.getString("KEY");
+                if (!DATABASE_ID_KEY.equals(key)) {
+                    data.put(key, resultSet.getString("VALUE"));
+                }
             }
         } catch (SQLException e) {
             LOGGER.error("SQL Error", e);
@@ -559,7 +969,7 @@ public abstract class DBMSProcessor {
      *
      * @param data JabRef meta data as map
      */
-    public void setSharedMetaData(Map<String, String> data) throws SQLException {
+    public synchronized void setSharedMetaData(Map<String, String> data) throws SQLException {
         StringBuilder updateQuery = new StringBuilder()
                 .append("UPDATE ")
                 .append(escape("METADATA"))
@@ -579,23 +989,29 @@ public abstract class DBMSProcessor {
                 .append(escape("VALUE"))
                 .append(") VALUES(?, ?)");
 
-        for (Map.Entry<String, String> metaEntry : data.entrySet()) {
-            try (PreparedStatement updateStatement = connection.prepareStatement(updateQuery.toString())) {
-                updateStatement.setString(2, metaEntry.getKey());
-                updateStatement.setString(1, metaEntry.getValue());
-                if (updateStatement.executeUpdate() == 0) {
-                    // No rows updated -> insert data
-                    try (PreparedStatement insertStatement = connection.prepareStatement(insertQuery.toString())) {
-                        insertStatement.setString(1, metaEntry.getKey());
-                        insertStatement.setString(2, metaEntry.getValue());
-                        insertStatement.executeUpdate();
-                    } catch (SQLException e) {
-                        LOGGER.error("SQL Error: ", e);
+        connection.setAutoCommit(false); // disable auto commit due to transaction
+        try {
+            for (Map.Entry<String, String> metaEntry : data.entrySet()) {
+                try (PreparedStatement updateStatement = connection.prepareStatement(updateQuery.toString())) {
+                    updateStatement.setString(2, metaEntry.getKey());
+                    updateStatement.setString(1, metaEntry.getValue());
+                    if (updateStatement.executeUpdate() == 0) {
+                        // No rows updated -> insert data
+                        try (PreparedStatement insertStatement = connection.prepareStatement(insertQuery.toString())) {
+                            insertStatement.setString(1, metaEntry.getKey());
+                            insertStatement.setString(2, metaEntry.getValue());
+                            insertStatement.executeUpdate();
+                        }
                     }
                 }
-            } catch (SQLException e) {
-                LOGGER.error("SQL Error: ", e);
             }
+            logChanges(Collections.emptyList());
+            connection.commit(); // apply all changes in current transaction
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error: ", e);
+            connection.rollback(); // undo changes made in current transaction
+        } finally {
+            connection.setAutoCommit(true); // enable auto commit mode again
         }
     }
 
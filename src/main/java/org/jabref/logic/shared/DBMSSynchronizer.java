@@ -1,7 +1,10 @@
 package org.jabref.logic.shared;
 
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -48,6 +51,14 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DBMSSynchronizer.class);
 
+    private static final int NOT_SYNCHRONIZED = -1;
+
+    // waiting time for further changes before changed entries are written
+    private static final Duration WRITE_DELAY = Duration.ofMillis(300);
+
+    // interval after which all entries are compared again, to find changes of clients not logging their changes
+    private static final Duration FULL_SYNCHRONIZATION_INTERVAL = Duration.ofMinutes(5);
+
     private DBMSProcessor dbmsProcessor;
     private String dbName;
     private final BibDatabaseContext bibDatabaseContext;
@@ -58,6 +69,10 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
     private final Character keywordSeparator;
     private final GlobalBibtexKeyPattern globalCiteKeyPattern;
     private final FileUpdateMonitor fileMonitor;
+    // the revision of the shared database the local database is synchronized with
+    private volatile int lastSynchronizedRevision = NOT_SYNCHRONIZED;
+    private volatile Instant lastFullSynchronization = Instant.EPOCH;
+    private final SharedEntryWriteQueue writeQueue = new SharedEntryWriteQueue(this::writeChangedEntries, this::synchronizeLocalDatabase, WRITE_DELAY);
 
     public DBMSSynchronizer(BibDatabaseContext bibDatabaseContext, Character keywordSeparator,
                             GlobalBibtexKeyPattern globalCiteKeyPattern, FileUpdateMonitor fileMonitor) {
@@ -82,15 +97,14 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
         if (isEventSourceAccepted(event) && checkCurrentConnection()) {
             synchronizeLocalMetaData();
             synchronizeLocalDatabase(); // Pull changes for the case that there were some
-            List<BibEntry> entries = event.getBibEntries();
-            for (BibEntry entry : entries) {
-                dbmsProcessor.insertEntry(entry);
-            }
+            dbmsProcessor.insertEntries(event.getBibEntries());
+            dbmsProcessor.notifyClients();
         }
     }
 
     /**
-     * Listening method. Updates an existing shared {@link BibEntry}.
+     * Listening method. Updates an existing shared {@link BibEntry}. The save actions are applied at once, and a
+     * snapshot of the entry is written in the background, see {@link #writeChangedEntries(List)}.
      *
      * @param event {@link FieldChangedEvent} object
      */
@@ -98,12 +112,38 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
     public void listen(FieldChangedEvent event) {
         // While synchronizing the local database (see synchronizeLocalDatabase() below), some EntriesEvents may be posted.
         // In this case DBSynchronizer should not try to update the bibEntry entry again (but it would not harm).
-        if (isPresentLocalBibEntry(event.getBibEntry()) && isEventSourceAccepted(event) && checkCurrentConnection()) {
-            synchronizeLocalMetaData();
-            BibEntry bibEntry = event.getBibEntry();
-            synchronizeSharedEntry(bibEntry);
-            synchronizeLocalDatabase(); // Pull changes for the case that there were some
+        BibEntry bibEntry = event.getBibEntry();
+        if (isPresentLocalBibEntry(bibEntry) && isEventSourceAccepted(event)) {
+            BibDatabaseWriter.applySaveActions(bibEntry, metaData); // perform possibly existing save actions
+            writeQueue.add(bibEntry, createSnapshot(bibEntry));
+        }
+    }
+
+    /**
+     * Copies the fields, the type and the shared data of the given entry, so that the copy can be written while the
+     * entry is edited further.
+     */
+    private static BibEntry createSnapshot(BibEntry bibEntry) {
+        BibEntry snapshot = (BibEntry) bibEntry.clone();
+        snapshot.getSharedBibEntryData().setSharedID(bibEntry.getSharedBibEntryData().getSharedID());
+        snapshot.getSharedBibEntryData().setVersion(bibEntry.getSharedBibEntryData().getVersion());
+        return snapshot;
+    }
+
+    /**
+     * Writes the snapshots of the locally changed entries to the shared database. Called by the {@link
+     * SharedEntryWriteQueue}, which pulls the changes of other clients afterwards.
+     * <p>
+     * The events about conflicts are posted by the thread of the queue.
+     */
+    private void writeChangedEntries(List<BibEntry> changedEntries) {
+        if (!checkCurrentConnection()) {
+            return;
         }
+        synchronizeLocalMetaData();
+        // entries removed in the meantime do not exist on shared database anymore and are skipped by updateEntry
+        changedEntries.forEach(this::updateSharedEntry);
+        dbmsProcessor.notifyClients();
     }
 
     /**
@@ -118,9 +158,11 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
         // In this case DBSynchronizer should not try to delete the bibEntry entry again (but it would not harm).
         if (isEventSourceAccepted(event) && checkCurrentConnection()) {
             List<BibEntry> entries = event.getBibEntries();
+            writeQueue.remove(entries);
             dbmsProcessor.removeEntries(entries);
             synchronizeLocalMetaData();
             synchronizeLocalDatabase(); // Pull changes for the case that there where some
+            dbmsProcessor.notifyClients();
         }
     }
 
@@ -157,6 +199,8 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
 
                 // Calling dbmsProcessor.setupSharedDatabase() lets dbmsProcessor.checkBaseIntegrity() be true.
                 dbmsProcessor.setupSharedDatabase();
+            } else {
+                dbmsProcessor.initializeDatabaseId();
             }
         } catch (SQLException e) {
             LOGGER.error("Could not check intergrity", e);
@@ -164,65 +208,163 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
         }
 
         dbmsProcessor.startNotificationListener(this);
+
+        Optional<SharedDatabaseReplica> replica = bibDatabase.hasEntries()
+                ? Optional.empty()
+                : SharedDatabaseReplica.load(dbmsProcessor.getDBMSConnectionProperties())
+                                       .filter(this::isReplicaOfSharedDatabase);
+        if (replica.isPresent()) {
+            // start from the replica, thus only the entries whose version differs are fetched from the shared database
+            setLocalMetaData(replica.get().getMetaData());
+            bibDatabase.insertEntries(replica.get().getEntries(), EntriesEventSource.SHARED);
+        }
         synchronizeLocalMetaData();
         synchronizeLocalDatabase();
     }
 
+    /**
+     * Checks whether the given replica is a former state of the shared database. This is not the case if the shared
+     * database was recreated, which changes its ID, or if its revision is lower. Then, the shared IDs of the replica
+     * may belong to other entries with the same version.
+     */
+    private boolean isReplicaOfSharedDatabase(SharedDatabaseReplica replica) {
+        Optional<String> databaseId = dbmsProcessor.getDatabaseId();
+        Optional<Integer> revision = dbmsProcessor.getRevision();
+        if (databaseId.isEmpty() || !databaseId.get().equals(replica.getDatabaseId())
+                || revision.isEmpty() || (revision.get() < replica.getRevision())) {
+            LOGGER.info("Discarding outdated replica of shared database");
+            return false;
+        }
+        return true;
+    }
+
     /**
      * Synchronizes the local database with shared one. Possible update types are: removal, update, or insert of a
      * {@link BibEntry}.
+     * <p>
+     * Only the entries changed since the last synchronized revision of the shared database are fetched. All entries
+     * are compared by the first synchronization, if the change log does not reach back to the last synchronized
+     * revision, and every {@link #FULL_SYNCHRONIZATION_INTERVAL}. Thus, the changes of clients of older JabRef versions,
+     * which do not log their changes, are found as well.
      */
     @Override
     public void synchronizeLocalDatabase() {
+        synchronizeLocalDatabase(false);
+    }
+
+    /**
+     * Synchronizes the local database with shared one, see {@link #synchronizeLocalDatabase()}.
+     *
+     * @param compareAll whether all entries are compared regardless of the change log
+     */
+    private void synchronizeLocalDatabase(boolean compareAll) {
         if (!checkCurrentConnection()) {
             return;
         }
 
-        List<BibEntry> localEntries = bibDatabase.getEntries();
-        Map<Integer, Integer> idVersionMap = dbmsProcessor.getSharedIDVersionMapping();
+        // The listeners of local changes run while the local database is locked. Locking it here as well keeps the
+        // pulls of the background writer from interleaving with them and avoids a deadlock.
+        synchronized (bibDatabase) {
+            pullSharedEntries(compareAll || Instant.now().isAfter(lastFullSynchronization.plus(FULL_SYNCHRONIZATION_INTERVAL)));
+        }
+    }
+
+    private void pullSharedEntries(boolean compareAll) {
+        Optional<Integer> revision = dbmsProcessor.getRevision();
+        if (revision.isPresent() && (lastSynchronizedRevision != NOT_SYNCHRONIZED) && !compareAll) {
+            if (revision.get() == lastSynchronizedRevision) {
+                return;
+            }
+            try {
+                Optional<Set<Integer>> changedSharedIDs = dbmsProcessor.getChangedSharedIDs(lastSynchronizedRevision, revision.get());
+                if (changedSharedIDs.isPresent()) {
+                    pullChangedSharedEntries(changedSharedIDs.get());
+                    lastSynchronizedRevision = revision.get();
+                    return;
+                }
+            } catch (SQLException e) {
+                LOGGER.error("SQL Error", e);
+            }
+        }
 
+        Instant synchronizationStart = Instant.now();
+        Map<Integer, Integer> idVersionMap = dbmsProcessor.getSharedIDVersionMapping();
         // remove old entries locally
-        removeNotSharedEntries(localEntries, idVersionMap.keySet());
+        removeNotSharedEntries(bibDatabase.getEntries(), idVersionMap.keySet());
+        synchronizeLocalEntries(idVersionMap);
+        lastFullSynchronization = synchronizationStart;
+        lastSynchronizedRevision = revision.orElse(NOT_SYNCHRONIZED);
+    }
+
+    /**
+     * Removes, updates or inserts the local entries of the given shared IDs, which are taken from the change log.
+     */
+    private void pullChangedSharedEntries(Set<Integer> changedSharedIDs) throws SQLException {
+        Map<Integer, Integer> idVersionMap = dbmsProcessor.getSharedIDVersionMapping(changedSharedIDs);
+        // remove entries locally which were removed on shared database
+        List<BibEntry> removedEntries = changedSharedIDs.stream()
+                                                        .filter(sharedID -> !idVersionMap.containsKey(sharedID))
+                                                        .map(bibDatabase::getEntryBySharedId)
+                                                        .flatMap(Optional::stream)
+                                                        .collect(Collectors.toList());
+        removeNotSharedEntries(removedEntries, idVersionMap.keySet());
+        synchronizeLocalEntries(idVersionMap);
+    }
+
+    /**
+     * Updates the local entries whose shared version differs and inserts the shared entries which are not present
+     * locally.
+     *
+     * @param idVersionMap the shared IDs and versions of the shared entries to synchronize
+     */
+    private void synchronizeLocalEntries(Map<Integer, Integer> idVersionMap) {
+        List<Integer> entriesToUpdateInLocalDatabase = new ArrayList<>();
         List<Integer> entriesToInsertIntoLocalDatabase = new ArrayList<>();
         // compare versions and update local entry if needed
         for (Map.Entry<Integer, Integer> idVersionEntry : idVersionMap.entrySet()) {
-            boolean remoteEntryMatchingOneLocalEntryFound = false;
-            for (BibEntry localEntry : localEntries) {
-                if (idVersionEntry.getKey().equals(localEntry.getSharedBibEntryData().getSharedID())) {
-                    remoteEntryMatchingOneLocalEntryFound = true;
-                    if (idVersionEntry.getValue() > localEntry.getSharedBibEntryData().getVersion()) {
-                        Optional<BibEntry> sharedEntry = dbmsProcessor.getSharedEntry(idVersionEntry.getKey());
-                        if (sharedEntry.isPresent()) {
-                            // update fields
-                            localEntry.setType(sharedEntry.get().getType(), EntriesEventSource.SHARED);
-                            localEntry.getSharedBibEntryData()
-                                      .setVersion(sharedEntry.get().getSharedBibEntryData().getVersion());
-                            sharedEntry.get().getFieldMap().forEach(
-                                    // copy remote values to local entry
-                                    (field, value) -> localEntry.setField(field, value, EntriesEventSource.SHARED)
-                            );
-
-                            // locally remove not existing fields
-                            localEntry.getFields().stream()
-                                      .filter(field -> !sharedEntry.get().hasField(field))
-                                      .forEach(
-                                              field -> localEntry.clearField(field, EntriesEventSource.SHARED)
-                                      );
-                        }
-                    }
+            Optional<BibEntry> matchingLocalEntry = bibDatabase.getEntryBySharedId(idVersionEntry.getKey());
+            if (matchingLocalEntry.isPresent()) {
+                BibEntry localEntry = matchingLocalEntry.get();
+                // Local changes not written yet are kept. Writing them detects a conflict with the shared changes.
+                if ((idVersionEntry.getValue() != localEntry.getSharedBibEntryData().getVersion()) && !writeQueue.isPending(localEntry)) {
+                    entriesToUpdateInLocalDatabase.add(idVersionEntry.getKey());
                 }
-            }
-            if (!remoteEntryMatchingOneLocalEntryFound) {
+            } else {
                 entriesToInsertIntoLocalDatabase.add(idVersionEntry.getKey());
             }
         }
 
+        if (!entriesToUpdateInLocalDatabase.isEmpty()) {
+            // fetch all changed entries at once and update each local entry as soon as its shared one is read
+            dbmsProcessor.getSharedEntries(entriesToUpdateInLocalDatabase,
+                    sharedEntry -> bibDatabase.getEntryBySharedId(sharedEntry.getSharedBibEntryData().getSharedID())
+                                              .ifPresent(localEntry -> updateLocalEntry(localEntry, sharedEntry)));
+        }
+
         if (!entriesToInsertIntoLocalDatabase.isEmpty()) {
             // in case entries should be added into the local database, insert them
             bibDatabase.insertEntries(dbmsProcessor.getSharedEntries(entriesToInsertIntoLocalDatabase), EntriesEventSource.SHARED);
         }
     }
 
+    private void updateLocalEntry(BibEntry localEntry, BibEntry sharedEntry) {
+        // update fields
+        localEntry.setType(sharedEntry.getType(), EntriesEventSource.SHARED);
+        localEntry.getSharedBibEntryData()
+                  .setVersion(sharedEntry.getSharedBibEntryData().getVersion());
+        sharedEntry.getFieldMap().forEach(
+                // copy remote values to local entry
+                (field, value) -> localEntry.setField(field, value, EntriesEventSource.SHARED)
+        );
+
+        // locally remove not existing fields
+        localEntry.getFields().stream()
+                  .filter(field -> !sharedEntry.hasField(field))
+                  .forEach(
+                          field -> localEntry.clearField(field, EntriesEventSource.SHARED)
+                  );
+    }
+
     /**
      * Removes all local entries which are not present on shared database.
      *
@@ -249,8 +391,12 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
         if (!checkCurrentConnection()) {
             return;
         }
+        BibDatabaseWriter.applySaveActions(bibEntry, metaData); // perform possibly existing save actions
+        updateSharedEntry(bibEntry);
+    }
+
+    private void updateSharedEntry(BibEntry bibEntry) {
         try {
-            BibDatabaseWriter.applySaveActions(bibEntry, metaData); // perform possibly existing save actions
             dbmsProcessor.updateEntry(bibEntry);
         } catch (OfflineLockException exception) {
             eventBus.post(new UpdateRefusedEvent(bibDatabaseContext, exception.getLocalBibEntry(), exception.getSharedBibEntry()));
@@ -267,10 +413,17 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
             return;
         }
 
+        setLocalMetaData(dbmsProcessor.getSharedMetaData());
+    }
+
+    /**
+     * Sets the local meta data to the given serialized meta data.
+     */
+    private void setLocalMetaData(Map<String, String> serializedMetaData) {
         try {
             metaData.setEventPropagation(false);
             MetaDataParser parser = new MetaDataParser(fileMonitor);
-            parser.parse(metaData, dbmsProcessor.getSharedMetaData(), keywordSeparator);
+            parser.parse(metaData, serializedMetaData, keywordSeparator);
             metaData.setEventPropagation(true);
         } catch (ParseException e) {
             LOGGER.error("Parse error", e);
@@ -313,15 +466,32 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
     }
 
     /**
-     * Synchronizes the local BibEntries and applies the fetched MetaData on them.
+     * Synchronizes the local BibEntries and applies the fetched MetaData on them. All entries are compared, because the
+     * changes may have been made by a client of an older JabRef version, which does not log its changes.
      */
     @Override
     public void pullChanges() {
+        pullChanges(true);
+    }
+
+    /**
+     * Pulls the changes if the given revision of the shared database has not been synchronized yet.
+     *
+     * @param revision the revision of the shared database, e.g., announced by a notification of another client
+     */
+    public void pullChanges(int revision) {
+        if (revision > lastSynchronizedRevision) {
+            pullChanges(false);
+        }
+    }
+
+    private void pullChanges(boolean compareAll) {
         if (!checkCurrentConnection()) {
             return;
         }
 
-        synchronizeLocalDatabase();
+        writeQueue.flush();
+        synchronizeLocalDatabase(compareAll);
         synchronizeLocalMetaData();
     }
 
@@ -362,11 +532,14 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
         this.dbName = connection.getProperties().getDatabase();
         this.currentConnection = connection.getConnection();
         this.dbmsProcessor = DBMSProcessor.getProcessorInstance(connection);
+        this.lastSynchronizedRevision = NOT_SYNCHRONIZED;
         initializeDatabases();
     }
 
     @Override
     public void closeSharedDatabase() {
+        writeQueue.shutdown();
+        saveReplica();
         try {
             dbmsProcessor.stopNotificationListener();
             currentConnection.close();
@@ -375,8 +548,29 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
         }
     }
 
+    /**
+     * Stores the local database as replica of the shared one, to be shown at once when the shared database is opened
+     * the next time. Local changes not written because the connection is lost are not stored, and neither is a local
+     * database not synchronized with the shared one.
+     */
+    private void saveReplica() {
+        try {
+            int revision = lastSynchronizedRevision;
+            if ((revision == NOT_SYNCHRONIZED) || !currentConnection.isValid(0)) {
+                return;
+            }
+            Optional<String> databaseId = dbmsProcessor.getDatabaseId();
+            if (databaseId.isPresent()) {
+                SharedDatabaseReplica.save(dbmsProcessor.getDBMSConnectionProperties(), databaseId.get(), revision, bibDatabase.getEntries(),
+                        MetaDataSerializer.getSerializedStringMap(metaData, globalCiteKeyPattern));
+            }
+        } catch (SQLException | IOException e) {
+            LOGGER.warn("Could not save replica of shared database", e);
+        }
+    }
+
     private boolean isPresentLocalBibEntry(BibEntry bibEntry) {
-        return bibDatabase.getEntries().contains(bibEntry);
+        return bibDatabase.getEntryById(bibEntry.getId()).isPresent();
     }
 
     @Override
@@ -388,6 +582,13 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
         return dbmsProcessor;
     }
 
+    /**
+     * Returns the queue of the locally changed entries which are not written to the shared database yet.
+     */
+    public SharedEntryWriteQueue getWriteQueue() {
+        return writeQueue;
+    }
+
     @Override
     public DatabaseConnectionProperties getConnectionProperties() {
         return dbmsProcessor.getDBMSConnectionProperties();
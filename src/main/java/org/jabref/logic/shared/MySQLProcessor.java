@@ -37,6 +37,21 @@ public class MySQLProcessor extends DBMSProcessor {
                 "CREATE TABLE IF NOT EXISTS `METADATA` (" +
                 "`KEY` varchar(255) NOT NULL," +
                 "`VALUE` text NOT NULL)");
+
+        setUpChangeLog();
+    }
+
+    @Override
+    protected void setUpChangeLog() throws SQLException {
+        connection.createStatement().executeUpdate(
+                "CREATE TABLE IF NOT EXISTS `REVISION` (" +
+                "`REVISION` INT(11) NOT NULL)");
+
+        connection.createStatement().executeUpdate(
+                "CREATE TABLE IF NOT EXISTS `CHANGELOG` (" +
+                "`REVISION` INT(11) NOT NULL, " +
+                "`ENTRY_SHARED_ID` INT(11) NOT NULL, " +
+                "INDEX (`REVISION`))");
     }
 
     @Override
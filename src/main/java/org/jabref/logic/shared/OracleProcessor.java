@@ -1,11 +1,15 @@
 package org.jabref.logic.shared;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.List;
 import java.util.Properties;
 
 import org.jabref.logic.shared.listener.OracleNotificationListener;
 import org.jabref.model.database.shared.DatabaseConnection;
+import org.jabref.model.entry.BibEntry;
 
 import oracle.jdbc.OracleConnection;
 import oracle.jdbc.OracleStatement;
@@ -16,6 +20,9 @@ import oracle.jdbc.dcn.DatabaseChangeRegistration;
  */
 public class OracleProcessor extends DBMSProcessor {
 
+    // ORA-00955: name is already used by an existing object
+    private static final int NAME_ALREADY_USED = 955;
+
     private OracleConnection oracleConnection;
 
     private OracleNotificationListener listener;
@@ -58,6 +65,59 @@ public class OracleProcessor extends DBMSProcessor {
                 "CREATE TABLE \"METADATA\" (" +
                 "\"KEY\"  VARCHAR2(255) NULL," +
                 "\"VALUE\"  CLOB NOT NULL)");
+
+        setUpChangeLog();
+    }
+
+    /**
+     * Oracle does not support <code>CREATE ... IF NOT EXISTS</code>. Therefore, each table and index is created unless
+     * it exists already, e.g., because another client set up the change log at the same time.
+     */
+    @Override
+    protected void setUpChangeLog() throws SQLException {
+        createIfNotExists(
+                "CREATE TABLE \"REVISION\" (" +
+                "\"REVISION\" NUMBER NOT NULL)");
+
+        createIfNotExists(
+                "CREATE TABLE \"CHANGELOG\" (" +
+                "\"REVISION\" NUMBER NOT NULL, " +
+                "\"ENTRY_SHARED_ID\" NUMBER NOT NULL)");
+
+        createIfNotExists(
+                "CREATE INDEX \"CHANGELOG_REVISION_INDEX\" ON \"CHANGELOG\"(\"REVISION\")");
+    }
+
+    private void createIfNotExists(String createStatement) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(createStatement);
+        } catch (SQLException e) {
+            if (e.getErrorCode() != NAME_ALREADY_USED) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Oracle does not support multiple tuple insertion in one INSERT INTO command. Therefore, the entries are inserted
+     * one by one using the same statement.
+     */
+    @Override
+    protected void insertIntoEntryTable(List<BibEntry> bibEntries) throws SQLException {
+        String insertIntoEntryQuery = "INSERT INTO " + escape("ENTRY") + "(" + escape("TYPE") + ") VALUES(?)";
+
+        try (PreparedStatement preparedEntryStatement = prepareStatementReturningSharedID(insertIntoEntryQuery)) {
+            for (BibEntry bibEntry : bibEntries) {
+                preparedEntryStatement.setString(1, bibEntry.getType().getName());
+                preparedEntryStatement.executeUpdate();
+
+                try (ResultSet generatedKeys = preparedEntryStatement.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        bibEntry.getSharedBibEntryData().setSharedID(generatedKeys.getInt(1)); // set generated ID locally
+                    }
+                }
+            }
+        }
     }
 
     @Override
@@ -65,6 +125,11 @@ public class OracleProcessor extends DBMSProcessor {
         return expression;
     }
 
+    @Override
+    String getSingleRowTable() {
+        return "DUAL";
+    }
+
     @Override
     public void startNotificationListener(DBMSSynchronizer dbmsSynchronizer) {
 
@@ -1,16 +1,16 @@
 package org.jabref.logic.shared;
 
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.List;
 
 import org.jabref.JabRefExecutorService;
 import org.jabref.logic.shared.listener.PostgresSQLNotificationListener;
 import org.jabref.model.database.shared.DatabaseConnection;
-import org.jabref.model.entry.BibEntry;
 
 import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
 
 /**
  * Processes all incoming or outgoing bib data to PostgreSQL database and manages its structure.
@@ -46,33 +46,39 @@ public class PostgreSQLProcessor extends DBMSProcessor {
                                                    "CREATE TABLE IF NOT EXISTS \"METADATA\" ("
                                                    + "\"KEY\" VARCHAR,"
                                                    + "\"VALUE\" TEXT)");
+
+        setUpChangeLog();
     }
 
     @Override
-    protected void insertIntoEntryTable(BibEntry bibEntry) {
-        // Inserting into ENTRY table
-        StringBuilder insertIntoEntryQuery = new StringBuilder()
-                                                                .append("INSERT INTO ")
-                                                                .append(escape("ENTRY"))
-                                                                .append("(")
-                                                                .append(escape("TYPE"))
-                                                                .append(") VALUES(?)");
-
-        // This is the only method to get generated keys which is accepted by MySQL, PostgreSQL and Oracle.
-        try (PreparedStatement preparedEntryStatement = connection.prepareStatement(insertIntoEntryQuery.toString(),
-                                                                                    Statement.RETURN_GENERATED_KEYS)) {
-
-            preparedEntryStatement.setString(1, bibEntry.getType().getName());
-            preparedEntryStatement.executeUpdate();
-
-            try (ResultSet generatedKeys = preparedEntryStatement.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    bibEntry.getSharedBibEntryData().setSharedID(generatedKeys.getInt(1)); // set generated ID locally
-                }
-            }
-        } catch (SQLException e) {
-            LOGGER.error("SQL Error: ", e);
-        }
+    protected void setUpChangeLog() throws SQLException {
+        connection.createStatement().executeUpdate(
+                                                   "CREATE TABLE IF NOT EXISTS \"REVISION\" (" +
+                                                   "\"REVISION\" INTEGER NOT NULL)");
+
+        connection.createStatement().executeUpdate(
+                                                   "CREATE TABLE IF NOT EXISTS \"CHANGELOG\" (" +
+                                                   "\"REVISION\" INTEGER NOT NULL, " +
+                                                   "\"ENTRY_SHARED_ID\" INTEGER NOT NULL)");
+
+        connection.createStatement().executeUpdate(
+                                                   "CREATE INDEX IF NOT EXISTS \"CHANGELOG_REVISION_INDEX\" ON \"CHANGELOG\"(\"REVISION\")");
+    }
+
+    @Override
+    protected PreparedStatement prepareStatementReturningSharedID(String insertQuery) throws SQLException {
+        return connection.prepareStatement(insertQuery, Statement.RETURN_GENERATED_KEYS);
+    }
+
+    @Override
+    protected String getSharedIDFilter(int numberOfSharedIDs) {
+        // one array parameter, so that the statement does not depend on the number of IDs
+        return escape("SHARED_ID") + " = ANY (?)";
+    }
+
+    @Override
+    protected void setSharedIDFilter(PreparedStatement preparedStatement, List<Integer> sharedIDs) throws SQLException {
+        preparedStatement.setArray(1, connection.createArrayOf("integer", sharedIDs.toArray()));
     }
 
     @Override
@@ -81,15 +87,14 @@ public class PostgreSQLProcessor extends DBMSProcessor {
     }
 
     @Override
-    public void startNotificationListener(DBMSSynchronizer dbmsSynchronizer) {
+    public synchronized void startNotificationListener(DBMSSynchronizer dbmsSynchronizer) {
         // Disable cleanup output of ThreadedHousekeeper
         //Logger.getLogger(ThreadedHousekeeper.class.getName()).setLevel(Level.SEVERE);
         try {
             connection.createStatement().execute("LISTEN jabrefLiveUpdate");
             // Do not use `new PostgresSQLNotificationListener(...)` as the object has to exist continuously!
             // Otherwise the listener is going to be deleted by GC.
-            PGConnection pgConnection = connection.unwrap(PGConnection.class);
-            listener = new PostgresSQLNotificationListener(dbmsSynchronizer, pgConnection);
+            listener = new PostgresSQLNotificationListener(dbmsSynchronizer, this);
             JabRefExecutorService.INSTANCE.execute(listener);
 
         } catch (SQLException e) {
@@ -97,6 +102,13 @@ public class PostgreSQLProcessor extends DBMSProcessor {
         }
     }
 
+    /**
+     * Returns the notifications received since the last call, see {@link PostgresSQLNotificationListener}.
+     */
+    public synchronized PGNotification[] getNotifications() throws SQLException {
+        return connection.unwrap(PGConnection.class).getNotifications();
+    }
+
     @Override
     public void stopNotificationListener() {
         try {
@@ -108,9 +120,10 @@ public class PostgreSQLProcessor extends DBMSProcessor {
     }
 
     @Override
-    public void notifyClients() {
+    public synchronized void notifyClients() {
         try {
-            connection.createStatement().execute("NOTIFY jabrefLiveUpdate, '" + PROCESSOR_ID + "';");
+            // the payload tells the revision to fetch, see PostgresSQLNotificationListener
+            connection.createStatement().execute("NOTIFY jabrefLiveUpdate, '" + PROCESSOR_ID + ":" + getLastWrittenRevision() + "';");
         } catch (SQLException e) {
             LOGGER.error("SQL Error: ", e);
         }
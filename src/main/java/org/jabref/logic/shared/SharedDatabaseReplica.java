@@ -0,0 +1,237 @@
+package org.jabref.logic.shared;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.jabref.model.database.shared.DatabaseConnectionProperties;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.entry.field.FieldFactory;
+import org.jabref.model.entry.types.EntryTypeFactory;
+
+import com.google.common.hash.Hashing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Local copy of a shared library, consisting of its entries together with their shared IDs and versions, of its
+ * serialized meta data, and of the ID and revision of the shared database they were synchronized with. Opening a
+ * shared library starts from the replica, and only the entries whose version differs are fetched from the shared
+ * database. A replica is outdated if the shared database has another ID, because it was recreated and its shared IDs
+ * restarted, or if its revision is lower than the one of the replica.
+ * <p>
+ * The replica of each shared library is stored in a binary file, named by the hash of the connection (see {@link
+ * #getLibraryKey(DatabaseConnectionProperties)}). Replicas are disabled until a directory is set (see {@link
+ * #setReplicaDirectory(Path)}).
+ */
+public final class SharedDatabaseReplica {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SharedDatabaseReplica.class);
+
+    private static final int MAGIC = 0x4A525352;
+    // has to be increased whenever the binary form changes
+    private static final int FORMAT_VERSION = 3;
+
+    private static volatile Path replicaDirectory;
+
+    private final String databaseId;
+    private final int revision;
+    private final List<BibEntry> entries;
+    private final Map<String, String> metaData;
+
+    private SharedDatabaseReplica(String databaseId, int revision, List<BibEntry> entries, Map<String, String> metaData) {
+        this.databaseId = databaseId;
+        this.revision = revision;
+        this.entries = entries;
+        this.metaData = metaData;
+    }
+
+    /**
+     * Enables the replicas, storing them in the given directory.
+     */
+    public static void setReplicaDirectory(Path directory) {
+        replicaDirectory = directory;
+    }
+
+    /**
+     * Loads the replica of the shared library the given properties connect to.
+     *
+     * @return the replica or an empty Optional if there is none, or it cannot be read
+     */
+    public static Optional<SharedDatabaseReplica> load(DatabaseConnectionProperties properties) {
+        Optional<Path> replicaFile = getReplicaFile(properties);
+        if (replicaFile.isEmpty() || !Files.isRegularFile(replicaFile.get())) {
+            return Optional.empty();
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(replicaFile.get())))) {
+            if ((input.readInt() != MAGIC) || (input.readInt() != FORMAT_VERSION)
+                    || !getLibraryKey(properties).equals(readString(input))) {
+                // outdated or belonging to another library with the same hash
+                return Optional.empty();
+            }
+
+            String databaseId = readString(input);
+            int revision = input.readInt();
+            int entryCount = readCount(input);
+            // not presized, the count of a corrupt replica may be arbitrarily large
+            List<BibEntry> entries = new ArrayList<>();
+            for (int i = 0; i < entryCount; i++) {
+                BibEntry entry = new BibEntry(EntryTypeFactory.parse(readString(input)));
+                entry.getSharedBibEntryData().setSharedID(input.readInt());
+                entry.getSharedBibEntryData().setVersion(input.readInt());
+                int fieldCount = readCount(input);
+                for (int j = 0; j < fieldCount; j++) {
+                    Field field = FieldFactory.parseField(readString(input));
+                    entry.setField(field, readString(input));
+                }
+                entries.add(entry);
+            }
+
+            int metaDataCount = readCount(input);
+            Map<String, String> metaData = new HashMap<>();
+            for (int i = 0; i < metaDataCount; i++) {
+                metaData.put(readString(input), readString(input));
+            }
+            return Optional.of(new SharedDatabaseReplica(databaseId, revision, entries, metaData));
+        } catch (IOException | RuntimeException e) {
+            LOGGER.info(String.format("Could not read replica %s", replicaFile.get()), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores the given entries and meta data as replica of the shared library the given properties connect to. Does
+     * nothing if replicas are disabled.
+     *
+     * @param databaseId the ID of the shared database, see {@link DBMSProcessor#getDatabaseId()}
+     * @param revision   the revision of the shared database the entries and meta data are synchronized with
+     * @param metaData   the serialized meta data, as stored in the shared database
+     */
+    public static void save(DatabaseConnectionProperties properties, String databaseId, int revision, List<BibEntry> entries, Map<String, String> metaData) throws IOException {
+        Optional<Path> replicaFile = getReplicaFile(properties);
+        if (replicaFile.isEmpty()) {
+            return;
+        }
+
+        Path directory = replicaFile.get().getParent();
+        Files.createDirectories(directory);
+        Path temporaryFile = Files.createTempFile(directory, replicaFile.get().getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(FORMAT_VERSION);
+                writeString(output, getLibraryKey(properties));
+
+                writeString(output, databaseId);
+                output.writeInt(revision);
+                output.writeInt(entries.size());
+                for (BibEntry entry : entries) {
+                    writeString(output, entry.getType().getName());
+                    output.writeInt(entry.getSharedBibEntryData().getSharedID());
+                    output.writeInt(entry.getSharedBibEntryData().getVersion());
+                    Map<Field, String> fields = Map.copyOf(entry.getFieldMap());
+                    output.writeInt(fields.size());
+                    for (Map.Entry<Field, String> field : fields.entrySet()) {
+                        writeString(output, field.getKey().getName());
+                        writeString(output, field.getValue());
+                    }
+                }
+
+                output.writeInt(metaData.size());
+                for (Map.Entry<String, String> metaDataEntry : metaData.entrySet()) {
+                    writeString(output, metaDataEntry.getKey());
+                    writeString(output, metaDataEntry.getValue());
+                }
+            }
+            // a replica is never read partially written
+            Files.move(temporaryFile, replicaFile.get(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Identifies the shared library the given properties connect to.
+     */
+    static String getLibraryKey(DatabaseConnectionProperties properties) {
+        return properties.getType().name() + "://" + properties.getUser() + "@" + properties.getHost() + ":"
+                + properties.getPort() + "/" + properties.getDatabase();
+    }
+
+    private static Optional<Path> getReplicaFile(DatabaseConnectionProperties properties) {
+        Path directory = replicaDirectory;
+        if (directory == null) {
+            return Optional.empty();
+        }
+        String hash = Hashing.sha256().hashString(getLibraryKey(properties), StandardCharsets.UTF_8).toString();
+        return Optional.of(directory.resolve(hash + ".replica"));
+    }
+
+    /**
+     * Unlike {@link DataOutputStream#writeUTF(String)}, the string may be longer than 64 KB.
+     */
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        int length = readCount(input);
+        byte[] bytes = input.readNBytes(length);
+        if (bytes.length != length) {
+            throw new EOFException();
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int readCount(DataInputStream input) throws IOException {
+        int count = input.readInt();
+        if (count < 0) {
+            throw new IOException("Invalid count " + count);
+        }
+        return count;
+    }
+
+    /**
+     * @return the ID of the shared database the replica is synchronized with
+     */
+    public String getDatabaseId() {
+        return databaseId;
+    }
+
+    /**
+     * @return the revision of the shared database the replica is synchronized with
+     */
+    public int getRevision() {
+        return revision;
+    }
+
+    /**
+     * @return the entries, which are not part of a database yet
+     */
+    public List<BibEntry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * @return the serialized meta data, as stored in the shared database
+     */
+    public Map<String, String> getMetaData() {
+        return metaData;
+    }
+}
@@ -0,0 +1,184 @@
+package org.jabref.logic.shared;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.jabref.model.entry.BibEntry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects the locally changed entries of a shared database and writes them in the background.
+ * <p>
+ * The entries are queued as snapshots taken by the thread changing them, so that the background thread does not read
+ * entries being edited. An entry changed several times before it is written is written once, in its last state. The
+ * first change of an entry schedules a flush
+ * after a short delay on a dedicated thread, which passes all entries changed until then as one batch to the writer.
+ * Batches are written one after another in the order of the first change of their entries. The entries of a batch stay
+ * pending until the batch is written, so that they are not overwritten by changes pulled meanwhile.
+ */
+public class SharedEntryWriteQueue {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SharedEntryWriteQueue.class);
+
+    private final Consumer<List<BibEntry>> batchWriter;
+    private final Runnable afterWrite;
+    private final Duration delay;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable);
+        thread.setName("JabRef SharedEntryWriter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // ensures that batches are written one after another
+    private final Object flushLock = new Object();
+
+    // snapshots of the entries by the id of the entry, in the order of their first change; guarded by this
+    private final Map<String, BibEntry> pendingEntries = new LinkedHashMap<>();
+    // snapshots of the batch being written by the id of the entry; guarded by this
+    private final Map<String, BibEntry> writingEntries = new LinkedHashMap<>();
+    private long firstPendingChangeNanos;
+    private boolean flushScheduled;
+
+    private final AtomicLong flushedBatches = new AtomicLong();
+    private volatile long lastFlushLatencyNanos;
+    private volatile long maxFlushLatencyNanos;
+
+    /**
+     * @param batchWriter writes the given snapshots of the entries to the shared database
+     * @param afterWrite  runs after a batch is written and its entries are not pending anymore
+     * @param delay       the time to wait for further changes before the changed entries are written
+     */
+    SharedEntryWriteQueue(Consumer<List<BibEntry>> batchWriter, Runnable afterWrite, Duration delay) {
+        this.batchWriter = batchWriter;
+        this.afterWrite = afterWrite;
+        this.delay = delay;
+    }
+
+    /**
+     * Schedules the given state of the entry to be written. If the entry is already scheduled, its state is replaced.
+     *
+     * @param entry    the changed entry
+     * @param snapshot a copy of the entry, which is not changed anymore
+     */
+    synchronized void add(BibEntry entry, BibEntry snapshot) {
+        if (pendingEntries.isEmpty()) {
+            firstPendingChangeNanos = System.nanoTime();
+        }
+        pendingEntries.put(entry.getId(), snapshot);
+        if (!flushScheduled) {
+            flushScheduled = true;
+            executor.schedule(this::flush, delay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Discards the pending writes of the given entries, e.g., because they were removed.
+     */
+    synchronized void remove(Collection<BibEntry> entries) {
+        entries.forEach(entry -> {
+            pendingEntries.remove(entry.getId());
+            writingEntries.remove(entry.getId());
+        });
+    }
+
+    /**
+     * @return <code>true</code> if the given entry is changed locally, but not written yet
+     */
+    synchronized boolean isPending(BibEntry entry) {
+        return pendingEntries.containsKey(entry.getId()) || writingEntries.containsKey(entry.getId());
+    }
+
+    /**
+     * Writes all pending entries now. Waits for a running write to finish first.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            List<BibEntry> batch;
+            long firstChangeNanos;
+            synchronized (this) {
+                batch = new ArrayList<>(pendingEntries.values());
+                firstChangeNanos = firstPendingChangeNanos;
+                // entries changed again while the batch is written are added to the next batch
+                writingEntries.putAll(pendingEntries);
+                pendingEntries.clear();
+                flushScheduled = false;
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            try {
+                batchWriter.accept(batch);
+            } catch (RuntimeException e) {
+                // keep the executor alive for the next batches
+                LOGGER.error("Could not write changed entries to shared database", e);
+            } finally {
+                synchronized (this) {
+                    writingEntries.clear();
+                }
+            }
+
+            long latencyNanos = System.nanoTime() - firstChangeNanos;
+            lastFlushLatencyNanos = latencyNanos;
+            maxFlushLatencyNanos = Math.max(maxFlushLatencyNanos, latencyNanos);
+            flushedBatches.incrementAndGet();
+
+            try {
+                afterWrite.run();
+            } catch (RuntimeException e) {
+                LOGGER.error("Could not synchronize after writing changed entries to shared database", e);
+            }
+        }
+    }
+
+    /**
+     * Writes all pending entries and stops the background thread.
+     */
+    void shutdown() {
+        flush();
+        executor.shutdown();
+    }
+
+    /**
+     * @return the number of entries changed locally, but not written yet
+     */
+    public synchronized int getQueueDepth() {
+        Set<String> ids = new HashSet<>(pendingEntries.keySet());
+        ids.addAll(writingEntries.keySet());
+        return ids.size();
+    }
+
+    /**
+     * @return the number of batches written so far
+     */
+    public long getFlushedBatches() {
+        return flushedBatches.get();
+    }
+
+    /**
+     * @return the time from the first change of the last written batch until it was written
+     */
+    public Duration getLastFlushLatency() {
+        return Duration.ofNanos(lastFlushLatencyNanos);
+    }
+
+    /**
+     * @return the maximum time from the first change of a batch until it was written
+     */
+    public Duration getMaxFlushLatency() {
+        return Duration.ofNanos(maxFlushLatencyNanos);
+    }
+}
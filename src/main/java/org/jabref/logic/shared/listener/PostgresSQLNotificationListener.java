@@ -4,8 +4,8 @@ import java.sql.SQLException;
 
 import org.jabref.logic.shared.DBMSProcessor;
 import org.jabref.logic.shared.DBMSSynchronizer;
+import org.jabref.logic.shared.PostgreSQLProcessor;
 
-import org.postgresql.PGConnection;
 import org.postgresql.PGNotification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,12 +18,12 @@ public class PostgresSQLNotificationListener implements Runnable {
     private static final Logger LOGGER = LoggerFactory.getLogger(PostgresSQLNotificationListener.class);
 
     private final DBMSSynchronizer dbmsSynchronizer;
-    private final PGConnection pgConnection;
+    private final PostgreSQLProcessor postgreSQLProcessor;
     private volatile boolean stop;
 
-    public PostgresSQLNotificationListener(DBMSSynchronizer dbmsSynchronizer, PGConnection pgConnection) {
+    public PostgresSQLNotificationListener(DBMSSynchronizer dbmsSynchronizer, PostgreSQLProcessor postgreSQLProcessor) {
         this.dbmsSynchronizer = dbmsSynchronizer;
-        this.pgConnection = pgConnection;
+        this.postgreSQLProcessor = postgreSQLProcessor;
     }
     @Override
     public void run() {
@@ -31,13 +31,11 @@ public class PostgresSQLNotificationListener implements Runnable {
         try {
             //noinspection InfiniteLoopStatement
             while (!stop) {
-                PGNotification notifications[] = pgConnection.getNotifications();
+                PGNotification notifications[] = postgreSQLProcessor.getNotifications();
 
                 if (notifications != null) {
                     for (PGNotification notification : notifications) {
-                        if (!notification.getName().equals(DBMSProcessor.PROCESSOR_ID)) {
-                            dbmsSynchronizer.pullChanges();
-                        }
+                        handleNotification(notification.getParameter());
                     }
                 }
 
@@ -49,6 +47,27 @@ public class PostgresSQLNotificationListener implements Runnable {
         }
     }
 
+    /**
+     * Handles the payload "processorId:revision" of a notification. Clients of older JabRef versions only send their
+     * processor id.
+     */
+    private void handleNotification(String payload) {
+        String[] processorIdAndRevision = payload.split(":", 2);
+        if (processorIdAndRevision[0].equals(DBMSProcessor.PROCESSOR_ID)) {
+            return;
+        }
+        if (processorIdAndRevision.length < 2) {
+            dbmsSynchronizer.pullChanges();
+            return;
+        }
+        try {
+            dbmsSynchronizer.pullChanges(Integer.parseInt(processorIdAndRevision[1]));
+        } catch (NumberFormatException exception) {
+            LOGGER.warn("Invalid revision in notification {}", payload, exception);
+            dbmsSynchronizer.pullChanges();
+        }
+    }
+
     public void stop() {
         stop = true;
     }
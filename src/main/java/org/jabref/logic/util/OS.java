@@ -1,5 +1,7 @@
 package org.jabref.logic.util;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Locale;
 
 /***
@@ -22,4 +24,23 @@ public class OS {
 
     private OS() {
     }
+
+    /**
+     * Returns the directory for data JabRef caches between sessions. The data can be deleted at any time, it is
+     * recreated on demand.
+     */
+    public static Path getCacheDirectory() {
+        Path userHome = Paths.get(System.getProperty("user.home"));
+        if (WINDOWS) {
+            String localAppData = System.getenv("LOCALAPPDATA");
+            Path base = (localAppData == null) ? userHome.resolve("AppData").resolve("Local") : Paths.get(localAppData);
+            return base.resolve("JabRef").resolve("cache");
+        } else if (OS_X) {
+            return userHome.resolve("Library").resolve("Caches").resolve("JabRef");
+        } else {
+            String xdgCacheHome = System.getenv("XDG_CACHE_HOME");
+            Path base = ((xdgCacheHome == null) || xdgCacheHome.isEmpty()) ? userHome.resolve(".cache") : Paths.get(xdgCacheHome);
+            return base.resolve("jabref");
+        }
+    }
 }
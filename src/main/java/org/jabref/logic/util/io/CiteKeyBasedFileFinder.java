@@ -1,21 +1,17 @@
 package org.jabref.logic.util.io;
 
 import java.io.IOException;
-import java.io.UncheckedIOException;
-import java.nio.file.FileVisitOption;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.attribute.BasicFileAttributes;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.BiPredicate;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.jabref.logic.bibtexkeypattern.BibtexKeyGenerator;
 import org.jabref.model.entry.BibEntry;
@@ -25,6 +21,8 @@ import org.jabref.model.util.FileHelper;
 class CiteKeyBasedFileFinder implements FileFinder {
 
     private final boolean exactKeyOnly;
+    // the catalogs used by this finder, so that the files of many entries are found using the same catalog
+    private final Map<Path, FileCatalog> catalogs = new ConcurrentHashMap<>();
 
     CiteKeyBasedFileFinder(boolean exactKeyOnly) {
         this.exactKeyOnly = exactKeyOnly;
@@ -34,6 +32,7 @@ class CiteKeyBasedFileFinder implements FileFinder {
     public List<Path> findAssociatedFiles(BibEntry entry, List<Path> directories, List<String> extensions) throws IOException {
         Objects.requireNonNull(directories);
         Objects.requireNonNull(entry);
+        Objects.requireNonNull(extensions, "Extensions must not be null!");
 
         Optional<String> citeKeyOptional = entry.getCiteKeyOptional();
         if (StringUtil.isBlank(citeKeyOptional)) {
@@ -41,30 +40,36 @@ class CiteKeyBasedFileFinder implements FileFinder {
         }
         String citeKey = citeKeyOptional.get();
 
-        List<Path> result = new ArrayList<>();
-
-        // First scan directories
-        Set<Path> filesWithExtension = findFilesByExtension(directories, extensions);
-
-        // Now look for keys
-        for (Path file : filesWithExtension) {
-            String name = file.getFileName().toString();
-            String nameWithoutExtension = FileUtil.getBaseName(name);
-
-            // First, look for exact matches
-            if (nameWithoutExtension.equals(citeKey)) {
-                result.add(file);
-                continue;
-            }
-            // If we get here, we did not find any exact matches. If non-exact matches are allowed, try to find one
-            if (!exactKeyOnly && matches(name, citeKey)) {
-                result.add(file);
+        Set<Path> result = new HashSet<>();
+        for (Path directory : directories) {
+            if (Files.exists(directory)) {
+                // the catalog only knows file names, thus all files starting with the key are candidates
+                for (Path relativeFile : catalogs.computeIfAbsent(directory, FileCatalog::forDirectory).findFilesStartingWith(citeKey)) {
+                    Path file = directory.resolve(relativeFile);
+                    if (isAssociatedFile(file, citeKey, extensions)) {
+                        result.add(file);
+                    }
+                }
             }
         }
 
         return result.stream().sorted().collect(Collectors.toList());
     }
 
+    private boolean isAssociatedFile(Path file, String citeKey, List<String> extensions) {
+        if (!extensions.contains(FileHelper.getFileExtension(file).orElse(""))) {
+            return false;
+        }
+
+        String name = file.getFileName().toString();
+        String nameWithoutExtension = FileUtil.getBaseName(name);
+
+        // Exact matches are always accepted, other matches only if non-exact matches are allowed
+        boolean isMatch = nameWithoutExtension.equals(citeKey) || (!exactKeyOnly && matches(name, citeKey));
+        // the catalog might not yet know that the file was deleted
+        return isMatch && Files.exists(file);
+    }
+
     private boolean matches(String filename, String citeKey) {
         boolean startsWithKey = filename.startsWith(citeKey);
         if (startsWithKey) {
@@ -75,26 +80,4 @@ class CiteKeyBasedFileFinder implements FileFinder {
         }
         return false;
     }
-
-    /**
-     * Returns a list of all files in the given directories which have one of the given extension.
-     */
-    private Set<Path> findFilesByExtension(List<Path> directories, List<String> extensions) throws IOException {
-        Objects.requireNonNull(extensions, "Extensions must not be null!");
-
-        BiPredicate<Path, BasicFileAttributes> isFileWithCorrectExtension = (path, attributes) -> !Files.isDirectory(path)
-                && extensions.contains(FileHelper.getFileExtension(path).orElse(""));
-
-        Set<Path> result = new HashSet<>();
-        for (Path directory : directories) {
-            if (Files.exists(directory)) {
-                try (Stream<Path> pathStream = Files.find(directory, Integer.MAX_VALUE, isFileWithCorrectExtension, FileVisitOption.FOLLOW_LINKS)) {
-                    result.addAll(pathStream.collect(Collectors.toSet()));
-                } catch (UncheckedIOException e) {
-                    throw new IOException("Problem in finding files", e);
-                }
-            }
-        }
-        return result;
-    }
 }
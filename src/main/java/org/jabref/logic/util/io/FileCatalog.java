@@ -0,0 +1,375 @@
+package org.jabref.logic.util.io;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index of all files below a directory. The directory tree is walked once (in parallel) and the files are indexed by
+ * their names, so that the files of many entries can be looked up without scanning the directory again and again.
+ * <p>
+ * The catalog keeps itself up to date using a {@link WatchService}. If the directory cannot be watched (e.g., because
+ * the operating system limits the number of watched directories), the catalog is a snapshot and is not shared (see
+ * {@link #forDirectory(Path)}).
+ * <p>
+ * All paths stored and returned by the catalog are relative to the cataloged directory, so that callers can resolve
+ * them against the directory in the form they know it.
+ */
+public class FileCatalog implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileCatalog.class);
+
+    private static final Path ROOT = Paths.get("");
+
+    private static final LoadingCache<Path, FileCatalog> CATALOGS = CacheBuilder
+            .newBuilder()
+            .maximumSize(16)
+            .expireAfterAccess(30, TimeUnit.MINUTES)
+            .removalListener((RemovalListener<Path, FileCatalog>) notification -> notification.getValue().close())
+            .build(new CacheLoader<>() {
+                @Override
+                public FileCatalog load(Path directory) {
+                    return new FileCatalog(directory);
+                }
+            });
+
+    private final Path directory;
+
+    // replaced as a whole when the directory is scanned again, so that readers never see a partial catalog
+    private volatile Index index;
+
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> watchedDirectories = new ConcurrentHashMap<>();
+    private volatile boolean isWatched;
+
+    private FileCatalog(Path directory) {
+        this.directory = directory;
+
+        WatchService service = null;
+        try {
+            service = directory.getFileSystem().newWatchService();
+        } catch (IOException | UnsupportedOperationException e) {
+            LOGGER.debug("Cannot watch " + directory, e);
+        }
+        this.watchService = service;
+        this.isWatched = watchService != null;
+
+        index = scan();
+
+        if (isWatched) {
+            Thread watcher = new Thread(this::processEvents, "FileCatalog " + directory);
+            watcher.setDaemon(true);
+            watcher.start();
+        } else {
+            close();
+        }
+    }
+
+    /**
+     * Returns the catalog of the given directory. Catalogs of watched directories are shared and reused as long as
+     * they are needed, otherwise the directory is walked again.
+     *
+     * @param directory an existing directory
+     */
+    public static FileCatalog forDirectory(Path directory) {
+        Path key = directory.toAbsolutePath().normalize();
+        FileCatalog catalog = CATALOGS.getUnchecked(key);
+        if (!catalog.isWatched) {
+            // the catalog is outdated as soon as a file changes, thus it is only used by the current caller
+            CATALOGS.invalidate(key);
+        }
+        return catalog;
+    }
+
+    /**
+     * Returns the files whose name starts with the given prefix. If the catalog knows no such file, the files directly
+     * contained in the cataloged directory are checked, since the catalog may not have processed the creation of a
+     * file yet.
+     */
+    public List<Path> findFilesStartingWith(String prefix) {
+        List<Path> result = new ArrayList<>();
+        for (Map.Entry<String, Set<Path>> filesWithName : index.filesByName.tailMap(prefix).entrySet()) {
+            if (!filesWithName.getKey().startsWith(prefix)) {
+                break;
+            }
+            result.addAll(filesWithName.getValue());
+        }
+        if (result.isEmpty()) {
+            result.addAll(listDirectly(ROOT, file -> file.getFileName().toString().startsWith(prefix)));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the files and subdirectories directly contained in the given directory. Directories unknown to the
+     * catalog are listed directly, since the catalog may not have processed their creation yet.
+     *
+     * @param relativeDirectory the directory relative to the cataloged directory
+     * @return the contents of the directory or an empty optional if the directory does not exist
+     */
+    public Optional<List<Path>> getChildren(Path relativeDirectory) {
+        Path normalizedDirectory = relativeDirectory.normalize();
+        Set<Path> children = index.childrenByDirectory.get(normalizedDirectory);
+        if (children != null) {
+            return Optional.of(new ArrayList<>(children));
+        }
+        if (!Files.isDirectory(directory.resolve(normalizedDirectory))) {
+            return Optional.empty();
+        }
+        return Optional.of(listDirectly(normalizedDirectory, file -> true));
+    }
+
+    /**
+     * Returns the subdirectories directly contained in the given directory.
+     *
+     * @param relativeDirectory the directory relative to the cataloged directory
+     * @return the sorted subdirectories or an empty optional if the directory does not exist
+     */
+    public Optional<List<Path>> getSubdirectories(Path relativeDirectory) {
+        Index currentIndex = index;
+        Set<Path> children = currentIndex.childrenByDirectory.get(relativeDirectory.normalize());
+        if (children != null) {
+            return Optional.of(children.stream()
+                                       .filter(currentIndex.childrenByDirectory::containsKey)
+                                       .sorted()
+                                       .collect(Collectors.toList()));
+        }
+        // listed directly
+        return getChildren(relativeDirectory).map(listedChildren -> listedChildren.stream()
+                                                                                  .filter(child -> Files.isDirectory(directory.resolve(child)))
+                                                                                  .sorted()
+                                                                                  .collect(Collectors.toList()));
+    }
+
+    /**
+     * Lists the accepted files and subdirectories directly contained in the given directory, bypassing the catalog.
+     *
+     * @return the paths relative to the cataloged directory
+     */
+    private List<Path> listDirectly(Path relativeDirectory, Predicate<Path> filter) {
+        List<Path> result = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory.resolve(relativeDirectory))) {
+            for (Path path : stream) {
+                Path child = relativeDirectory.resolve(path.getFileName());
+                if (filter.test(child)) {
+                    result.add(child);
+                }
+            }
+        } catch (IOException | DirectoryIteratorException e) {
+            LOGGER.debug("Could not list " + relativeDirectory, e);
+        }
+        return result;
+    }
+
+    /**
+     * Stops watching the directory. The catalog can still be used, but it is no longer updated.
+     */
+    @Override
+    public void close() {
+        isWatched = false;
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                LOGGER.debug("Could not stop watching " + directory, e);
+            }
+        }
+    }
+
+    private Index scan() {
+        Index newIndex = new Index();
+        newIndex.childrenByDirectory.put(ROOT, ConcurrentHashMap.newKeySet());
+        newIndex.visit(ROOT);
+        ForkJoinPool.commonPool().invoke(new DirectoryScan(newIndex, ROOT));
+        return newIndex;
+    }
+
+    private static Path getParent(Path relativePath) {
+        Path parent = relativePath.getParent();
+        return parent == null ? ROOT : parent;
+    }
+
+    private void register(Path subdirectory) {
+        if (!isWatched) {
+            return;
+        }
+        try {
+            WatchKey key = directory.resolve(subdirectory).register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE);
+            watchedDirectories.put(key, subdirectory);
+        } catch (IOException | ClosedWatchServiceException e) {
+            // a directory which is not watched would not be kept up to date
+            LOGGER.debug("Cannot watch " + subdirectory, e);
+            isWatched = false;
+        }
+    }
+
+    private void processEvents() {
+        try {
+            while (isWatched) {
+                WatchKey key = watchService.take();
+                Path watchedDirectory = watchedDirectories.get(key);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        rescan();
+                        break;
+                    }
+                    if (watchedDirectory == null) {
+                        continue;
+                    }
+
+                    // only this thread changes the catalog after the initial scan
+                    Index currentIndex = index;
+                    Path child = watchedDirectory.resolve((Path) event.context());
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                        if (Files.isDirectory(directory.resolve(child))) {
+                            if (currentIndex.addDirectory(child)) {
+                                ForkJoinPool.commonPool().invoke(new DirectoryScan(currentIndex, child));
+                            }
+                        } else {
+                            currentIndex.addFile(child);
+                        }
+                    } else if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                        currentIndex.remove(child);
+                    }
+                }
+                if (!key.reset()) {
+                    watchedDirectories.remove(key);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // the catalog was closed
+        }
+    }
+
+    /**
+     * Scans the directory again, e.g., because events were lost. The former catalog is used until the new one is
+     * complete.
+     */
+    private void rescan() {
+        watchedDirectories.keySet().forEach(WatchKey::cancel);
+        watchedDirectories.clear();
+        index = scan();
+    }
+
+    /**
+     * The files of the cataloged directory, indexed by their names and by their directories
+     */
+    private class Index {
+
+        // file name -> files with this name
+        private final NavigableMap<String, Set<Path>> filesByName = new ConcurrentSkipListMap<>();
+        // directory -> files and subdirectories directly contained in it
+        private final Map<Path, Set<Path>> childrenByDirectory = new ConcurrentHashMap<>();
+        // real path -> cataloged directory, used to detect cycles caused by links
+        private final Map<Path, Path> directoriesByRealPath = new ConcurrentHashMap<>();
+
+        /**
+         * Marks the given directory as visited.
+         *
+         * @return false if the directory was already visited, e.g., because it is reached by a link
+         */
+        private boolean visit(Path subdirectory) {
+            try {
+                return directoriesByRealPath.putIfAbsent(directory.resolve(subdirectory).toRealPath(), subdirectory) == null;
+            } catch (IOException e) {
+                LOGGER.debug("Could not resolve " + subdirectory, e);
+                return false;
+            }
+        }
+
+        private void addFile(Path file) {
+            filesByName.computeIfAbsent(file.getFileName().toString(), name -> ConcurrentHashMap.newKeySet()).add(file);
+            childrenByDirectory.getOrDefault(getParent(file), Collections.emptySet()).add(file);
+        }
+
+        private boolean addDirectory(Path subdirectory) {
+            if (!visit(subdirectory)) {
+                return false;
+            }
+            childrenByDirectory.putIfAbsent(subdirectory, ConcurrentHashMap.newKeySet());
+            childrenByDirectory.getOrDefault(getParent(subdirectory), Collections.emptySet()).add(subdirectory);
+            return true;
+        }
+
+        private void remove(Path path) {
+            childrenByDirectory.getOrDefault(getParent(path), Collections.emptySet()).remove(path);
+
+            Set<Path> children = childrenByDirectory.remove(path);
+            if (children == null) {
+                // empty sets are kept, so that a concurrently added file with the same name is not lost
+                filesByName.getOrDefault(path.getFileName().toString(), Collections.emptySet()).remove(path);
+            } else {
+                directoriesByRealPath.values().remove(path);
+                for (Path child : children) {
+                    remove(child);
+                }
+            }
+        }
+    }
+
+    /**
+     * Catalogs a directory and, in parallel, its subdirectories.
+     */
+    private class DirectoryScan extends RecursiveAction {
+
+        private final Index index;
+        private final Path subdirectory;
+
+        DirectoryScan(Index index, Path subdirectory) {
+            this.index = index;
+            this.subdirectory = subdirectory;
+        }
+
+        @Override
+        protected void compute() {
+            register(subdirectory);
+
+            List<DirectoryScan> subScans = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory.resolve(subdirectory))) {
+                for (Path path : stream) {
+                    Path child = subdirectory.resolve(path.getFileName());
+                    if (Files.isDirectory(path)) {
+                        if (index.addDirectory(child)) {
+                            subScans.add(new DirectoryScan(index, child));
+                        }
+                    } else {
+                        index.addFile(child);
+                    }
+                }
+            } catch (IOException | DirectoryIteratorException e) {
+                LOGGER.debug("Could not list " + subdirectory, e);
+            }
+            invokeAll(subScans);
+        }
+    }
+}
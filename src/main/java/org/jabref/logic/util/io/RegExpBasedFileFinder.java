@@ -9,8 +9,12 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiPredicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -32,6 +36,8 @@ class RegExpBasedFileFinder implements FileFinder {
     private static final Pattern SQUARE_BRACKETS_PATTERN = Pattern.compile("\\[.*?\\]");
     private final String regExp;
     private final Character keywordDelimiter;
+    // the catalogs used by this finder, so that the files of many entries are found using the same catalog
+    private final Map<Path, FileCatalog> catalogs = new ConcurrentHashMap<>();
 
     /**
      * @param regExp The expression deciding which names are acceptable.
@@ -107,7 +113,8 @@ class RegExpBasedFileFinder implements FileFinder {
     private List<Path> findFile(BibEntry entry, List<Path> dirs, String extensionRegExp) throws IOException {
         List<Path> res = new ArrayList<>();
         for (Path directory : dirs) {
-            res.addAll(findFile(entry, directory, regExp, extensionRegExp));
+            Optional<FileCatalog> catalog = Files.isDirectory(directory) ? Optional.of(catalogs.computeIfAbsent(directory, FileCatalog::forDirectory)) : Optional.empty();
+            res.addAll(findFile(entry, directory, regExp, extensionRegExp, catalog, directory));
         }
         return res;
     }
@@ -115,8 +122,12 @@ class RegExpBasedFileFinder implements FileFinder {
     /**
      * The actual work-horse. Will find absolute filepaths starting from the
      * given directory using the given regular expression string for search.
+     * <p>
+     * The contents of the directories below the cataloged directory are looked up in the catalog instead of the file
+     * system.
      */
-    private List<Path> findFile(final BibEntry entry, final Path directory, final String file, final String extensionRegExp) throws IOException {
+    private List<Path> findFile(final BibEntry entry, final Path directory, final String file, final String extensionRegExp,
+                                final Optional<FileCatalog> catalog, final Path catalogDirectory) throws IOException {
         List<Path> resultFiles = new ArrayList<>();
 
         String fileName = file;
@@ -159,28 +170,18 @@ class RegExpBasedFileFinder implements FileFinder {
                 continue;
             }
             if ("*".equals(dirToProcess)) { // Do for all direct subdirs
-                File[] subDirs = actualDirectory.toFile().listFiles();
-                if (subDirs != null) {
-                    String restOfFileString = StringUtil.join(fileParts, "/", index + 1, fileParts.length);
-                    for (File subDir : subDirs) {
-                        if (subDir.isDirectory()) {
-                            resultFiles.addAll(findFile(entry, subDir.toPath(), restOfFileString, extensionRegExp));
-                        }
-                    }
+                String restOfFileString = StringUtil.join(fileParts, "/", index + 1, fileParts.length);
+                for (Path subDir : getSubdirectories(actualDirectory, catalog, catalogDirectory)) {
+                    resultFiles.addAll(findFile(entry, subDir, restOfFileString, extensionRegExp, catalog, catalogDirectory));
                 }
             }
             // Do for all direct and indirect subdirs
             if ("**".equals(dirToProcess)) {
                 String restOfFileString = StringUtil.join(fileParts, "/", index + 1, fileParts.length);
 
-                final Path rootDirectory = actualDirectory;
-                try (Stream<Path> pathStream = Files.walk(actualDirectory)) {
-                    // We only want to transverse directory (and not the current one; this is already done below)
-                    for (Path path : pathStream.filter(element -> isSubDirectory(rootDirectory, element)).collect(Collectors.toList())) {
-                        resultFiles.addAll(findFile(entry, path, restOfFileString, extensionRegExp));
-                    }
-                } catch (UncheckedIOException ioe) {
-                    throw new IOException(ioe);
+                // We only want to transverse directory (and not the current one; this is already done below)
+                for (Path path : getAllSubdirectories(actualDirectory, catalog, catalogDirectory)) {
+                    resultFiles.addAll(findFile(entry, path, restOfFileString, extensionRegExp, catalog, catalogDirectory));
                 }
             } // End process directory information
         }
@@ -193,7 +194,15 @@ class RegExpBasedFileFinder implements FileFinder {
             final Pattern toMatch = Pattern.compile('^' + filenameToLookFor.replaceAll("\\\\\\\\", "\\\\") + '$',
                     Pattern.CASE_INSENSITIVE);
             BiPredicate<Path, BasicFileAttributes> matcher = (path, attributes) -> toMatch.matcher(path.getFileName().toString()).matches();
-            resultFiles.addAll(collectFilesWithMatcher(actualDirectory, matcher));
+            Optional<List<Path>> catalogedChildren = getCatalogedChildren(actualDirectory, catalog, catalogDirectory);
+            if (catalogedChildren.isPresent()) {
+                // the catalog might not yet know that a file was deleted
+                catalogedChildren.get().stream()
+                                 .filter(path -> toMatch.matcher(path.getFileName().toString()).matches() && Files.exists(path))
+                                 .forEach(resultFiles::add);
+            } else {
+                resultFiles.addAll(collectFilesWithMatcher(actualDirectory, matcher));
+            }
         } catch (UncheckedIOException | PatternSyntaxException e) {
             throw new IOException("Could not look for " + filenameToLookFor, e);
         }
@@ -212,4 +221,68 @@ class RegExpBasedFileFinder implements FileFinder {
     private boolean isSubDirectory(Path rootDirectory, Path path) {
         return !rootDirectory.equals(path) && Files.isDirectory(path);
     }
+
+    /**
+     * Returns the files and subdirectories directly contained in the given directory, as known by the catalog.
+     *
+     * @return the contents or an empty optional if the directory is not cataloged, e.g., because it is a parent of the
+     * cataloged directory
+     */
+    private Optional<List<Path>> getCatalogedChildren(Path directory, Optional<FileCatalog> catalog, Path catalogDirectory) {
+        return getPathInCatalog(directory, catalog, catalogDirectory)
+                .flatMap(path -> catalog.get().getChildren(path))
+                .map(children -> children.stream()
+                                         .map(child -> directory.resolve(child.getFileName()))
+                                         .collect(Collectors.toList()));
+    }
+
+    private List<Path> getSubdirectories(Path directory, Optional<FileCatalog> catalog, Path catalogDirectory) {
+        Optional<List<Path>> subdirectories = getPathInCatalog(directory, catalog, catalogDirectory)
+                .flatMap(path -> catalog.get().getSubdirectories(path))
+                .map(paths -> paths.stream()
+                                   .map(subdirectory -> directory.resolve(subdirectory.getFileName()))
+                                   .collect(Collectors.toList()));
+        if (subdirectories.isPresent()) {
+            return subdirectories.get();
+        }
+
+        File[] subDirs = directory.toFile().listFiles(File::isDirectory);
+        if (subDirs == null) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(subDirs).map(File::toPath).collect(Collectors.toList());
+    }
+
+    private List<Path> getAllSubdirectories(Path directory, Optional<FileCatalog> catalog, Path catalogDirectory) throws IOException {
+        if (getPathInCatalog(directory, catalog, catalogDirectory).isPresent()) {
+            List<Path> result = new ArrayList<>();
+            for (Path subdirectory : getSubdirectories(directory, catalog, catalogDirectory)) {
+                result.add(subdirectory);
+                result.addAll(getAllSubdirectories(subdirectory, catalog, catalogDirectory));
+            }
+            return result;
+        }
+
+        try (Stream<Path> pathStream = Files.walk(directory)) {
+            return pathStream.filter(element -> isSubDirectory(directory, element)).collect(Collectors.toList());
+        } catch (UncheckedIOException ioe) {
+            throw new IOException(ioe);
+        }
+    }
+
+    /**
+     * Returns the given directory relative to the cataloged directory.
+     */
+    private Optional<Path> getPathInCatalog(Path directory, Optional<FileCatalog> catalog, Path catalogDirectory) {
+        if (catalog.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            Path path = catalogDirectory.toAbsolutePath().normalize().relativize(directory.toAbsolutePath().normalize());
+            return path.startsWith("..") ? Optional.empty() : Optional.of(path);
+        } catch (IllegalArgumentException e) {
+            // the directory is on another drive
+            return Optional.empty();
+        }
+    }
 }
@@ -1,20 +1,27 @@
 package org.jabref.logic.xmp;
 
 import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import org.jabref.logic.pdf.PdfContentCache;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.LinkedFile;
 
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDDocumentCatalog;
 import org.apache.pdfbox.pdmodel.PDDocumentInformation;
 import org.apache.pdfbox.pdmodel.common.PDMetadata;
 import org.apache.xmpbox.XMPMetadata;
@@ -25,6 +32,36 @@ public class XmpUtilReader {
     private static final String START_TAG = "<rdf:Description";
     private static final String END_TAG = "</rdf:Description>";
 
+    // documents larger than this are buffered in temporary files, so that importing many PDFs does not exhaust the heap
+    private static final long MAX_MAIN_MEMORY_BYTES = 16 * 1024 * 1024;
+
+    /**
+     * The raw XMP metadata and document information of PDF files, cached independently of the {@link XmpPreferences}
+     * used for the extraction of the entries.
+     */
+    private static final PdfContentCache.Kind<RawMetadata> RAW_METADATA = new PdfContentCache.Kind<>("xmp", 1) {
+        @Override
+        protected void write(DataOutputStream output, RawMetadata value) throws IOException {
+            writeString(output, value.xmp.orElse(null));
+            output.writeInt(value.documentInformation.size());
+            for (Map.Entry<String, String> information : value.documentInformation.entrySet()) {
+                writeString(output, information.getKey());
+                writeString(output, information.getValue());
+            }
+        }
+
+        @Override
+        protected RawMetadata read(DataInputStream input) throws IOException {
+            Optional<String> xmp = Optional.ofNullable(readString(input));
+            int count = input.readInt();
+            Map<String, String> documentInformation = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                documentInformation.put(readString(input), readString(input));
+            }
+            return new RawMetadata(xmp, documentInformation);
+        }
+    };
+
     private XmpUtilReader() {
         //See: https://pdfbox.apache.org/2.0/getting-started.html
         System.setProperty("sun.java2d.cmm", "sun.java2d.cmm.kcms.KcmsServiceProvider"); //To get higher rendering speed on java 8 oder 9 for images
@@ -38,9 +75,7 @@ public class XmpUtilReader {
      * @return The XMPMetadata object found in the file
      */
     public static List<XMPMetadata> readRawXmp(Path path) throws IOException {
-        try (PDDocument document = XmpUtilReader.loadWithAutomaticDecryption(path)) {
-            return XmpUtilReader.getXmpMetadata(document);
-        }
+        return XmpUtilReader.getXmpMetadata(readRawMetadata(path).xmp);
     }
 
     /**
@@ -69,31 +104,31 @@ public class XmpUtilReader {
 
         List<BibEntry> result = new LinkedList<>();
 
-        try (PDDocument document = loadWithAutomaticDecryption(path)) {
-            List<XMPMetadata> xmpMetaList = XmpUtilReader.getXmpMetadata(document);
+        RawMetadata rawMetadata = readRawMetadata(path);
+        List<XMPMetadata> xmpMetaList = XmpUtilReader.getXmpMetadata(rawMetadata.xmp);
 
-            if (!xmpMetaList.isEmpty()) {
-                // Only support Dublin Core since JabRef 4.2
-                for (XMPMetadata xmpMeta : xmpMetaList) {
-                    DublinCoreSchema dcSchema = xmpMeta.getDublinCoreSchema();
+        if (!xmpMetaList.isEmpty()) {
+            // Only support Dublin Core since JabRef 4.2
+            for (XMPMetadata xmpMeta : xmpMetaList) {
+                DublinCoreSchema dcSchema = xmpMeta.getDublinCoreSchema();
 
-                    if (dcSchema != null) {
-                        DublinCoreExtractor dcExtractor = new DublinCoreExtractor(dcSchema, xmpPreferences, new BibEntry());
-                        Optional<BibEntry> entry = dcExtractor.extractBibtexEntry();
+                if (dcSchema != null) {
+                    DublinCoreExtractor dcExtractor = new DublinCoreExtractor(dcSchema, xmpPreferences, new BibEntry());
+                    Optional<BibEntry> entry = dcExtractor.extractBibtexEntry();
 
-                        if (entry.isPresent()) {
-                            result.add(entry.get());
-                        }
+                    if (entry.isPresent()) {
+                        result.add(entry.get());
                     }
                 }
             }
-            if (result.isEmpty()) {
-                // If we did not find any XMP metadata, search for non XMP metadata
-                PDDocumentInformation documentInformation = document.getDocumentInformation();
-                DocumentInformationExtractor diExtractor = new DocumentInformationExtractor(documentInformation);
-                Optional<BibEntry> entry = diExtractor.extractBibtexEntry();
-                entry.ifPresent(result::add);
-            }
+        }
+        if (result.isEmpty()) {
+            // If we did not find any XMP metadata, search for non XMP metadata
+            PDDocumentInformation documentInformation = new PDDocumentInformation();
+            rawMetadata.documentInformation.forEach((key, value) -> documentInformation.getCOSObject().setString(key, value));
+            DocumentInformationExtractor diExtractor = new DocumentInformationExtractor(documentInformation);
+            Optional<BibEntry> entry = diExtractor.extractBibtexEntry();
+            entry.ifPresent(result::add);
         }
 
         result.forEach(entry -> entry.addFile(new LinkedFile("", path.toAbsolutePath().toString(), "PDF")));
@@ -107,18 +142,17 @@ public class XmpUtilReader {
      * <p/>
      *
      *
+     * @param rawXmp the textual metadata of the document
      * @return empty Optional if no metadata has been found
      */
-    private static List<XMPMetadata> getXmpMetadata(PDDocument document) throws IOException {
-        PDDocumentCatalog catalog = document.getDocumentCatalog();
-        PDMetadata metaRaw = catalog.getMetadata();
+    private static List<XMPMetadata> getXmpMetadata(Optional<String> rawXmp) throws IOException {
         List<XMPMetadata> metaList = new ArrayList<>();
 
-        if (metaRaw == null) {
+        if (rawXmp.isEmpty()) {
             return metaList;
         }
 
-        String xmp = metaRaw.getCOSObject().toTextString();
+        String xmp = rawXmp.get();
 
         int startDescriptionSection = xmp.indexOf(START_TAG);
         int endDescriptionSection = xmp.lastIndexOf(END_TAG) + END_TAG.length();
@@ -148,7 +182,40 @@ public class XmpUtilReader {
     public static PDDocument loadWithAutomaticDecryption(Path path) throws IOException {
         // try to load the document
         // also uses an empty string as default password
-        PDDocument doc = PDDocument.load(path.toFile());
+        PDDocument doc = PDDocument.load(path.toFile(), MemoryUsageSetting.setupMixed(MAX_MAIN_MEMORY_BYTES));
         return doc;
     }
+
+    /**
+     * Reads the textual XMP metadata and the textual document information of the given file, using the cached data
+     * if the file did not change.
+     */
+    private static RawMetadata readRawMetadata(Path path) throws IOException {
+        return PdfContentCache.get(path, RAW_METADATA, document -> {
+            PDMetadata metaRaw = document.getDocumentCatalog().getMetadata();
+            Optional<String> xmp = Optional.ofNullable(metaRaw).map(metadata -> metadata.getCOSObject().toTextString());
+
+            Map<String, String> documentInformation = new LinkedHashMap<>();
+            COSDictionary dictionary = document.getDocumentInformation().getCOSObject();
+            for (COSName key : dictionary.keySet()) {
+                String value = dictionary.getString(key);
+                if (value != null) {
+                    documentInformation.put(key.getName(), value);
+                }
+            }
+            return new RawMetadata(xmp, documentInformation);
+        });
+    }
+
+    private static class RawMetadata {
+
+        private final Optional<String> xmp;
+        // the information entries having a text value
+        private final Map<String, String> documentInformation;
+
+        RawMetadata(Optional<String> xmp, Map<String, String> documentInformation) {
+            this.xmp = xmp;
+            this.documentInformation = documentInformation;
+        }
+    }
 }
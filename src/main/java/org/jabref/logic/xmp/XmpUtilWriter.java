@@ -16,6 +16,7 @@ import java.util.stream.Collectors;
 
 import javax.xml.transform.TransformerException;
 
+import org.jabref.logic.pdf.PdfContentCache;
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.field.Field;
@@ -331,6 +332,9 @@ public class XmpUtilWriter {
             } catch (IOException e) {
                 LOGGER.debug("Could not write XMP metadata", e);
                 throw new TransformerException("Could not write XMP metadata: " + e.getLocalizedMessage(), e);
+            } finally {
+                // the size and the modification time of the file may stay the same
+                PdfContentCache.invalidate(path);
             }
         }
     }
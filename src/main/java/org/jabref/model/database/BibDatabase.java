@@ -7,7 +7,9 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -15,9 +17,12 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import javafx.beans.Observable;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
@@ -32,10 +37,10 @@ import org.jabref.model.entry.event.FieldChangedEvent;
 import org.jabref.model.entry.field.Field;
 import org.jabref.model.entry.field.FieldFactory;
 import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.search.FullTextIndex;
 import org.jabref.model.strings.StringUtil;
 
 import com.google.common.eventbus.EventBus;
-import com.google.common.eventbus.Subscribe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,7 +55,7 @@ public class BibDatabase {
     /**
      * State attributes
      */
-    private final ObservableList<BibEntry> entries = FXCollections.synchronizedObservableList(FXCollections.observableArrayList(BibEntry::getObservables));
+    private final ObservableList<BibEntry> entries = FXCollections.synchronizedObservableList(FXCollections.observableArrayList(entry -> new Observable[] {entry.getChangeObservable()}));
     private Map<String, BibtexString> bibtexStrings = new ConcurrentHashMap<>();
 
     /**
@@ -58,12 +63,29 @@ public class BibDatabase {
      */
     private final DuplicationChecker duplicationChecker = new DuplicationChecker();
 
+    /**
+     * this is kept in sync with the database as well and answers the key and id lookups
+     */
+    private final BibEntryIndex entryIndex = new BibEntryIndex();
+
+    /**
+     * created on first use, as indexing the field contents is expensive
+     */
+    private volatile FullTextIndex fullTextIndex;
+
+    /**
+     * data derived from the entries outside of the model, e.g., the group membership index, by its class
+     */
+    private final Map<Class<?>, Object> derivedData = new HashMap<>();
+
     /**
      * contains all entry.getID() of the current database
      */
     private final Set<String> internalIDs = new HashSet<>();
 
     private final EventBus eventBus = new EventBus();
+    // registered at the entries instead of the database itself, so that the entries need no event bus
+    private final Consumer<FieldChangedEvent> entryChangeRelay = this::relayEntryChangeEvent;
 
     private String preamble;
 
@@ -149,14 +171,10 @@ public class BibDatabase {
 
     /**
      * Returns the entry with the given bibtex key.
+     * If there are multiple entries with that key, the first one in the database is returned.
      */
-    public synchronized Optional<BibEntry> getEntryByKey(String key) {
-        for (BibEntry entry : entries) {
-            if (key.equals(entry.getCiteKeyOptional().orElse(null))) {
-                return Optional.of(entry);
-            }
-        }
-        return Optional.empty();
+    public Optional<BibEntry> getEntryByKey(String key) {
+        return getEntriesByKey(key).stream().findFirst();
     }
 
     /**
@@ -166,16 +184,29 @@ public class BibDatabase {
      * @param key
      * @return list of entries that contains the given key
      */
-    public synchronized List<BibEntry> getEntriesByKey(String key) {
-        List<BibEntry> result = new ArrayList<>();
+    public List<BibEntry> getEntriesByKey(String key) {
+        List<BibEntry> result = entryIndex.getEntriesByKey(key);
+        if (result.size() > 1) {
+            // duplicate keys are rare, thus determining the database order is affordable
+            result = sortInDatabaseOrder(result);
+        }
+        return result;
+    }
 
-        for (BibEntry entry : entries) {
-            entry.getCiteKeyOptional().ifPresent(entryKey -> {
-                if (key.equals(entryKey)) {
-                    result.add(entry);
-                }
-            });
+    /**
+     * Entries which are currently being inserted (see {@link EntriesAddedEvent}) are not yet part of the list and
+     * are placed at the end.
+     */
+    private synchronized List<BibEntry> sortInDatabaseOrder(List<BibEntry> entriesToSort) {
+        // BibEntry#equals compares the content, thus we have to search for the identical objects
+        Map<BibEntry, Integer> positions = new IdentityHashMap<>();
+        entriesToSort.forEach(entry -> positions.put(entry, Integer.MAX_VALUE));
+        for (int i = 0; i < entries.size(); i++) {
+            positions.replace(entries.get(i), i);
         }
+
+        List<BibEntry> result = new ArrayList<>(entriesToSort);
+        result.sort(Comparator.comparingInt(positions::get));
         return result;
     }
 
@@ -185,8 +216,49 @@ public class BibDatabase {
      * @param id
      * @return The entry that has the given id
      */
-    public synchronized Optional<BibEntry> getEntryById(String id) {
-        return entries.stream().filter(entry -> entry.getId().equals(id)).findFirst();
+    public Optional<BibEntry> getEntryById(String id) {
+        return entryIndex.getEntryById(id);
+    }
+
+    /**
+     * Finds the entry with the specified shared ID (see {@link org.jabref.model.entry.SharedBibEntryData}).
+     *
+     * @param sharedId the id assigned by the shared database
+     * @return The entry that has the given shared id
+     */
+    public Optional<BibEntry> getEntryBySharedId(int sharedId) {
+        return entryIndex.getEntryBySharedId(sharedId);
+    }
+
+    /**
+     * Returns the full text index of the entries of this database. The index is built on the first call and kept in
+     * sync with the database afterwards.
+     */
+    public synchronized FullTextIndex getFullTextIndex() {
+        if (fullTextIndex == null) {
+            fullTextIndex = new FullTextIndex();
+            fullTextIndex.addEntries(entries);
+            eventBus.register(fullTextIndex);
+        }
+        return fullTextIndex;
+    }
+
+    /**
+     * Returns the data of the given class derived from the entries of this database, e.g., an index kept in sync by
+     * listening to this database. The data is created on the first call, no entries are added or removed meanwhile.
+     * <p>
+     * The data lives as long as this database. Thus, unlike data stored in a map keyed by the database, it may
+     * reference the entries without keeping the database from being garbage collected.
+     *
+     * @param factory creates the data for this database
+     */
+    public synchronized <T> T getDerivedData(Class<T> dataClass, Function<BibDatabase, T> factory) {
+        Object data = derivedData.get(dataClass);
+        if (data == null) {
+            data = Objects.requireNonNull(factory.apply(this));
+            derivedData.put(dataClass, data);
+        }
+        return dataClass.cast(data);
     }
 
     /**
@@ -231,7 +303,7 @@ public class BibDatabase {
             }
 
             internalIDs.add(id);
-            entry.registerListener(this);
+            entry.addChangeListener(entryChangeRelay);
         }
         if (newEntries.isEmpty()) {
             eventBus.post(new EntriesAddedEvent(newEntries, eventSource));
@@ -239,6 +311,7 @@ public class BibDatabase {
             eventBus.post(new EntriesAddedEvent(newEntries, newEntries.get(0), eventSource));
         }
         entries.addAll(newEntries);
+        entryIndex.addEntries(newEntries);
     }
 
     public synchronized void removeEntry(BibEntry bibEntry) {
@@ -272,13 +345,26 @@ public class BibDatabase {
         for (BibEntry entry : toBeDeleted) {
             ids.add(entry.getId());
         }
-        boolean anyRemoved = entries.removeIf(entry -> ids.contains(entry.getId()));
+        List<BibEntry> removedEntries = new ArrayList<>();
+        boolean anyRemoved = entries.removeIf(entry -> ids.contains(entry.getId()) && removedEntries.add(entry));
+        detachEntries(removedEntries);
+        entryIndex.removeEntries(removedEntries);
         if (anyRemoved) {
             internalIDs.removeAll(ids);
             eventBus.post(new EntriesRemovedEvent(toBeDeleted, eventSource));
         }
     }
 
+    /**
+     * Stops relaying the changes of the given entries to the listeners of this database, e.g., because they were removed
+     * or moved to another database.
+     */
+    public synchronized void detachEntries(Collection<BibEntry> detachedEntries) {
+        for (BibEntry entry : detachedEntries) {
+            entry.removeChangeListener(entryChangeRelay);
+        }
+    }
+
     /**
      * Returns the database's preamble.
      * If the preamble text consists only of whitespace, then also an empty optional is returned.
@@ -605,8 +691,14 @@ public class BibDatabase {
         }
     }
 
-    @Subscribe
     private void relayEntryChangeEvent(FieldChangedEvent event) {
+        // Updated directly, since the event bus delays events posted while it dispatches another event. Thus, the
+        // observers of the entries see the updated index, e.g., when filtering by the active search.
+        FullTextIndex index = fullTextIndex;
+        if (index != null) {
+            index.updateField(event.getBibEntry(), event.getField());
+        }
+        entryIndex.updateField(event);
         eventBus.post(event);
     }
 
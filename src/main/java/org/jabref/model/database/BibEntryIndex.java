@@ -0,0 +1,145 @@
+package org.jabref.model.database;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.IntConsumer;
+
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.event.FieldChangedEvent;
+import org.jabref.model.entry.field.InternalField;
+
+/**
+ * Secondary index over the entries of a single {@link BibDatabase}. It maps cite keys, internal ids and shared ids
+ * to entries, so that lookups do not have to scan the whole entry list.
+ * <p>
+ * The database updates the index after it changed its entry list (and thus under its monitor), whereas reads are
+ * lock-free and may happen concurrently. The shared ids are assigned by the shared database without involving the
+ * database, thus the index listens to them at the entries.
+ */
+public class BibEntryIndex {
+
+    private static final int NO_SHARED_ID = -1;
+
+    private final Map<String, BibEntry> entriesById = new ConcurrentHashMap<>();
+    private final Map<String, List<BibEntry>> entriesByKey = new ConcurrentHashMap<>();
+    private final Map<Integer, BibEntry> entriesBySharedId = new ConcurrentHashMap<>();
+
+    // guarded by this, the listeners are needed to unregister them from removed entries
+    private final Map<BibEntry, IntConsumer> sharedIdListeners = new IdentityHashMap<>();
+
+    public Optional<BibEntry> getEntryById(String id) {
+        return Optional.ofNullable(entriesById.get(id));
+    }
+
+    /**
+     * Returns all indexed entries having the given cite key. The returned list is a snapshot and is not updated
+     * afterwards.
+     */
+    public List<BibEntry> getEntriesByKey(String key) {
+        List<BibEntry> entries = entriesByKey.get(key);
+        if (entries == null) {
+            return Collections.emptyList();
+        }
+        return List.copyOf(entries);
+    }
+
+    public Optional<BibEntry> getEntryBySharedId(int sharedId) {
+        BibEntry entry = entriesBySharedId.get(sharedId);
+        if ((entry != null) && (entry.getSharedBibEntryData().getSharedID() == sharedId) && isIndexed(entry)) {
+            return Optional.of(entry);
+        }
+        return Optional.empty();
+    }
+
+    private boolean isIndexed(BibEntry entry) {
+        return entriesById.get(entry.getId()) == entry;
+    }
+
+    synchronized void addEntries(List<BibEntry> entries) {
+        entries.forEach(this::add);
+    }
+
+    synchronized void removeEntries(List<BibEntry> entries) {
+        entries.forEach(this::remove);
+    }
+
+    private void add(BibEntry entry) {
+        entriesById.put(entry.getId(), entry);
+        entry.getCiteKeyOptional().ifPresent(key -> addKey(key, entry));
+
+        IntConsumer sharedIdListener = oldSharedId -> updateSharedId(entry, oldSharedId);
+        sharedIdListeners.put(entry, sharedIdListener);
+        entry.getSharedBibEntryData().addSharedIDListener(sharedIdListener);
+        int sharedId = entry.getSharedBibEntryData().getSharedID();
+        if (sharedId != NO_SHARED_ID) {
+            entriesBySharedId.put(sharedId, entry);
+        }
+    }
+
+    /**
+     * Removes the entry with the same id as the given one. Similar to {@link BibDatabase#removeEntries(List)}, the
+     * entries are matched by their id and not by {@link BibEntry#equals(Object)}.
+     */
+    private void remove(BibEntry entry) {
+        BibEntry indexedEntry = entriesById.remove(entry.getId());
+        if (indexedEntry == null) {
+            return;
+        }
+        indexedEntry.getCiteKeyOptional().ifPresent(key -> removeKey(key, indexedEntry));
+
+        IntConsumer sharedIdListener = sharedIdListeners.remove(indexedEntry);
+        if (sharedIdListener != null) {
+            indexedEntry.getSharedBibEntryData().removeSharedIDListener(sharedIdListener);
+        }
+        entriesBySharedId.remove(indexedEntry.getSharedBibEntryData().getSharedID(), indexedEntry);
+    }
+
+    private synchronized void updateSharedId(BibEntry entry, int oldSharedId) {
+        if (!isIndexed(entry)) {
+            return;
+        }
+        entriesBySharedId.remove(oldSharedId, entry);
+        int sharedId = entry.getSharedBibEntryData().getSharedID();
+        if (sharedId != NO_SHARED_ID) {
+            entriesBySharedId.put(sharedId, entry);
+        }
+    }
+
+    private void addKey(String key, BibEntry entry) {
+        entriesByKey.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(entry);
+    }
+
+    private void removeKey(String key, BibEntry entry) {
+        entriesByKey.computeIfPresent(key, (k, entries) -> {
+            entries.removeIf(candidate -> candidate == entry);
+            return entries.isEmpty() ? null : entries;
+        });
+    }
+
+    synchronized void updateField(FieldChangedEvent event) {
+        BibEntry entry = event.getBibEntry();
+        if (Objects.equals(event.getOldValue(), event.getNewValue())) {
+            return;
+        }
+
+        if (InternalField.KEY_FIELD.equals(event.getField()) && isIndexed(entry)) {
+            if (event.getOldValue() != null) {
+                removeKey(event.getOldValue(), entry);
+            }
+            if (event.getNewValue() != null) {
+                addKey(event.getNewValue(), entry);
+            }
+        } else if (InternalField.INTERNAL_ID_FIELD.equals(event.getField())
+                && (event.getOldValue() != null) && (entriesById.get(event.getOldValue()) == entry)) {
+            // the event is posted before the new id is set
+            entriesById.remove(event.getOldValue());
+            entriesById.put(event.getNewValue(), entry);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.WeakHashMap;
 import java.util.stream.Collectors;
@@ -120,7 +121,8 @@ import java.util.stream.Collectors;
  */
 public class AuthorList {
 
-    private static final WeakHashMap<String, AuthorList> AUTHOR_CACHE = new WeakHashMap<>();
+    // synchronized, as authors are parsed on several threads at once, e.g., by the duplicate finder
+    private static final Map<String, AuthorList> AUTHOR_CACHE = Collections.synchronizedMap(new WeakHashMap<>());
     // Avoid partition where these values are contained
     private final static Collection<String> AVOID_TERMS_IN_LOWER_CASE = Arrays.asList("jr", "sr", "jnr", "snr", "von", "zu", "van", "der");
     private final List<Author> authors;
@@ -211,6 +213,7 @@ public class AuthorList {
 
         AuthorList authorList = AUTHOR_CACHE.get(authors);
         if (authorList == null) {
+            // parsed outside of the lock; a string parsed by two threads at once is cached by the one finishing last
             AuthorListParser parser = new AuthorListParser();
             authorList = parser.parse(authors);
             AUTHOR_CACHE.put(authors, authorList);
@@ -3,7 +3,6 @@ package org.jabref.model.entry;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -11,8 +10,10 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Pattern;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 
+import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
 import javafx.beans.binding.Bindings;
 import javafx.beans.binding.ObjectBinding;
@@ -36,9 +37,12 @@ import org.jabref.model.entry.types.IEEETranEntryType;
 import org.jabref.model.entry.types.StandardEntryType;
 import org.jabref.model.strings.LatexToUnicodeAdapter;
 import org.jabref.model.strings.StringUtil;
+import org.jabref.model.strings.TextSpan;
 import org.jabref.model.util.MultiKeyMap;
 
 import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.eventbus.EventBus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,31 +56,58 @@ public class BibEntry implements Cloneable {
 
     public static final EntryType DEFAULT_TYPE = StandardEntryType.Misc;
     private static final Logger LOGGER = LoggerFactory.getLogger(BibEntry.class);
-    private static final Pattern REMOVE_TRAILING_WHITESPACE = Pattern.compile("\\s+$");
+
+    /**
+     * The number of entries whose derived field values (see {@link FieldCache}) are cached
+     */
+    private static final int MAX_CACHED_ENTRIES = 100_000;
+
+    /**
+     * Caches the derived field values of the entries. The cache is shared by all entries and bounded, as the values
+     * can be computed again. Weak keys compare the entries by identity and drop the values of unused entries.
+     */
+    private static final Cache<BibEntry, FieldCache> FIELD_CACHES = CacheBuilder.newBuilder()
+                                                                               .weakKeys()
+                                                                               .maximumSize(MAX_CACHED_ENTRIES)
+                                                                               .build();
+
     private final SharedBibEntryData sharedBibEntryData;
 
     /**
-     * Map to store the words in every field
+     * Notifies the listeners of the entry. Created as soon as the first listener is registered.
      */
-    private final Map<Field, Set<String>> fieldsAsWords = new HashMap<>();
+    private volatile EventBus eventBus;
+    /**
+     * Notified of the changes of the fields without an event bus, e.g., the databases containing the entry. Replaced on
+     * each registration, as changes are far more frequent than registrations.
+     */
+    private volatile List<Consumer<FieldChangedEvent>> changeListeners = Collections.emptyList();
+    private String id;
+    private volatile EntryType type = DEFAULT_TYPE;
 
     /**
-     * Cache that stores latex free versions of fields.
+     * Property of the type. Created as soon as a UI binds to the type.
      */
-    private final Map<Field, String> latexFreeFields = new ConcurrentHashMap<>();
+    private ObjectProperty<EntryType> typeProperty;
+
+    private CompactFieldMap fields = new CompactFieldMap();
 
     /**
-     * Cache that stores the field as keyword lists (format <Field, Separator, Keyword list>)
+     * Observable view of the fields. Created as soon as a UI binds to the fields, afterwards all changes go through it.
      */
-    private MultiKeyMap<Field, Character, KeywordList> fieldsAsKeywords = new MultiKeyMap<>();
+    private volatile ObservableMap<Field, String> observableFields;
 
-    private final EventBus eventBus = new EventBus();
-    private String id;
-    private final ObjectProperty<EntryType> type = new SimpleObjectProperty<>(DEFAULT_TYPE);
+    /**
+     * Notifies the observable lists containing the entry of its changes. Created as soon as the entry is added to such a
+     * list, see {@link #getChangeObservable()}.
+     */
+    private volatile ChangeObservable changeObservable;
 
-    private ObservableMap<Field, String> fields = FXCollections.observableMap(new ConcurrentHashMap<>());
-    private String parsedSerialization = "";
-    private String commentsBeforeEntry = "";
+    /**
+     * The text of the entry read from file, usually a span of the file content shared by all entries of the file
+     */
+    private TextSpan parsedSerialization = TextSpan.EMPTY;
+    private TextSpan commentsBeforeEntry = TextSpan.EMPTY;
 
     /**
      * Marks whether the complete serialization, which was read from file, should be used.
@@ -247,7 +278,7 @@ public class BibEntry implements Cloneable {
      */
     public Optional<String> getResolvedFieldOrAlias(Field field, BibDatabase database) {
         if (InternalField.TYPE_HEADER.equals(field) || InternalField.OBSOLETE_TYPE_HEADER.equals(field)) {
-            return Optional.of(type.get().getDisplayName());
+            return Optional.of(type.getDisplayName());
         }
 
         if (InternalField.KEY_FIELD.equals(field)) {
@@ -260,8 +291,8 @@ public class BibEntry implements Cloneable {
         if (result.isEmpty() && (database != null)) {
             Optional<BibEntry> referred = database.getReferencedEntry(this);
             if (referred.isPresent()) {
-                EntryType sourceEntry = referred.get().type.get();
-                EntryType targetEntry = type.get();
+                EntryType sourceEntry = referred.get().type;
+                EntryType targetEntry = type;
                 Optional<Field> sourceField = getSourceField(field, targetEntry, sourceEntry);
 
                 if (sourceField.isPresent()) {
@@ -291,7 +322,7 @@ public class BibEntry implements Cloneable {
 
         String oldId = this.id;
 
-        eventBus.post(new FieldChangedEvent(this, InternalField.INTERNAL_ID_FIELD, id, oldId));
+        postEvent(new FieldChangedEvent(this, InternalField.INTERNAL_ID_FIELD, id, oldId));
         this.id = id;
         changed = true;
     }
@@ -333,11 +364,15 @@ public class BibEntry implements Cloneable {
      * Returns this entry's type.
      */
     public EntryType getType() {
-        return type.getValue();
+        return type;
     }
 
-    public ObjectProperty<EntryType> typeProperty() {
-        return type;
+    public synchronized ObjectProperty<EntryType> typeProperty() {
+        if (typeProperty == null) {
+            typeProperty = new SimpleObjectProperty<>(type);
+            typeProperty.addListener((observable, oldType, newType) -> type = newType);
+        }
+        return typeProperty;
     }
 
     /**
@@ -353,16 +388,21 @@ public class BibEntry implements Cloneable {
     public Optional<FieldChange> setType(EntryType newType, EntriesEventSource eventSource) {
         Objects.requireNonNull(newType);
 
-        EntryType oldType = type.get();
+        EntryType oldType = type;
         if (newType.equals(oldType)) {
             return Optional.empty();
         }
 
-        this.type.setValue(newType);
+        this.type = newType;
+        synchronized (this) {
+            if (typeProperty != null) {
+                typeProperty.setValue(newType);
+            }
+        }
         changed = true;
 
         FieldChange change = new FieldChange(this, InternalField.TYPE_HEADER, oldType.getName(), newType.getName());
-        eventBus.post(new FieldChangedEvent(change, eventSource));
+        postEvent(new FieldChangedEvent(change, eventSource));
         return Optional.of(change);
     }
 
@@ -527,14 +567,14 @@ public class BibEntry implements Cloneable {
 
         changed = true;
 
-        fields.put(field, value.intern());
+        getFieldMap().put(field, value.intern());
         invalidateFieldCache(field);
 
         FieldChange change = new FieldChange(this, field, oldValue, value);
         if (isNewField) {
-            eventBus.post(new FieldAddedOrRemovedEvent(change, eventSource));
+            postEvent(new FieldAddedOrRemovedEvent(change, eventSource));
         } else {
-            eventBus.post(new FieldChangedEvent(change, eventSource));
+            postEvent(new FieldChangedEvent(change, eventSource));
         }
         return Optional.of(change);
     }
@@ -574,11 +614,11 @@ public class BibEntry implements Cloneable {
 
         changed = true;
 
-        fields.remove(field);
+        getFieldMap().remove(field);
         invalidateFieldCache(field);
 
         FieldChange change = new FieldChange(this, field, oldValue.get(), null);
-        eventBus.post(new FieldAddedOrRemovedEvent(change, eventSource));
+        postEvent(new FieldAddedOrRemovedEvent(change, eventSource));
         return Optional.of(change);
     }
 
@@ -602,8 +642,8 @@ public class BibEntry implements Cloneable {
      */
     @Override
     public Object clone() {
-        BibEntry clone = new BibEntry(IdGenerator.next(), type.getValue());
-        clone.fields = FXCollections.observableMap(new ConcurrentHashMap<>(fields));
+        BibEntry clone = new BibEntry(IdGenerator.next(), type);
+        clone.fields = new CompactFieldMap(fields);
         return clone;
     }
 
@@ -654,17 +694,32 @@ public class BibEntry implements Cloneable {
     }
 
     public String getParsedSerialization() {
+        return parsedSerialization.toString();
+    }
+
+    /**
+     * Returns the text of the entry read from file without copying it, e.g., to write it unchanged.
+     */
+    public TextSpan getParsedSerializationSpan() {
         return parsedSerialization;
     }
 
     public void setParsedSerialization(String parsedSerialization) {
+        setParsedSerialization(TextSpan.of(parsedSerialization));
+    }
+
+    public void setParsedSerialization(TextSpan parsedSerialization) {
         changed = false;
-        this.parsedSerialization = parsedSerialization;
+        this.parsedSerialization = Objects.requireNonNull(parsedSerialization);
     }
 
     public void setCommentsBeforeEntry(String parsedComments) {
+        setCommentsBeforeEntry(TextSpan.of(parsedComments));
+    }
+
+    public void setCommentsBeforeEntry(TextSpan parsedComments) {
         // delete trailing whitespaces (between entry and text)
-        this.commentsBeforeEntry = REMOVE_TRAILING_WHITESPACE.matcher(parsedComments).replaceFirst("");
+        this.commentsBeforeEntry = parsedComments.stripTrailingWhitespace();
     }
 
     public boolean hasChanged() {
@@ -757,7 +812,9 @@ public class BibEntry implements Cloneable {
     }
 
     public Map<Field, String> getFieldMap() {
-        return fields;
+        ObservableMap<Field, String> observable = observableFields;
+        // Once a UI observes the fields, changes have to notify it
+        return observable == null ? fields : observable;
     }
 
     public SharedBibEntryData getSharedBibEntryData() {
@@ -773,23 +830,53 @@ public class BibEntry implements Cloneable {
             return false;
         }
         BibEntry entry = (BibEntry) o;
-        return Objects.equals(type.getValue(), entry.type.getValue())
+        return Objects.equals(type, entry.type)
                 && Objects.equals(fields, entry.fields)
                 && Objects.equals(commentsBeforeEntry, entry.commentsBeforeEntry);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(type.getValue(), fields);
+        return Objects.hash(type, fields);
     }
 
     public void registerListener(Object object) {
+        synchronized (this) {
+            if (eventBus == null) {
+                eventBus = new EventBus();
+            }
+        }
         this.eventBus.register(object);
     }
 
+    /**
+     * Registers a listener which is called on each change of a field, as {@link #registerListener(Object)} does for
+     * {@link FieldChangedEvent}s. Unlike the latter, no event bus is created for the entry, thus containers of many
+     * entries should use this method. Registering a listener again has no effect.
+     */
+    public synchronized void addChangeListener(Consumer<FieldChangedEvent> listener) {
+        Objects.requireNonNull(listener);
+        if (!changeListeners.contains(listener)) {
+            List<Consumer<FieldChangedEvent>> listeners = new ArrayList<>(changeListeners);
+            listeners.add(listener);
+            changeListeners = List.copyOf(listeners);
+        }
+    }
+
+    public synchronized void removeChangeListener(Consumer<FieldChangedEvent> listener) {
+        List<Consumer<FieldChangedEvent>> listeners = new ArrayList<>(changeListeners);
+        if (listeners.remove(listener)) {
+            changeListeners = List.copyOf(listeners);
+        }
+    }
+
     public void unregisterListener(Object object) {
+        EventBus eventBus = this.eventBus;
+        if (eventBus == null) {
+            return;
+        }
         try {
-            this.eventBus.unregister(object);
+            eventBus.unregister(object);
         } catch (IllegalArgumentException e) {
             // occurs if the event source has not been registered, should not prevent shutdown
             LOGGER.debug("Problem unregistering", e);
@@ -806,7 +893,7 @@ public class BibEntry implements Cloneable {
     * Returns user comments (arbitrary text before the entry), if they exist. If not, returns the empty String
      */
     public String getUserComments() {
-        return commentsBeforeEntry;
+        return commentsBeforeEntry.toString();
     }
 
     public List<ParsedEntryLink> getEntryLinkList(Field field, BibDatabase database) {
@@ -818,7 +905,23 @@ public class BibEntry implements Cloneable {
         return setField(field, EntryLinkList.serialize(list));
     }
 
+    private void postEvent(FieldChangedEvent event) {
+        EventBus eventBus = this.eventBus;
+        if (eventBus != null) {
+            eventBus.post(event);
+        }
+        for (Consumer<FieldChangedEvent> listener : changeListeners) {
+            listener.accept(event);
+        }
+        // after the listeners, so that the observers see the data derived by them, e.g., the full text index
+        ChangeObservable changeObservable = this.changeObservable;
+        if (changeObservable != null) {
+            changeObservable.invalidate();
+        }
+    }
+
     public Set<String> getFieldAsWords(Field field) {
+        Map<Field, Set<String>> fieldsAsWords = getFieldCache().fieldsAsWords;
         Set<String> storedList = fieldsAsWords.get(field);
         if (storedList != null) {
             return storedList;
@@ -835,6 +938,7 @@ public class BibEntry implements Cloneable {
     }
 
     public KeywordList getFieldAsKeywords(Field field, Character keywordSeparator) {
+        MultiKeyMap<Field, Character, KeywordList> fieldsAsKeywords = getFieldCache().fieldsAsKeywords;
         Optional<KeywordList> storedList = fieldsAsKeywords.get(field, keywordSeparator);
         if (storedList.isPresent()) {
             return storedList.get();
@@ -851,10 +955,22 @@ public class BibEntry implements Cloneable {
         return clearField(InternalField.KEY_FIELD);
     }
 
+    private FieldCache getFieldCache() {
+        try {
+            return FIELD_CACHES.get(this, FieldCache::new);
+        } catch (ExecutionException e) {
+            // creating an empty cache does not fail
+            throw new IllegalStateException(e);
+        }
+    }
+
     private void invalidateFieldCache(Field field) {
-        latexFreeFields.remove(field);
-        fieldsAsWords.remove(field);
-        fieldsAsKeywords.remove(field);
+        FieldCache fieldCache = FIELD_CACHES.getIfPresent(this);
+        if (fieldCache != null) {
+            fieldCache.latexFreeFields.remove(field);
+            fieldCache.fieldsAsWords.remove(field);
+            fieldCache.fieldsAsKeywords.remove(field);
+        }
     }
 
     public Optional<String> getLatexFreeField(Field field) {
@@ -862,8 +978,11 @@ public class BibEntry implements Cloneable {
             // the key field should not be converted
             return getCiteKeyOptional();
         } else if (InternalField.TYPE_HEADER.equals(field)) {
-            return Optional.of(type.get().getDisplayName());
-        } else if (latexFreeFields.containsKey(field)) {
+            return Optional.of(type.getDisplayName());
+        }
+
+        Map<Field, String> latexFreeFields = getFieldCache().latexFreeFields;
+        if (latexFreeFields.containsKey(field)) {
             return Optional.ofNullable(latexFreeFields.get(field));
         } else {
             Optional<String> fieldValue = getField(field);
@@ -916,7 +1035,7 @@ public class BibEntry implements Cloneable {
 
     public ObjectBinding<String> getFieldBinding(Field field) {
         //noinspection unchecked
-        return Bindings.valueAt(fields, field);
+        return Bindings.valueAt(getFieldsObservable(), field);
     }
 
     public ObjectBinding<String> getCiteKeyBinding() {
@@ -930,18 +1049,83 @@ public class BibEntry implements Cloneable {
     }
 
     public ObservableMap<Field, String> getFieldsObservable() {
-        return fields;
+        synchronized (this) {
+            if (observableFields == null) {
+                observableFields = FXCollections.observableMap(fields);
+            }
+        }
+        return observableFields;
     }
 
     /**
      * Returns a list of observables that represent the data of the entry.
      */
     public Observable[] getObservables() {
-        return new Observable[] {fields};
+        return new Observable[] {getFieldsObservable()};
+    }
+
+    /**
+     * Returns an observable which is invalidated after each change of the type or of a field, once the listeners of the
+     * change are notified. Unlike {@link #getObservables()}, it does not create the observable view of the fields, thus
+     * it is meant to be used by observable lists of many entries.
+     */
+    public Observable getChangeObservable() {
+        synchronized (this) {
+            if (changeObservable == null) {
+                changeObservable = new ChangeObservable();
+            }
+        }
+        return changeObservable;
+    }
+
+    private static class ChangeObservable implements Observable {
+
+        private volatile List<InvalidationListener> listeners = Collections.emptyList();
+
+        @Override
+        public synchronized void addListener(InvalidationListener listener) {
+            List<InvalidationListener> newListeners = new ArrayList<>(listeners);
+            newListeners.add(Objects.requireNonNull(listener));
+            listeners = newListeners;
+        }
+
+        @Override
+        public synchronized void removeListener(InvalidationListener listener) {
+            List<InvalidationListener> newListeners = new ArrayList<>(listeners);
+            newListeners.remove(listener);
+            listeners = newListeners;
+        }
+
+        private void invalidate() {
+            for (InvalidationListener listener : listeners) {
+                listener.invalidated(this);
+            }
+        }
     }
 
     private interface GetFieldInterface {
         Optional<String> getValueForField(Field field);
     }
 
+    /**
+     * Values derived from the fields of an entry, computed on first use
+     */
+    private static class FieldCache {
+
+        /**
+         * The words in every field
+         */
+        private final Map<Field, Set<String>> fieldsAsWords = new ConcurrentHashMap<>();
+
+        /**
+         * The latex free versions of the fields
+         */
+        private final Map<Field, String> latexFreeFields = new ConcurrentHashMap<>();
+
+        /**
+         * The fields as keyword lists (format <Field, Separator, Keyword list>)
+         */
+        private final MultiKeyMap<Field, Character, KeywordList> fieldsAsKeywords = new MultiKeyMap<>();
+    }
+
 }
@@ -0,0 +1,189 @@
+package org.jabref.model.entry;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import org.jabref.model.entry.field.Field;
+
+/**
+ * The fields of a {@link BibEntry}, stored in one flat array of alternating fields and values.
+ * <p>
+ * An entry has few fields, thus searching the array is as fast as hashing, while the array takes a fraction of the
+ * memory of a hash map. Each change copies the array. Hence, the fields are read and iterated without locking while
+ * another thread changes them, and iterators never throw a {@link java.util.ConcurrentModificationException}.
+ * As with a {@link java.util.concurrent.ConcurrentHashMap}, neither fields nor values may be null.
+ */
+final class CompactFieldMap extends AbstractMap<Field, String> {
+
+    private static final Object[] EMPTY = new Object[0];
+
+    private volatile Object[] fieldsAndValues = EMPTY;
+
+    CompactFieldMap() {
+    }
+
+    CompactFieldMap(Map<Field, String> fields) {
+        putAll(fields);
+    }
+
+    private static int indexOf(Object[] fieldsAndValues, Object field) {
+        // Fields are mostly enum constants, so first look for the same instance
+        for (int i = 0; i < fieldsAndValues.length; i += 2) {
+            if (fieldsAndValues[i] == field) {
+                return i;
+            }
+        }
+        for (int i = 0; i < fieldsAndValues.length; i += 2) {
+            if (fieldsAndValues[i].equals(field)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return fieldsAndValues.length / 2;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return fieldsAndValues.length == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object field) {
+        return (field != null) && (indexOf(fieldsAndValues, field) >= 0);
+    }
+
+    @Override
+    public String get(Object field) {
+        if (field == null) {
+            return null;
+        }
+        Object[] current = fieldsAndValues;
+        int index = indexOf(current, field);
+        return index < 0 ? null : (String) current[index + 1];
+    }
+
+    @Override
+    public synchronized String put(Field field, String value) {
+        Objects.requireNonNull(field);
+        Objects.requireNonNull(value);
+
+        Object[] current = fieldsAndValues;
+        int index = indexOf(current, field);
+        if (index >= 0) {
+            Object[] changed = current.clone();
+            changed[index + 1] = value;
+            fieldsAndValues = changed;
+            return (String) current[index + 1];
+        }
+
+        Object[] changed = Arrays.copyOf(current, current.length + 2);
+        changed[current.length] = field;
+        changed[current.length + 1] = value;
+        fieldsAndValues = changed;
+        return null;
+    }
+
+    @Override
+    public synchronized String remove(Object field) {
+        if (field == null) {
+            return null;
+        }
+        Object[] current = fieldsAndValues;
+        int index = indexOf(current, field);
+        if (index < 0) {
+            return null;
+        }
+
+        Object[] changed = new Object[current.length - 2];
+        System.arraycopy(current, 0, changed, 0, index);
+        System.arraycopy(current, index + 2, changed, index, current.length - index - 2);
+        fieldsAndValues = changed;
+        return (String) current[index + 1];
+    }
+
+    @Override
+    public synchronized void clear() {
+        fieldsAndValues = EMPTY;
+    }
+
+    @Override
+    public Set<Entry<Field, String>> entrySet() {
+        return new AbstractSet<>() {
+
+            @Override
+            public Iterator<Entry<Field, String>> iterator() {
+                return new FieldIterator(fieldsAndValues);
+            }
+
+            @Override
+            public int size() {
+                return CompactFieldMap.this.size();
+            }
+        };
+    }
+
+    /**
+     * Iterates over the fields at the time the iterator was created.
+     */
+    private class FieldIterator implements Iterator<Entry<Field, String>> {
+
+        private final Object[] fieldsAndValues;
+        private int next;
+        private Field last;
+
+        FieldIterator(Object[] fieldsAndValues) {
+            this.fieldsAndValues = fieldsAndValues;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < fieldsAndValues.length;
+        }
+
+        @Override
+        public Entry<Field, String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = (Field) fieldsAndValues[next];
+            FieldEntry entry = new FieldEntry(last, (String) fieldsAndValues[next + 1]);
+            next += 2;
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            CompactFieldMap.this.remove(last);
+            last = null;
+        }
+    }
+
+    /**
+     * A field and its value, which changes the map when the value is set.
+     */
+    private class FieldEntry extends SimpleEntry<Field, String> {
+
+        FieldEntry(Field field, String value) {
+            super(field, value);
+        }
+
+        @Override
+        public String setValue(String value) {
+            super.setValue(value);
+            return put(getKey(), value);
+        }
+    }
+}
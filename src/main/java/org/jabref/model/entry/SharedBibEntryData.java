@@ -1,5 +1,11 @@
 package org.jabref.model.entry;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
 /**
  *  Stores all information needed to manage entries on a shared (SQL) database.
  */
@@ -13,6 +19,9 @@ public class SharedBibEntryData {
     // Needed for version controlling if used on shared database
     private int version;
 
+    // Called with the previous shared id, e.g., to update indexes of the shared ids
+    private volatile List<IntConsumer> sharedIDListeners = Collections.emptyList();
+
     public SharedBibEntryData() {
         this.sharedID = -1;
         this.version = 1;
@@ -23,7 +32,33 @@ public class SharedBibEntryData {
     }
 
     public void setSharedID(int sharedID) {
+        int oldSharedID = this.sharedID;
         this.sharedID = sharedID;
+        if (oldSharedID != sharedID) {
+            for (IntConsumer listener : sharedIDListeners) {
+                listener.accept(oldSharedID);
+            }
+        }
+    }
+
+    /**
+     * Registers a listener which is called with the previous shared id whenever the shared id changes. Registering a
+     * listener again has no effect.
+     */
+    public synchronized void addSharedIDListener(IntConsumer listener) {
+        Objects.requireNonNull(listener);
+        if (!sharedIDListeners.contains(listener)) {
+            List<IntConsumer> listeners = new ArrayList<>(sharedIDListeners);
+            listeners.add(listener);
+            sharedIDListeners = List.copyOf(listeners);
+        }
+    }
+
+    public synchronized void removeSharedIDListener(IntConsumer listener) {
+        List<IntConsumer> listeners = new ArrayList<>(sharedIDListeners);
+        if (listeners.remove(listener)) {
+            sharedIDListeners = List.copyOf(listeners);
+        }
     }
 
     public int getVersion() {
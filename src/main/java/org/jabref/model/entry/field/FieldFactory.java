@@ -14,6 +14,9 @@ import java.util.stream.Collectors;
 
 import org.jabref.model.util.OptionalUtil;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 public class FieldFactory {
 
     /**
@@ -23,6 +26,11 @@ public class FieldFactory {
     private static final String FIELD_OR_SEPARATOR = "/";
     private static final String DELIMITER = ";";
 
+    /**
+     * The unknown fields in use. Each name is parsed to one instance, which is shared by all entries having the field.
+     */
+    private static final Cache<String, UnknownField> UNKNOWN_FIELDS = CacheBuilder.newBuilder().weakValues().build();
+
     public static String serializeOrFields(Field... fields) {
         return serializeOrFields(new OrFields(fields));
     }
@@ -76,7 +84,16 @@ public class FieldFactory {
                 StandardField.fromName(fieldName)),
                 SpecialField.fromName(fieldName)),
                 IEEEField.fromName(fieldName))
-                .orElse(new UnknownField(fieldName));
+                .orElseGet(() -> parseUnknownField(fieldName));
+    }
+
+    private static UnknownField parseUnknownField(String fieldName) {
+        UnknownField field = UNKNOWN_FIELDS.getIfPresent(fieldName);
+        if (field == null) {
+            field = new UnknownField(fieldName);
+            UNKNOWN_FIELDS.put(fieldName, field);
+        }
+        return field;
     }
 
     public static Set<Field> getKeyFields() {
@@ -0,0 +1,454 @@
+package org.jabref.model.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.event.EntriesAddedEvent;
+import org.jabref.model.database.event.EntriesRemovedEvent;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.Field;
+
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Inverted index over the (LaTeX free) field contents of the entries of a {@link BibDatabase}. The contents are
+ * lower cased and split into trigrams, each trigram is mapped to the entries (and per field to the entries) containing
+ * it.
+ * <p>
+ * Searches using this index return candidates: every entry containing the given text is a candidate, but not every
+ * candidate contains the text. Thus, the candidates still have to be checked by the search rule. In exchange, the
+ * semantics of the substring based search rules are preserved exactly.
+ * <p>
+ * Each indexed entry is numbered by an ordinal, and the entries of a trigram are stored as a sorted array of ordinals.
+ * Entries are numbered in the order they are indexed, thus indexing a library appends to the arrays. The ordinals of
+ * removed entries are given up, and the entries are numbered again once most ordinals are unused.
+ * <p>
+ * The index is kept in sync with the database by listening to {@link EntriesAddedEvent} and
+ * {@link EntriesRemovedEvent}. The changes of the fields are passed by the database, see
+ * {@link #updateField(BibEntry, Field)}.
+ */
+public class FullTextIndex {
+
+    private static final int GRAM_LENGTH = 3;
+    private static final long[] NO_GRAMS = new long[0];
+
+    // the number of unused ordinals from which on the entries are numbered again, if most ordinals are unused
+    private static final int MIN_UNUSED_ORDINALS_TO_RENUMBER = 1024;
+
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final Map<Field, Map<Long, PostingList>> fieldPostings = new HashMap<>();
+
+    // the indexed entries by their ordinal, null if the ordinal is unused
+    private final List<BibEntry> entriesByOrdinal = new ArrayList<>();
+    private final Map<BibEntry, IndexedEntry> indexedEntries = new IdentityHashMap<>();
+    private int unusedOrdinals;
+
+    private volatile long modificationCount;
+
+    /**
+     * Returns a number which changes each time the index is updated. Candidates determined for the same modification
+     * count are still valid.
+     */
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Determines whether the index can restrict the candidates for the given text. This is not possible for texts
+     * shorter than a trigram and for texts whose lower case form depends on the context (such as the Greek capital
+     * sigma).
+     */
+    public static boolean isSearchable(String text) {
+        if (text.length() < GRAM_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char character = text.charAt(i);
+            if ((character == 'Σ') || Character.isSurrogate(character)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns all entries which might contain the given text in any of their fields. The text is compared ignoring
+     * the case, thus the result covers case sensitive searches as well.
+     *
+     * @return the candidates or an empty optional if the text is not searchable (see {@link #isSearchable(String)})
+     */
+    public synchronized Optional<Set<BibEntry>> getCandidates(String text) {
+        if (!isSearchable(text)) {
+            return Optional.empty();
+        }
+        Set<BibEntry> result = createEntrySet();
+        addEntries(result, intersect(postings, getGrams(text)));
+        return Optional.of(result);
+    }
+
+    /**
+     * Returns all entries which might contain the given text in one of the fields accepted by the filter.
+     *
+     * @return the candidates or an empty optional if the text is not searchable (see {@link #isSearchable(String)})
+     */
+    public synchronized Optional<Set<BibEntry>> getCandidates(String text, Predicate<Field> fieldFilter) {
+        if (!isSearchable(text)) {
+            return Optional.empty();
+        }
+        long[] grams = getGrams(text);
+        Set<BibEntry> result = createEntrySet();
+        for (Map.Entry<Field, Map<Long, PostingList>> field : fieldPostings.entrySet()) {
+            if (fieldFilter.test(field.getKey())) {
+                addEntries(result, intersect(field.getValue(), grams));
+            }
+        }
+        return Optional.of(result);
+    }
+
+    public static Set<BibEntry> createEntrySet() {
+        // BibEntry#equals compares the content, thus we have to work with the identical objects
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    private void addEntries(Set<BibEntry> result, PostingList ordinals) {
+        for (int i = 0; i < ordinals.size; i++) {
+            result.add(entriesByOrdinal.get(ordinals.ordinals[i]));
+        }
+    }
+
+    private static PostingList intersect(Map<Long, PostingList> postings, long[] grams) {
+        List<PostingList> lists = new ArrayList<>(grams.length);
+        for (long gram : grams) {
+            PostingList list = postings.get(gram);
+            if (list == null) {
+                return new PostingList();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+
+        PostingList result = lists.get(0).copy();
+        for (int i = 1; (i < lists.size()) && (result.size > 0); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Indexes the given entries. Entries which are already indexed are indexed again.
+     */
+    public synchronized void addEntries(Collection<BibEntry> entries) {
+        List<BibEntry> reindexedEntries = entries.stream()
+                                                 .filter(indexedEntries::containsKey)
+                                                 .collect(Collectors.toList());
+        removeIndexedEntries(reindexedEntries);
+        for (BibEntry entry : entries) {
+            if (indexedEntries.containsKey(entry)) {
+                // given twice
+                continue;
+            }
+            IndexedEntry indexedEntry = new IndexedEntry(entriesByOrdinal.size());
+            entriesByOrdinal.add(entry);
+            indexedEntries.put(entry, indexedEntry);
+            for (Field field : entry.getFields()) {
+                updateField(entry, indexedEntry, field);
+            }
+        }
+        modificationCount++;
+    }
+
+    private synchronized void removeEntries(Collection<BibEntry> entries) {
+        List<BibEntry> removedEntries = new ArrayList<>();
+        for (BibEntry entry : entries) {
+            if (indexedEntries.containsKey(entry)) {
+                removedEntries.add(entry);
+            } else {
+                // similar to BibDatabase#removeEntries, the entry might be given by another object having the same id
+                indexedEntries.keySet().stream()
+                              .filter(indexedEntry -> indexedEntry.getId().equals(entry.getId()))
+                              .findFirst()
+                              .ifPresent(removedEntries::add);
+            }
+        }
+        removeIndexedEntries(removedEntries);
+        modificationCount++;
+    }
+
+    /**
+     * Removes the given indexed entries. Each posting list containing some of them is compacted once.
+     */
+    private void removeIndexedEntries(List<BibEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        BitSet removedOrdinals = new BitSet();
+        Map<Field, Set<Long>> removedGrams = new HashMap<>();
+        for (BibEntry entry : entries) {
+            IndexedEntry indexedEntry = indexedEntries.remove(entry);
+            if (indexedEntry == null) {
+                // given twice
+                continue;
+            }
+            removedOrdinals.set(indexedEntry.ordinal);
+            entriesByOrdinal.set(indexedEntry.ordinal, null);
+            unusedOrdinals++;
+            for (Map.Entry<Field, long[]> field : indexedEntry.grams.entrySet()) {
+                Set<Long> grams = removedGrams.computeIfAbsent(field.getKey(), key -> new HashSet<>());
+                for (long gram : field.getValue()) {
+                    grams.add(gram);
+                }
+            }
+        }
+
+        Set<Long> removedGramsOfAllFields = new HashSet<>();
+        for (Map.Entry<Field, Set<Long>> field : removedGrams.entrySet()) {
+            removePostings(fieldPostings.get(field.getKey()), field.getValue(), removedOrdinals);
+            removedGramsOfAllFields.addAll(field.getValue());
+        }
+        removePostings(postings, removedGramsOfAllFields, removedOrdinals);
+
+        if ((unusedOrdinals >= MIN_UNUSED_ORDINALS_TO_RENUMBER) && (unusedOrdinals > (entriesByOrdinal.size() / 2))) {
+            renumber();
+        }
+    }
+
+    private static void removePostings(Map<Long, PostingList> postings, Set<Long> grams, BitSet removedOrdinals) {
+        for (long gram : grams) {
+            postings.computeIfPresent(gram, (key, list) -> {
+                list.removeAll(removedOrdinals);
+                return list.size == 0 ? null : list;
+            });
+        }
+    }
+
+    /**
+     * Numbers the indexed entries again without gaps. The order of the entries is kept, thus the posting lists stay
+     * sorted.
+     */
+    private void renumber() {
+        int[] newOrdinals = new int[entriesByOrdinal.size()];
+        List<BibEntry> renumberedEntries = new ArrayList<>(indexedEntries.size());
+        for (int ordinal = 0; ordinal < entriesByOrdinal.size(); ordinal++) {
+            BibEntry entry = entriesByOrdinal.get(ordinal);
+            if (entry != null) {
+                newOrdinals[ordinal] = renumberedEntries.size();
+                indexedEntries.get(entry).ordinal = renumberedEntries.size();
+                renumberedEntries.add(entry);
+            }
+        }
+
+        postings.values().forEach(list -> list.renumber(newOrdinals));
+        fieldPostings.values().forEach(postingsOfField -> postingsOfField.values().forEach(list -> list.renumber(newOrdinals)));
+        entriesByOrdinal.clear();
+        entriesByOrdinal.addAll(renumberedEntries);
+        unusedOrdinals = 0;
+    }
+
+    /**
+     * Indexes the changed field of the given entry again. Entries which are not indexed are ignored.
+     */
+    public synchronized void updateField(BibEntry entry, Field field) {
+        IndexedEntry indexedEntry = indexedEntries.get(entry);
+        if (indexedEntry == null) {
+            // not part of the database (anymore)
+            return;
+        }
+        updateField(entry, indexedEntry, field);
+        modificationCount++;
+    }
+
+    private void updateField(BibEntry entry, IndexedEntry indexedEntry, Field field) {
+        Map<Field, long[]> grams = indexedEntry.grams;
+        long[] oldGrams = grams.getOrDefault(field, NO_GRAMS);
+        long[] newGrams = entry.getLatexFreeField(field).map(FullTextIndex::getGrams).orElse(NO_GRAMS);
+        if (newGrams.length == 0) {
+            grams.remove(field);
+        } else {
+            grams.put(field, newGrams);
+        }
+
+        int ordinal = indexedEntry.ordinal;
+        Map<Long, PostingList> postingsOfField = fieldPostings.computeIfAbsent(field, key -> new HashMap<>());
+        for (long gram : oldGrams) {
+            if (Arrays.binarySearch(newGrams, gram) < 0) {
+                removePosting(postingsOfField, gram, ordinal);
+                if (!containsGram(grams, gram)) {
+                    removePosting(postings, gram, ordinal);
+                }
+            }
+        }
+        for (long gram : newGrams) {
+            if (Arrays.binarySearch(oldGrams, gram) < 0) {
+                addPosting(postingsOfField, gram, ordinal);
+                addPosting(postings, gram, ordinal);
+            }
+        }
+    }
+
+    private static boolean containsGram(Map<Field, long[]> grams, long gram) {
+        return grams.values().stream().anyMatch(fieldGrams -> Arrays.binarySearch(fieldGrams, gram) >= 0);
+    }
+
+    private static void addPosting(Map<Long, PostingList> postings, long gram, int ordinal) {
+        postings.computeIfAbsent(gram, key -> new PostingList()).add(ordinal);
+    }
+
+    private static void removePosting(Map<Long, PostingList> postings, long gram, int ordinal) {
+        postings.computeIfPresent(gram, (key, list) -> {
+            list.remove(ordinal);
+            return list.size == 0 ? null : list;
+        });
+    }
+
+    /**
+     * Returns the sorted, distinct trigrams of the lower cased text. Each trigram is encoded as a long.
+     */
+    private static long[] getGrams(String text) {
+        String content = text.toLowerCase(Locale.ROOT);
+        int count = content.length() - GRAM_LENGTH + 1;
+        if (count <= 0) {
+            return NO_GRAMS;
+        }
+
+        long[] grams = new long[count];
+        for (int i = 0; i < count; i++) {
+            grams[i] = ((long) content.charAt(i) << 32) | ((long) content.charAt(i + 1) << 16) | content.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+
+        int distinct = 1;
+        for (int i = 1; i < grams.length; i++) {
+            if (grams[i] != grams[distinct - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    @Subscribe
+    public void listen(EntriesAddedEvent event) {
+        addEntries(event.getBibEntries());
+    }
+
+    @Subscribe
+    public void listen(EntriesRemovedEvent event) {
+        removeEntries(event.getBibEntries());
+    }
+
+    /**
+     * The ordinal of an indexed entry and the sorted trigrams of each of its fields, used to update the postings
+     */
+    private static class IndexedEntry {
+
+        private int ordinal;
+        private final Map<Field, long[]> grams = new HashMap<>();
+
+        IndexedEntry(int ordinal) {
+            this.ordinal = ordinal;
+        }
+    }
+
+    /**
+     * The sorted, distinct ordinals of the entries containing a trigram
+     */
+    private static class PostingList {
+
+        private int[] ordinals = new int[1];
+        private int size;
+
+        void add(int ordinal) {
+            if ((size > 0) && (ordinals[size - 1] >= ordinal)) {
+                int index = Arrays.binarySearch(ordinals, 0, size, ordinal);
+                if (index >= 0) {
+                    return;
+                }
+                insert(-index - 1, ordinal);
+            } else {
+                // the common case: entries are indexed in the order of their ordinals
+                insert(size, ordinal);
+            }
+        }
+
+        private void insert(int index, int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ordinals, index, ordinals, index + 1, size - index);
+            ordinals[index] = ordinal;
+            size++;
+        }
+
+        void remove(int ordinal) {
+            int index = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (index >= 0) {
+                System.arraycopy(ordinals, index + 1, ordinals, index, size - index - 1);
+                size--;
+                trim();
+            }
+        }
+
+        void removeAll(BitSet removedOrdinals) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (!removedOrdinals.get(ordinals[i])) {
+                    ordinals[kept++] = ordinals[i];
+                }
+            }
+            size = kept;
+            trim();
+        }
+
+        /**
+         * Keeps the ordinals contained in both lists, merging the sorted arrays.
+         */
+        void retainAll(PostingList other) {
+            int kept = 0;
+            int j = 0;
+            for (int i = 0; (i < size) && (j < other.size); i++) {
+                while ((j < other.size) && (other.ordinals[j] < ordinals[i])) {
+                    j++;
+                }
+                if ((j < other.size) && (other.ordinals[j] == ordinals[i])) {
+                    ordinals[kept++] = ordinals[i];
+                }
+            }
+            size = kept;
+        }
+
+        void renumber(int[] newOrdinals) {
+            for (int i = 0; i < size; i++) {
+                ordinals[i] = newOrdinals[ordinals[i]];
+            }
+            trim();
+        }
+
+        PostingList copy() {
+            PostingList copy = new PostingList();
+            copy.ordinals = Arrays.copyOf(ordinals, Math.max(size, 1));
+            copy.size = size;
+            return copy;
+        }
+
+        private void trim() {
+            if (ordinals.length > ((size * 2) + 8)) {
+                ordinals = Arrays.copyOf(ordinals, size + 1);
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.jabref.model.search.rules;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
@@ -29,13 +30,24 @@ public class ContainBasedSearchRule implements SearchRule {
 
     @Override
     public boolean applyRule(String query, BibEntry bibEntry) {
+        return containsAllWords(getSearchWords(query), bibEntry);
+    }
 
+    /**
+     * Splits the query into the words to search for. Applying the rule to several entries, the words can be reused
+     * (see {@link #containsAllWords(List, BibEntry)}).
+     */
+    List<String> getSearchWords(String query) {
         String searchString = query;
         if (!caseSensitive) {
             searchString = searchString.toLowerCase(Locale.ROOT);
         }
 
-        List<String> unmatchedWords = new SentenceAnalyzer(searchString).getWords();
+        return new SentenceAnalyzer(searchString).getWords();
+    }
+
+    boolean containsAllWords(List<String> searchWords, BibEntry bibEntry) {
+        List<String> unmatchedWords = new ArrayList<>(searchWords);
 
         for (Field fieldKey : bibEntry.getFields()) {
             String formattedFieldContent = bibEntry.getLatexFreeField(fieldKey).get();
@@ -1,18 +1,17 @@
 package org.jabref.model.search.rules;
 
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.Keyword;
 import org.jabref.model.entry.field.Field;
 import org.jabref.model.entry.field.InternalField;
-import org.jabref.search.SearchBaseVisitor;
 import org.jabref.search.SearchLexer;
 import org.jabref.search.SearchParser;
 
@@ -30,7 +29,8 @@ import org.slf4j.LoggerFactory;
 /**
  * The search query must be specified in an expression that is acceptable by the Search.g4 grammar.
  *
- * This class implements the "Advanced Search Mode" described in the help
+ * This class implements the "Advanced Search Mode" described in the help. The query is compiled once into a
+ * {@link SearchPlan}, which is shared by all evaluations of the rule.
  */
 public class GrammarBasedSearchRule implements SearchRule {
 
@@ -41,6 +41,7 @@ public class GrammarBasedSearchRule implements SearchRule {
 
     private ParseTree tree;
     private String query;
+    private volatile SearchPlan.Node plan;
 
     public static class ThrowingErrorListener extends BaseErrorListener {
 
@@ -92,13 +93,14 @@ public class GrammarBasedSearchRule implements SearchRule {
         parser.addErrorListener(ThrowingErrorListener.INSTANCE);
         parser.setErrorHandler(new BailErrorStrategy()); // ParseCancelationException on parse errors
         tree = parser.start();
+        plan = SearchPlan.compile(tree, caseSensitiveSearch, regExpSearch);
         this.query = query;
     }
 
     @Override
     public boolean applyRule(String query, BibEntry bibEntry) {
         try {
-            return new BibtexSearchVisitor(caseSensitiveSearch, regExpSearch, bibEntry).visit(tree);
+            return plan.test(bibEntry);
         } catch (Exception e) {
             LOGGER.debug("Search failed", e);
             return false;
@@ -135,6 +137,15 @@ public class GrammarBasedSearchRule implements SearchRule {
         private final ComparisonOperator operator;
         private final Pattern fieldPattern;
         private final Pattern valuePattern;
+        private final Predicate<String> valueMatcher;
+
+        // the special field selectors, resolved once
+        private final boolean entryTypeComparison;
+        private final boolean keywordComparison;
+        private final boolean anyFieldComparison;
+
+        // whether a field is selected by the field pattern, resolved once per field
+        private final Map<Field, Boolean> selectedFields = new ConcurrentHashMap<>();
 
         public Comparator(String field, String value, ComparisonOperator operator, boolean caseSensitive, boolean regex) {
             this.operator = operator;
@@ -142,29 +153,86 @@ public class GrammarBasedSearchRule implements SearchRule {
             int option = caseSensitive ? 0 : Pattern.CASE_INSENSITIVE;
             this.fieldPattern = Pattern.compile(regex ? field : "\\Q" + field + "\\E", option);
             this.valuePattern = Pattern.compile(regex ? value : "\\Q" + value + "\\E", option);
+            this.valueMatcher = createValueMatcher(value, caseSensitive, regex);
+
+            this.entryTypeComparison = fieldPattern.matcher(InternalField.TYPE_HEADER.getName()).matches();
+            this.keywordComparison = fieldPattern.matcher("anykeyword").matches();
+            this.anyFieldComparison = fieldPattern.matcher("anyfield").matches();
+        }
+
+        /**
+         * Plain values are compared without regular expressions. The case insensitive comparison mirrors
+         * {@link Pattern#CASE_INSENSITIVE}, which ignores the case of US-ASCII characters only.
+         */
+        private Predicate<String> createValueMatcher(String value, boolean caseSensitive, boolean regex) {
+            if (regex || value.contains("\\E")) {
+                // a quoted value containing \E is not matched literally
+                return this::matchPattern;
+            }
+
+            String asciiLowerCaseValue = toAsciiLowerCase(value);
+            if (operator == ComparisonOperator.EXACT) {
+                if (caseSensitive) {
+                    return value::equals;
+                }
+                return content -> (content.length() == value.length()) && toAsciiLowerCase(content).equals(asciiLowerCaseValue);
+            }
+
+            Predicate<String> contains;
+            if (caseSensitive) {
+                contains = content -> content.contains(value);
+            } else {
+                contains = content -> toAsciiLowerCase(content).contains(asciiLowerCaseValue);
+            }
+            return operator == ComparisonOperator.DOES_NOT_CONTAIN ? contains.negate() : contains;
+        }
+
+        private static String toAsciiLowerCase(String text) {
+            char[] characters = null;
+            for (int i = 0; i < text.length(); i++) {
+                char character = text.charAt(i);
+                if ((character >= 'A') && (character <= 'Z')) {
+                    if (characters == null) {
+                        characters = text.toCharArray();
+                    }
+                    characters[i] = (char) (character + ('a' - 'A'));
+                }
+            }
+            return characters == null ? text : new String(characters);
+        }
+
+        boolean isEntryTypeComparison() {
+            return entryTypeComparison;
+        }
+
+        boolean isKeywordComparison() {
+            return keywordComparison;
+        }
+
+        boolean isAnyFieldComparison() {
+            return anyFieldComparison;
         }
 
         public boolean compare(BibEntry entry) {
             // special case for searching for entrytype=phdthesis
-            if (fieldPattern.matcher(InternalField.TYPE_HEADER.getName()).matches()) {
+            if (entryTypeComparison) {
                 return matchFieldValue(entry.getType().getName());
             }
 
             // special case for searching a single keyword
-            if (fieldPattern.matcher("anykeyword").matches()) {
+            if (keywordComparison) {
                 return entry.getKeywords(',').stream().map(Keyword::toString).anyMatch(this::matchFieldValue);
             }
 
             // specification of fieldsKeys to search is done in the search expression itself
-            Set<Field> fieldsKeys = entry.getFields();
-
             // special case for searching allfields=cat and title=dog
-            if (!fieldPattern.matcher("anyfield").matches()) {
-                // Filter out the requested fields
-                fieldsKeys = fieldsKeys.stream().filter(matchFieldKey()).collect(Collectors.toSet());
-            }
+            boolean anyFieldSelected = false;
+            for (Field field : entry.getFields()) {
+                if (!anyFieldComparison && !isSelected(field)) {
+                    continue;
+                }
+                anyFieldSelected = true;
 
-            for (Field field : fieldsKeys) {
                 Optional<String> fieldValue = entry.getLatexFreeField(field);
                 if (fieldValue.isPresent()) {
                     if (matchFieldValue(fieldValue.get())) {
@@ -174,14 +242,18 @@ public class GrammarBasedSearchRule implements SearchRule {
             }
 
             // special case of asdf!=whatever and entry does not contain asdf
-            return fieldsKeys.isEmpty() && (operator == ComparisonOperator.DOES_NOT_CONTAIN);
+            return !anyFieldSelected && (operator == ComparisonOperator.DOES_NOT_CONTAIN);
         }
 
-        private Predicate<Field> matchFieldKey() {
-            return field -> fieldPattern.matcher(field.getName()).matches();
+        private boolean isSelected(Field field) {
+            return selectedFields.computeIfAbsent(field, key -> fieldPattern.matcher(key.getName()).matches());
         }
 
         public boolean matchFieldValue(String content) {
+            return valueMatcher.test(content);
+        }
+
+        private boolean matchPattern(String content) {
             Matcher matcher = valuePattern.matcher(content);
             if (operator == ComparisonOperator.CONTAINS) {
                 return matcher.find();
@@ -196,65 +268,4 @@ public class GrammarBasedSearchRule implements SearchRule {
 
     }
 
-    /**
-     * Search results in boolean. It may be later on converted to an int.
-     */
-    static class BibtexSearchVisitor extends SearchBaseVisitor<Boolean> {
-
-        private final boolean caseSensitive;
-        private final boolean regex;
-
-        private final BibEntry entry;
-
-        public BibtexSearchVisitor(boolean caseSensitive, boolean regex, BibEntry bibEntry) {
-            this.caseSensitive = caseSensitive;
-            this.regex = regex;
-            this.entry = bibEntry;
-        }
-
-        public boolean comparison(String field, ComparisonOperator operator, String value) {
-            return new Comparator(field, value, operator, caseSensitive, regex).compare(entry);
-        }
-
-        @Override
-        public Boolean visitStart(SearchParser.StartContext ctx) {
-            return visit(ctx.expression());
-        }
-
-        @Override
-        public Boolean visitComparison(SearchParser.ComparisonContext context) {
-            // remove possible enclosing " symbols
-            String right = context.right.getText();
-            if (right.startsWith("\"") && right.endsWith("\"")) {
-                right = right.substring(1, right.length() - 1);
-            }
-
-            Optional<SearchParser.NameContext> fieldDescriptor = Optional.ofNullable(context.left);
-            if (fieldDescriptor.isPresent()) {
-                return comparison(fieldDescriptor.get().getText(), ComparisonOperator.build(context.operator.getText()), right);
-            } else {
-                return new ContainBasedSearchRule(caseSensitive).applyRule(right, entry);
-            }
-        }
-
-        @Override
-        public Boolean visitUnaryExpression(SearchParser.UnaryExpressionContext ctx) {
-            return !visit(ctx.expression()); // negate
-        }
-
-        @Override
-        public Boolean visitParenExpression(SearchParser.ParenExpressionContext ctx) {
-            return visit(ctx.expression()); // ignore parenthesis
-        }
-
-        @Override
-        public Boolean visitBinaryExpression(SearchParser.BinaryExpressionContext ctx) {
-            if ("AND".equalsIgnoreCase(ctx.operator.getText())) {
-                return visit(ctx.left) && visit(ctx.right); // and
-            } else {
-                return visit(ctx.left) || visit(ctx.right); // or
-            }
-        }
-    }
-
 }
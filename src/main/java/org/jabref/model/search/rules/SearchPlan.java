@@ -0,0 +1,295 @@
+package org.jabref.model.search.rules;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.PatternSyntaxException;
+
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.search.rules.GrammarBasedSearchRule.ComparisonOperator;
+import org.jabref.search.SearchBaseVisitor;
+import org.jabref.search.SearchParser;
+
+import org.antlr.v4.runtime.tree.ParseTree;
+
+/**
+ * Compiled form of a query of the advanced search mode. The parse tree is translated once into a tree of immutable
+ * predicates: The comparisons resolve their field selectors and patterns up front (see
+ * {@link GrammarBasedSearchRule.Comparator}) and the operands of <code>AND</code> and <code>OR</code> are evaluated
+ * cheapest first.
+ * <p>
+ * A plan does not hold any state depending on the entry, thus it can be shared between threads.
+ */
+final class SearchPlan {
+
+    // estimated costs of evaluating a node, only their order matters
+    private static final int COST_ENTRY_TYPE = 1;
+    private static final int COST_FIELD = 2;
+    private static final int COST_ANY_FIELD = 4;
+    private static final int COST_REGEX = 2;
+
+    private SearchPlan() {
+    }
+
+    static Node compile(ParseTree tree, boolean caseSensitive, boolean regex) {
+        try {
+            return new Compiler(caseSensitive, regex, true).visit(tree);
+        } catch (PatternSyntaxException e) {
+            // The invalid comparison fails as soon as it is evaluated. As the evaluation order then determines the
+            // result, the operands are kept in the order of the query.
+            return new Compiler(caseSensitive, regex, false).visit(tree);
+        }
+    }
+
+    abstract static class Node implements Predicate<BibEntry> {
+
+        abstract int getCost();
+    }
+
+    private static class ComparisonNode extends Node {
+
+        private final GrammarBasedSearchRule.Comparator comparator;
+        private final int cost;
+
+        ComparisonNode(GrammarBasedSearchRule.Comparator comparator, int cost) {
+            this.comparator = comparator;
+            this.cost = cost;
+        }
+
+        @Override
+        public boolean test(BibEntry entry) {
+            return comparator.compare(entry);
+        }
+
+        @Override
+        int getCost() {
+            return cost;
+        }
+    }
+
+    private static class InvalidComparisonNode extends Node {
+
+        private final PatternSyntaxException exception;
+
+        InvalidComparisonNode(PatternSyntaxException exception) {
+            this.exception = exception;
+        }
+
+        @Override
+        public boolean test(BibEntry entry) {
+            throw exception;
+        }
+
+        @Override
+        int getCost() {
+            return COST_FIELD;
+        }
+    }
+
+    private static class ContainsNode extends Node {
+
+        private final ContainBasedSearchRule rule;
+        private final List<String> words;
+
+        ContainsNode(ContainBasedSearchRule rule, List<String> words) {
+            this.rule = rule;
+            this.words = List.copyOf(words);
+        }
+
+        @Override
+        public boolean test(BibEntry entry) {
+            return rule.containsAllWords(words, entry);
+        }
+
+        @Override
+        int getCost() {
+            return COST_ANY_FIELD;
+        }
+    }
+
+    private static class NotNode extends Node {
+
+        private final Node node;
+
+        NotNode(Node node) {
+            this.node = node;
+        }
+
+        @Override
+        public boolean test(BibEntry entry) {
+            return !node.test(entry);
+        }
+
+        @Override
+        int getCost() {
+            return node.getCost();
+        }
+    }
+
+    private static class AndNode extends Node {
+
+        private final List<Node> nodes;
+        private final int cost;
+
+        AndNode(List<Node> nodes) {
+            this.nodes = List.copyOf(nodes);
+            this.cost = getTotalCost(nodes);
+        }
+
+        @Override
+        public boolean test(BibEntry entry) {
+            for (Node node : nodes) {
+                if (!node.test(entry)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        int getCost() {
+            return cost;
+        }
+    }
+
+    private static class OrNode extends Node {
+
+        private final List<Node> nodes;
+        private final int cost;
+
+        OrNode(List<Node> nodes) {
+            this.nodes = List.copyOf(nodes);
+            this.cost = getTotalCost(nodes);
+        }
+
+        @Override
+        public boolean test(BibEntry entry) {
+            for (Node node : nodes) {
+                if (node.test(entry)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        int getCost() {
+            return cost;
+        }
+    }
+
+    private static int getTotalCost(List<Node> nodes) {
+        return nodes.stream().mapToInt(Node::getCost).sum();
+    }
+
+    private static class Compiler extends SearchBaseVisitor<Node> {
+
+        private final boolean caseSensitive;
+        private final boolean regex;
+        private final boolean reorder;
+
+        /**
+         * @param reorder whether the operands are ordered by their costs. If not, invalid regular expressions are
+         *                compiled into nodes failing on evaluation.
+         */
+        Compiler(boolean caseSensitive, boolean regex, boolean reorder) {
+            this.caseSensitive = caseSensitive;
+            this.regex = regex;
+            this.reorder = reorder;
+        }
+
+        @Override
+        public Node visitStart(SearchParser.StartContext ctx) {
+            return visit(ctx.expression());
+        }
+
+        @Override
+        public Node visitAtomExpression(SearchParser.AtomExpressionContext ctx) {
+            return visit(ctx.comparison());
+        }
+
+        @Override
+        public Node visitComparison(SearchParser.ComparisonContext context) {
+            // remove possible enclosing " symbols
+            String right = context.right.getText();
+            if (right.startsWith("\"") && right.endsWith("\"")) {
+                right = right.substring(1, right.length() - 1);
+            }
+
+            if (context.left == null) {
+                ContainBasedSearchRule rule = new ContainBasedSearchRule(caseSensitive);
+                return new ContainsNode(rule, rule.getSearchWords(right));
+            }
+
+            GrammarBasedSearchRule.Comparator comparator;
+            try {
+                comparator = new GrammarBasedSearchRule.Comparator(context.left.getText(), right,
+                        ComparisonOperator.build(context.operator.getText()), caseSensitive, regex);
+            } catch (PatternSyntaxException e) {
+                if (reorder) {
+                    throw e;
+                }
+                return new InvalidComparisonNode(e);
+            }
+            int cost;
+            if (comparator.isEntryTypeComparison()) {
+                cost = COST_ENTRY_TYPE;
+            } else if (comparator.isAnyFieldComparison() || comparator.isKeywordComparison()) {
+                cost = COST_ANY_FIELD;
+            } else {
+                cost = COST_FIELD;
+            }
+            if (regex) {
+                cost += COST_REGEX;
+            }
+            return new ComparisonNode(comparator, cost);
+        }
+
+        @Override
+        public Node visitUnaryExpression(SearchParser.UnaryExpressionContext ctx) {
+            return new NotNode(visit(ctx.expression()));
+        }
+
+        @Override
+        public Node visitParenExpression(SearchParser.ParenExpressionContext ctx) {
+            return visit(ctx.expression());
+        }
+
+        @Override
+        public Node visitBinaryExpression(SearchParser.BinaryExpressionContext ctx) {
+            boolean and = isAnd(ctx);
+            List<Node> operands = new ArrayList<>();
+            collectOperands(ctx.left, and, operands);
+            collectOperands(ctx.right, and, operands);
+            if (reorder) {
+                operands.sort(Comparator.comparingInt(Node::getCost));
+            }
+            return and ? new AndNode(operands) : new OrNode(operands);
+        }
+
+        /**
+         * Flattens chains of the same operator (such as <code>a and (b and c)</code>), so that all operands are
+         * ordered together.
+         */
+        private void collectOperands(SearchParser.ExpressionContext expression, boolean and, List<Node> operands) {
+            SearchParser.ExpressionContext current = expression;
+            while (current instanceof SearchParser.ParenExpressionContext) {
+                current = ((SearchParser.ParenExpressionContext) current).expression();
+            }
+
+            if ((current instanceof SearchParser.BinaryExpressionContext)
+                    && (isAnd((SearchParser.BinaryExpressionContext) current) == and)) {
+                SearchParser.BinaryExpressionContext binary = (SearchParser.BinaryExpressionContext) current;
+                collectOperands(binary.left, and, operands);
+                collectOperands(binary.right, and, operands);
+            } else {
+                operands.add(visit(current));
+            }
+        }
+
+        private static boolean isAnd(SearchParser.BinaryExpressionContext ctx) {
+            return "AND".equalsIgnoreCase(ctx.operator.getText());
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package org.jabref.model.strings;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Objects;
+
+/**
+ * An immutable part of a larger text, e.g., the text of an entry in the content of a parsed file.
+ * <p>
+ * All spans of a text share it instead of copying their part, thus the text is held in memory once. Use
+ * {@link #writeTo(Writer)} to write a span without copying it, and {@link #toString()} to get a copy of it.
+ */
+public final class TextSpan implements CharSequence {
+
+    public static final TextSpan EMPTY = new TextSpan("", 0, 0);
+
+    private final String text;
+    private final int offset;
+    private final int length;
+
+    /**
+     * Creates the span <code>[offset, offset + length)</code> of the given text.
+     */
+    public TextSpan(String text, int offset, int length) {
+        Objects.requireNonNull(text);
+        Objects.checkFromIndexSize(offset, length, text.length());
+        this.text = text;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public static TextSpan of(String text) {
+        return new TextSpan(text, 0, text.length());
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    @Override
+    public char charAt(int index) {
+        Objects.checkIndex(index, length);
+        return text.charAt(offset + index);
+    }
+
+    @Override
+    public TextSpan subSequence(int start, int end) {
+        Objects.checkFromToIndex(start, end, length);
+        return new TextSpan(text, offset + start, end - start);
+    }
+
+    /**
+     * @return the index of the first occurrence of the given character or -1 if there is none
+     */
+    public int indexOf(char character) {
+        for (int i = offset; i < (offset + length); i++) {
+            if (text.charAt(i) == character) {
+                return i - offset;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the index of the first occurrence of the given string or -1 if there is none
+     */
+    public int indexOf(String string) {
+        for (int i = offset; i <= ((offset + length) - string.length()); i++) {
+            if (text.regionMatches(i, string, 0, string.length())) {
+                return i - offset;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the index of the last occurrence of the given character or -1 if there is none
+     */
+    public int lastIndexOf(char character) {
+        for (int i = (offset + length) - 1; i >= offset; i--) {
+            if (text.charAt(i) == character) {
+                return i - offset;
+            }
+        }
+        return -1;
+    }
+
+    public boolean contains(String string) {
+        return indexOf(string) >= 0;
+    }
+
+    /**
+     * Returns this span followed by the given one. If the given span directly follows this one in the same text, the
+     * result is a span of that text as well, otherwise it is a copy.
+     */
+    public TextSpan concat(TextSpan other) {
+        if ((text == other.text) && ((offset + length) == other.offset)) {
+            return new TextSpan(text, offset, length + other.length);
+        }
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+        return of(toString() + other);
+    }
+
+    /**
+     * Removes leading and trailing whitespace, as {@link String#trim()} does.
+     */
+    public TextSpan trim() {
+        int start = offset;
+        int end = offset + length;
+        while ((start < end) && (text.charAt(start) <= ' ')) {
+            start++;
+        }
+        while ((start < end) && (text.charAt(end - 1) <= ' ')) {
+            end--;
+        }
+        return new TextSpan(text, start, end - start);
+    }
+
+    /**
+     * Removes trailing whitespace, i.e., the characters matched by the regular expression <code>\s</code>.
+     */
+    public TextSpan stripTrailingWhitespace() {
+        int end = offset + length;
+        while ((end > offset) && isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        return new TextSpan(text, offset, end - offset);
+    }
+
+    private static boolean isWhitespace(char character) {
+        return (character == ' ') || (character == '\t') || (character == '\n') || (character == '\u000B')
+                || (character == '\f') || (character == '\r');
+    }
+
+    /**
+     * Writes the span to the given writer without copying it.
+     */
+    public void writeTo(Writer writer) throws IOException {
+        writer.write(text, offset, length);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TextSpan)) {
+            return false;
+        }
+        return CharSequence.compare(this, (TextSpan) o) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        // same as String#hashCode
+        int hash = 0;
+        for (int i = offset; i < (offset + length); i++) {
+            hash = (31 * hash) + text.charAt(i);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return text.substring(offset, offset + length);
+    }
+}
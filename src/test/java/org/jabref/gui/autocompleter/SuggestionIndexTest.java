@@ -0,0 +1,69 @@
+package org.jabref.gui.autocompleter;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SuggestionIndexTest {
+
+    private SuggestionIndex<String> index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SuggestionIndex<>(Optional::of);
+        index.addAll(Arrays.asList("Journal of Software", "Software Engineering", "Physical Review", "Soft Matter"));
+    }
+
+    @Test
+    void findReturnsSuggestionsContainingText() {
+        List<String> result = index.find("SOFTWARE", Comparator.naturalOrder(), 10);
+
+        assertEquals(Arrays.asList("Journal of Software", "Software Engineering"), result);
+    }
+
+    @Test
+    void findShortTextReturnsSuggestionsContainingText() {
+        List<String> result = index.find("ma", Comparator.naturalOrder(), 10);
+
+        assertEquals(Collections.singletonList("Soft Matter"), result);
+    }
+
+    @Test
+    void findUnknownTextReturnsNothing() {
+        assertEquals(Collections.emptyList(), index.find("chemistry", Comparator.naturalOrder(), 10));
+    }
+
+    @Test
+    void findReturnsFirstSuggestionsUpToLimit() {
+        List<String> result = index.find("soft", Comparator.naturalOrder(), 2);
+
+        assertEquals(Arrays.asList("Journal of Software", "Soft Matter"), result);
+    }
+
+    @Test
+    void findAfterClearReturnsNothing() {
+        index.clear();
+
+        assertEquals(Collections.emptyList(), index.find("soft", Comparator.naturalOrder(), 10));
+    }
+
+    @Test
+    void findReturnsSuggestionAddedAgainWithChangedText() {
+        StringBuilder journal = new StringBuilder("Physics Letters");
+        SuggestionIndex<StringBuilder> builderIndex = new SuggestionIndex<>(suggestion -> suggestion, suggestion -> Optional.of(suggestion.toString()));
+        builderIndex.addAll(List.of(journal));
+
+        journal.replace(0, journal.length(), "Chemistry Letters");
+        builderIndex.addAll(List.of(journal));
+
+        assertEquals(List.of(journal), builderIndex.find("chemistry", Comparator.comparing(StringBuilder::toString), 10));
+        assertEquals(Collections.emptyList(), builderIndex.find("physics", Comparator.comparing(StringBuilder::toString), 10));
+    }
+}
@@ -0,0 +1,88 @@
+package org.jabref.logic.bibtex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.jabref.model.database.BibDatabaseMode;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryTypesManager;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DuplicateFinderTest {
+
+    private DuplicateFinder duplicateFinder;
+    private BibEntry simpleArticle;
+    private BibEntry unrelatedArticle;
+
+    @BeforeEach
+    public void setUp() {
+        duplicateFinder = new DuplicateFinder(new BibEntryTypesManager());
+        simpleArticle = new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, "Single Author")
+                .withField(StandardField.TITLE, "A serious paper about something")
+                .withField(StandardField.YEAR, "2017");
+        unrelatedArticle = new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, "Completely Different")
+                .withField(StandardField.TITLE, "Holy Moly Uffdada und Trallalla")
+                .withField(StandardField.YEAR, "1992");
+    }
+
+    @Test
+    public void findsNoDuplicatesInUnrelatedEntries() {
+        assertEquals(Collections.emptyList(), duplicateFinder.findDuplicates(Arrays.asList(simpleArticle, unrelatedArticle), BibDatabaseMode.BIBTEX));
+    }
+
+    @Test
+    public void findsEntryWithSameContent() {
+        BibEntry copy = (BibEntry) simpleArticle.clone();
+
+        assertEquals(List.of(Arrays.asList(simpleArticle, copy)),
+                duplicateFinder.findDuplicates(Arrays.asList(simpleArticle, unrelatedArticle, copy), BibDatabaseMode.BIBTEX));
+    }
+
+    @Test
+    public void findsEntryWithSameDoiButDifferentTitle() {
+        simpleArticle.setField(StandardField.DOI, "10.1000/xyz123");
+        unrelatedArticle.setField(StandardField.DOI, "10.1000/xyz123");
+
+        assertEquals(List.of(Arrays.asList(simpleArticle, unrelatedArticle)),
+                duplicateFinder.findDuplicates(Arrays.asList(simpleArticle, unrelatedArticle), BibDatabaseMode.BIBTEX));
+    }
+
+    @Test
+    public void findsEntryWithTypoInTitle() {
+        BibEntry typo = (BibEntry) simpleArticle.clone();
+        typo.setField(StandardField.TITLE, "A serious paper about somethimg");
+
+        assertEquals(List.of(Arrays.asList(simpleArticle, typo)),
+                duplicateFinder.findDuplicates(Arrays.asList(simpleArticle, typo), BibDatabaseMode.BIBTEX));
+    }
+
+    @Test
+    public void entriesWithoutCommonBlockAreNoCandidates() {
+        assertEquals(0, duplicateFinder.getCandidatePairs(Arrays.asList(simpleArticle, unrelatedArticle)).length);
+    }
+
+    @Test
+    public void largeBlocksAreComparedWithinWindow() {
+        List<BibEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            entries.add(new BibEntry(StandardEntryType.Misc).withField(StandardField.YEAR, "2017"));
+        }
+
+        long[] candidates = duplicateFinder.getCandidatePairs(entries);
+
+        // every entry is compared to its following neighbours only
+        assertTrue(candidates.length < (entries.size() * 25));
+        assertEquals(DuplicateFinder.encodePair(0, 1), candidates[0]);
+    }
+}
@@ -661,6 +661,51 @@ public class TestVM {
         assertTrue(vm.run(v).contains("J.-P. Sartre"));
     }
 
+    @Test
+    public void testRunTwiceGivesSameResult() throws RecognitionException, IOException {
+        VM vm = new VM(new File("src/test/resources/org/jabref/logic/bst/abbrv.bst"));
+        List<BibEntry> v = new ArrayList<>();
+        v.add(t1BibtexEntry());
+
+        assertEquals(vm.run(v), vm.run(v));
+    }
+
+    @Test
+    public void testVMsOfSameStyleDoNotShareState() throws RecognitionException {
+        String style = "INTEGERS { counter } FUNCTION {increment} { counter #1 + 'counter := } EXECUTE {increment}";
+        VM first = new VM(style);
+        VM second = new VM(style);
+
+        first.run(new ArrayList<>());
+        first.run(new ArrayList<>());
+        second.run(new ArrayList<>());
+
+        assertEquals(Integer.valueOf(1), first.getIntegers().get("counter"));
+        assertEquals(Integer.valueOf(1), second.getIntegers().get("counter"));
+    }
+
+    @Test
+    public void testFunctionDefinedAfterUsingFunction() throws RecognitionException {
+        VM vm = new VM("FUNCTION {a} { b } FUNCTION {b} { #1 } EXECUTE {a}");
+
+        vm.run(new ArrayList<>());
+
+        assertEquals(1, vm.getStack().pop());
+        assertEquals(0, vm.getStack().size());
+    }
+
+    @Test
+    public void testUnknownFunctionFailsWhenCalled() throws RecognitionException {
+        VM vm = new VM("FUNCTION {a} { unknown.function } EXECUTE {a}");
+
+        try {
+            vm.run(new ArrayList<>());
+            fail("fail");
+        } catch (VMException ignored) {
+            // Ignored
+        }
+    }
+
     private BibEntry t1BibtexEntry() throws IOException {
         return TestVM.bibtexString2BibtexEntry(t1BibtexString());
     }
@@ -0,0 +1,60 @@
+package org.jabref.logic.citationstyle;
+
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+
+import de.undercouch.citeproc.csl.CSLItemData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CSLItemDataCacheTest {
+
+    private CSLItemDataCache cache;
+    private BibEntry entry;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CSLItemDataCache();
+        entry = new BibEntry();
+        entry.setCiteKey("key");
+        entry.setField(StandardField.TITLE, "Old title");
+    }
+
+    @Test
+    void convertsEntryOnlyOnce() {
+        CSLItemData item = cache.get(entry);
+
+        assertSame(item, cache.get(entry));
+    }
+
+    @Test
+    void convertsEntryAgainAfterChange() {
+        CSLItemData item = cache.get(entry);
+        entry.setField(StandardField.TITLE, "New title");
+
+        CSLItemData changedItem = cache.get(entry);
+        assertNotSame(item, changedItem);
+        assertEquals("New title", changedItem.getTitle());
+    }
+
+    @Test
+    void distinguishesEqualEntries() {
+        BibEntry equalEntry = (BibEntry) entry.clone();
+
+        assertNotSame(cache.get(entry), cache.get(equalEntry));
+    }
+
+    @Test
+    void convertsEvictedEntryAgainAfterChange() {
+        cache = new CSLItemDataCache(1);
+        cache.get(entry);
+        cache.get(new BibEntry());
+        entry.setField(StandardField.TITLE, "New title");
+
+        assertEquals("New title", cache.get(entry).getTitle());
+    }
+}
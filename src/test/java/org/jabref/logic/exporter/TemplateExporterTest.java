@@ -0,0 +1,83 @@
+package org.jabref.logic.exporter;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jabref.logic.layout.LayoutFormatterPreferences;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Answers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TemplateExporterTest {
+
+    // more entries than laid out in one chunk
+    private static final int NUMBER_OF_ENTRIES = 2500;
+
+    private LayoutFormatterPreferences layoutPreferences;
+    private SavePreferences savePreferences;
+    private List<BibEntry> entries;
+    private List<String> citeKeys;
+
+    @BeforeEach
+    void setUp() {
+        layoutPreferences = mock(LayoutFormatterPreferences.class, Answers.RETURNS_DEEP_STUBS);
+        savePreferences = mock(SavePreferences.class);
+        when(savePreferences.isSaveInOriginalOrder()).thenReturn(true);
+
+        entries = new ArrayList<>();
+        citeKeys = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_ENTRIES; i++) {
+            entries.add(new BibEntry().withCiteKey("key" + i));
+            citeKeys.add("key" + i);
+        }
+    }
+
+    private List<String> export(Path folder, String layout) throws Exception {
+        Files.writeString(folder.resolve("test.layout"), layout);
+        TemplateExporter exporter = new TemplateExporter("test", folder.resolve("test").toString(), "txt", layoutPreferences, savePreferences);
+        exporter.setCustomExport(true);
+
+        Path file = folder.resolve("export.txt");
+        exporter.export(new BibDatabaseContext(), file, StandardCharsets.UTF_8, entries);
+        return Files.readAllLines(file);
+    }
+
+    @Test
+    void exportKeepsSortOrderOfManyEntries(@TempDir Path folder) throws Exception {
+        assertEquals(citeKeys, export(folder, "\\bibtexkey\n"));
+    }
+
+    @Test
+    void exportFormatsAuthorsOfManyEntries(@TempDir Path folder) throws Exception {
+        // the name formatters share the author cache across the chunks laid out in parallel
+        List<String> authors = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_ENTRIES; i++) {
+            entries.get(i).setField(StandardField.AUTHOR, "John Smith" + i + " and Jane von Neumann" + (i % 10));
+            authors.add("Smith" + i + ", John and von Neumann" + (i % 10) + ", Jane");
+        }
+
+        assertEquals(authors, export(folder, "\\format[AuthorLastFirst]{\\author}\n"));
+    }
+
+    @Test
+    void exportNumbersManyEntriesConsecutively(@TempDir Path folder) throws Exception {
+        List<String> numbers = new ArrayList<>();
+        for (int i = 1; i <= NUMBER_OF_ENTRIES; i++) {
+            numbers.add(String.valueOf(i));
+        }
+
+        assertEquals(numbers, export(folder, "\\format[Number]{\\bibtexkey}\n"));
+    }
+}
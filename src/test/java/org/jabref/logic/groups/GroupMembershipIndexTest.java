@@ -0,0 +1,82 @@
+package org.jabref.logic.groups;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.groups.GroupHierarchyType;
+import org.jabref.model.groups.GroupTreeNode;
+import org.jabref.model.groups.WordKeywordGroup;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GroupMembershipIndexTest {
+
+    private BibDatabase database;
+    private GroupTreeNode node;
+    private BibEntry matchingEntry;
+    private GroupMembershipIndex index;
+
+    @BeforeEach
+    void setUp() {
+        database = new BibDatabase();
+        matchingEntry = new BibEntry().withField(StandardField.KEYWORDS, "java");
+        database.insertEntries(matchingEntry, new BibEntry().withField(StandardField.KEYWORDS, "python"));
+        node = GroupTreeNode.fromGroup(new WordKeywordGroup("Java", GroupHierarchyType.INDEPENDENT, StandardField.KEYWORDS, "java", true, ',', false));
+        index = GroupMembershipIndex.forDatabase(database);
+    }
+
+    @Test
+    void indexIsSharedPerDatabase() {
+        assertSame(index, GroupMembershipIndex.forDatabase(database));
+    }
+
+    @Test
+    void hitsAreCalculated() {
+        assertEquals(1, index.getHits(node));
+        assertTrue(index.matches(node, matchingEntry));
+    }
+
+    @Test
+    void hitsAreUpdatedOnEntryChanges() {
+        index.getHits(node);
+        BibEntry newEntry = new BibEntry().withField(StandardField.KEYWORDS, "java, python");
+
+        database.insertEntry(newEntry);
+        assertEquals(2, index.getHits(node));
+
+        database.removeEntry(matchingEntry);
+        assertEquals(1, index.getHits(node));
+        assertFalse(index.matches(node, matchingEntry));
+    }
+
+    @Test
+    void hitsAreUpdatedOnFieldChange() {
+        index.getHits(node);
+
+        matchingEntry.setField(StandardField.KEYWORDS, "kotlin");
+
+        assertEquals(0, index.getHits(node));
+    }
+
+    @Test
+    void listenerIsNotifiedOnlyIfMembershipChanges() {
+        AtomicInteger notifications = new AtomicInteger();
+        Runnable listener = notifications::incrementAndGet;
+        index.addListener(node, listener);
+        index.getHits(node);
+
+        matchingEntry.setField(StandardField.TITLE, "Effective Java");
+        assertEquals(0, notifications.get());
+
+        matchingEntry.setField(StandardField.KEYWORDS, "kotlin");
+        assertEquals(1, notifications.get());
+    }
+}
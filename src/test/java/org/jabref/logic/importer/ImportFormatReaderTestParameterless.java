@@ -1,6 +1,7 @@
 package org.jabref.logic.importer;
 
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
@@ -10,8 +11,10 @@ import org.jabref.model.util.FileUpdateMonitor;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Answers;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -45,6 +48,39 @@ class ImportFormatReaderTestParameterless {
         assertThrows(NullPointerException.class, () -> reader.importUnknownFormat(null));
     }
 
+    @Test
+    void importUnknownFormatPrefersImporterWithHighestConfidence() throws Exception {
+        Path file = Paths.get(ImportFormatReaderTestParameterless.class.getResource("fileformat/MsBibImporterTest4.xml").toURI());
+        String data = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+
+        assertEquals("MSBib", reader.importUnknownFormat(data).format);
+    }
+
+    @Test
+    void importUnknownFormatRecognizesFormatAfterLongBeginning(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("long.ris");
+        String data = "\n".repeat(2_000_000) + "TY  - BOOK\nTI  - Title\nER  - \n";
+        Files.writeString(file, data, StandardCharsets.UTF_8);
+
+        ImportFormatReader.UnknownFormatImport unknownFormat = reader.importUnknownFormat(file, fileMonitor);
+
+        assertEquals("RIS", unknownFormat.format);
+        assertEquals(1, unknownFormat.parserResult.getDatabase().getEntryCount());
+    }
+
+    @Test
+    void importUnknownFormatChecksWholeLongDocument(@TempDir Path tempDir) throws Exception {
+        // the beginning of the document looks like RIS, but only the whole document is a valid MSBib document
+        Path msBibFile = Paths.get(ImportFormatReaderTestParameterless.class.getResource("fileformat/MsBibImporterTest4.xml").toURI());
+        String msBib = Files.readString(msBibFile, StandardCharsets.UTF_8);
+        int rootElementStart = msBib.indexOf('\n') + 1;
+        String comment = "<!--\nTY  - BOOK\n" + ("x".repeat(79) + "\n").repeat(30_000) + "-->\n";
+        Path file = tempDir.resolve("long.xml");
+        Files.writeString(file, msBib.substring(0, rootElementStart) + comment + msBib.substring(rootElementStart), StandardCharsets.UTF_8);
+
+        assertEquals("MSBib", reader.importUnknownFormat(file, fileMonitor).format);
+    }
+
     @Test
     void importFromFileWithUnknownFormatThrowsException() throws Exception {
         assertThrows(ImportException.class, () -> reader.importFromFile("someunknownformat", Paths.get("somepath")));
@@ -0,0 +1,80 @@
+package org.jabref.logic.importer.fileformat;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BibtexCharBufferTest {
+
+    @Test
+    void readReturnsCharactersAndEof() throws IOException {
+        BibtexCharBuffer buffer = BibtexCharBuffer.fromReader(new StringReader("ab"), 4);
+        assertEquals('a', buffer.read());
+        assertEquals('b', buffer.read());
+        assertEquals(-1, buffer.read());
+    }
+
+    @Test
+    void dumpReturnsTextReadSinceLastDump() throws IOException {
+        BibtexCharBuffer buffer = BibtexCharBuffer.fromReader(new StringReader("abc"), 4);
+        buffer.read();
+        assertEquals("a", buffer.dumpRecordedText());
+        buffer.read();
+        buffer.read();
+        assertEquals("bc", buffer.dumpRecordedText());
+    }
+
+    @Test
+    void unreadRemovesCharacterFromRecordedText() throws IOException {
+        BibtexCharBuffer buffer = BibtexCharBuffer.fromReader(new StringReader("abc"), 4);
+        buffer.read();
+        int character = buffer.read();
+        buffer.unread(character);
+        assertEquals("a", buffer.dumpRecordedText());
+        assertEquals('b', buffer.read());
+    }
+
+    @Test
+    void unreadOfOtherCharacterIsReadAgainAndRecordedTwice() throws IOException {
+        BibtexCharBuffer buffer = BibtexCharBuffer.fromReader(new StringReader("ab"), 4);
+        buffer.read();
+        buffer.read();
+        buffer.unread('x');
+        assertEquals('x', buffer.read());
+        assertEquals("abx", buffer.dumpRecordedText());
+    }
+
+    @Test
+    void unreadOfEofIsReadAsEofCharacter() throws IOException {
+        BibtexCharBuffer buffer = BibtexCharBuffer.fromReader(new StringReader("a"), 4);
+        buffer.read();
+        buffer.read();
+        buffer.unread(-1);
+        assertEquals(65535, buffer.read());
+        assertEquals("a", buffer.dumpRecordedText());
+    }
+
+    @Test
+    void unreadAfterDumpThrowsException() throws IOException {
+        BibtexCharBuffer buffer = BibtexCharBuffer.fromReader(new StringReader("ab"), 4);
+        int character = buffer.read();
+        buffer.dumpRecordedText();
+        assertThrows(NoSuchElementException.class, () -> buffer.unread(character));
+    }
+
+    @Test
+    void unreadMoreThanCapacityThrowsException() throws IOException {
+        BibtexCharBuffer buffer = BibtexCharBuffer.fromReader(new StringReader("abc"), 2);
+        buffer.read();
+        buffer.read();
+        buffer.read();
+        buffer.unread('c');
+        buffer.unread('b');
+        assertThrows(IOException.class, () -> buffer.unread('a'));
+    }
+}
@@ -0,0 +1,113 @@
+package org.jabref.logic.importer.fileformat;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.jabref.logic.importer.ImportFormatPreferences;
+import org.jabref.logic.importer.ParserResult;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.util.DummyFileUpdateMonitor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ParallelBibtexParserTest {
+
+    private ImportFormatPreferences importFormatPreferences;
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        importFormatPreferences = mock(ImportFormatPreferences.class, Answers.RETURNS_DEEP_STUBS);
+        when(importFormatPreferences.getKeywordSeparator()).thenReturn(',');
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void chunkBoundariesAreAfterLineBreakFollowingEntry() {
+        char[] content = "@article{a,title={{A}}}\n\n@article{b}\n@comment{c}\n@article{d}\n".toCharArray();
+
+        assertEquals(List.of(0, 24, content.length), ParallelBibtexParser.getChunkBoundaries(content, content.length, 1));
+    }
+
+    @Test
+    void noChunkBoundaryWithinUnbalancedInput() {
+        char[] content = "@article{a}}\n@article{b}\n".toCharArray();
+
+        assertEquals(List.of(0, content.length), ParallelBibtexParser.getChunkBoundaries(content, content.length, 1));
+    }
+
+    @Test
+    void commentIsRecognizedLikeSequentialParser() {
+        assertEquals(12, ParallelBibtexParser.indexOfComment("@article{a}\n@ Comment(c)\n".toCharArray(), 25));
+        assertEquals(12, ParallelBibtexParser.indexOfComment("@article{a}\n@COMMENT\n{c}\n".toCharArray(), 25));
+    }
+
+    @Test
+    void commentsIsNoComment() {
+        char[] content = "@article{a}\n@comments{c}\n".toCharArray();
+
+        assertEquals(content.length, ParallelBibtexParser.indexOfComment(content, content.length));
+    }
+
+    @Test
+    void metaDataAfterCommentWithWhitespaceIsParsed() throws IOException {
+        String content = "@article{a,title={A}}\n\n@article{b,title={B}}\n\n@ Comment{jabref-meta: databaseType:biblatex;}\n";
+
+        ParserResult expected = new BibtexParser(importFormatPreferences, new DummyFileUpdateMonitor()).parse(new StringReader(content));
+        ParserResult actual = new ParallelBibtexParser(importFormatPreferences, new DummyFileUpdateMonitor(), pool, 1).parse(new StringReader(content));
+
+        assertEquals(expected.getMetaData(), actual.getMetaData());
+        assertEquals(expected.getDatabase().getEntries(), actual.getDatabase().getEntries());
+    }
+
+    @Test
+    void parallelParseEqualsSequentialParse() throws IOException {
+        String content = Files.readString(Paths.get("src/test/resources/testbib/complex.bib"), StandardCharsets.UTF_8);
+
+        ParserResult expected = new BibtexParser(importFormatPreferences, new DummyFileUpdateMonitor()).parse(new StringReader(content));
+        ParserResult actual = new ParallelBibtexParser(importFormatPreferences, new DummyFileUpdateMonitor(), pool, 1).parse(new StringReader(content));
+
+        assertEquals(expected.getDatabase().getEntries(), actual.getDatabase().getEntries());
+        assertEquals(getSerializations(expected), getSerializations(actual));
+        assertEquals(expected.getDatabase().getPreamble(), actual.getDatabase().getPreamble());
+        assertEquals(expected.getDatabase().getStringCount(), actual.getDatabase().getStringCount());
+        assertEquals(expected.getDatabase().getEpilog(), actual.getDatabase().getEpilog());
+        assertEquals(expected.getDuplicateKeys(), actual.getDuplicateKeys());
+        assertEquals(expected.warnings(), actual.warnings());
+        assertEquals(expected.getMetaData().getGroups(), actual.getMetaData().getGroups());
+    }
+
+    @Test
+    void duplicateKeysInDifferentChunksAreDetected() throws IOException {
+        String content = "@article{a,title={A}}\n\n@article{a,title={B}}\n";
+
+        ParserResult result = new ParallelBibtexParser(importFormatPreferences, new DummyFileUpdateMonitor(), pool, 1).parse(new StringReader(content));
+
+        assertEquals(List.of("a"), result.getDuplicateKeys());
+        assertEquals(2, result.getDatabase().getEntryCount());
+    }
+
+    private static List<String> getSerializations(ParserResult result) {
+        return result.getDatabase().getEntries().stream()
+                     .map(BibEntry::getParsedSerialization)
+                     .collect(Collectors.toList());
+    }
+}
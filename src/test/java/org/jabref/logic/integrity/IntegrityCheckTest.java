@@ -3,11 +3,13 @@ package org.jabref.logic.integrity;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.jabref.logic.bibtexkeypattern.BibtexKeyPatternPreferences;
 import org.jabref.logic.journals.Abbreviation;
@@ -361,6 +363,54 @@ class IntegrityCheckTest {
         assertWrong(createContext(StandardField.AUTHOR, "Some unicode ⊕"));
     }
 
+    @Test
+    void checkAgainReportsChangedEntry() {
+        BibDatabaseContext context = createContext(StandardField.URL, "http://www.google.com");
+        IntegrityCheck check = new IntegrityCheck(context,
+                mock(FilePreferences.class),
+                createBibtexKeyPatternPreferences(),
+                new JournalAbbreviationRepository(new Abbreviation("IEEE Software", "IEEE SW")), true, false);
+        assertEquals(Collections.emptyList(), check.checkDatabase());
+
+        context.getDatabase().getEntries().get(0).setField(StandardField.URL, "www.google.com");
+
+        assertNotEquals(Collections.emptyList(), check.checkDatabase());
+    }
+
+    @Test
+    void checkDatabaseInParallelReportsSameAsCheckingEachEntry() {
+        // separate databases, so that the parallel check does not use the cached messages of the sequential one
+        BibDatabaseContext sequentialContext = createContextWithManyAuthors();
+        IntegrityCheck sequentialCheck = new IntegrityCheck(sequentialContext,
+                mock(FilePreferences.class),
+                createBibtexKeyPatternPreferences(),
+                new JournalAbbreviationRepository(new Abbreviation("IEEE Software", "IEEE SW")), true, false);
+        List<String> expected = new ArrayList<>();
+        sequentialContext.getDatabase().getEntries().forEach(
+                entry -> sequentialCheck.checkEntry(entry).forEach(message -> expected.add(message.toString())));
+
+        List<String> messages = new IntegrityCheck(createContextWithManyAuthors(),
+                mock(FilePreferences.class),
+                createBibtexKeyPatternPreferences(),
+                new JournalAbbreviationRepository(new Abbreviation("IEEE Software", "IEEE SW")), true, false)
+                .checkDatabase().stream()
+                .map(IntegrityMessage::toString)
+                .collect(Collectors.toList());
+
+        assertEquals(expected, messages);
+    }
+
+    private BibDatabaseContext createContextWithManyAuthors() {
+        BibDatabase database = new BibDatabase();
+        for (int i = 0; i < 2000; i++) {
+            database.insertEntry(new BibEntry(StandardEntryType.Article)
+                    .withField(StandardField.AUTHOR, "Smith" + i + ", John and von Neumann" + (i % 10) + ", J.")
+                    .withField(StandardField.YEAR, "2000")
+                    .withField(InternalField.KEY_FIELD, (i % 2) == 0 ? "Smith" + i + "2000" : "key" + i));
+        }
+        return new BibDatabaseContext(database, new Defaults());
+    }
+
     private BibDatabaseContext createContext(Field field, String value, EntryType type) {
         BibEntry entry = new BibEntry();
         entry.setField(field, value);
@@ -0,0 +1,54 @@
+package org.jabref.logic.journals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AbbreviationSnapshotTest {
+
+    @Test
+    void readReturnsWrittenAbbreviations(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("journals").resolve("list.csv.bin");
+        List<Abbreviation> abbreviations = List.of(
+                new Abbreviation("Physical Review Letters", "Phys. Rev. Lett.", "PRL"),
+                new Abbreviation("Zeitschrift für Physik", "Z. Phys."));
+
+        AbbreviationSnapshot.write(file, "hash", abbreviations);
+        List<Abbreviation> result = AbbreviationSnapshot.read(file, "hash").orElseThrow();
+
+        assertEquals(abbreviations, result);
+        assertEquals("PRL", result.get(0).getShortestUniqueAbbreviation());
+        assertEquals("Z. Phys.", result.get(1).getShortestUniqueAbbreviation());
+        assertEquals("", result.get(1).shortestUniqueAbbreviationProperty().get());
+    }
+
+    @Test
+    void readIgnoresSnapshotOfOtherSource(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("list.csv.bin");
+        AbbreviationSnapshot.write(file, "hash", List.of(new Abbreviation("Long Name", "L. N.")));
+
+        assertEquals(Optional.empty(), AbbreviationSnapshot.read(file, "other hash"));
+    }
+
+    @Test
+    void readIgnoresDamagedSnapshot(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("list.csv.bin");
+        AbbreviationSnapshot.write(file, "hash", List.of(new Abbreviation("Long Name", "L. N.")));
+        byte[] content = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(content, content.length - 3));
+
+        assertEquals(Optional.empty(), AbbreviationSnapshot.read(file, "hash"));
+    }
+
+    @Test
+    void readMissingSnapshotReturnsNothing(@TempDir Path directory) {
+        assertEquals(Optional.empty(), AbbreviationSnapshot.read(directory.resolve("missing.bin"), "hash"));
+    }
+}
@@ -127,4 +127,37 @@ public class JournalAbbreviationRepositoryTest {
         assertEquals("LA. N.", repository.getDefaultAbbreviation("Long Name").orElse("WRONG"));
         assertEquals("LAN", repository.getShortestUniqueAbbreviation("Long Name").orElse("WRONG"));
     }
+
+    @Test
+    public void lookupIgnoresCase() {
+        JournalAbbreviationRepository repository = new JournalAbbreviationRepository();
+        repository.addEntry(new Abbreviation("Long Name", "L. N.", "LN"));
+
+        assertTrue(repository.isKnownName("long name"));
+        assertTrue(repository.isKnownName(" l. n. "));
+        assertTrue(repository.isKnownName("ln"));
+        assertEquals("L. N.", repository.getDefaultAbbreviation("LONG NAME").orElse("WRONG"));
+    }
+
+    @Test
+    public void isAbbreviatedName() {
+        JournalAbbreviationRepository repository = new JournalAbbreviationRepository();
+        repository.addEntry(new Abbreviation("Long Name", "L. N."));
+        repository.addEntry(new Abbreviation("Nature", "Nature"));
+
+        assertTrue(repository.isAbbreviatedName("L. N."));
+        assertTrue(repository.isAbbreviatedName("l n"));
+        assertFalse(repository.isAbbreviatedName("Long Name"));
+        assertFalse(repository.isAbbreviatedName("Nature"));
+    }
+
+    @Test
+    public void replacedAbbreviationIsNotFoundAnymore() {
+        JournalAbbreviationRepository repository = new JournalAbbreviationRepository();
+        repository.addEntry(new Abbreviation("Long Name", "L. N."));
+        repository.addEntry(new Abbreviation("Long Name", "LA. N."));
+
+        assertFalse(repository.isKnownName("L. N."));
+        assertTrue(repository.isKnownName("LA. N."));
+    }
 }
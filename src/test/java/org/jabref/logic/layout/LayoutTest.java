@@ -18,6 +18,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Answers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -165,4 +167,20 @@ class LayoutTest {
 
         assertEquals("JoeDoe and MaryJ", layoutText);
     }
+
+    @Test
+    void fieldLayoutDoesNotDependOnPreviousEntries() throws IOException {
+        Layout layout = new LayoutHelper(new StringReader("\\begin{author}\\format[HTMLChars]{\\author}\\end{author}"), layoutFormatterPreferences)
+                .getLayoutFromText();
+
+        assertFalse(layout.dependsOnPreviousEntries());
+    }
+
+    @Test
+    void numberedLayoutDependsOnPreviousEntries() throws IOException {
+        Layout layout = new LayoutHelper(new StringReader("\\begin{author}\\format[Number]{\\author}\\end{author}"), layoutFormatterPreferences)
+                .getLayoutFromText();
+
+        assertTrue(layout.dependsOnPreviousEntries());
+    }
 }
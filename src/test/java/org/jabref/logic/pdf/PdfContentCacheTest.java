@@ -0,0 +1,96 @@
+package org.jabref.logic.pdf;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PdfContentCacheTest {
+
+    private static final PdfContentCache.Kind<String> PAGE_COUNT = new PdfContentCache.Kind<>("pages", 1) {
+        @Override
+        protected void write(DataOutputStream output, String value) throws IOException {
+            writeString(output, value);
+        }
+
+        @Override
+        protected String read(DataInputStream input) throws IOException {
+            return readString(input);
+        }
+    };
+
+    private final Path pdfFile = Paths.get("src/test/resources/pdfs/minimal.pdf");
+    private final AtomicInteger extractions = new AtomicInteger();
+
+    private Path cacheDirectory;
+
+    @BeforeEach
+    void setUp(@TempDir Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+        PdfContentCache.setCacheDirectory(cacheDirectory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        PdfContentCache.setCacheDirectory(null);
+    }
+
+    @Test
+    void secondGetUsesCachedData() throws IOException {
+        String first = PdfContentCache.get(pdfFile, PAGE_COUNT, this::extractPageCount);
+        String second = PdfContentCache.get(pdfFile, PAGE_COUNT, this::extractPageCount);
+
+        assertEquals(first, second);
+        assertEquals(1, extractions.get());
+    }
+
+    @Test
+    void getWithoutCacheDirectoryExtractsEachTime() throws IOException {
+        PdfContentCache.setCacheDirectory(null);
+
+        PdfContentCache.get(pdfFile, PAGE_COUNT, this::extractPageCount);
+        PdfContentCache.get(pdfFile, PAGE_COUNT, this::extractPageCount);
+
+        assertEquals(2, extractions.get());
+    }
+
+    @Test
+    void getAfterInvalidateExtractsAgain() throws IOException {
+        PdfContentCache.get(pdfFile, PAGE_COUNT, this::extractPageCount);
+        PdfContentCache.invalidate(pdfFile);
+        PdfContentCache.get(pdfFile, PAGE_COUNT, this::extractPageCount);
+
+        assertEquals(2, extractions.get());
+    }
+
+    @Test
+    void cleanUpRemovesDataOfDeletedFile(@TempDir Path pdfDirectory) throws IOException {
+        Path copiedFile = Files.copy(pdfFile, pdfDirectory.resolve("copy.pdf"));
+        PdfContentCache.get(pdfFile, PAGE_COUNT, this::extractPageCount);
+        PdfContentCache.get(copiedFile, PAGE_COUNT, this::extractPageCount);
+        Files.delete(copiedFile);
+
+        PdfContentCache.cleanUp();
+
+        try (Stream<Path> cacheFiles = Files.list(cacheDirectory)) {
+            assertEquals(1, cacheFiles.count());
+        }
+    }
+
+    private String extractPageCount(PDDocument document) {
+        extractions.incrementAndGet();
+        return String.valueOf(document.getNumberOfPages());
+    }
+}
@@ -119,4 +119,33 @@ public class DatabaseSearcherTest {
 
         assertEquals(Collections.emptyList(), databaseSearcher.getMatches());
     }
+
+    @Test
+    public void testCorrectMatchFromFieldScopedQuery() {
+        BibEntry entry = new BibEntry(StandardEntryType.Article);
+        entry.setField(StandardField.AUTHOR, "harrer");
+        entry.setField(StandardField.TITLE, "tonho");
+        database.insertEntry(entry);
+        BibEntry otherEntry = new BibEntry(StandardEntryType.Article);
+        otherEntry.setField(StandardField.AUTHOR, "tonho");
+        database.insertEntry(otherEntry);
+
+        SearchQuery query = new SearchQuery("title = TONHO and author = harrer", false, false);
+        List<BibEntry> matches = new DatabaseSearcher(query, database).getMatches();
+
+        assertEquals(Collections.singletonList(entry), matches);
+    }
+
+    @Test
+    public void testCorrectMatchAfterFieldChange() {
+        BibEntry entry = new BibEntry(StandardEntryType.Article);
+        entry.setField(StandardField.AUTHOR, "harrer");
+        database.insertEntry(entry);
+        SearchQuery query = new SearchQuery("tonho", false, false);
+        assertEquals(Collections.emptyList(), new DatabaseSearcher(query, database).getMatches());
+
+        entry.setField(StandardField.TITLE, "Tonho");
+
+        assertEquals(Collections.singletonList(entry), new DatabaseSearcher(query, database).getMatches());
+    }
 }
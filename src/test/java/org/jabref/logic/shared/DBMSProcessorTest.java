@@ -2,12 +2,14 @@ package org.jabref.logic.shared;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.jabref.logic.shared.exception.OfflineLockException;
@@ -95,6 +97,67 @@ class DBMSProcessorTest {
         assertEquals(expectedFieldMap, actualFieldMap);
     }
 
+    @Test
+    void testInsertEntries() {
+        BibEntry firstEntry = getBibEntryExample();
+        BibEntry secondEntry = getBibEntryExample().withField(StandardField.YEAR, "1995");
+        BibEntry thirdEntry = new BibEntry(StandardEntryType.Book).withField(StandardField.TITLE, "A book");
+
+        dbmsProcessor.insertEntries(List.of(firstEntry, secondEntry, thirdEntry));
+
+        assertEquals(List.of(1, 2, 3), List.of(
+                firstEntry.getSharedBibEntryData().getSharedID(),
+                secondEntry.getSharedBibEntryData().getSharedID(),
+                thirdEntry.getSharedBibEntryData().getSharedID()));
+        assertEquals(List.of(firstEntry, secondEntry, thirdEntry), dbmsProcessor.getSharedEntries());
+    }
+
+    @Test
+    void testInsertEntriesSkipsExistingEntries() throws SQLException {
+        BibEntry existingEntry = getBibEntryExample();
+        dbmsProcessor.insertEntry(existingEntry);
+        BibEntry newEntry = getBibEntryExample().withField(StandardField.YEAR, "1995");
+
+        dbmsProcessor.insertEntries(List.of(existingEntry, newEntry));
+
+        assertEquals(2, newEntry.getSharedBibEntryData().getSharedID());
+        try (ResultSet entryResultSet = selectFrom("ENTRY", dbmsConnection, dbmsProcessor)) {
+            assertTrue(entryResultSet.next());
+            assertTrue(entryResultSet.next());
+            assertFalse(entryResultSet.next());
+        }
+    }
+
+    @Test
+    void testRevisionIsIncrementedByEachChange() throws Exception {
+        assertEquals(Optional.of(0), dbmsProcessor.getRevision());
+
+        BibEntry bibEntry = getBibEntryExample();
+        dbmsProcessor.insertEntry(bibEntry);
+        assertEquals(Optional.of(1), dbmsProcessor.getRevision());
+
+        bibEntry.setField(StandardField.YEAR, "1995");
+        dbmsProcessor.updateEntry(bibEntry);
+        assertEquals(Optional.of(2), dbmsProcessor.getRevision());
+
+        dbmsProcessor.removeEntries(List.of(bibEntry));
+        assertEquals(Optional.of(3), dbmsProcessor.getRevision());
+        assertEquals(3, dbmsProcessor.getLastWrittenRevision());
+    }
+
+    @Test
+    void testGetChangedSharedIDs() throws Exception {
+        BibEntry firstEntry = getBibEntryExample();
+        BibEntry secondEntry = getBibEntryExample().withField(StandardField.YEAR, "1995");
+        dbmsProcessor.insertEntries(List.of(firstEntry, secondEntry));
+        firstEntry.setField(StandardField.YEAR, "1996");
+        dbmsProcessor.updateEntry(firstEntry);
+
+        assertEquals(Optional.of(Set.of(1, 2)), dbmsProcessor.getChangedSharedIDs(0, 2));
+        assertEquals(Optional.of(Set.of(1)), dbmsProcessor.getChangedSharedIDs(1, 2));
+        assertEquals(Optional.of(Set.of()), dbmsProcessor.getChangedSharedIDs(2, 2));
+    }
+
     @Test
     void testUpdateEntry() throws Exception {
         BibEntry expectedEntry = getBibEntryExample();
@@ -125,6 +188,23 @@ class DBMSProcessorTest {
         assertEquals(List.of(firstEntry, secondEntry), sharedEntriesByIdList);
     }
 
+    @Test
+    void testGetEntriesByIdListLargerThanOneStatement() {
+        List<BibEntry> entries = new ArrayList<>();
+        for (int i = 0; i < (DBMSProcessor.MAX_ROWS_PER_STATEMENT + 1); i++) {
+            entries.add(new BibEntry(StandardEntryType.Article).withField(StandardField.TITLE, "Title " + i));
+        }
+        dbmsProcessor.insertEntries(entries);
+        List<Integer> sharedIDs = entries.stream()
+                                         .map(entry -> entry.getSharedBibEntryData().getSharedID())
+                                         .collect(Collectors.toList());
+        Collections.reverse(sharedIDs);
+
+        List<BibEntry> sharedEntriesByIdList = dbmsProcessor.getSharedEntries(sharedIDs);
+
+        assertEquals(entries, sharedEntriesByIdList);
+    }
+
     @Test
     void testUpdateNewerEntry() {
         BibEntry bibEntry = getBibEntryExample();
@@ -259,6 +339,27 @@ class DBMSProcessorTest {
         assertEquals(expectedIDVersionMap, actualIDVersionMap);
     }
 
+    @Test
+    void databaseIdIsKeptWhenDatabaseIsOpenedAgain() throws SQLException {
+        Optional<String> databaseId = dbmsProcessor.getDatabaseId();
+
+        dbmsProcessor.initializeDatabaseId();
+
+        assertTrue(databaseId.isPresent());
+        assertEquals(databaseId, dbmsProcessor.getDatabaseId());
+    }
+
+    @Test
+    void databaseIdChangesWhenDatabaseIsRecreated() throws SQLException {
+        Optional<String> databaseId = dbmsProcessor.getDatabaseId();
+
+        TestManager.clearTables(this.dbmsConnection);
+        dbmsProcessor.setupSharedDatabase();
+
+        assertTrue(dbmsProcessor.getDatabaseId().isPresent());
+        assertFalse(databaseId.equals(dbmsProcessor.getDatabaseId()));
+    }
+
     @Test
     void testGetSharedMetaData() {
         insertMetaData("databaseType", "bibtex;", dbmsConnection, dbmsProcessor);
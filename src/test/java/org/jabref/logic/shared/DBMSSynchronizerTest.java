@@ -1,13 +1,16 @@
 package org.jabref.logic.shared;
 
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import org.jabref.logic.exporter.MetaDataSerializer;
 import org.jabref.logic.formatter.casechanger.LowerCaseFormatter;
+import org.jabref.logic.shared.event.UpdateRefusedEvent;
 import org.jabref.model.bibtexkeypattern.GlobalBibtexKeyPattern;
 import org.jabref.model.cleanup.FieldFormatterCleanup;
 import org.jabref.model.cleanup.FieldFormatterCleanups;
@@ -31,6 +34,7 @@ import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DatabaseTest
@@ -96,11 +100,51 @@ public class DBMSSynchronizerTest {
         bibDatabase.insertEntry(expectedEntry);
         expectedEntry.setField(StandardField.AUTHOR, "Brad L and Gilson");
         expectedEntry.setField(StandardField.TITLE, "The micro multiplexer");
+        dbmsSynchronizer.getWriteQueue().flush();
 
         List<BibEntry> actualEntries = dbmsProcessor.getSharedEntries();
         assertEquals(Collections.singletonList(expectedEntry), actualEntries);
     }
 
+    @Test
+    public void consecutiveLocalFieldChangesAreWrittenInOneBatch() throws Exception {
+        BibEntry expectedEntry = createExampleBibEntry(1);
+        expectedEntry.registerListener(dbmsSynchronizer);
+        bibDatabase.insertEntry(expectedEntry);
+        long flushedBatches = dbmsSynchronizer.getWriteQueue().getFlushedBatches();
+
+        expectedEntry.setField(StandardField.AUTHOR, "Brad L and Gilson");
+        expectedEntry.setField(StandardField.TITLE, "The micro multiplexer");
+        dbmsSynchronizer.getWriteQueue().flush();
+
+        assertEquals(0, dbmsSynchronizer.getWriteQueue().getQueueDepth());
+        assertEquals(flushedBatches + 1, dbmsSynchronizer.getWriteQueue().getFlushedBatches());
+        assertEquals(List.of(expectedEntry), dbmsProcessor.getSharedEntries());
+    }
+
+    @Test
+    public void conflictingLocalFieldChangePostsUpdateRefusedEvent() throws Exception {
+        SynchronizationTestEventListener eventListener = new SynchronizationTestEventListener();
+        dbmsSynchronizer.registerListener(eventListener);
+        BibEntry localEntry = createExampleBibEntry(1);
+        localEntry.registerListener(dbmsSynchronizer);
+        bibDatabase.insertEntry(localEntry);
+
+        // another client changes the entry first
+        BibEntry sharedEntry = createExampleBibEntry(1)
+                .withField(StandardField.TITLE, "The micro multiplexer");
+        sharedEntry.getSharedBibEntryData().setVersion(localEntry.getSharedBibEntryData().getVersion());
+        dbmsProcessor.updateEntry(sharedEntry);
+
+        localEntry.setField(StandardField.AUTHOR, "Brad L and Gilson");
+        dbmsSynchronizer.getWriteQueue().flush();
+
+        UpdateRefusedEvent event = eventListener.getUpdateRefusedEvent();
+        assertNotNull(event);
+        assertEquals(Optional.of("Brad L and Gilson"), event.getLocalBibEntry().getField(StandardField.AUTHOR));
+        assertEquals(Optional.of("The micro multiplexer"), event.getSharedBibEntry().getField(StandardField.TITLE));
+    }
+
     @Test
     public void oneLocalAndOneSharedFieldChangeIsSynchronizedCorrectly() throws Exception {
         BibEntry exampleBibEntry = createExampleBibEntry(1);
@@ -110,6 +154,7 @@ public class DBMSSynchronizerTest {
         exampleBibEntry.setField(StandardField.AUTHOR, "Brad L and Gilson");
         // shared updates are not synchronized back to the remote database
         exampleBibEntry.setField(StandardField.TITLE, "The micro multiplexer", EntriesEventSource.SHARED);
+        dbmsSynchronizer.getWriteQueue().flush();
 
         List<BibEntry> actualEntries = dbmsProcessor.getSharedEntries();
 
@@ -184,6 +229,36 @@ public class DBMSSynchronizerTest {
         assertEquals(expectedBibEntries, bibDatabase.getEntries());
     }
 
+    @Test
+    public void pullChangesIgnoresSynchronizedRevision() throws Exception {
+        BibEntry bibEntry = createExampleBibEntry(1);
+        dbmsProcessor.insertEntry(bibEntry);
+
+        // revision 0 was synchronized when opening the shared database
+        dbmsSynchronizer.pullChanges(0);
+        assertTrue(bibDatabase.getEntries().isEmpty());
+
+        dbmsSynchronizer.pullChanges(dbmsProcessor.getLastWrittenRevision());
+        assertEquals(List.of(bibEntry), bibDatabase.getEntries());
+    }
+
+    @Test
+    public void pullChangesFindsChangesNotLogged() throws Exception {
+        BibEntry bibEntry = createExampleBibEntry(1);
+        bibDatabase.insertEntry(bibEntry);
+
+        // clients of older JabRef versions do not increment the revision
+        try (Statement statement = dbmsConnection.getConnection().createStatement()) {
+            statement.executeUpdate("UPDATE " + dbmsProcessor.escape("FIELD") + " SET " + dbmsProcessor.escape("VALUE")
+                    + " = 'The old processor' WHERE " + dbmsProcessor.escape("NAME") + " = 'title'");
+            statement.executeUpdate("UPDATE " + dbmsProcessor.escape("ENTRY") + " SET " + dbmsProcessor.escape("VERSION")
+                    + " = " + dbmsProcessor.escape("VERSION") + " + 1");
+        }
+        dbmsSynchronizer.pullChanges();
+
+        assertEquals(Optional.of("The old processor"), bibDatabase.getEntries().get(0).getField(StandardField.TITLE));
+    }
+
     @Test
     public void testSynchronizeLocalDatabaseWithEntryUpdate() throws Exception {
         BibEntry bibEntry = createExampleBibEntry(1);
@@ -0,0 +1,113 @@
+package org.jabref.logic.shared;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.jabref.model.database.shared.DBMSType;
+import org.jabref.model.database.shared.DatabaseConnectionProperties;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SharedDatabaseReplicaTest {
+
+    private Path replicaDirectory;
+    private DatabaseConnectionProperties properties;
+
+    @BeforeEach
+    void setUp(@TempDir Path replicaDirectory) {
+        this.replicaDirectory = replicaDirectory;
+        SharedDatabaseReplica.setReplicaDirectory(replicaDirectory);
+        properties = createProperties("jabref");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SharedDatabaseReplica.setReplicaDirectory(null);
+    }
+
+    @Test
+    void loadReturnsSavedEntriesAndMetaData() throws IOException {
+        BibEntry entry = new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, "Wirthlin, Michael J")
+                .withField(StandardField.TITLE, "The nano processor");
+        entry.getSharedBibEntryData().setSharedID(3);
+        entry.getSharedBibEntryData().setVersion(2);
+        SharedDatabaseReplica.save(properties, "database", 7, List.of(entry), Map.of("databaseType", "bibtex;"));
+
+        SharedDatabaseReplica replica = SharedDatabaseReplica.load(properties).get();
+
+        BibEntry loadedEntry = replica.getEntries().get(0);
+        assertEquals("database", replica.getDatabaseId());
+        assertEquals(7, replica.getRevision());
+        assertEquals(1, replica.getEntries().size());
+        assertEquals(entry, loadedEntry);
+        assertEquals(3, loadedEntry.getSharedBibEntryData().getSharedID());
+        assertEquals(2, loadedEntry.getSharedBibEntryData().getVersion());
+        assertEquals(Map.of("databaseType", "bibtex;"), replica.getMetaData());
+    }
+
+    @Test
+    void loadOfOtherLibraryReturnsEmpty() throws IOException {
+        SharedDatabaseReplica.save(properties, "database", 0, List.of(new BibEntry()), Map.of());
+
+        assertTrue(SharedDatabaseReplica.load(createProperties("other")).isEmpty());
+    }
+
+    @Test
+    void loadOfCorruptReplicaReturnsEmpty() throws IOException {
+        SharedDatabaseReplica.save(properties, "database", 0, List.of(new BibEntry()), Map.of());
+        try (Stream<Path> files = Files.list(replicaDirectory)) {
+            Path replicaFile = files.findFirst().get();
+            Files.write(replicaFile, new byte[] {0x4A, 0x52, 0x53});
+        }
+
+        assertTrue(SharedDatabaseReplica.load(properties).isEmpty());
+    }
+
+    @Test
+    void loadOfReplicaWithCorruptEntryCountReturnsEmpty() throws IOException {
+        SharedDatabaseReplica.save(properties, "database", 0, List.of(), Map.of());
+        try (Stream<Path> files = Files.list(replicaDirectory)) {
+            Path replicaFile = files.findFirst().get();
+            byte[] content = Files.readAllBytes(replicaFile);
+            // the entry count follows the revision, which is followed by the meta data count
+            ByteBuffer.wrap(content).putInt(content.length - 8, Integer.MAX_VALUE);
+            Files.write(replicaFile, content);
+        }
+
+        assertTrue(SharedDatabaseReplica.load(properties).isEmpty());
+    }
+
+    @Test
+    void loadWithoutReplicaDirectoryReturnsEmpty() throws IOException {
+        SharedDatabaseReplica.save(properties, "database", 0, List.of(new BibEntry()), Map.of());
+        SharedDatabaseReplica.setReplicaDirectory(null);
+
+        assertTrue(SharedDatabaseReplica.load(properties).isEmpty());
+    }
+
+    private static DatabaseConnectionProperties createProperties(String database) {
+        return new DBMSConnectionPropertiesBuilder()
+                .setType(DBMSType.POSTGRESQL)
+                .setHost("localhost")
+                .setPort(5432)
+                .setDatabase(database)
+                .setUser("postgres")
+                .setPassword("")
+                .createDBMSConnectionProperties();
+    }
+}
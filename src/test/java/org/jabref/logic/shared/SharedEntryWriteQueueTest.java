@@ -0,0 +1,132 @@
+package org.jabref.logic.shared;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SharedEntryWriteQueueTest {
+
+    private final List<List<BibEntry>> writtenBatches = new ArrayList<>();
+    private SharedEntryWriteQueue writeQueue;
+
+    @BeforeEach
+    void setUp() {
+        // the delay is long enough to flush manually only
+        writeQueue = new SharedEntryWriteQueue(writtenBatches::add, () -> { }, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        writeQueue.shutdown();
+    }
+
+    @Test
+    void changesOfSameEntryAreCoalesced() {
+        BibEntry entry = new BibEntry().withField(StandardField.TITLE, "title");
+        BibEntry otherEntry = new BibEntry();
+
+        writeQueue.add(entry, entry);
+        writeQueue.add(otherEntry, otherEntry);
+        writeQueue.add(entry, entry);
+
+        assertEquals(2, writeQueue.getQueueDepth());
+        assertTrue(writeQueue.isPending(entry));
+
+        writeQueue.flush();
+
+        assertEquals(List.of(List.of(entry, otherEntry)), writtenBatches);
+        assertEquals(0, writeQueue.getQueueDepth());
+        assertFalse(writeQueue.isPending(entry));
+        assertEquals(1, writeQueue.getFlushedBatches());
+    }
+
+    @Test
+    void lastSnapshotOfEntryIsWritten() {
+        BibEntry entry = new BibEntry();
+        BibEntry firstSnapshot = new BibEntry().withField(StandardField.TITLE, "first");
+        BibEntry lastSnapshot = new BibEntry().withField(StandardField.TITLE, "last");
+
+        writeQueue.add(entry, firstSnapshot);
+        writeQueue.add(entry, lastSnapshot);
+        writeQueue.flush();
+
+        assertEquals(List.of(List.of(lastSnapshot)), writtenBatches);
+    }
+
+    @Test
+    void removedEntriesAreNotWritten() {
+        BibEntry entry = new BibEntry();
+        BibEntry removedEntry = new BibEntry();
+        writeQueue.add(entry, entry);
+        writeQueue.add(removedEntry, removedEntry);
+
+        writeQueue.remove(List.of(removedEntry));
+        writeQueue.flush();
+
+        assertEquals(List.of(List.of(entry)), writtenBatches);
+    }
+
+    @Test
+    void entriesArePendingUntilWritten() {
+        List<Boolean> pendingWhileWritten = new ArrayList<>();
+        List<Boolean> pendingAfterWritten = new ArrayList<>();
+        BibEntry entry = new BibEntry();
+        writeQueue.shutdown();
+        writeQueue = new SharedEntryWriteQueue(
+                batch -> pendingWhileWritten.add(writeQueue.isPending(entry)),
+                () -> pendingAfterWritten.add(writeQueue.isPending(entry)),
+                Duration.ofHours(1));
+
+        writeQueue.add(entry, entry);
+        writeQueue.flush();
+
+        assertEquals(List.of(true), pendingWhileWritten);
+        assertEquals(List.of(false), pendingAfterWritten);
+    }
+
+    @Test
+    void flushWithoutChangesWritesNothing() {
+        writeQueue.flush();
+
+        assertTrue(writtenBatches.isEmpty());
+        assertEquals(0, writeQueue.getFlushedBatches());
+        assertEquals(Duration.ZERO, writeQueue.getMaxFlushLatency());
+    }
+
+    @Test
+    void flushRecordsLatencySinceFirstChange() throws Exception {
+        BibEntry changedEntry = new BibEntry();
+        writeQueue.add(changedEntry, changedEntry);
+        Thread.sleep(20);
+
+        writeQueue.flush();
+
+        assertTrue(writeQueue.getLastFlushLatency().compareTo(Duration.ofMillis(20)) >= 0);
+        assertEquals(writeQueue.getLastFlushLatency(), writeQueue.getMaxFlushLatency());
+    }
+
+    @Test
+    void changesAreWrittenAfterDelay() throws Exception {
+        SharedEntryWriteQueue fastQueue = new SharedEntryWriteQueue(writtenBatches::add, () -> { }, Duration.ofMillis(10));
+        BibEntry entry = new BibEntry();
+
+        fastQueue.add(entry, entry);
+        for (int i = 0; (i < 500) && (fastQueue.getFlushedBatches() == 0); i++) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(List.of(List.of(entry)), writtenBatches);
+        fastQueue.shutdown();
+    }
+}
@@ -32,6 +32,8 @@ public class SynchronizationTestSimulator {
 
     private BibDatabaseContext clientContextA;
     private BibDatabaseContext clientContextB;
+    private DBMSSynchronizer synchronizerA;
+    private DBMSSynchronizer synchronizerB;
     private SynchronizationTestEventListener eventListenerB; // used to monitor occurring events
     private final GlobalBibtexKeyPattern pattern = GlobalBibtexKeyPattern.fromPattern("[auth][year]");
 
@@ -50,12 +52,12 @@ public class SynchronizationTestSimulator {
         TestManager.clearTables(dbmsConnection);
 
         clientContextA = new BibDatabaseContext(new Defaults(BibDatabaseMode.BIBTEX));
-        DBMSSynchronizer synchronizerA = new DBMSSynchronizer(clientContextA, ',', pattern, new DummyFileUpdateMonitor());
+        synchronizerA = new DBMSSynchronizer(clientContextA, ',', pattern, new DummyFileUpdateMonitor());
         clientContextA.convertToSharedDatabase(synchronizerA);
         clientContextA.getDBMSSynchronizer().openSharedDatabase(dbmsConnection);
 
         clientContextB = new BibDatabaseContext(new Defaults(BibDatabaseMode.BIBTEX));
-        DBMSSynchronizer synchronizerB = new DBMSSynchronizer(clientContextB, ',', pattern, new DummyFileUpdateMonitor());
+        synchronizerB = new DBMSSynchronizer(clientContextB, ',', pattern, new DummyFileUpdateMonitor());
         clientContextB.convertToSharedDatabase(synchronizerB);
         // use a second connection, because this is another client (typically on another machine)
         clientContextB.getDBMSSynchronizer().openSharedDatabase(TestConnector.getTestDBMSConnection(TestManager.getDBMSTypeTestParameter()));
@@ -90,6 +92,7 @@ public class SynchronizationTestSimulator {
         bibEntry.setField(new UnknownField("custom"), "custom value");
         // client B pulls the changes
         bibEntry.clearField(StandardField.AUTHOR);
+        synchronizerA.getWriteQueue().flush();
 
         clientContextB.getDBMSSynchronizer().pullChanges();
 
@@ -137,6 +140,7 @@ public class SynchronizationTestSimulator {
         //client B tries to update the entry
         BibEntry bibEntryOfClientB = clientContextB.getDatabase().getEntries().get(0);
         bibEntryOfClientB.setField(StandardField.YEAR, "2009");
+        synchronizerB.getWriteQueue().flush();
 
         // here a new SharedEntryNotPresentEvent has been thrown. In this case the user B would get an pop-up window.
         assertNotNull(eventListenerB.getSharedEntriesNotPresentEvent());
@@ -153,6 +157,7 @@ public class SynchronizationTestSimulator {
 
         // A now increases the version number
         bibEntryOfClientA.setField(StandardField.YEAR, "2001");
+        synchronizerA.getWriteQueue().flush();
 
         // B does nothing here, so there is no event occurrence
         assertFalse(clientContextB.getDatabase().getEntries().isEmpty());
@@ -161,6 +166,7 @@ public class SynchronizationTestSimulator {
         BibEntry bibEntryOfClientB = clientContextB.getDatabase().getEntries().get(0);
         // B also tries to change something
         bibEntryOfClientB.setField(StandardField.YEAR, "2016");
+        synchronizerB.getWriteQueue().flush();
 
         // B now cannot update the shared entry, due to optimistic offline lock.
         // In this case an BibEntry merge dialog pops up.
@@ -26,15 +26,21 @@ public class TestManager {
             dbmsConnection.getConnection().createStatement().executeUpdate("DROP TABLE IF EXISTS `FIELD`");
             dbmsConnection.getConnection().createStatement().executeUpdate("DROP TABLE IF EXISTS `ENTRY`");
             dbmsConnection.getConnection().createStatement().executeUpdate("DROP TABLE IF EXISTS `METADATA`");
+            dbmsConnection.getConnection().createStatement().executeUpdate("DROP TABLE IF EXISTS `REVISION`");
+            dbmsConnection.getConnection().createStatement().executeUpdate("DROP TABLE IF EXISTS `CHANGELOG`");
         } else if (dbmsType == DBMSType.POSTGRESQL) {
             dbmsConnection.getConnection().createStatement().executeUpdate("DROP TABLE IF EXISTS \"FIELD\"");
             dbmsConnection.getConnection().createStatement().executeUpdate("DROP TABLE IF EXISTS \"ENTRY\"");
             dbmsConnection.getConnection().createStatement().executeUpdate("DROP TABLE IF EXISTS \"METADATA\"");
+            dbmsConnection.getConnection().createStatement().executeUpdate("DROP TABLE IF EXISTS \"REVISION\"");
+            dbmsConnection.getConnection().createStatement().executeUpdate("DROP TABLE IF EXISTS \"CHANGELOG\"");
         } else if (dbmsType == DBMSType.ORACLE) {
             dbmsConnection.getConnection().createStatement()
                           .executeUpdate("BEGIN\n" + "EXECUTE IMMEDIATE 'DROP TABLE \"FIELD\"';\n"
                                   + "EXECUTE IMMEDIATE 'DROP TABLE \"ENTRY\"';\n"
                                   + "EXECUTE IMMEDIATE 'DROP TABLE \"METADATA\"';\n"
+                                  + "EXECUTE IMMEDIATE 'DROP TABLE \"REVISION\"';\n"
+                                  + "EXECUTE IMMEDIATE 'DROP TABLE \"CHANGELOG\"';\n"
                                   + "EXECUTE IMMEDIATE 'DROP SEQUENCE \"ENTRY_SEQ\"';\n" + "EXCEPTION\n" + "WHEN OTHERS THEN\n"
                                   + "IF SQLCODE != -942 THEN\n" + "RAISE;\n" + "END IF;\n" + "END;");
         }
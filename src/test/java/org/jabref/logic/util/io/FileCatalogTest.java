@@ -0,0 +1,96 @@
+package org.jabref.logic.util.io;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileCatalogTest {
+
+    // watch services of some platforms poll the file system only every few seconds
+    private static final Duration WATCH_TIMEOUT = Duration.ofSeconds(30);
+
+    private Path directory;
+    private Path subDirectory;
+    private FileCatalog catalog;
+
+    @BeforeEach
+    void setUp(@TempDir Path directory) throws Exception {
+        this.directory = directory;
+        subDirectory = Files.createDirectories(directory.resolve("pdfs").resolve("sub"));
+        Files.createFile(directory.resolve("HipKro03.pdf"));
+        Files.createFile(subDirectory.resolve("HipKro03 - Hello.pdf"));
+        Files.createFile(subDirectory.resolve("Other.pdf"));
+
+        catalog = FileCatalog.forDirectory(directory);
+    }
+
+    @Test
+    void findFilesStartingWithFindsFilesInSubdirectories() {
+        List<Path> result = catalog.findFilesStartingWith("HipKro03");
+        Collections.sort(result);
+
+        assertEquals(Arrays.asList(Paths.get("HipKro03.pdf"), Paths.get("pdfs", "sub", "HipKro03 - Hello.pdf")), result);
+    }
+
+    @Test
+    void findFilesStartingWithUnknownPrefixFindsNothing() {
+        assertEquals(Collections.emptyList(), catalog.findFilesStartingWith("Unknown"));
+    }
+
+    @Test
+    void getSubdirectoriesReturnsDirectSubdirectories() {
+        assertEquals(Optional.of(Collections.singletonList(Paths.get("pdfs"))), catalog.getSubdirectories(Paths.get("")));
+    }
+
+    @Test
+    void getChildrenOfUnknownDirectoryReturnsEmpty() {
+        assertEquals(Optional.empty(), catalog.getChildren(Paths.get("unknown")));
+    }
+
+    @Test
+    void getChildrenOfNewDirectoryListsItDirectly() throws Exception {
+        Path newDirectory = Files.createDirectory(directory.resolve("new"));
+        Files.createFile(newDirectory.resolve("New.pdf"));
+
+        assertEquals(Optional.of(Collections.singletonList(Paths.get("new", "New.pdf"))), catalog.getChildren(Paths.get("new")));
+    }
+
+    @Test
+    void findFilesStartingWithFindsFileCreatedInSubdirectory() throws Exception {
+        Files.createFile(subDirectory.resolve("Created.pdf"));
+
+        assertTrue(waitUntil(() -> catalog.findFilesStartingWith("Created").equals(List.of(Paths.get("pdfs", "sub", "Created.pdf")))));
+    }
+
+    @Test
+    void findFilesStartingWithDoesNotFindDeletedFile() throws Exception {
+        Files.delete(subDirectory.resolve("Other.pdf"));
+
+        assertTrue(waitUntil(() -> catalog.findFilesStartingWith("Other").isEmpty()));
+    }
+
+    private static boolean waitUntil(BooleanSupplier condition) throws InterruptedException {
+        Instant deadline = Instant.now().plus(WATCH_TIMEOUT);
+        while (!condition.getAsBoolean()) {
+            if (Instant.now().isAfter(deadline)) {
+                return false;
+            }
+            Thread.sleep(50);
+        }
+        return true;
+    }
+}
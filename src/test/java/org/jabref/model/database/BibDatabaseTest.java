@@ -9,6 +9,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.BibtexString;
@@ -23,6 +24,7 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -245,6 +247,19 @@ public class BibDatabaseTest {
         assertEquals(entry, tel.getChangedEntry());
     }
 
+    @Test
+    public void changingRemovedEntryPostsNoEvent() {
+        BibEntry entry = new BibEntry();
+        TestEventListener tel = new TestEventListener();
+        database.insertEntry(entry);
+        database.removeEntry(entry);
+        database.registerListener(tel);
+
+        entry.setField(new UnknownField("test"), "some value");
+
+        assertNull(tel.getChangedEntry());
+    }
+
     @Test
     public void correctKeyCountOne() {
         BibEntry entry = new BibEntry();
@@ -389,4 +404,18 @@ public class BibDatabaseTest {
         database.setPreamble("Oh yeah!");
         assertEquals(Optional.of("Oh yeah!"), database.getPreamble());
     }
+
+    @Test
+    public void getDerivedDataCreatesDataOnce() {
+        List<BibDatabase> creations = new ArrayList<>();
+        Function<BibDatabase, StringBuilder> factory = key -> {
+            creations.add(key);
+            return new StringBuilder();
+        };
+
+        StringBuilder data = database.getDerivedData(StringBuilder.class, factory);
+
+        assertSame(data, database.getDerivedData(StringBuilder.class, factory));
+        assertEquals(List.of(database), creations);
+    }
 }
@@ -0,0 +1,108 @@
+package org.jabref.model.database;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.jabref.model.entry.BibEntry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BibEntryIndexTest {
+
+    private BibDatabase database;
+
+    @BeforeEach
+    public void setUp() {
+        database = new BibDatabase();
+    }
+
+    @Test
+    public void insertedEntryIsFoundByKey() {
+        BibEntry entry = new BibEntry();
+        entry.setCiteKey("AAA");
+        database.insertEntry(entry);
+        assertEquals(Optional.of(entry), database.getEntryByKey("AAA"));
+    }
+
+    @Test
+    public void insertedEntryIsFoundById() {
+        BibEntry entry = new BibEntry();
+        database.insertEntry(entry);
+        assertEquals(Optional.of(entry), database.getEntryById(entry.getId()));
+    }
+
+    @Test
+    public void removedEntryIsNotFound() {
+        BibEntry entry = new BibEntry();
+        entry.setCiteKey("AAA");
+        database.insertEntry(entry);
+        database.removeEntry(entry);
+        assertEquals(Optional.empty(), database.getEntryByKey("AAA"));
+        assertEquals(Optional.empty(), database.getEntryById(entry.getId()));
+    }
+
+    @Test
+    public void changedCiteKeyIsFound() {
+        BibEntry entry = new BibEntry();
+        entry.setCiteKey("AAA");
+        database.insertEntry(entry);
+        entry.setCiteKey("BBB");
+        assertEquals(Optional.empty(), database.getEntryByKey("AAA"));
+        assertEquals(Optional.of(entry), database.getEntryByKey("BBB"));
+    }
+
+    @Test
+    public void clearedCiteKeyIsNotFound() {
+        BibEntry entry = new BibEntry();
+        entry.setCiteKey("AAA");
+        database.insertEntry(entry);
+        entry.clearCiteKey();
+        assertEquals(Collections.emptyList(), database.getEntriesByKey("AAA"));
+    }
+
+    @Test
+    public void entriesWithSameKeyAreReturnedInDatabaseOrder() {
+        BibEntry entry0 = new BibEntry();
+        entry0.setCiteKey("AAA");
+        BibEntry entry1 = new BibEntry();
+        entry1.setCiteKey("AAA");
+        database.insertEntries(entry0, entry1);
+        // entry0 is now indexed after entry1, but still appears before it in the database
+        entry0.setCiteKey("BBB");
+        entry0.setCiteKey("AAA");
+
+        assertEquals(List.of(entry0, entry1), database.getEntriesByKey("AAA"));
+        assertEquals(Optional.of(entry0), database.getEntryByKey("AAA"));
+    }
+
+    @Test
+    public void entryIsFoundBySharedIdAssignedAfterInsertion() {
+        BibEntry entry = new BibEntry();
+        database.insertEntry(entry);
+        entry.getSharedBibEntryData().setSharedID(42);
+        assertEquals(Optional.of(entry), database.getEntryBySharedId(42));
+    }
+
+    @Test
+    public void changedSharedIdIsFound() {
+        BibEntry entry = new BibEntry();
+        entry.getSharedBibEntryData().setSharedID(42);
+        database.insertEntry(entry);
+        entry.getSharedBibEntryData().setSharedID(43);
+        assertEquals(Optional.empty(), database.getEntryBySharedId(42));
+        assertEquals(Optional.of(entry), database.getEntryBySharedId(43));
+    }
+
+    @Test
+    public void removedEntryIsNotFoundBySharedId() {
+        BibEntry entry = new BibEntry();
+        entry.getSharedBibEntryData().setSharedID(42);
+        database.insertEntry(entry);
+        database.removeEntry(entry);
+        assertEquals(Optional.empty(), database.getEntryBySharedId(42));
+    }
+}
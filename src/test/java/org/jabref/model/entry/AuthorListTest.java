@@ -1,7 +1,10 @@
 package org.jabref.model.entry;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 
@@ -31,6 +34,19 @@ public class AuthorListTest {
                         .fixAuthorNatbib("John von Neumann and John Smith and Black Brown, Peter")));
     }
 
+    @Test
+    public void parseOnSeveralThreadsReturnsSameAsSequentialParse() {
+        List<String> authors = IntStream.range(0, 10_000)
+                                        .mapToObj(i -> "Smith" + i + ", John and von Neumann" + (i % 100) + ", J.")
+                                        .collect(Collectors.toList());
+
+        List<String> parsedInParallel = authors.parallelStream()
+                                               .map(author -> AuthorList.parse(author).getAsLastFirstNamesWithAnd(false))
+                                               .collect(Collectors.toList());
+
+        assertEquals(authors, parsedInParallel);
+    }
+
     @Test
     public void testGetAuthorList() {
         // Test caching in authorCache.
@@ -5,9 +5,14 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+
+import javafx.beans.binding.ObjectBinding;
+import javafx.beans.property.ObjectProperty;
 
 import org.jabref.model.FieldChange;
 import org.jabref.model.database.BibDatabase;
+import org.jabref.model.entry.event.FieldChangedEvent;
 import org.jabref.model.entry.field.BibField;
 import org.jabref.model.entry.field.FieldPriority;
 import org.jabref.model.entry.field.InternalField;
@@ -15,6 +20,7 @@ import org.jabref.model.entry.field.OrFields;
 import org.jabref.model.entry.field.SpecialField;
 import org.jabref.model.entry.field.StandardField;
 import org.jabref.model.entry.field.UnknownField;
+import org.jabref.model.entry.types.EntryType;
 import org.jabref.model.entry.types.StandardEntryType;
 
 import com.google.common.collect.Sets;
@@ -642,4 +648,52 @@ class BibEntryTest {
         entry = new BibEntry().withField(StandardField.AUTHOR, "value");
         assertFalse(entry.hasChanged());
     }
+
+    @Test
+    public void fieldBindingFollowsLaterChanges() {
+        entry.setField(StandardField.AUTHOR, "value");
+        ObjectBinding<String> binding = entry.getFieldBinding(StandardField.AUTHOR);
+
+        entry.setField(StandardField.AUTHOR, "other value");
+        assertEquals("other value", binding.get());
+    }
+
+    @Test
+    public void typePropertyFollowsSetType() {
+        ObjectProperty<EntryType> type = entry.typeProperty();
+
+        entry.setType(StandardEntryType.Article);
+        assertEquals(StandardEntryType.Article, type.get());
+
+        type.set(StandardEntryType.Book);
+        assertEquals(StandardEntryType.Book, entry.getType());
+    }
+
+    @Test
+    void changeListenerIsNotifiedUntilRemoved() {
+        BibEntry entry = new BibEntry();
+        List<FieldChangedEvent> events = new ArrayList<>();
+        Consumer<FieldChangedEvent> listener = events::add;
+        entry.addChangeListener(listener);
+        entry.addChangeListener(listener);
+
+        entry.setField(StandardField.TITLE, "A title");
+        entry.removeChangeListener(listener);
+        entry.setField(StandardField.TITLE, "Another title");
+
+        assertEquals(1, events.size());
+        assertEquals("A title", events.get(0).getNewValue());
+    }
+
+    @Test
+    void changeObservableIsInvalidatedAfterChangeListeners() {
+        BibEntry entry = new BibEntry();
+        List<String> notifications = new ArrayList<>();
+        entry.addChangeListener(event -> notifications.add("listener"));
+        entry.getChangeObservable().addListener(observable -> notifications.add("observable"));
+
+        entry.setField(StandardField.TITLE, "A title");
+
+        assertEquals(List.of("listener", "observable"), notifications);
+    }
 }
@@ -0,0 +1,98 @@
+package org.jabref.model.entry;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.field.UnknownField;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompactFieldMapTest {
+
+    private CompactFieldMap fields;
+
+    @BeforeEach
+    void setUp() {
+        fields = new CompactFieldMap();
+        fields.put(StandardField.AUTHOR, "author");
+        fields.put(StandardField.TITLE, "title");
+        fields.put(new UnknownField("custom"), "custom");
+    }
+
+    @Test
+    void putReplacesValueOfExistingField() {
+        assertEquals("title", fields.put(StandardField.TITLE, "new title"));
+
+        assertEquals("new title", fields.get(StandardField.TITLE));
+        assertEquals(3, fields.size());
+    }
+
+    @Test
+    void getFindsEqualUnknownField() {
+        assertEquals("custom", fields.get(new UnknownField("Custom")));
+    }
+
+    @Test
+    void removeKeepsOtherFields() {
+        assertEquals("title", fields.remove(StandardField.TITLE));
+
+        assertEquals(Map.of(StandardField.AUTHOR, "author", new UnknownField("custom"), "custom"), fields);
+    }
+
+    @Test
+    void removeOfMissingFieldReturnsNull() {
+        assertNull(fields.remove(StandardField.YEAR));
+        assertEquals(3, fields.size());
+    }
+
+    @Test
+    void iteratorIsNotAffectedByLaterChanges() {
+        Iterator<Map.Entry<Field, String>> iterator = fields.entrySet().iterator();
+        fields.clear();
+
+        int count = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        assertEquals(3, count);
+        assertEquals(0, fields.size());
+    }
+
+    @Test
+    void iteratorRemovesFromMap() {
+        Iterator<Map.Entry<Field, String>> iterator = fields.entrySet().iterator();
+        iterator.next();
+        iterator.remove();
+
+        assertFalse(fields.containsKey(StandardField.AUTHOR));
+    }
+
+    @Test
+    void setValueOfEntryChangesMap() {
+        fields.entrySet().iterator().next().setValue("other author");
+
+        assertEquals("other author", fields.get(StandardField.AUTHOR));
+    }
+
+    @Test
+    void equalsHashMapWithSameFields() {
+        Map<Field, String> expected = Map.of(StandardField.AUTHOR, "author", StandardField.TITLE, "title", new UnknownField("custom"), "custom");
+
+        assertEquals(expected, fields);
+        assertEquals(expected.hashCode(), fields.hashCode());
+    }
+
+    @Test
+    void putNullValueThrowsException() {
+        assertThrows(NullPointerException.class, () -> fields.put(StandardField.YEAR, null));
+    }
+}
@@ -0,0 +1,134 @@
+package org.jabref.model.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import javafx.collections.ListChangeListener;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.event.EntriesAddedEvent;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+
+import com.google.common.eventbus.Subscribe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FullTextIndexTest {
+
+    private BibDatabase database;
+    private BibEntry first;
+    private BibEntry second;
+
+    @BeforeEach
+    void setUp() {
+        database = new BibDatabase();
+        first = new BibEntry().withField(StandardField.TITLE, "Effective Java");
+        second = new BibEntry().withField(StandardField.AUTHOR, "Joshua Bloch");
+        database.insertEntries(first, second);
+    }
+
+    @Test
+    void candidatesContainEntriesWithText() {
+        assertEquals(Optional.of(Set.of(first)), database.getFullTextIndex().getCandidates("java"));
+    }
+
+    @Test
+    void candidatesIgnoreCase() {
+        assertEquals(Optional.of(Set.of(second)), database.getFullTextIndex().getCandidates("BLOCH"));
+    }
+
+    @Test
+    void shortTextIsNotSearchable() {
+        assertEquals(Optional.empty(), database.getFullTextIndex().getCandidates("ja"));
+    }
+
+    @Test
+    void candidatesAreRestrictedToFields() {
+        Optional<Set<BibEntry>> candidates = database.getFullTextIndex().getCandidates("java", StandardField.AUTHOR::equals);
+
+        assertEquals(Optional.of(Set.of()), candidates);
+    }
+
+    @Test
+    void indexIsUpdatedOnFieldChange() {
+        FullTextIndex index = database.getFullTextIndex();
+        long modificationCount = index.getModificationCount();
+
+        second.setField(StandardField.TITLE, "Java Puzzlers");
+
+        assertTrue(index.getModificationCount() != modificationCount);
+        assertEquals(Optional.of(Set.of(first, second)), index.getCandidates("java"));
+    }
+
+    @Test
+    void indexIsUpdatedOnFieldRemoval() {
+        FullTextIndex index = database.getFullTextIndex();
+
+        first.clearField(StandardField.TITLE);
+
+        assertEquals(Optional.of(Set.of()), index.getCandidates("java"));
+    }
+
+    @Test
+    void indexIsUpdatedOnEntryChanges() {
+        FullTextIndex index = database.getFullTextIndex();
+        BibEntry third = new BibEntry().withField(StandardField.TITLE, "Java Concurrency in Practice");
+
+        database.insertEntry(third);
+        database.removeEntry(first);
+
+        assertEquals(Optional.of(Set.of(third)), index.getCandidates("java"));
+    }
+
+    @Test
+    void indexIsUpdatedBeforeObserversOfEntriesAreNotified() {
+        FullTextIndex index = database.getFullTextIndex();
+        List<Optional<Set<BibEntry>>> observedCandidates = new ArrayList<>();
+        database.getEntries().addListener((ListChangeListener<BibEntry>) change -> observedCandidates.add(index.getCandidates("java")));
+
+        second.setField(StandardField.TITLE, "Java Puzzlers");
+
+        assertEquals(List.of(Optional.of(Set.of(first, second))), observedCandidates);
+    }
+
+    @Test
+    void indexIsUpdatedOnFieldChangeWhileEventOfDatabaseIsHandled() {
+        FullTextIndex index = database.getFullTextIndex();
+        List<Optional<Set<BibEntry>>> observedCandidates = new ArrayList<>();
+        database.registerListener(new Object() {
+            @Subscribe
+            public void listen(EntriesAddedEvent event) {
+                second.setField(StandardField.TITLE, "Java Puzzlers");
+                observedCandidates.add(index.getCandidates("java"));
+            }
+        });
+
+        database.insertEntry(new BibEntry());
+
+        assertEquals(List.of(Optional.of(Set.of(first, second))), observedCandidates);
+    }
+
+    @Test
+    void candidatesAreKeptWhenMostEntriesAreRemoved() {
+        FullTextIndex index = database.getFullTextIndex();
+        List<BibEntry> removedEntries = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            removedEntries.add(new BibEntry().withField(StandardField.TITLE, "Java " + i));
+        }
+        database.insertEntries(removedEntries);
+        BibEntry third = new BibEntry().withField(StandardField.TITLE, "Java Concurrency in Practice");
+        database.insertEntry(third);
+
+        database.removeEntries(removedEntries);
+        first.setField(StandardField.AUTHOR, "Joshua Bloch");
+
+        assertEquals(Optional.of(Set.of(first, third)), index.getCandidates("java"));
+        assertEquals(Optional.of(Set.of(first, second)), index.getCandidates("bloch"));
+    }
+}
@@ -0,0 +1,90 @@
+package org.jabref.model.search.rules;
+
+import java.util.stream.IntStream;
+
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GrammarBasedSearchRuleTest {
+
+    private BibEntry entry;
+
+    @BeforeEach
+    void setUp() {
+        entry = new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, "Gödel, Kurt")
+                .withField(StandardField.TITLE, "Über formal unentscheidbare Sätze");
+    }
+
+    private static boolean matches(String query, boolean caseSensitive, boolean regex, BibEntry entry) {
+        GrammarBasedSearchRule rule = new GrammarBasedSearchRule(caseSensitive, regex);
+        assertTrue(rule.validateSearchStrings(query));
+        return rule.applyRule(query, entry);
+    }
+
+    @Test
+    void fieldComparisonIgnoresAsciiCase() {
+        assertTrue(matches("author = KURT", false, false, entry));
+    }
+
+    @Test
+    void fieldComparisonDoesNotIgnoreCaseOfOtherCharacters() {
+        // Pattern.CASE_INSENSITIVE only applies to US-ASCII characters
+        assertFalse(matches("title = über", false, false, entry));
+    }
+
+    @Test
+    void caseSensitiveFieldComparison() {
+        assertFalse(matches("author = kurt", true, false, entry));
+        assertTrue(matches("author = Kurt", true, false, entry));
+    }
+
+    @Test
+    void exactComparison() {
+        assertTrue(matches("author == \"gödel, kurt\"", false, false, entry));
+        assertFalse(matches("author == gödel", false, false, entry));
+    }
+
+    @Test
+    void notContainedInMissingField() {
+        assertTrue(matches("journal != nature", false, false, entry));
+    }
+
+    @Test
+    void entryTypeComparison() {
+        assertTrue(matches("entrytype = article and title = sätze", false, false, entry));
+        assertFalse(matches("entrytype = book or year = 1931", false, false, entry));
+    }
+
+    @Test
+    void operandsAreEvaluatedIndependentOfTheirOrder() {
+        assertTrue(matches("(anyfield = kurt or title = nothing) and not (author = turing)", false, false, entry));
+        assertTrue(matches("kurt and entrytype = article", false, false, entry));
+    }
+
+    @Test
+    void regularExpressionComparison() {
+        assertTrue(matches("author = \"g.del\"", false, true, entry));
+        assertTrue(matches("a.+or = kurt", false, true, entry));
+    }
+
+    @Test
+    void invalidRegularExpressionMatchesNothing() {
+        assertFalse(matches("author = \"g(del\"", false, true, entry));
+    }
+
+    @Test
+    void ruleCanBeSharedBetweenThreads() {
+        GrammarBasedSearchRule rule = new GrammarBasedSearchRule(false, false);
+        rule.validateSearchStrings("author = kurt and title = sätze");
+
+        assertTrue(IntStream.range(0, 1000).parallel().allMatch(i -> rule.applyRule("", entry)));
+    }
+}
@@ -0,0 +1,78 @@
+package org.jabref.model.strings;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextSpanTest {
+
+    private static final String TEXT = "% comment\n@Article{key,\n  title = {Title}\n}\n\n";
+
+    @Test
+    void subSequenceIsRelativeToSpan() {
+        TextSpan span = new TextSpan(TEXT, 10, 13);
+
+        assertEquals("@Article{key,", span.toString());
+        assertEquals("key", span.subSequence(9, 12).toString());
+    }
+
+    @Test
+    void indexOfStaysWithinSpan() {
+        TextSpan span = new TextSpan(TEXT, 0, 9);
+
+        assertEquals(-1, span.indexOf('@'));
+        assertEquals(2, span.indexOf("comment"));
+        assertFalse(span.contains("Article"));
+    }
+
+    @Test
+    void lastIndexOfFindsLastOccurrence() {
+        assertEquals(TEXT.lastIndexOf('{'), TextSpan.of(TEXT).lastIndexOf('{'));
+    }
+
+    @Test
+    void concatOfAdjacentSpansIsOneSpan() {
+        TextSpan first = new TextSpan(TEXT, 0, 10);
+        TextSpan second = new TextSpan(TEXT, 10, TEXT.length() - 10);
+
+        assertEquals(TextSpan.of(TEXT), first.concat(second));
+    }
+
+    @Test
+    void concatOfSeparateSpansCopiesText() {
+        TextSpan first = new TextSpan(TEXT, 10, 8);
+        TextSpan second = TextSpan.of("{other}");
+
+        assertEquals("@Article{other}", first.concat(second).toString());
+    }
+
+    @Test
+    void trimRemovesWhitespaceAtBothEnds() {
+        assertEquals("@Article{key,\n  title = {Title}\n}", new TextSpan(TEXT, 9, TEXT.length() - 9).trim().toString());
+    }
+
+    @Test
+    void stripTrailingWhitespaceKeepsLeadingWhitespace() {
+        assertEquals("  title = {Title}", new TextSpan(TEXT, 24, 18).stripTrailingWhitespace().toString());
+    }
+
+    @Test
+    void equalsComparesContent() {
+        assertEquals(TextSpan.of("key"), new TextSpan(TEXT, 19, 3));
+        assertEquals("key".hashCode(), new TextSpan(TEXT, 19, 3).hashCode());
+        assertTrue(TextSpan.EMPTY.isEmpty());
+    }
+
+    @Test
+    void writeToWritesSpan() throws IOException {
+        StringWriter writer = new StringWriter();
+        new TextSpan(TEXT, 10, 13).writeTo(writer);
+
+        assertEquals("@Article{key,", writer.toString());
+    }
+}